@@ -0,0 +1,85 @@
+package org.apereo.cas.configuration.model.core.audit;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.Serializable;
+
+/**
+ * Settings that control how audit records are queued and flushed
+ * by audit trail managers that record audit records asynchronously.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-core-audit", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("AuditPipelineProperties")
+public class AuditPipelineProperties implements Serializable {
+
+    private static final long serialVersionUID = -2263453227218468321L;
+
+    /**
+     * Maximum number of audit records that can be queued
+     * and waiting to be saved, before the overflow policy kicks in.
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum number of audit records that are saved together in a single batch.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Maximum amount of time an audit record may wait in the queue
+     * before a partial batch is flushed.
+     */
+    @DurationCapable
+    private String flushInterval = "PT1S";
+
+    /**
+     * Number of times a batch that could not be saved is retried
+     * before its audit records are spilled to disk, if the overflow policy
+     * is set to spill records, or otherwise logged as errors.
+     */
+    private int retryAttempts = 3;
+
+    /**
+     * Decide what should happen once the queue is full.
+     */
+    private OverflowPolicyTypes overflowPolicy = OverflowPolicyTypes.BLOCK;
+
+    /**
+     * Directory where audit records are written to
+     * when the queue is full and the overflow policy is set to spill records to disk.
+     * Records are appended to a file in this directory as JSON, one record per line.
+     */
+    private File spillDirectory = new File(FileUtils.getTempDirectory(), "cas-audit");
+
+    /**
+     * Overflow policy types.
+     */
+    public enum OverflowPolicyTypes {
+        /**
+         * Block the caller until the queue has room for the audit record.
+         */
+        BLOCK,
+        /**
+         * Drop the audit record and keep track of the number of dropped records.
+         */
+        DROP,
+        /**
+         * Write the audit record to a local file instead of the audit storage.
+         */
+        SPILL
+    }
+}
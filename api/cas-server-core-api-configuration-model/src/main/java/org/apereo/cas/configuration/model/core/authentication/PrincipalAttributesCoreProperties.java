@@ -1,5 +1,6 @@
 package org.apereo.cas.configuration.model.core.authentication;
 
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -76,6 +77,20 @@ public class PrincipalAttributesCoreProperties implements Serializable {
      */
     private boolean requireAllRepositorySources;
 
+    /**
+     * Maximum number of attribute repositories that can be queried
+     * concurrently, when the aggregation strategy is set to {@code PARALLEL_MERGE}.
+     */
+    private int parallelMergePoolSize = 10;
+
+    /**
+     * Maximum amount of time to wait for each attribute repository to produce
+     * a result, when the aggregation strategy is set to {@code PARALLEL_MERGE}.
+     * Attribute repositories that fail to produce a result in time are skipped.
+     */
+    @DurationCapable
+    private String parallelMergeTimeout = "PT5S";
+
     /**
      * CAS provides the ability to release a bundle of principal attributes to all services by default.
      * This bundle is not defined on a per-service basis and is always combined with attributes
@@ -101,7 +116,12 @@ public class PrincipalAttributesCoreProperties implements Serializable {
          *  the attributes from the first query in the result set are
          *  used as the query for the next repository.
          */
-        CASCADE
+        CASCADE,
+        /**
+         * Query multiple repositories concurrently and merge the results into
+         * a single result set, in the order in which repositories are defined.
+         */
+        PARALLEL_MERGE
     }
 
     /**
@@ -63,6 +63,11 @@ public class RiskBasedAuthenticationProperties implements Serializable {
      */
     private long daysInRecentHistory = 30;
 
+    /**
+     * Control how authentication risk profiles are kept for each principal.
+     */
+    private Profile profile = new Profile();
+
     @Getter
     @Setter
     @Accessors(chain = true)
@@ -170,4 +175,35 @@ public class RiskBasedAuthenticationProperties implements Serializable {
         @NestedConfigurationProperty
         private SmsProperties sms = new SmsProperties();
     }
+
+    @Getter
+    @Setter
+    @Accessors(chain = true)
+    @RequiresModule(name = "cas-server-support-electrofence")
+    public static class Profile implements Serializable {
+
+        private static final long serialVersionUID = 2290837411729367516L;
+
+        /**
+         * Keep authentication risk profiles in memory.
+         * In-memory profiles are only updated with authentication events
+         * recorded on the same CAS node, and must only be enabled
+         * for single-node deployments. When disabled, risk profiles
+         * are built from the authentication history for every request.
+         */
+        private boolean inMemory;
+
+        /**
+         * Maximum number of principal risk profiles that are kept in memory.
+         * Profiles that are evicted are rebuilt from the authentication history
+         * the next time they are needed.
+         */
+        private long maximumSize = 100_000;
+
+        /**
+         * Keep authentication risk profiles in Redis.
+         */
+        @NestedConfigurationProperty
+        private RiskBasedAuthenticationRedisProperties redis = new RiskBasedAuthenticationRedisProperties();
+    }
 }
@@ -0,0 +1,24 @@
+package org.apereo.cas.configuration.model.core.authentication;
+
+import org.apereo.cas.configuration.model.support.redis.BaseRedisProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * This is {@link RiskBasedAuthenticationRedisProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-support-electrofence-redis")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("RiskBasedAuthenticationRedisProperties")
+public class RiskBasedAuthenticationRedisProperties extends BaseRedisProperties {
+    private static final long serialVersionUID = -4213384591257216738L;
+}
@@ -1,6 +1,5 @@
 package org.apereo.cas.configuration.model.core.ticket.registry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -53,7 +52,7 @@ public class InMemoryTicketRegistryProperties implements Serializable {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     public InMemoryTicketRegistryProperties() {
         crypto.setEnabled(false);
@@ -0,0 +1,44 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+/**
+ * This is {@link TicketRegistryCleanerProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@NoArgsConstructor
+@Accessors(chain = true)
+public class TicketRegistryCleanerProperties extends ScheduledJobProperties {
+    private static final long serialVersionUID = -2783940212371052617L;
+
+    /**
+     * Maximum number of partitions of the ticket registry that may be cleaned
+     * at the same time by each CAS node. Ticket registries that keep track of ticket expiration
+     * split expired tickets into partitions; each partition is cleaned by a single CAS node at a time,
+     * so that nodes share the work of cleaning the registry.
+     */
+    private int maximumConcurrency = 4;
+
+    /**
+     * Number of cleaner runs after which all tickets of the ticket registry are examined for expiration,
+     * rather than only those that are due according to the expiration index of the registry.
+     * This allows the cleaner to find tickets that expired without being updated in the registry.
+     * All tickets are also examined on the first run. A value of zero or less disables this behavior.
+     */
+    private int fullCleanInterval = 10;
+
+    public TicketRegistryCleanerProperties(final String startDelay, final String repeatInterval) {
+        super(startDelay, repeatInterval);
+    }
+}
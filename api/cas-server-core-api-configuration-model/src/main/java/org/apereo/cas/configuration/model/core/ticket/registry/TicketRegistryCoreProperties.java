@@ -31,4 +31,31 @@ public class TicketRegistryCoreProperties implements Serializable {
      * separate from the registry technology itself.
      */
     private boolean enableLocking = true;
+
+    /**
+     * Determine the format in which tickets are serialized by ticket registries
+     * that store tickets as serialized strings, such as JPA, MongoDb, DynamoDb, CouchDb or Cassandra.
+     * Accepted values are the following:
+     *
+     * <ul>
+     * <li>JSON: Serialize tickets as JSON documents.</li>
+     * <li>BINARY: Serialize tickets in a compact binary format, encoded as base64 text.
+     * Tickets that were previously stored as JSON remain readable.</li>
+     * </ul>
+     */
+    private TicketSerializationFormats serializationFormat = TicketSerializationFormats.JSON;
+
+    /**
+     * Formats in which tickets may be serialized.
+     */
+    public enum TicketSerializationFormats {
+        /**
+         * Serialize tickets as JSON.
+         */
+        JSON,
+        /**
+         * Serialize tickets in a compact binary format.
+         */
+        BINARY
+    }
 }
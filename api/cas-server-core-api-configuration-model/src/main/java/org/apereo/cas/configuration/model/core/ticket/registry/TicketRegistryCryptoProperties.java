@@ -0,0 +1,65 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crypto settings for ticket registries, which in addition to the common
+ * signing and encryption settings allow choosing how tickets are encrypted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@Setter
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Accessors(chain = true)
+public class TicketRegistryCryptoProperties extends EncryptionRandomizedSigningJwtCryptographyProperties {
+
+    private static final long serialVersionUID = 2936437853283786263L;
+
+    /**
+     * Determine how tickets are encrypted before they are handed to the registry.
+     * Accepted values are the following:
+     *
+     * <ul>
+     * <li>{@code ENCRYPT_AND_SIGN}: Encrypt tickets and wrap the result in a signed JWS,
+     * using both the encryption and the signing keys.</li>
+     * <li>{@code AES_GCM}: Encrypt tickets with AES-GCM into a compact binary envelope,
+     * using a fresh nonce per ticket and binding the ciphertext to the ticket id.
+     * Only the encryption key is used and it must be a Base64-encoded AES key of 16, 24 or 32 bytes.
+     * If a signing key is defined, tickets previously written by the {@code ENCRYPT_AND_SIGN}
+     * strategy with the same keys remain readable.</li>
+     * </ul>
+     */
+    private TicketCipherStrategyTypes strategy = TicketCipherStrategyTypes.ENCRYPT_AND_SIGN;
+
+    /**
+     * Previous encryption keys that may still be used to decrypt tickets,
+     * but are no longer used for encryption. Only applicable to the {@code AES_GCM} strategy.
+     * When rotating keys, move the current encryption key here and define a new encryption key;
+     * once all tickets issued under the previous key have expired, the key can be removed.
+     */
+    private List<String> rotatedEncryptionKeys = new ArrayList<>(0);
+
+    /**
+     * Strategies to encrypt tickets.
+     */
+    public enum TicketCipherStrategyTypes {
+        /**
+         * Encrypt and sign tickets.
+         */
+        ENCRYPT_AND_SIGN,
+        /**
+         * Encrypt tickets with AES-GCM.
+         */
+        AES_GCM
+    }
+}
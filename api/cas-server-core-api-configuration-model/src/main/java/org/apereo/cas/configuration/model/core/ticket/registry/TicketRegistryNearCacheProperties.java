@@ -0,0 +1,45 @@
+package org.apereo.cas.configuration.model.core.ticket.registry;
+
+import org.apereo.cas.configuration.support.DurationCapable;
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * This is {@link TicketRegistryNearCacheProperties}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-core-tickets", automated = true)
+@Getter
+@Setter
+@Accessors(chain = true)
+public class TicketRegistryNearCacheProperties implements Serializable {
+    private static final long serialVersionUID = 3185642193407235185L;
+
+    /**
+     * When enabled, tickets that are read from or written to the ticket registry
+     * are kept in a bounded local cache on each CAS node, in front of the ticket registry.
+     * Changes to tickets are broadcast to other CAS nodes so they may evict stale copies.
+     * The near-cache is only put in place for ticket registries that are able to broadcast
+     * such notifications, such as Redis, Hazelcast or JMS.
+     */
+    private boolean enabled;
+
+    /**
+     * Maximum number of tickets to keep in the local cache.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * How long tickets may be kept in the local cache
+     * before they must be read again from the ticket registry.
+     */
+    @DurationCapable
+    private String timeToLive = "PT5S";
+}
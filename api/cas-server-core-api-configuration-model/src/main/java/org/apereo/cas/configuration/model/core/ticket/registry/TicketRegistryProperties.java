@@ -13,7 +13,6 @@ import org.apereo.cas.configuration.model.support.jms.JmsTicketRegistryPropertie
 import org.apereo.cas.configuration.model.support.jpa.ticketregistry.JpaTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.memcached.MemcachedTicketRegistryProperties;
 import org.apereo.cas.configuration.model.support.mongo.ticketregistry.MongoDbTicketRegistryProperties;
-import org.apereo.cas.configuration.model.support.quartz.ScheduledJobProperties;
 import org.apereo.cas.configuration.model.support.redis.RedisTicketRegistryProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -132,7 +131,7 @@ public class TicketRegistryProperties implements Serializable {
      * Ticket registry cleaner settings.
      */
     @NestedConfigurationProperty
-    private ScheduledJobProperties cleaner = new ScheduledJobProperties("PT10S", "PT1M");
+    private TicketRegistryCleanerProperties cleaner = new TicketRegistryCleanerProperties("PT10S", "PT1M");
 
     /**
      * Ticket registry core settings.
@@ -140,5 +139,11 @@ public class TicketRegistryProperties implements Serializable {
     @NestedConfigurationProperty
     private TicketRegistryCoreProperties core = new TicketRegistryCoreProperties();
 
+    /**
+     * Ticket registry local near-cache settings.
+     */
+    @NestedConfigurationProperty
+    private TicketRegistryNearCacheProperties nearCache = new TicketRegistryNearCacheProperties();
+
 
 }
@@ -58,10 +58,33 @@ public class WebflowSessionManagementProperties implements Serializable {
      */
     private boolean storage;
 
+    /**
+     * Controls how webflow state is encoded when sessions are stored on the client side.
+     * Regardless of this setting, state encoded by any of the available transcoders
+     * can always be decoded, which allows the encoding to be switched across a CAS cluster
+     * once all nodes are upgraded.
+     * Only relevant if session storage is done on the client.
+     */
+    private WebflowStateTranscoderTypes transcoder = WebflowStateTranscoderTypes.STANDARD;
+
     /**
      * If sessions are to be replicated via Hazelcast, controls and defines how state should be replicated.
      * Only relevant if session storage is done on the server.
      */
     @NestedConfigurationProperty
     private BaseHazelcastProperties hazelcast = new BaseHazelcastProperties();
+
+    public enum WebflowStateTranscoderTypes {
+        /**
+         * Encode webflow state using standard java serialization,
+         * optionally compressed via gzip.
+         */
+        STANDARD,
+        /**
+         * Encode webflow state using a compact java serialization
+         * stream that omits class metadata, prefixed with a version header
+         * and optionally compressed via deflate for speed.
+         */
+        COMPACT
+    }
 }
@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.cassandra.ticketregistry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.model.support.cassandra.authentication.BaseCassandraProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -32,6 +32,6 @@ public class CassandraTicketRegistryProperties extends BaseCassandraProperties {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 }
 
@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.couchbase.ticketregistry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.model.support.couchbase.BaseCouchbaseProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -27,7 +27,7 @@ public class CouchbaseTicketRegistryProperties extends BaseCouchbaseProperties {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     public CouchbaseTicketRegistryProperties() {
         this.crypto.setEnabled(false);
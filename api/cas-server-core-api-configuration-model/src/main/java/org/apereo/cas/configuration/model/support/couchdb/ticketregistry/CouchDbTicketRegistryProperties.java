@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.couchdb.ticketregistry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.model.support.couchdb.BaseCouchDbProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -26,7 +26,7 @@ public class CouchDbTicketRegistryProperties extends BaseCouchDbProperties {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     public CouchDbTicketRegistryProperties() {
         this.crypto.setEnabled(false);
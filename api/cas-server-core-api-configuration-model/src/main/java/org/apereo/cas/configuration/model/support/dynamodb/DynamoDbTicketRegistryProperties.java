@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.dynamodb;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import lombok.Getter;
@@ -47,11 +47,18 @@ public class DynamoDbTicketRegistryProperties extends AbstractDynamoDbProperties
      */
     private String transientSessionTicketsTableName = "transientSessionTicketsTable";
 
+    /**
+     * Number of segments that ticket tables are split into when scanned,
+     * so that bulk operations such as fetching or removing all tickets
+     * scan each table in parallel.
+     */
+    private int scanSegments = 4;
+
     /**
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     public DynamoDbTicketRegistryProperties() {
         this.crypto.setEnabled(false);
@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.ehcache;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.support.RequiredProperty;
 import org.apereo.cas.configuration.support.RequiresModule;
 
@@ -75,8 +75,8 @@ public class Ehcache3Properties implements Serializable {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto =
-        new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto =
+        new TicketRegistryCryptoProperties();
 
     /**
      * Terracotta settings to handle clustered tickets.
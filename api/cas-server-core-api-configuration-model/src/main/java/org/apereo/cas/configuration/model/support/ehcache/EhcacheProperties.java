@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.ehcache;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiredProperty;
 import org.apereo.cas.configuration.support.RequiresModule;
@@ -227,7 +227,7 @@ public class EhcacheProperties implements Serializable {
      */
     @NestedConfigurationProperty
     @Deprecated(since = "6.2.0")
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto = new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto = new TicketRegistryCryptoProperties();
 
     @Deprecated(since = "6.2.0")
     public EhcacheProperties() {
@@ -1,6 +1,6 @@
 package org.apereo.cas.configuration.model.support.jpa.ticketregistry;
 
-import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
 import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiredProperty;
@@ -51,8 +51,8 @@ public class JpaTicketRegistryProperties extends AbstractJpaProperties {
      * Crypto settings for the registry.
      */
     @NestedConfigurationProperty
-    private EncryptionRandomizedSigningJwtCryptographyProperties crypto =
-        new EncryptionRandomizedSigningJwtCryptographyProperties();
+    private TicketRegistryCryptoProperties crypto =
+        new TicketRegistryCryptoProperties();
 
     /**
      * Whether managing tickets via JPA is enabled.
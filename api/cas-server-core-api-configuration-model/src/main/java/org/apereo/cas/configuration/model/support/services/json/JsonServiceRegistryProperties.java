@@ -31,6 +31,29 @@ public class JsonServiceRegistryProperties extends SpringResourceProperties {
      */
     private boolean watcherEnabled = true;
 
+    /**
+     * Maximum number of threads used to parse service definition files
+     * when all service definitions are loaded. A value of zero or less
+     * indicates that the number of available processors should be used.
+     */
+    private int parallelism;
+
+    /**
+     * Location of a binary snapshot file that keeps parsed service definitions,
+     * keyed by the checksum of each service definition file, so that files that have not changed
+     * are not parsed again when service definitions are loaded, i.e. on restarts.
+     * The snapshot is not used if no location is defined. The location should only
+     * be writable by the CAS server.
+     */
+    private String snapshotLocation;
+
+    /**
+     * Secret key used to sign the snapshot with an HMAC, and to verify the snapshot before it is read.
+     * The snapshot is not used unless a signing key is defined, and the same key
+     * must be used across restarts for the snapshot to be reused.
+     */
+    private String snapshotSigningKey;
+
     public JsonServiceRegistryProperties() {
         setLocation(new ClassPathResource("services"));
     }
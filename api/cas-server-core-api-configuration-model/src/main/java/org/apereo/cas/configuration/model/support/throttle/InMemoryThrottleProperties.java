@@ -0,0 +1,60 @@
+package org.apereo.cas.configuration.model.support.throttle;
+
+import org.apereo.cas.configuration.support.RequiresModule;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+
+/**
+ * Configuration properties class for in-memory throttling.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiresModule(name = "cas-server-support-throttle")
+@Getter
+@Setter
+@Accessors(chain = true)
+@JsonFilter("InMemoryThrottleProperties")
+public class InMemoryThrottleProperties implements Serializable {
+
+    private static final long serialVersionUID = -2713806142393875125L;
+
+    /**
+     * Store used to keep track of failed submissions in memory.
+     * <ul>
+     *     <li>{@code CONCURRENT}: Keep the date of the last failed submission per key,
+     *     and compare the rate in between the last failure and the current request with the threshold rate.</li>
+     *     <li>{@code SLIDING_WINDOW}: Count failed submissions per key in a sliding window
+     *     whose length is the configured failure range, and compare the rate of failures in the window with
+     *     the threshold rate. Idle entries are removed without scanning all entries, and the number of
+     *     entries is bounded by the configured maximum size.</li>
+     * </ul>
+     */
+    private StoreTypes store = StoreTypes.CONCURRENT;
+
+    /**
+     * Maximum number of keys tracked by the sliding-window store.
+     * Once reached, keys that have been idle the longest are evicted first.
+     * A value of zero or less removes the bound.
+     */
+    private long maximumSize = 100_000;
+
+    /**
+     * Types of in-memory stores.
+     */
+    public enum StoreTypes {
+        /**
+         * Keep the last failed submission per key.
+         */
+        CONCURRENT,
+        /**
+         * Count failed submissions per key in a sliding window.
+         */
+        SLIDING_WINDOW
+    }
+}
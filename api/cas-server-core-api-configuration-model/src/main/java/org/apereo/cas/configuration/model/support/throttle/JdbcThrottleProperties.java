@@ -1,6 +1,7 @@
 package org.apereo.cas.configuration.model.support.throttle;
 
 import org.apereo.cas.configuration.model.support.jpa.AbstractJpaProperties;
+import org.apereo.cas.configuration.support.DurationCapable;
 import org.apereo.cas.configuration.support.RequiresModule;
 
 import com.fasterxml.jackson.annotation.JsonFilter;
@@ -48,4 +49,44 @@ public class JdbcThrottleProperties extends AbstractJpaProperties {
      */
     private String auditQuery = SQL_AUDIT_QUERY_BY_USER_AND_IP;
 
+    /**
+     * Decide how failed authentication attempts are tracked and counted.
+     * <ul>
+     *     <li>{@code AUDIT}: Query the audit trail table for failed authentication attempts
+     *     using the audit query, and compare the rate in between the last two failures with the threshold rate.</li>
+     *     <li>{@code COUNTER}: Keep a dedicated table of failure counts per IP address and username and time bucket,
+     *     which is updated on every failure and pruned as buckets fall outside the failure range. An authentication attempt
+     *     is throttled once the number of failures in the failure range exceeds the threshold.</li>
+     * </ul>
+     */
+    private ThrottleStrategies strategy = ThrottleStrategies.AUDIT;
+
+    /**
+     * Length of the time bucket used to group failure counts
+     * when failures are tracked in a dedicated counter table.
+     */
+    @DurationCapable
+    private String counterBucket = "PT1S";
+
+    /**
+     * Duration for which failure counts fetched from the counter table are kept in memory
+     * on each node, so that repeated checks for the same IP address and username do not reach the database.
+     * Set to zero to always query the database.
+     */
+    @DurationCapable
+    private String counterCacheDuration = "PT1S";
+
+    /**
+     * Strategies to track failed authentication attempts.
+     */
+    public enum ThrottleStrategies {
+        /**
+         * Query the audit trail table.
+         */
+        AUDIT,
+        /**
+         * Keep failure counts in a dedicated table.
+         */
+        COUNTER
+    }
 }
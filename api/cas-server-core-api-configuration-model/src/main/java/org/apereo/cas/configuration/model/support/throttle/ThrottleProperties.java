@@ -32,6 +32,12 @@ public class ThrottleProperties implements Serializable {
     @NestedConfigurationProperty
     private ThrottleFailureProperties failure = new ThrottleFailureProperties();
 
+    /**
+     * Settings related to throttling requests in memory.
+     */
+    @NestedConfigurationProperty
+    private InMemoryThrottleProperties inMemory = new InMemoryThrottleProperties();
+
     /**
      * Record authentication throttling events in a JDBC resource.
      */
@@ -0,0 +1,70 @@
+package org.apereo.cas.services;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * This is {@link RegisteredServiceIndex}. It describes a secondary,
+ * case-insensitive index over registered services of a given type,
+ * keyed by a single attribute of the registered service, such as the client id.
+ * Indexes are identified by their type and name, and are maintained by the services manager
+ * as registered services are loaded, saved and deleted.
+ *
+ * @param <T> the type parameter
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@ToString(of = {"type", "name"})
+@EqualsAndHashCode(of = {"type", "name"})
+@RequiredArgsConstructor(staticName = "of")
+public class RegisteredServiceIndex<T extends RegisteredService> {
+    private final Class<T> type;
+
+    private final String name;
+
+    @Getter(AccessLevel.NONE)
+    private final Function<T, String> keyExtractor;
+
+    /**
+     * Normalize the index key.
+     *
+     * @param key the key
+     * @return the normalized key, or null
+     */
+    public static String normalize(final String key) {
+        return StringUtils.isBlank(key) ? null : key.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Gets the normalized key for the registered service,
+     * if the registered service is of the indexed type.
+     *
+     * @param registeredService the registered service
+     * @return the key
+     */
+    public Optional<String> getKey(final RegisteredService registeredService) {
+        if (registeredService == null || !type.isInstance(registeredService)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(normalize(keyExtractor.apply(type.cast(registeredService))));
+    }
+
+    /**
+     * Build a query against this index for the given key.
+     *
+     * @param key the key
+     * @return the query
+     */
+    public RegisteredServiceIndexQuery<T> query(final String key) {
+        return new RegisteredServiceIndexQuery<>(this, key);
+    }
+}
@@ -0,0 +1,43 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+/**
+ * This is {@link RegisteredServiceIndexQuery}. It looks up
+ * registered services via a {@link RegisteredServiceIndex} by key.
+ *
+ * @param <T> the type parameter
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class RegisteredServiceIndexQuery<T extends RegisteredService> {
+    private final RegisteredServiceIndex<T> index;
+
+    private final String key;
+
+    /**
+     * Gets normalized key.
+     *
+     * @return the normalized key
+     */
+    public String getNormalizedKey() {
+        return RegisteredServiceIndex.normalize(key);
+    }
+
+    /**
+     * Does the given registered service match this query?
+     *
+     * @param registeredService the registered service
+     * @return true/false
+     */
+    public boolean matches(final RegisteredService registeredService) {
+        val normalizedKey = getNormalizedKey();
+        return normalizedKey != null && index.getKey(registeredService).filter(normalizedKey::equals).isPresent();
+    }
+}
@@ -5,6 +5,7 @@ import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -84,6 +85,18 @@ public interface ServiceRegistry {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Retrieve the changes made to the data store since the given time.
+     * Registries that are unable to track changes return an empty result,
+     * in which case callers are expected to {@link #load()} all services instead.
+     *
+     * @param timestamp the time, in milliseconds since epoch, since which changes should be reported
+     * @return the change set, if any.
+     */
+    default Optional<ServiceRegistryChangeSet> loadChangesSince(final long timestamp) {
+        return Optional.empty();
+    }
+
     /**
      * Gets services stream.
      * <p>
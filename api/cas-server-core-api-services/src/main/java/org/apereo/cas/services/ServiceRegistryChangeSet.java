@@ -0,0 +1,43 @@
+package org.apereo.cas.services;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This is {@link ServiceRegistryChangeSet} that describes changes
+ * to a service registry since a given point in time.
+ * Service definitions that are absent from {@link #getServiceIds()}
+ * are considered deleted.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@SuperBuilder
+@Getter
+@ToString(of = {"timestamp", "serviceIds"})
+public class ServiceRegistryChangeSet {
+    /**
+     * Time, in milliseconds since epoch, at which the registry began to collect changes.
+     * Changes that happen afterwards can be found by asking for changes since this timestamp.
+     */
+    private final long timestamp;
+
+    /**
+     * Service definitions that were added or modified.
+     */
+    @Builder.Default
+    private final Collection<RegisteredService> modifiedServices = new ArrayList<>(0);
+
+    /**
+     * Identifiers of all service definitions that exist in the registry.
+     */
+    @Builder.Default
+    private final Set<Long> serviceIds = new HashSet<>(0);
+}
@@ -186,6 +186,24 @@ public interface ServicesManager extends Ordered {
      */
     <T extends RegisteredService> Collection<T> getAllServicesOfType(Class<T> clazz);
 
+    /**
+     * Find a registered service using a secondary index, such as the client id.
+     * Implementations are expected to maintain the index as services are loaded,
+     * saved and deleted so that lookups do not need to scan all services.
+     * The default implementation simply scans services of the indexed type.
+     *
+     * @param <T>   the type parameter
+     * @param query the query
+     * @return the registered service, or null
+     */
+    default <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndexQuery<T> query) {
+        return getAllServicesOfType(query.getIndex().getType())
+            .stream()
+            .filter(query::matches)
+            .findFirst()
+            .orElse(null);
+    }
+
     /**
      * Gets services stream.
      * <p>
@@ -207,6 +225,15 @@ public interface ServicesManager extends Ordered {
      */
     Collection<RegisteredService> load();
 
+    /**
+     * Inform the ServicesManager to apply changes made to the service registry
+     * since services were last loaded. Implementations that are unable to
+     * load changes incrementally should reload all services.
+     */
+    default void loadChanges() {
+        load();
+    }
+
     /**
      * Return a count of loaded services by this manager.
      *
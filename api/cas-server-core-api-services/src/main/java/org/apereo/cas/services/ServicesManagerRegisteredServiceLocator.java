@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.principal.Service;
 import org.springframework.core.Ordered;
 
 import java.util.Collection;
+import java.util.Optional;
 
 /**
  * This is {@link ServicesManagerRegisteredServiceLocator}.
@@ -32,6 +33,18 @@ public interface ServicesManagerRegisteredServiceLocator extends Ordered {
      */
     boolean supports(RegisteredService registeredService, Service service);
 
+    /**
+     * Gets the index query that can directly look up candidate
+     * registered services for the given service request, if any.
+     * When present, the located candidates are limited to the indexed services.
+     *
+     * @param service the service
+     * @return the index query
+     */
+    default Optional<RegisteredServiceIndexQuery<? extends RegisteredService>> getIndexQuery(final Service service) {
+        return Optional.empty();
+    }
+
     @Override
     default int getOrder() {
         return Ordered.LOWEST_PRECEDENCE;
@@ -15,7 +15,20 @@ import java.time.ZonedDateTime;
 public class ThrottledSubmission implements Serializable {
     private static final long serialVersionUID = -853401483455717926L;
 
+    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
+
     private final String key;
 
     private final ZonedDateTime value;
+
+    /**
+     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
+     *
+     * @param a First date.
+     * @param b Second date.
+     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
+     */
+    public static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
+        return SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
+    }
 }
@@ -1,6 +1,7 @@
 package org.apereo.cas.web.support;
 
 import java.time.ZonedDateTime;
+import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -40,4 +41,29 @@ public interface ThrottledSubmissionsStore {
      * @return the stream
      */
     Stream<ThrottledSubmission> entries();
+
+    /**
+     * Calculate the rate of submissions recorded for the given key, in submissions/sec, as of the given date.
+     * By default, this is the instantaneous rate in between the given date and the last recorded submission,
+     * or zero if no submission is recorded for the key.
+     *
+     * @param key the key
+     * @param now the date
+     * @return the submission rate
+     */
+    default double getSubmissionRate(final String key, final ZonedDateTime now) {
+        return Optional.ofNullable(get(key))
+            .map(last -> ThrottledSubmission.submissionRate(now, last))
+            .orElse(0D);
+    }
+
+    /**
+     * Remove entries whose submission rate, as of the given date, is below the threshold rate.
+     *
+     * @param now           the date
+     * @param thresholdRate the threshold rate
+     */
+    default void removeExpired(final ZonedDateTime now, final double thresholdRate) {
+        removeIf(entry -> ThrottledSubmission.submissionRate(now, entry.getValue()) < thresholdRate);
+    }
 }
@@ -1,10 +1,13 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 
+import lombok.val;
 import org.jooq.lambda.Unchecked;
 
 import java.util.Collection;
+import java.util.OptionalLong;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -127,6 +130,78 @@ public interface TicketRegistry {
      */
     Ticket updateTicket(Ticket ticket) throws Exception;
 
+    /**
+     * Apply the additions, updates and deletions collected in the batch.
+     * Registries that are able to should override this operation to apply all changes
+     * in a single transaction or round trip; by default, changes are applied one at a time.
+     *
+     * @param batch the batch
+     * @throws Exception the exception
+     */
+    default void save(final TicketRegistryBatch batch) throws Exception {
+        for (val ticket : batch.getAddedTickets()) {
+            addTicket(ticket);
+        }
+        for (val ticket : batch.getUpdatedTickets()) {
+            updateTicket(ticket);
+        }
+        for (val ticketId : batch.getDeletedTicketIds()) {
+            deleteTicket(ticketId);
+        }
+    }
+
+    /**
+     * Gets the number of partitions that expired tickets are split into, so that
+     * expired tickets may be cleaned in parallel and by several CAS nodes at once.
+     * Registries that do not keep track of ticket expiration report a single partition.
+     *
+     * @return the partition count
+     */
+    default int getExpirationPartitionCount() {
+        return 1;
+    }
+
+    /**
+     * Gets the expired tickets in the given partition of the registry.
+     * Registries that keep an index of ticket expiration should override this operation
+     * to only visit tickets that are due to expire, rather than scanning all tickets.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param partition the partition, between zero and the partition count
+     * @return the expired tickets
+     */
+    default Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        return stream().filter(Ticket::isExpired);
+    }
+
+    /**
+     * Remove expired tickets in the given partition of the registry in bulk, without loading them,
+     * as long as they require no further processing once removed, such as ticket-granting tickets
+     * that are subject to single logout. Tickets that are not removed here are later
+     * found via {@link #getExpiredTickets(int)}.
+     * Registries that are unable to remove expired tickets in bulk remove nothing.
+     *
+     * @param partition the partition, between zero and the partition count
+     * @return the number of tickets removed
+     */
+    default int deleteExpiredTickets(final int partition) {
+        return 0;
+    }
+
+    /**
+     * Gets the time, in epoch milliseconds, at which the given ticket is due to be checked
+     * for expiration, as recorded by the expiration index of the registry.
+     * Registries that do not keep track of ticket expiration return nothing.
+     *
+     * @param ticket the ticket
+     * @return the indexed expiration check time, if any
+     */
+    default OptionalLong getIndexedExpirationCheckTime(final Ticket ticket) {
+        return OptionalLong.empty();
+    }
+
     /**
      * Computes the number of SSO sessions stored in the ticket registry.
      *
@@ -162,4 +237,23 @@ public interface TicketRegistry {
      * @return the count
      */
     long countSessionsFor(String principalId);
+
+    /**
+     * Gets the single sign-on sessions, that is the unexpired ticket-granting tickets,
+     * that are recorded in the ticket registry for the given principal id.
+     * Principal ids are compared in a case-insensitive manner.
+     * Registries that are able to keep track of sessions per principal
+     * should override this operation to avoid scanning all tickets.
+     * <p>
+     * The returning stream may be bound to an IO channel (such as database connection),
+     * so it should be properly closed after usage.
+     *
+     * @param principalId the principal id
+     * @return the sessions
+     */
+    default Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return getTickets(ticket -> ticket instanceof TicketGrantingTicket
+                                    && !ticket.isExpired()
+                                    && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId));
+    }
 }
@@ -0,0 +1,98 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This is {@link TicketRegistryBatch} that collects tickets to add, update and delete
+ * so that a {@link TicketRegistry} may apply all changes at once, in a single transaction
+ * or round trip where the underlying store supports it. Changes are applied in order of
+ * additions, updates and then deletions.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@ToString
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class TicketRegistryBatch {
+    private final List<Ticket> addedTickets = new ArrayList<>();
+
+    private final List<Ticket> updatedTickets = new ArrayList<>();
+
+    private final List<String> deletedTicketIds = new ArrayList<>();
+
+    /**
+     * Create a new empty batch.
+     *
+     * @return the batch
+     */
+    public static TicketRegistryBatch create() {
+        return new TicketRegistryBatch();
+    }
+
+    /**
+     * Add ticket to the batch.
+     *
+     * @param ticket the ticket
+     * @return the batch
+     */
+    public TicketRegistryBatch add(final Ticket ticket) {
+        addedTickets.add(ticket);
+        return this;
+    }
+
+    /**
+     * Update ticket as part of the batch.
+     *
+     * @param ticket the ticket
+     * @return the batch
+     */
+    public TicketRegistryBatch update(final Ticket ticket) {
+        updatedTickets.add(ticket);
+        return this;
+    }
+
+    /**
+     * Delete ticket as part of the batch.
+     *
+     * @param ticketId the ticket id
+     * @return the batch
+     */
+    public TicketRegistryBatch delete(final String ticketId) {
+        deletedTicketIds.add(ticketId);
+        return this;
+    }
+
+    /**
+     * Is the batch empty?
+     *
+     * @return true/false
+     */
+    public boolean isEmpty() {
+        return addedTickets.isEmpty() && updatedTickets.isEmpty() && deletedTicketIds.isEmpty();
+    }
+
+    /**
+     * Gets the ids of all tickets that are changed by this batch.
+     *
+     * @return the ticket ids
+     */
+    public Set<String> getTicketIds() {
+        val ids = new LinkedHashSet<String>();
+        addedTickets.forEach(ticket -> ids.add(ticket.getId()));
+        updatedTickets.forEach(ticket -> ids.add(ticket.getId()));
+        ids.addAll(deletedTicketIds);
+        return ids;
+    }
+}
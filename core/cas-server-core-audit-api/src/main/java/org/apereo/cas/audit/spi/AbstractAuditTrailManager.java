@@ -1,19 +1,23 @@
 package org.apereo.cas.audit.spi;
 
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+
 import lombok.AccessLevel;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.springframework.beans.factory.DisposableBean;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Collection;
+import java.util.Map;
 
 /**
  * This is {@link AbstractAuditTrailManager}.
+ * When audit records are saved asynchronously, records are handed over
+ * to an {@link AuditRecordPipeline} that saves them in batches.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -21,7 +25,6 @@ import java.util.concurrent.Executors;
 @Setter
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@AllArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractAuditTrailManager implements AuditTrailManager, DisposableBean {
 
     /**
@@ -29,13 +32,23 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
      */
     protected boolean asynchronous;
 
-    private final ExecutorService executorService = Executors.newSingleThreadExecutor(
-        r -> new Thread(r, "AuditTrailManagerThread"));
+    /**
+     * Settings that control the pipeline used to save records asynchronously.
+     */
+    private AuditPipelineProperties pipelineProperties = new AuditPipelineProperties();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private volatile AuditRecordPipeline pipeline;
+
+    protected AbstractAuditTrailManager(final boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
 
     @Override
     public void record(final AuditActionContext audit) {
         if (this.asynchronous) {
-            this.executorService.execute(() -> saveAuditRecord(audit));
+            getAuditRecordPipeline().submit(audit);
         } else {
             saveAuditRecord(audit);
         }
@@ -43,7 +56,19 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
 
     @Override
     public void destroy() {
-        this.executorService.shutdown();
+        if (pipeline != null) {
+            pipeline.destroy();
+        }
+    }
+
+    /**
+     * Gets statistics of the asynchronous audit pipeline,
+     * such as the queue depth, batch latencies and dropped records.
+     *
+     * @return the pipeline statistics, or an empty map if records are not saved asynchronously.
+     */
+    public Map<String, Object> getPipelineStatistics() {
+        return pipeline != null ? pipeline.getStatistics() : Map.of();
     }
 
     /**
@@ -51,4 +76,30 @@ public abstract class AbstractAuditTrailManager implements AuditTrailManager, Di
      * @param audit Audit record to be saved.
      */
     protected abstract void saveAuditRecord(AuditActionContext audit);
+
+    /**
+     * Save a batch of audit records.
+     * Implementations that are able to save multiple records
+     * in a single round trip should override this method.
+     *
+     * @param audits audit records to be saved.
+     */
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        audits.forEach(this::saveAuditRecord);
+    }
+
+    private AuditRecordPipeline getAuditRecordPipeline() {
+        var result = pipeline;
+        if (result == null) {
+            synchronized (this) {
+                result = pipeline;
+                if (result == null) {
+                    val name = getClass().getSimpleName() + "Pipeline";
+                    result = new AuditRecordPipeline(name, pipelineProperties, this::saveAuditRecords);
+                    pipeline = result;
+                }
+            }
+        }
+        return result;
+    }
 }
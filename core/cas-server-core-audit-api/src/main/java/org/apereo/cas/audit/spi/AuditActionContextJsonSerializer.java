@@ -2,8 +2,10 @@ package org.apereo.cas.audit.spi;
 
 import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
 
+import com.fasterxml.jackson.core.PrettyPrinter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.NoArgsConstructor;
 import org.apereo.inspektr.audit.AuditActionContext;
 
 /**
@@ -12,9 +14,14 @@ import org.apereo.inspektr.audit.AuditActionContext;
  * @author Misagh Moayyed
  * @since 5.3.0
  */
+@NoArgsConstructor
 public class AuditActionContextJsonSerializer extends AbstractJacksonBackedStringSerializer<AuditActionContext> {
     private static final long serialVersionUID = -8983370764375218898L;
 
+    public AuditActionContextJsonSerializer(final PrettyPrinter prettyPrinter) {
+        super(prettyPrinter);
+    }
+
     @Override
     public Class<AuditActionContext> getTypeToSerialize() {
         return AuditActionContext.class;
@@ -0,0 +1,292 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.LoggingUtils;
+
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.ClassUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link AuditRecordPipeline}. Audit records are placed into a bounded queue
+ * and are drained by a single worker thread that hands them over to the audit storage
+ * in batches, once either the batch is full or the flush interval elapses.
+ * Once the queue is full, the configured overflow policy decides whether callers
+ * should block, or whether audit records should be dropped or spilled to a local file.
+ * Batches that cannot be saved are retried, and are then spilled to a local file or
+ * logged record by record, so that failed audit records are never silently lost.
+ * Pipeline statistics are registered as meters with the global Micrometer registry
+ * when Micrometer is available.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class AuditRecordPipeline implements DisposableBean {
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    @Getter
+    private final String name;
+
+    @Getter
+    private final AuditPipelineProperties properties;
+
+    private final Consumer<Collection<AuditActionContext>> consumer;
+
+    private final BlockingQueue<AuditActionContext> queue;
+
+    private final AuditActionContextJsonSerializer serializer =
+        new AuditActionContextJsonSerializer(new MinimalPrettyPrinter());
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong flushedBatches = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong flushedRecords = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong failedRecords = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong retriedBatches = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong spilledRecords = new AtomicLong();
+
+    private final AtomicLong lastBatchLatency = new AtomicLong();
+
+    @Getter(AccessLevel.PACKAGE)
+    private final AtomicLong totalBatchLatency = new AtomicLong();
+
+    private final long flushIntervalNanos;
+
+    private final Thread worker;
+
+    private final AuditRecordPipelineMeters meters;
+
+    private volatile boolean running = true;
+
+    public AuditRecordPipeline(final String name,
+                               final AuditPipelineProperties properties,
+                               final Consumer<Collection<AuditActionContext>> consumer) {
+        this.name = name;
+        this.properties = properties;
+        this.consumer = consumer;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.flushIntervalNanos = Math.max(1, Beans.newDuration(properties.getFlushInterval()).toNanos());
+        this.meters = ClassUtils.isPresent(AuditRecordPipelineMeters.METER_REGISTRY_CLASS, getClass().getClassLoader())
+            ? new AuditRecordPipelineMeters(this)
+            : null;
+        this.worker = new Thread(this::drain, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Submit audit record to the pipeline.
+     *
+     * @param audit the audit
+     */
+    public void submit(final AuditActionContext audit) {
+        if (!running) {
+            LOGGER.warn("Audit pipeline [{}] is shut down; audit record is ignored", name);
+            droppedRecords.incrementAndGet();
+            return;
+        }
+        val policy = properties.getOverflowPolicy();
+        if (policy == AuditPipelineProperties.OverflowPolicyTypes.BLOCK) {
+            try {
+                queue.put(audit);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                droppedRecords.incrementAndGet();
+            }
+        } else if (!queue.offer(audit)) {
+            if (policy == AuditPipelineProperties.OverflowPolicyTypes.SPILL) {
+                spill(List.of(audit));
+            } else {
+                LOGGER.trace("Audit pipeline [{}] is full; audit record is dropped", name);
+                droppedRecords.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Gets pipeline statistics, such as the queue depth,
+     * batch latencies and the number of dropped records.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        val batches = flushedBatches.get();
+        val statistics = new LinkedHashMap<String, Object>();
+        statistics.put("queueDepth", queue.size());
+        statistics.put("queueCapacity", queue.size() + queue.remainingCapacity());
+        statistics.put("flushedBatches", batches);
+        statistics.put("flushedRecords", flushedRecords.get());
+        statistics.put("failedRecords", failedRecords.get());
+        statistics.put("retriedBatches", retriedBatches.get());
+        statistics.put("droppedRecords", droppedRecords.get());
+        statistics.put("spilledRecords", spilledRecords.get());
+        statistics.put("lastBatchLatencyMillis", TimeUnit.NANOSECONDS.toMillis(lastBatchLatency.get()));
+        statistics.put("averageBatchLatencyMillis",
+            batches == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalBatchLatency.get() / batches));
+        return statistics;
+    }
+
+    /**
+     * Gets the number of audit records waiting in the queue.
+     *
+     * @return the queue depth
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            LOGGER.warn("Audit pipeline [{}] did not shut down in time with [{}] pending audit record(s)", name, queue.size());
+            worker.interrupt();
+        }
+        if (meters != null) {
+            meters.close();
+        }
+    }
+
+    private void drain() {
+        val batchSize = Math.max(1, properties.getBatchSize());
+        val batch = new ArrayList<AuditActionContext>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                val first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    fill(batch, batchSize);
+                    flush(batch);
+                    batch.clear();
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queue.drainTo(batch);
+                flush(batch);
+                return;
+            }
+        }
+    }
+
+    private void fill(final List<AuditActionContext> batch, final int batchSize) throws InterruptedException {
+        val deadline = System.nanoTime() + flushIntervalNanos;
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            val remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            val next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(final List<AuditActionContext> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        val attempts = Math.max(1, properties.getRetryAttempts() + 1);
+        for (var attempt = 1; attempt <= attempts; attempt++) {
+            if (save(batch)) {
+                return;
+            }
+            if (attempt < attempts) {
+                retriedBatches.incrementAndGet();
+                LOGGER.warn("Audit pipeline [{}] failed to save [{}] audit record(s); retrying, attempt [{}] of [{}]",
+                    name, batch.size(), attempt + 1, attempts);
+                try {
+                    TimeUnit.NANOSECONDS.sleep(flushIntervalNanos * attempt);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        failedRecords.addAndGet(batch.size());
+        if (properties.getOverflowPolicy() == AuditPipelineProperties.OverflowPolicyTypes.SPILL) {
+            spill(batch);
+        } else {
+            batch.forEach(audit -> LOGGER.error("Audit pipeline [{}] failed to save audit record [{}]",
+                name, serializer.toString(audit)));
+        }
+    }
+
+    private boolean save(final List<AuditActionContext> batch) {
+        val start = System.nanoTime();
+        try {
+            consumer.accept(new ArrayList<>(batch));
+            flushedRecords.addAndGet(batch.size());
+            return true;
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            return false;
+        } finally {
+            val latency = System.nanoTime() - start;
+            lastBatchLatency.set(latency);
+            totalBatchLatency.addAndGet(latency);
+            flushedBatches.incrementAndGet();
+            LOGGER.trace("Audit pipeline [{}] flushed [{}] audit record(s) in [{}]ms",
+                name, batch.size(), TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+    }
+
+    private synchronized void spill(final List<AuditActionContext> records) {
+        val directory = properties.getSpillDirectory();
+        val file = new File(directory, name + ".json");
+        try {
+            Files.createDirectories(directory.toPath());
+            try (val writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (val audit : records) {
+                    writer.write(serializer.toString(audit));
+                    writer.newLine();
+                }
+            }
+            spilledRecords.addAndGet(records.size());
+        } catch (final IOException e) {
+            LoggingUtils.error(LOGGER, e);
+            droppedRecords.addAndGet(records.size());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.audit.spi;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tags;
+import lombok.val;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is {@link AuditRecordPipelineMeters}. Registers the statistics of an
+ * {@link AuditRecordPipeline} as meters with the global Micrometer registry,
+ * which Spring Boot links to the registries configured for CAS metrics.
+ * This class must only be loaded when Micrometer is on the classpath.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+class AuditRecordPipelineMeters {
+    /**
+     * Class whose presence indicates that Micrometer is available.
+     */
+    static final String METER_REGISTRY_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+
+    private static final String METER_PREFIX = "cas.audit.pipeline.";
+
+    private final MeterRegistry registry;
+
+    private final List<Meter> meters;
+
+    AuditRecordPipelineMeters(final AuditRecordPipeline pipeline) {
+        this.registry = Metrics.globalRegistry;
+        val tags = Tags.of("pipeline", pipeline.getName());
+        this.meters = List.of(
+            Gauge.builder(METER_PREFIX + "queue.depth", pipeline, AuditRecordPipeline::getQueueDepth)
+                .tags(tags)
+                .description("Number of audit records waiting in the queue")
+                .register(registry),
+            counter("records.flushed", "Number of audit records saved", pipeline.getFlushedRecords(), tags),
+            counter("records.failed", "Number of audit records that could not be saved", pipeline.getFailedRecords(), tags),
+            counter("records.dropped", "Number of audit records dropped", pipeline.getDroppedRecords(), tags),
+            counter("records.spilled", "Number of audit records spilled to disk", pipeline.getSpilledRecords(), tags),
+            counter("batches.retried", "Number of batch save attempts that were retried", pipeline.getRetriedBatches(), tags),
+            FunctionTimer.builder(METER_PREFIX + "batches", pipeline,
+                    p -> p.getFlushedBatches().get(), p -> p.getTotalBatchLatency().get(), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description("Batch save attempts and their latency")
+                .register(registry));
+    }
+
+    /**
+     * Remove the meters from the registry.
+     */
+    void close() {
+        meters.forEach(registry::remove);
+    }
+
+    private FunctionCounter counter(final String name, final String description,
+                                    final AtomicLong value, final Tags tags) {
+        return FunctionCounter.builder(METER_PREFIX + name, value, AtomicLong::get)
+            .tags(tags)
+            .description(description)
+            .register(registry);
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.platform.suite.api.Suite;
     ChainingAuditPrincipalIdProviderTests.class,
     CredentialsAsFirstParameterResourceResolverTests.class,
     FilterAndDelegateAuditTrailManagerTests.class,
+    AuditRecordPipelineTests.class,
     MessageBundleAwareResourceResolverTests.class
 })
 @Suite
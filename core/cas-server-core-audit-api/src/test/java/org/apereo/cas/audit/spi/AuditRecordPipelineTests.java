@@ -0,0 +1,221 @@
+package org.apereo.cas.audit.spi;
+
+import org.apereo.cas.configuration.model.core.audit.AuditPipelineProperties;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AuditRecordPipelineTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Audits")
+@SuppressWarnings("JavaUtilDate")
+public class AuditRecordPipelineTests {
+
+    private static AuditActionContext getAuditRecord() {
+        return new AuditActionContext("casuser", "TEST", "TEST",
+            "CAS", new Date(), "1.2.3.4",
+            "1.2.3.4", UUID.randomUUID().toString());
+    }
+
+    @Test
+    public void verifyBatchesBySize() throws Exception {
+        val batches = new CopyOnWriteArrayList<Collection<AuditActionContext>>();
+        val properties = new AuditPipelineProperties().setBatchSize(10).setFlushInterval("PT10S");
+        val pipeline = new AuditRecordPipeline("SizePipeline", properties, batches::add);
+        for (var i = 0; i < 30; i++) {
+            pipeline.submit(getAuditRecord());
+        }
+        pipeline.destroy();
+        assertEquals(30, batches.stream().mapToInt(Collection::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 10));
+        val statistics = pipeline.getStatistics();
+        assertEquals(30L, statistics.get("flushedRecords"));
+        assertEquals(0, statistics.get("queueDepth"));
+    }
+
+    @Test
+    public void verifyBatchesByTime() throws Exception {
+        val latch = new CountDownLatch(1);
+        val batches = new CopyOnWriteArrayList<Collection<AuditActionContext>>();
+        val properties = new AuditPipelineProperties().setBatchSize(100).setFlushInterval("PT0.1S");
+        val pipeline = new AuditRecordPipeline("TimePipeline", properties, audits -> {
+            batches.add(audits);
+            latch.countDown();
+        });
+        pipeline.submit(getAuditRecord());
+        pipeline.submit(getAuditRecord());
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(2, batches.get(0).size());
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifyDropPolicy() throws Exception {
+        val latch = new CountDownLatch(1);
+        val properties = new AuditPipelineProperties()
+            .setQueueCapacity(1)
+            .setBatchSize(1)
+            .setOverflowPolicy(AuditPipelineProperties.OverflowPolicyTypes.DROP);
+        val pipeline = new AuditRecordPipeline("DropPipeline", properties, audits -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        for (var i = 0; i < 10; i++) {
+            pipeline.submit(getAuditRecord());
+        }
+        assertTrue((Long) pipeline.getStatistics().get("droppedRecords") > 0);
+        latch.countDown();
+        pipeline.destroy();
+    }
+
+    @Test
+    public void verifySpillPolicy() throws Exception {
+        val directory = new File(FileUtils.getTempDirectory(), UUID.randomUUID().toString());
+        val properties = new AuditPipelineProperties()
+            .setBatchSize(5)
+            .setFlushInterval("PT0.1S")
+            .setSpillDirectory(directory)
+            .setOverflowPolicy(AuditPipelineProperties.OverflowPolicyTypes.SPILL);
+        val pipeline = new AuditRecordPipeline("SpillPipeline", properties, audits -> {
+            throw new IllegalArgumentException("Audit storage is unavailable");
+        });
+        for (var i = 0; i < 3; i++) {
+            pipeline.submit(getAuditRecord());
+        }
+        pipeline.destroy();
+        val file = new File(directory, "SpillPipeline.json");
+        assertTrue(file.exists());
+        val lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        val serializer = new AuditActionContextJsonSerializer();
+        lines.forEach(line -> assertNotNull(serializer.from(line)));
+        assertEquals(3L, pipeline.getStatistics().get("spilledRecords"));
+        assertEquals(3L, pipeline.getStatistics().get("failedRecords"));
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void verifyFailedBatchIsRetried() throws Exception {
+        val attempts = new AtomicInteger();
+        val saved = new CopyOnWriteArrayList<AuditActionContext>();
+        val properties = new AuditPipelineProperties()
+            .setBatchSize(5)
+            .setRetryAttempts(2)
+            .setFlushInterval("PT0.05S");
+        val pipeline = new AuditRecordPipeline("RetryPipeline", properties, audits -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalArgumentException("Audit storage is unavailable");
+            }
+            saved.addAll(audits);
+        });
+        for (var i = 0; i < 3; i++) {
+            pipeline.submit(getAuditRecord());
+        }
+        pipeline.destroy();
+        assertEquals(3, saved.size());
+        val statistics = pipeline.getStatistics();
+        assertEquals(2L, statistics.get("retriedBatches"));
+        assertEquals(0L, statistics.get("failedRecords"));
+        assertEquals(3L, statistics.get("flushedRecords"));
+    }
+
+    @Test
+    public void verifyFailedBatchIsCounted() throws Exception {
+        val properties = new AuditPipelineProperties()
+            .setBatchSize(5)
+            .setRetryAttempts(1)
+            .setFlushInterval("PT0.05S")
+            .setOverflowPolicy(AuditPipelineProperties.OverflowPolicyTypes.DROP);
+        val pipeline = new AuditRecordPipeline("FailurePipeline", properties, audits -> {
+            throw new IllegalArgumentException("Audit storage is unavailable");
+        });
+        for (var i = 0; i < 3; i++) {
+            pipeline.submit(getAuditRecord());
+        }
+        pipeline.destroy();
+        val statistics = pipeline.getStatistics();
+        assertEquals(3L, statistics.get("failedRecords"));
+        assertEquals(1L, statistics.get("retriedBatches"));
+        assertEquals(0L, statistics.get("flushedRecords"));
+    }
+
+    @Test
+    public void verifyMeters() throws Exception {
+        val registry = new SimpleMeterRegistry();
+        Metrics.addRegistry(registry);
+        try {
+            val properties = new AuditPipelineProperties().setBatchSize(10).setFlushInterval("PT10S");
+            val pipeline = new AuditRecordPipeline("MeteredPipeline", properties, audits -> {
+            });
+            for (var i = 0; i < 4; i++) {
+                pipeline.submit(getAuditRecord());
+            }
+            val counter = registry.find("cas.audit.pipeline.records.flushed").tag("pipeline", "MeteredPipeline").functionCounter();
+            assertNotNull(counter);
+            assertNotNull(registry.find("cas.audit.pipeline.queue.depth").tag("pipeline", "MeteredPipeline").gauge());
+            pipeline.destroy();
+            assertEquals(4, counter.count());
+        } finally {
+            Metrics.removeRegistry(registry);
+        }
+    }
+
+    @Test
+    public void verifyAuditTrailManagerBatches() {
+        val batches = new ArrayList<Integer>();
+        val manager = new AbstractAuditTrailManager(true) {
+            @Override
+            protected void saveAuditRecord(final AuditActionContext audit) {
+                batches.add(1);
+            }
+
+            @Override
+            protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+                batches.add(audits.size());
+            }
+
+            @Override
+            public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+                return Set.of();
+            }
+
+            @Override
+            public void removeAll() {
+            }
+        };
+        assertTrue(manager.getPipelineStatistics().isEmpty());
+        List.of(getAuditRecord(), getAuditRecord(), getAuditRecord()).forEach(manager::record);
+        assertFalse(manager.getPipelineStatistics().isEmpty());
+        manager.destroy();
+        assertEquals(3, batches.stream().mapToInt(Integer::intValue).sum());
+    }
+}
@@ -0,0 +1,294 @@
+package org.apereo.cas.throttle;
+
+import org.apereo.cas.web.support.ThrottledSubmission;
+import org.apereo.cas.web.support.ThrottledSubmissionsStore;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStore} that counts submissions per key
+ * in fixed windows of time, and estimates the number of submissions in a sliding window
+ * by weighing the count of the previous window with the portion of it that still overlaps the sliding window.
+ * <p>
+ * Each key is tracked using a handful of primitive values in epoch milliseconds. A key becomes idle
+ * once no submissions are recorded for two windows, at which point its estimated count drops to zero.
+ * Keys are scheduled in a timing wheel by the time they become idle, so that removing expired entries
+ * only visits the keys that are due instead of scanning all entries. The number of tracked keys is
+ * bounded; when the bound is reached, keys that are closest to becoming idle are evicted first,
+ * in a batch that leaves headroom for new keys. Eviction is carried out by a single thread at a time,
+ * and does not block other submissions or the removal of expired entries; new keys recorded while
+ * a batch is evicted may briefly exceed the bound, until the next batch.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class SlidingWindowThrottledSubmissionsStore implements ThrottledSubmissionsStore {
+    private static final int WHEEL_SIZE = 64;
+
+    private static final double MILLIS_PER_SECOND = 1000.0;
+
+    private static final int EVICTION_HEADROOM_PERCENTAGE = 10;
+
+    private final Map<String, SubmissionWindow> submissions = new ConcurrentHashMap<>();
+
+    private final List<Set<String>> timingWheel;
+
+    private final Object expirationLock = new Object();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    @Getter
+    private final long windowInMillis;
+
+    @Getter
+    private final long maximumSize;
+
+    private final long tickInMillis;
+
+    private final long evictionThreshold;
+
+    private volatile long expiredTick = -1;
+
+    public SlidingWindowThrottledSubmissionsStore(final Duration window, final long maximumSize) {
+        this.windowInMillis = Math.max(1, window.toMillis());
+        this.tickInMillis = Math.max(1, this.windowInMillis * 2 / WHEEL_SIZE);
+        this.maximumSize = maximumSize;
+        this.evictionThreshold = maximumSize - Math.max(1, maximumSize * EVICTION_HEADROOM_PERCENTAGE / 100);
+        this.timingWheel = IntStream.range(0, WHEEL_SIZE)
+            .mapToObj(i -> ConcurrentHashMap.<String>newKeySet())
+            .collect(Collectors.toList());
+    }
+
+    private static ZonedDateTime toZonedDateTime(final long millis) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+
+    private static int slotOf(final long tick) {
+        return (int) Math.floorMod(tick, (long) WHEEL_SIZE);
+    }
+
+    @Override
+    public void removeIf(final Predicate<ThrottledSubmission> condition) {
+        submissions.entrySet().removeIf(entry -> {
+            val submission = new ThrottledSubmission(entry.getKey(), toZonedDateTime(entry.getValue().getLastSubmission()));
+            if (condition.test(submission)) {
+                entry.getValue().evict();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    @Override
+    public void put(final String key, final ZonedDateTime value) {
+        val millis = value.toInstant().toEpochMilli();
+        if (maximumSize > 0 && submissions.size() >= maximumSize && !submissions.containsKey(key) && evictionLock.tryLock()) {
+            try {
+                evict(millis);
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+        var expirationTick = SubmissionWindow.EVICTED;
+        while (expirationTick == SubmissionWindow.EVICTED) {
+            val window = submissions.computeIfAbsent(key, k -> new SubmissionWindow());
+            expirationTick = window.record(millis, windowInMillis, tickInMillis);
+        }
+        if (expirationTick != SubmissionWindow.UNCHANGED) {
+            timingWheel.get(slotOf(expirationTick)).add(key);
+        }
+    }
+
+    @Override
+    public ZonedDateTime get(final String key) {
+        val window = submissions.get(key);
+        return window != null ? toZonedDateTime(window.getLastSubmission()) : null;
+    }
+
+    @Override
+    public Stream<ThrottledSubmission> entries() {
+        return submissions.entrySet()
+            .stream()
+            .map(entry -> new ThrottledSubmission(entry.getKey(), toZonedDateTime(entry.getValue().getLastSubmission())));
+    }
+
+    /**
+     * The rate is the estimated number of submissions in the sliding window
+     * that ends at the given date, divided by the length of the window in seconds.
+     *
+     * @param key the key
+     * @param now the date
+     * @return the submission rate
+     */
+    @Override
+    public double getSubmissionRate(final String key, final ZonedDateTime now) {
+        val window = submissions.get(key);
+        if (window == null) {
+            return 0;
+        }
+        val count = window.estimate(now.toInstant().toEpochMilli(), windowInMillis);
+        return count * MILLIS_PER_SECOND / windowInMillis;
+    }
+
+    /**
+     * Entries are removed once they become idle, regardless of the given threshold rate.
+     * Only the keys scheduled in the timing wheel to become idle by the given date are visited.
+     *
+     * @param now           the date
+     * @param thresholdRate the threshold rate
+     */
+    @Override
+    public void removeExpired(final ZonedDateTime now, final double thresholdRate) {
+        val currentTick = now.toInstant().toEpochMilli() / tickInMillis;
+        synchronized (expirationLock) {
+            var removed = 0;
+            for (var tick = Math.max(expiredTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+                removed += expire(tick);
+            }
+            expiredTick = Math.max(expiredTick, currentTick);
+            LOGGER.debug("Removed [{}] idle throttled submission(s); [{}] remain", removed, submissions.size());
+        }
+    }
+
+    /**
+     * Number of tracked keys.
+     *
+     * @return the size
+     */
+    public long size() {
+        return submissions.size();
+    }
+
+    private int expire(final long tick) {
+        var removed = 0;
+        val iterator = timingWheel.get(slotOf(tick)).iterator();
+        while (iterator.hasNext()) {
+            val key = iterator.next();
+            val window = submissions.get(key);
+            if (window == null) {
+                iterator.remove();
+            } else {
+                val scheduledTick = window.getExpirationTick();
+                if (scheduledTick <= tick || slotOf(scheduledTick) != slotOf(tick)) {
+                    iterator.remove();
+                    if (window.evictIfIdle(tick)) {
+                        submissions.remove(key, window);
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    private void evict(final long now) {
+        val currentTick = now / tickInMillis;
+        val firstTick = Math.max(expiredTick + 1, currentTick - WHEEL_SIZE + 1);
+        var evicted = 0;
+        for (var tick = firstTick; tick < firstTick + WHEEL_SIZE && submissions.size() > evictionThreshold; tick++) {
+            val iterator = timingWheel.get(slotOf(tick)).iterator();
+            while (iterator.hasNext() && submissions.size() > evictionThreshold) {
+                val key = iterator.next();
+                iterator.remove();
+                val window = submissions.get(key);
+                if (window != null) {
+                    window.evict();
+                    if (submissions.remove(key, window)) {
+                        evicted++;
+                    }
+                }
+            }
+        }
+        LOGGER.debug("Throttled submissions reached the maximum size of [{}]; Evicted [{}] and [{}] remain",
+            maximumSize, evicted, submissions.size());
+    }
+
+    private static final class SubmissionWindow {
+        static final long EVICTED = -1;
+
+        static final long UNCHANGED = 0;
+
+        private long windowStart = Long.MIN_VALUE;
+
+        private int currentCount;
+
+        private int previousCount;
+
+        private long lastSubmission;
+
+        private long expirationTick;
+
+        private boolean evicted;
+
+        /**
+         * Record a submission, and return the tick at which this window becomes idle if it has changed,
+         * {@link #UNCHANGED} if it has not, or {@link #EVICTED} if the window is no longer tracked.
+         */
+        synchronized long record(final long millis, final long windowInMillis, final long tickInMillis) {
+            if (evicted) {
+                return EVICTED;
+            }
+            val start = millis - Math.floorMod(millis, windowInMillis);
+            if (start > windowStart) {
+                previousCount = start - windowStart == windowInMillis ? currentCount : 0;
+                currentCount = 0;
+                windowStart = start;
+            }
+            currentCount++;
+            lastSubmission = Math.max(lastSubmission, millis);
+            val tick = (windowStart + windowInMillis * 2) / tickInMillis;
+            if (tick != expirationTick) {
+                expirationTick = tick;
+                return tick;
+            }
+            return UNCHANGED;
+        }
+
+        synchronized double estimate(final long now, final long windowInMillis) {
+            val start = now - Math.floorMod(now, windowInMillis);
+            if (start <= windowStart) {
+                return currentCount + previousCount * (1 - (double) (now - start) / windowInMillis);
+            }
+            if (start - windowStart == windowInMillis) {
+                return currentCount * (1 - (double) (now - start) / windowInMillis);
+            }
+            return 0;
+        }
+
+        synchronized boolean evictIfIdle(final long tick) {
+            if (expirationTick <= tick) {
+                evicted = true;
+            }
+            return evicted;
+        }
+
+        synchronized void evict() {
+            evicted = true;
+        }
+
+        synchronized long getLastSubmission() {
+            return lastSubmission;
+        }
+
+        synchronized long getExpirationTick() {
+            return expirationTick;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.apereo.cas.throttle;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link SlidingWindowThrottledSubmissionsStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("AuthenticationThrottling")
+public class SlidingWindowThrottledSubmissionsStoreTests {
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2022, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    public void verifyOperation() {
+        val store = new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(10), 100);
+        val key = UUID.randomUUID().toString();
+        store.put(key, NOW);
+        assertEquals(NOW, store.get(key));
+        assertEquals(1, store.entries().count());
+        store.removeIf(entry -> entry.getKey().equals(key));
+        assertEquals(0, store.entries().count());
+        assertNull(store.get(key));
+        assertEquals(0, store.getSubmissionRate(key, NOW));
+    }
+
+    @Test
+    public void verifySlidingWindowRate() {
+        val store = new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(10), 100);
+        IntStream.range(0, 5).forEach(i -> store.put("key", NOW.plusSeconds(i)));
+        assertEquals(0.5, store.getSubmissionRate("key", NOW.plusSeconds(5)), 0.001);
+        assertEquals(0.25, store.getSubmissionRate("key", NOW.plusSeconds(15)), 0.001);
+        assertEquals(0, store.getSubmissionRate("key", NOW.plusSeconds(25)), 0.001);
+    }
+
+    @Test
+    public void verifyIdleEntriesRemoved() {
+        val store = new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(10), 100);
+        store.put("idle", NOW);
+        store.put("active", NOW.plusSeconds(15));
+        store.removeExpired(NOW.plusSeconds(15), 1);
+        assertEquals(2, store.size());
+        store.removeExpired(NOW.plusSeconds(21), 1);
+        assertNull(store.get("idle"));
+        assertNotNull(store.get("active"));
+        store.removeExpired(NOW.plusSeconds(45), 1);
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void verifyMaximumSize() {
+        val store = new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(10), 100);
+        IntStream.range(0, 1000).forEach(i -> store.put("key-" + i, NOW.plusNanos(i * 10_000_000L)));
+        assertTrue(store.size() <= 100);
+        assertTrue(store.size() > 90);
+        assertNotNull(store.get("key-999"));
+        store.put("key-1000", NOW.plusSeconds(10));
+        assertEquals(91, store.size());
+        assertNotNull(store.get("key-1000"));
+    }
+
+    @Test
+    public void verifyMaximumSizeWithConcurrentSubmissions() {
+        val store = new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(10), 100);
+        IntStream.range(0, 10_000).parallel().forEach(i -> store.put("key-" + i, NOW.plusNanos(i * 1_000_000L)));
+        assertTrue(store.size() <= 100 + Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,90 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceAttributeReleasePolicyContext;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnAllowedAttributeReleasePolicy;
+import org.apereo.cas.services.ReturnMappedAttributeReleasePolicy;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link AttributeReleasePolicyBenchmarks} that measures
+ * the cost of the common attribute release policies.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AttributeReleasePolicyBenchmarks {
+    private Principal principal;
+
+    private Service service;
+
+    private RegexRegisteredService returnAllService;
+
+    private RegexRegisteredService returnAllowedService;
+
+    private RegexRegisteredService returnMappedService;
+
+    @Setup
+    public void setup() {
+        principal = CoreBenchmarkUtils.getPrincipal();
+        service = CoreBenchmarkUtils.getService("https://app0.example.org/login");
+
+        returnAllService = CoreBenchmarkUtils.getRegisteredService(0);
+        returnAllService.setAttributeReleasePolicy(new ReturnAllAttributeReleasePolicy());
+
+        returnAllowedService = CoreBenchmarkUtils.getRegisteredService(0);
+        returnAllowedService.setAttributeReleasePolicy(new ReturnAllowedAttributeReleasePolicy(List.of("uid", "mail", "memberOf")));
+
+        returnMappedService = CoreBenchmarkUtils.getRegisteredService(0);
+        returnMappedService.setAttributeReleasePolicy(new ReturnMappedAttributeReleasePolicy(
+            Map.of("uid", "username", "mail", "email", "memberOf", List.of("groups", "roles"))));
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> returnAllAttributes() {
+        return releaseAttributes(returnAllService);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> returnAllowedAttributes() {
+        return releaseAttributes(returnAllowedService);
+    }
+
+    @Benchmark
+    public Map<String, List<Object>> returnMappedAttributes() {
+        return releaseAttributes(returnMappedService);
+    }
+
+    private Map<String, List<Object>> releaseAttributes(final RegexRegisteredService registeredService) {
+        val context = RegisteredServiceAttributeReleasePolicyContext.builder()
+            .registeredService(registeredService)
+            .service(service)
+            .principal(principal)
+            .build();
+        return registeredService.getAttributeReleasePolicy().getAttributes(context);
+    }
+}
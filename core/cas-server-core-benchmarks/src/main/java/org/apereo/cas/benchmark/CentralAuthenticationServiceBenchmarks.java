@@ -0,0 +1,104 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.CentralAuthenticationService;
+import org.apereo.cas.CentralAuthenticationServiceContext;
+import org.apereo.cas.DefaultCentralAuthenticationService;
+import org.apereo.cas.audit.AuditableExecutionResult;
+import org.apereo.cas.authentication.AuthenticationResult;
+import org.apereo.cas.authentication.DefaultAuthenticationResult;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionPlan;
+import org.apereo.cas.authentication.DefaultAuthenticationServiceSelectionStrategy;
+import org.apereo.cas.authentication.policy.AcceptAnyAuthenticationPolicyFactory;
+import org.apereo.cas.authentication.principal.DefaultServiceMatchingStrategy;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.lock.LockRepository;
+import org.apereo.cas.validation.Assertion;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CentralAuthenticationServiceBenchmarks} that measures
+ * the ticket-granting, service ticket grant and validation flows of
+ * {@link DefaultCentralAuthenticationService} against an in-memory ticket registry.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CentralAuthenticationServiceBenchmarks {
+    private CentralAuthenticationService centralAuthenticationService;
+
+    private AuthenticationResult authenticationResult;
+
+    private Service service;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Setup
+    public void setup() {
+        val applicationContext = CoreBenchmarkUtils.getApplicationContext();
+        val servicesManager = CoreBenchmarkUtils.getServicesManager(10);
+        val context = CentralAuthenticationServiceContext.builder()
+            .applicationContext(applicationContext)
+            .ticketRegistry(new DefaultTicketRegistry())
+            .servicesManager(servicesManager)
+            .ticketFactory(CoreBenchmarkUtils.getTicketFactory(servicesManager))
+            .lockRepository(LockRepository.asDefault())
+            .authenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionPlan(new DefaultAuthenticationServiceSelectionStrategy()))
+            .authenticationPolicyFactory(new AcceptAnyAuthenticationPolicyFactory())
+            .principalFactory(PrincipalFactoryUtils.newPrincipalFactory())
+            .cipherExecutor(CipherExecutor.noOpOfStringToString())
+            .registeredServiceAccessStrategyEnforcer(auditableContext -> new AuditableExecutionResult())
+            .serviceMatchingStrategy(new DefaultServiceMatchingStrategy(servicesManager))
+            .build();
+        centralAuthenticationService = new DefaultCentralAuthenticationService(context);
+        service = CoreBenchmarkUtils.getService("https://app5.example.org/login");
+        authenticationResult = new DefaultAuthenticationResult(CoreBenchmarkUtils.getAuthentication(), service);
+    }
+
+    /**
+     * Each granted service ticket is tracked by its parent ticket;
+     * start every iteration from a fresh single sign-on session.
+     *
+     * @throws Exception the exception
+     */
+    @Setup(Level.Iteration)
+    public void setupTicketGrantingTicket() throws Exception {
+        ticketGrantingTicket = centralAuthenticationService.createTicketGrantingTicket(authenticationResult);
+    }
+
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() throws Exception {
+        val ticket = centralAuthenticationService.createTicketGrantingTicket(authenticationResult);
+        centralAuthenticationService.deleteTicket(ticket.getId());
+        return ticket;
+    }
+
+    @Benchmark
+    public Assertion grantAndValidateServiceTicket() throws Exception {
+        val serviceTicket = centralAuthenticationService.grantServiceTicket(ticketGrantingTicket.getId(), service, authenticationResult);
+        return centralAuthenticationService.validateServiceTicket(serviceTicket.getId(), service);
+    }
+}
@@ -0,0 +1,71 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
+import org.apereo.cas.util.cipher.BaseBinaryCipherExecutor;
+import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link CipherExecutorBenchmarks} that measures encoding and decoding
+ * of payloads with the ciphers available to ticket registries, i.e. a {@link BaseBinaryCipherExecutor}
+ * that encrypts and signs values and the {@link AesGcmTicketCipherExecutor}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CipherExecutorBenchmarks {
+    @Param({"256", "4096"})
+    private int payloadSize;
+
+    @Param({"ENCRYPT_AND_SIGN", "AES_GCM"})
+    private String strategy;
+
+    private CipherExecutor<byte[], byte[]> cipherExecutor;
+
+    private Object[] parameters;
+
+    private byte[] payload;
+
+    private byte[] encodedPayload;
+
+    @Setup
+    public void setup() {
+        cipherExecutor = "AES_GCM".equals(strategy)
+            ? new AesGcmTicketCipherExecutor(null, 16, "benchmark")
+            : new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "benchmark");
+        parameters = new Object[]{"TGT-1-benchmark"};
+        payload = RandomUtils.nextBytes(payloadSize);
+        encodedPayload = cipherExecutor.encode(payload, parameters);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return cipherExecutor.encode(payload, parameters);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return cipherExecutor.decode(encodedPayload, parameters);
+    }
+}
@@ -0,0 +1,203 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.DefaultAuthenticationBuilder;
+import org.apereo.cas.authentication.DefaultAuthenticationHandlerExecutionResult;
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.authentication.metadata.BasicCredentialMetaData;
+import org.apereo.cas.authentication.principal.Principal;
+import org.apereo.cas.authentication.principal.PrincipalFactoryUtils;
+import org.apereo.cas.authentication.principal.WebApplicationService;
+import org.apereo.cas.authentication.principal.WebApplicationServiceFactory;
+import org.apereo.cas.services.DefaultServicesManager;
+import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
+import org.apereo.cas.services.InMemoryServiceRegistry;
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.ReturnAllAttributeReleasePolicy;
+import org.apereo.cas.services.ServicesManager;
+import org.apereo.cas.services.ServicesManagerConfigurationContext;
+import org.apereo.cas.ticket.ExpirationPolicy;
+import org.apereo.cas.ticket.ExpirationPolicyBuilder;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.factory.DefaultServiceTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultTicketFactory;
+import org.apereo.cas.ticket.factory.DefaultTicketGrantingTicketFactory;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.experimental.UtilityClass;
+import lombok.val;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.StaticApplicationContext;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link CoreBenchmarkUtils} that builds the fixtures shared by benchmarks
+ * without starting a Spring application context.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@UtilityClass
+public class CoreBenchmarkUtils {
+    /**
+     * Principal id used by benchmarks.
+     */
+    public static final String PRINCIPAL_ID = "casuser";
+
+    /**
+     * Build a refreshed, empty application context.
+     *
+     * @return the application context
+     */
+    public static ConfigurableApplicationContext getApplicationContext() {
+        val applicationContext = new StaticApplicationContext();
+        applicationContext.refresh();
+        return applicationContext;
+    }
+
+    /**
+     * Build a principal with a handful of attributes.
+     *
+     * @return the principal
+     */
+    public static Principal getPrincipal() {
+        return getPrincipal(0);
+    }
+
+    /**
+     * Build a principal with a handful of attributes,
+     * along with the given number of additional multi-valued attributes.
+     *
+     * @param additionalAttributes the number of additional attributes
+     * @return the principal
+     */
+    public static Principal getPrincipal(final int additionalAttributes) {
+        val attributes = new HashMap<String, List<Object>>();
+        IntStream.range(0, additionalAttributes).forEach(i -> attributes.put("attribute" + i,
+            List.of("value-" + i, "https://example.org/groups/" + i, "urn:example:entitlement:" + i)));
+        attributes.put("uid", List.of(PRINCIPAL_ID));
+        attributes.put("mail", List.of("casuser@example.org"));
+        attributes.put("givenName", List.of("CAS"));
+        attributes.put("sn", List.of("User"));
+        attributes.put("memberOf", List.of("staff", "faculty", "admins"));
+        return PrincipalFactoryUtils.newPrincipalFactory().createPrincipal(PRINCIPAL_ID, attributes);
+    }
+
+    /**
+     * Build a successful authentication for the benchmark principal.
+     *
+     * @return the authentication
+     */
+    public static Authentication getAuthentication() {
+        return getAuthentication(0);
+    }
+
+    /**
+     * Build a successful authentication for the benchmark principal,
+     * whose principal carries the given number of additional attributes.
+     *
+     * @param additionalAttributes the number of additional attributes
+     * @return the authentication
+     */
+    public static Authentication getAuthentication(final int additionalAttributes) {
+        val principal = getPrincipal(additionalAttributes);
+        val meta = new BasicCredentialMetaData(new UsernamePasswordCredential(PRINCIPAL_ID, PRINCIPAL_ID));
+        return new DefaultAuthenticationBuilder(principal)
+            .addCredential(meta)
+            .addSuccess("benchmark", new DefaultAuthenticationHandlerExecutionResult("benchmark", meta, principal, List.of()))
+            .build();
+    }
+
+    /**
+     * Build a web application service.
+     *
+     * @param id the id
+     * @return the service
+     */
+    public static WebApplicationService getService(final String id) {
+        return new WebApplicationServiceFactory().createService(id);
+    }
+
+    /**
+     * Build a registered service whose pattern matches the given index only.
+     *
+     * @param index the index
+     * @return the registered service
+     */
+    public static RegexRegisteredService getRegisteredService(final int index) {
+        val registeredService = new RegexRegisteredService();
+        registeredService.setId(index);
+        registeredService.setName("Service" + index);
+        registeredService.setServiceId("^https://app" + index + "\\.example\\.org/.*");
+        registeredService.setEvaluationOrder(index);
+        registeredService.setAttributeReleasePolicy(new ReturnAllAttributeReleasePolicy());
+        return registeredService;
+    }
+
+    /**
+     * Build a services manager backed by an in-memory registry
+     * holding the given number of registered services.
+     *
+     * @param count the count
+     * @return the services manager
+     */
+    public static ServicesManager getServicesManager(final int count) {
+        val applicationContext = getApplicationContext();
+        val context = ServicesManagerConfigurationContext.builder()
+            .serviceRegistry(new InMemoryServiceRegistry(applicationContext))
+            .applicationContext(applicationContext)
+            .environments(new HashSet<>(0))
+            .servicesCache(Caffeine.newBuilder().build())
+            .registeredServiceLocators(List.of(new DefaultServicesManagerRegisteredServiceLocator()))
+            .build();
+        val servicesManager = new DefaultServicesManager(context);
+        IntStream.range(0, count).forEach(i -> servicesManager.save(getRegisteredService(i), false));
+        servicesManager.load();
+        return servicesManager;
+    }
+
+    /**
+     * Build a ticket factory for ticket-granting and service tickets
+     * whose tickets never expire.
+     *
+     * @param servicesManager the services manager
+     * @return the ticket factory
+     */
+    public static DefaultTicketFactory getTicketFactory(final ServicesManager servicesManager) {
+        val factory = new DefaultTicketFactory();
+        factory.addTicketFactory(TicketGrantingTicket.class,
+            new DefaultTicketGrantingTicketFactory(new DefaultUniqueTicketIdGenerator(),
+                neverExpiresExpirationPolicyBuilder(),
+                CipherExecutor.noOpOfSerializableToString(), servicesManager));
+        factory.addTicketFactory(ServiceTicket.class,
+            new DefaultServiceTicketFactory(neverExpiresExpirationPolicyBuilder(),
+                Map.of(), false, CipherExecutor.noOpOfStringToString(), servicesManager));
+        return factory;
+    }
+
+    private static <T extends Ticket> ExpirationPolicyBuilder<T> neverExpiresExpirationPolicyBuilder() {
+        return new ExpirationPolicyBuilder<>() {
+            private static final long serialVersionUID = -2710429624733476462L;
+
+            @Override
+            public ExpirationPolicy buildTicketExpirationPolicy() {
+                return NeverExpiresExpirationPolicy.INSTANCE;
+            }
+
+            @Override
+            public Class<T> getTicketType() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServicesMatchingIndex;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link RegisteredServicesMatchingIndexBenchmarks} that compares matching service urls
+ * through the {@link RegisteredServicesMatchingIndex} against evaluating all services in order,
+ * and measures the cost of building the index.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegisteredServicesMatchingIndexBenchmarks {
+    @Param({"1000", "10000", "50000"})
+    private int registeredServices;
+
+    private List<RegisteredService> services;
+
+    private RegisteredServicesMatchingIndex index;
+
+    private String knownServiceId;
+
+    private String unknownServiceId;
+
+    @Setup
+    public void setup() {
+        services = IntStream.range(0, registeredServices)
+            .mapToObj(i -> {
+                val service = new RegexRegisteredService();
+                service.setId(i);
+                service.setName("Service" + i);
+                service.setServiceId("^https://app" + i + "\\.example\\.org/.*");
+                service.setEvaluationOrder(i);
+                return service;
+            })
+            .sorted(Comparator.naturalOrder())
+            .collect(Collectors.toList());
+        index = new RegisteredServicesMatchingIndex(services);
+        knownServiceId = "https://app" + (registeredServices - 1) + ".example.org/login";
+        unknownServiceId = "https://unknown.example.net/login";
+    }
+
+    @Benchmark
+    public RegisteredService matchKnownServiceLinearly() {
+        return matchLinearly(knownServiceId);
+    }
+
+    @Benchmark
+    public RegisteredService matchKnownServiceByIndex() {
+        return matchByIndex(knownServiceId);
+    }
+
+    @Benchmark
+    public RegisteredService matchUnknownServiceLinearly() {
+        return matchLinearly(unknownServiceId);
+    }
+
+    @Benchmark
+    public RegisteredService matchUnknownServiceByIndex() {
+        return matchByIndex(unknownServiceId);
+    }
+
+    @Benchmark
+    public RegisteredServicesMatchingIndex buildIndex() {
+        return new RegisteredServicesMatchingIndex(services);
+    }
+
+    private RegisteredService matchLinearly(final String serviceId) {
+        return services.stream()
+            .filter(service -> service.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private RegisteredService matchByIndex(final String serviceId) {
+        return index.getCandidateServicesToMatch(serviceId)
+            .stream()
+            .filter(service -> service.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+    }
+}
@@ -0,0 +1,68 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.ServicesManager;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ServicesManagerBenchmarks} that measures locating
+ * registered services by service url at different registry sizes.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicesManagerBenchmarks {
+    @Param({"10", "100", "1000", "5000"})
+    private int registeredServices;
+
+    private ServicesManager servicesManager;
+
+    private Service firstService;
+
+    private Service lastService;
+
+    private Service unknownService;
+
+    @Setup
+    public void setup() {
+        servicesManager = CoreBenchmarkUtils.getServicesManager(registeredServices);
+        firstService = CoreBenchmarkUtils.getService("https://app0.example.org/login");
+        lastService = CoreBenchmarkUtils.getService("https://app" + (registeredServices - 1) + ".example.org/login");
+        unknownService = CoreBenchmarkUtils.getService("https://unknown.example.net/login");
+    }
+
+    @Benchmark
+    public RegisteredService findFirstService() {
+        return servicesManager.findServiceBy(firstService);
+    }
+
+    @Benchmark
+    public RegisteredService findLastService() {
+        return servicesManager.findServiceBy(lastService);
+    }
+
+    @Benchmark
+    public RegisteredService findUnknownService() {
+        return servicesManager.findServiceBy(unknownService);
+    }
+}
@@ -0,0 +1,77 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.Authentication;
+import org.apereo.cas.authentication.principal.Service;
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.ServiceTicketFactory;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketFactoryBenchmarks} that measures creation
+ * of ticket-granting and service tickets via the default ticket factory.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketFactoryBenchmarks {
+    private TicketGrantingTicketFactory ticketGrantingTicketFactory;
+
+    private ServiceTicketFactory serviceTicketFactory;
+
+    private Authentication authentication;
+
+    private Service service;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    @Setup
+    public void setup() {
+        val servicesManager = CoreBenchmarkUtils.getServicesManager(1);
+        val ticketFactory = CoreBenchmarkUtils.getTicketFactory(servicesManager);
+        ticketGrantingTicketFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        serviceTicketFactory = (ServiceTicketFactory) ticketFactory.get(ServiceTicket.class);
+        authentication = CoreBenchmarkUtils.getAuthentication();
+        service = CoreBenchmarkUtils.getService("https://app0.example.org/login");
+    }
+
+    /**
+     * Granting service tickets records each one on the parent ticket;
+     * start every iteration from a fresh parent to keep that bookkeeping bounded.
+     */
+    @Setup(Level.Iteration)
+    public void setupTicketGrantingTicket() {
+        ticketGrantingTicket = ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public TicketGrantingTicket createTicketGrantingTicket() {
+        return ticketGrantingTicketFactory.create(authentication, service, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public ServiceTicket createServiceTicket() {
+        return serviceTicketFactory.create(ticketGrantingTicket, service, true, ServiceTicket.class);
+    }
+}
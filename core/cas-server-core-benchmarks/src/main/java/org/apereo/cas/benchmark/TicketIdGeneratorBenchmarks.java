@@ -0,0 +1,112 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.UniqueTicketIdGenerator;
+import org.apereo.cas.util.DefaultUniqueTicketIdGenerator;
+import org.apereo.cas.util.ServiceTicketIdGenerator;
+import org.apereo.cas.util.RandomUtils;
+import org.apereo.cas.util.TicketGrantingTicketIdGenerator;
+import org.apereo.cas.util.gen.ThreadLocalSecureRandomSource;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketIdGeneratorBenchmarks} that measures
+ * ticket id generation, both single-threaded and under contention.
+ * The random source benchmarks compare a single shared native secure random
+ * instance against the per-thread source used by the id generators.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketIdGeneratorBenchmarks {
+    private static final int SIXTEEN_THREADS = 16;
+
+    private static final int RANDOM_BYTES_LENGTH = 20;
+
+    private UniqueTicketIdGenerator defaultGenerator;
+
+    private UniqueTicketIdGenerator ticketGrantingTicketIdGenerator;
+
+    private UniqueTicketIdGenerator serviceTicketIdGenerator;
+
+    private SecureRandom sharedSecureRandom;
+
+    @Setup
+    public void setup() {
+        defaultGenerator = new DefaultUniqueTicketIdGenerator();
+        ticketGrantingTicketIdGenerator = new TicketGrantingTicketIdGenerator(50, "cas");
+        serviceTicketIdGenerator = new ServiceTicketIdGenerator(20, "cas");
+        sharedSecureRandom = RandomUtils.getNativeInstance();
+    }
+
+    @Benchmark
+    public String defaultTicketId() {
+        return defaultGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    public String ticketGrantingTicketId() {
+        return ticketGrantingTicketIdGenerator.getNewTicketId(TicketGrantingTicket.PREFIX);
+    }
+
+    @Benchmark
+    public String serviceTicketId() {
+        return serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String serviceTicketIdContended() {
+        return serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String serviceTicketIdFourThreads() {
+        return serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(SIXTEEN_THREADS)
+    public String serviceTicketIdSixteenThreads() {
+        return serviceTicketIdGenerator.getNewTicketId(ServiceTicket.PREFIX);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] sharedSecureRandomContended() {
+        val bytes = new byte[RANDOM_BYTES_LENGTH];
+        sharedSecureRandom.nextBytes(bytes);
+        return bytes;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] threadLocalSecureRandomContended() {
+        val bytes = new byte[RANDOM_BYTES_LENGTH];
+        ThreadLocalSecureRandomSource.nextBytes(bytes);
+        return bytes;
+    }
+}
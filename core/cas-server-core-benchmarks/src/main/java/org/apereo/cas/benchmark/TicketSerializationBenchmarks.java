@@ -0,0 +1,95 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.ticket.ServiceTicket;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketFactory;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
+import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
+import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketSerializationManager;
+
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link TicketSerializationBenchmarks} that measures
+ * serialization of tickets in the available registry formats,
+ * for ticket-granting tickets with small and large attribute sets.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketSerializationBenchmarks {
+    @Param({"JSON", "BINARY"})
+    private String format;
+
+    @Param({"0", "200"})
+    private int attributeCount;
+
+    private TicketSerializationManager serializationManager;
+
+    private TicketGrantingTicket ticketGrantingTicket;
+
+    private String serializedTicketGrantingTicket;
+
+    private ServiceTicket serviceTicket;
+
+    private String serializedServiceTicket;
+
+    @Setup
+    public void setup() {
+        val plan = new DefaultTicketSerializationExecutionPlan();
+        serializationManager = "BINARY".equals(format)
+            ? new BinaryTicketSerializationManager(plan)
+            : new DefaultTicketStringSerializationManager(plan);
+
+        val servicesManager = CoreBenchmarkUtils.getServicesManager(1);
+        val ticketFactory = CoreBenchmarkUtils.getTicketFactory(servicesManager);
+        val service = CoreBenchmarkUtils.getService("https://app0.example.org/login");
+        val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        ticketGrantingTicket = tgtFactory.create(CoreBenchmarkUtils.getAuthentication(attributeCount), service, TicketGrantingTicket.class);
+        serviceTicket = ticketGrantingTicket.grantServiceTicket("ST-1-benchmark", service,
+            ticketGrantingTicket.getExpirationPolicy(), false, true);
+        serializedTicketGrantingTicket = serializationManager.serializeTicket(ticketGrantingTicket);
+        serializedServiceTicket = serializationManager.serializeTicket(serviceTicket);
+    }
+
+    @Benchmark
+    public String serializeTicketGrantingTicket() {
+        return serializationManager.serializeTicket(ticketGrantingTicket);
+    }
+
+    @Benchmark
+    public Ticket deserializeTicketGrantingTicket() {
+        return serializationManager.deserializeTicket(serializedTicketGrantingTicket, TicketGrantingTicket.class);
+    }
+
+    @Benchmark
+    public String serializeServiceTicket() {
+        return serializationManager.serializeTicket(serviceTicket);
+    }
+
+    @Benchmark
+    public Ticket deserializeServiceTicket() {
+        return serializationManager.deserializeTicket(serializedServiceTicket, ServiceTicket.class);
+    }
+}
@@ -0,0 +1,104 @@
+package org.apereo.cas.benchmark;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+import org.apereo.cas.util.cipher.WebflowConversationStateCipherExecutor;
+import org.apereo.cas.web.flow.executor.CompactTranscoder;
+import org.apereo.cas.web.flow.executor.EncryptedTranscoder;
+import org.apereo.cas.web.flow.executor.Transcoder;
+import org.apereo.cas.web.flow.executor.WebflowCipherBean;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.net.URL;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * This is {@link WebflowTranscoderBenchmarks} that measures encoding and decoding
+ * of webflow conversation state with the {@link EncryptedTranscoder} and the {@link CompactTranscoder}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WebflowTranscoderBenchmarks {
+    @Param({"STANDARD", "COMPACT"})
+    private String encoding;
+
+    private Transcoder transcoder;
+
+    private Serializable state;
+
+    private byte[] encodedState;
+
+    private static Serializable getWebflowState() throws Exception {
+        val state = new LinkedHashMap<String, Object>();
+        state.put("credential", new UsernamePasswordCredential(CoreBenchmarkUtils.PRINCIPAL_ID, "Mellon"));
+        state.put("service", new URL("https://app.example.org/cas/login?service=https%3A%2F%2Fapp.example.org"));
+        state.put("authenticationDate", ZonedDateTime.now());
+        val attributes = new HashMap<String, List<Object>>();
+        IntStream.range(0, 20).forEach(i -> attributes.put("attribute" + i,
+            IntStream.range(0, 3).mapToObj(j -> (Object) ("value-" + i + '-' + j)).collect(Collectors.toList())));
+        state.put("attributes", attributes);
+        val events = new ArrayList<WebflowEvent>();
+        IntStream.range(0, 10).forEach(i -> events.add(new WebflowEvent("event" + i, UUID.randomUUID().toString(), i)));
+        state.put("events", events);
+        return state;
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        val cipherBean = new WebflowCipherBean(new WebflowConversationStateCipherExecutor(null, null, "AES", 512, 16));
+        transcoder = "COMPACT".equals(encoding)
+            ? new CompactTranscoder(cipherBean)
+            : new EncryptedTranscoder(cipherBean);
+        state = getWebflowState();
+        encodedState = transcoder.encode(state);
+    }
+
+    @Benchmark
+    public byte[] encode() throws Exception {
+        return transcoder.encode(state);
+    }
+
+    @Benchmark
+    public Object decode() throws Exception {
+        return transcoder.decode(encodedState);
+    }
+
+    @RequiredArgsConstructor
+    private static final class WebflowEvent implements Serializable {
+        private static final long serialVersionUID = 2905468418163012337L;
+
+        private final String id;
+
+        private final String source;
+
+        private final int order;
+    }
+}
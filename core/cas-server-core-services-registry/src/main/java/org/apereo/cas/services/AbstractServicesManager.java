@@ -19,7 +19,14 @@ import org.springframework.context.ApplicationEvent;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -43,6 +50,18 @@ public abstract class AbstractServicesManager implements ServicesManager {
      */
     protected final ServicesManagerConfigurationContext configurationContext;
 
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong servicesCacheVersion = new AtomicLong();
+
+    @Getter(AccessLevel.NONE)
+    private volatile Map<RegisteredServiceIndex<?>, IndexedRegisteredServices> registeredServiceIndexes = new ConcurrentHashMap<>();
+
+    @Getter(AccessLevel.NONE)
+    private volatile Set<Long> loadedServiceIds = ConcurrentHashMap.newKeySet();
+
+    @Getter(AccessLevel.NONE)
+    private volatile long lastLoadedTimestamp = -1;
+
     private static Predicate<RegisteredService> getRegisteredServicesFilteringPredicate(
         final Predicate<RegisteredService>... p) {
         val predicates = Stream.of(p).collect(Collectors.toCollection(ArrayList::new));
@@ -59,6 +78,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
         val r = configurationContext.getServiceRegistry().save(registeredService);
         cacheRegisteredService(r);
+        invalidateRegisteredServiceIndexes();
         saveInternal(registeredService);
 
         if (publishEvent) {
@@ -76,6 +96,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
             if (registeredService != null) {
                 publishEvent(new CasRegisteredServicePreSaveEvent(this, registeredService));
                 cacheRegisteredService(registeredService);
+                invalidateRegisteredServiceIndexes();
                 saveInternal(registeredService);
                 publishEvent(new CasRegisteredServiceSavedEvent(this, registeredService));
                 return registeredService;
@@ -91,6 +112,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         configurationContext.getServiceRegistry().save(resultingStream)
             .forEach(r -> {
                 cacheRegisteredService(r);
+                invalidateRegisteredServiceIndexes();
                 saveInternal(r);
                 publishEvent(new CasRegisteredServiceSavedEvent(this, r));
             });
@@ -100,6 +122,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     public synchronized void deleteAll() {
         configurationContext.getServicesCache().asMap().forEach((k, v) -> delete(v));
         configurationContext.getServicesCache().invalidateAll();
+        invalidateRegisteredServiceIndexes();
         publishEvent(new CasRegisteredServicesDeletedEvent(this));
     }
 
@@ -115,6 +138,8 @@ public abstract class AbstractServicesManager implements ServicesManager {
             publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
             configurationContext.getServiceRegistry().delete(service);
             configurationContext.getServicesCache().invalidate(service.getId());
+            loadedServiceIds.remove(service.getId());
+            invalidateRegisteredServiceIndexes();
             deleteInternal(service);
             publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
         }
@@ -130,7 +155,9 @@ public abstract class AbstractServicesManager implements ServicesManager {
         val candidates = getCandidateServicesToMatch(service.getId());
         var foundService = configurationContext.getRegisteredServiceLocators()
             .stream()
-            .map(locator -> locator.locate(candidates, service))
+            .map(locator -> locator.getIndexQuery(service)
+                .map(query -> locator.locate(findIndexedServices(query), service))
+                .orElseGet(() -> locator.locate(candidates, service)))
             .filter(s -> validateRegisteredService(s) != null)
             .findFirst();
 
@@ -159,6 +186,14 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return validateRegisteredService(foundService.orElse(null));
     }
 
+    /**
+     * Services are looked up in the service registry and are not put into the services cache;
+     * this is a read-only lookup that leaves the services cache and its indexes alone.
+     * The services cache only changes as services are saved, deleted or loaded.
+     *
+     * @param predicate the predicate
+     * @return the matching services
+     */
     @Override
     public Collection<RegisteredService> findServiceBy(final Predicate<RegisteredService> predicate) {
         if (predicate == null) {
@@ -169,10 +204,23 @@ public abstract class AbstractServicesManager implements ServicesManager {
             sorted().
             peek(RegisteredService::initialize).
             collect(Collectors.toMap(RegisteredService::getId, Function.identity(), (r, s) -> s));
-        configurationContext.getServicesCache().putAll(results);
         return results.values();
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndexQuery<T> query) {
+        val key = query.getNormalizedKey();
+        if (key == null || !supports(query.getIndex().getType())) {
+            return null;
+        }
+        val service = getIndexedRegisteredServices(query.getIndex()).getServices().get(key);
+        if (service != null) {
+            service.initialize();
+            LOGGER.trace("Located service [{}] via index [{}] using key [{}]", service.getName(), query.getIndex(), key);
+        }
+        return (T) service;
+    }
+
     @Override
     public <T extends RegisteredService> T findServiceBy(final Service requestedService, final Class<T> clazz) {
         if (requestedService == null) {
@@ -187,8 +235,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
 
     @Override
     public RegisteredService findServiceBy(final long id) {
-        val result = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id));
+        val result = getCachedRegisteredService(id, k -> configurationContext.getServiceRegistry().findServiceById(id));
         return validateRegisteredService(result);
     }
 
@@ -200,8 +247,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
         }
         LOGGER.trace("The service with id [{}] and type [{}] is not found in the cache; trying to find it from [{}]",
             id, clazz, configurationContext.getServiceRegistry().getName());
-        service = configurationContext.getServicesCache().get(id,
-            k -> configurationContext.getServiceRegistry().findServiceById(id, clazz));
+        service = getCachedRegisteredService(id, k -> configurationContext.getServiceRegistry().findServiceById(id, clazz));
         return (T) validateRegisteredService(service);
     }
 
@@ -290,6 +336,7 @@ public abstract class AbstractServicesManager implements ServicesManager {
     @Override
     public synchronized Collection<RegisteredService> load() {
         LOGGER.trace("Loading services from [{}]", configurationContext.getServiceRegistry().getName());
+        val loadStartTimestamp = System.currentTimeMillis();
         val servicesMap = configurationContext.getServiceRegistry().load()
             .stream()
             .filter(this::supports)
@@ -302,6 +349,10 @@ public abstract class AbstractServicesManager implements ServicesManager {
             }, Function.identity(), (r, s) -> s));
         configurationContext.getServicesCache().invalidateAll();
         configurationContext.getServicesCache().putAll(servicesMap);
+        loadedServiceIds = ConcurrentHashMap.newKeySet();
+        loadedServiceIds.addAll(servicesMap.keySet());
+        lastLoadedTimestamp = loadStartTimestamp;
+        invalidateRegisteredServiceIndexes();
         loadInternal();
         publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
         evaluateExpiredServiceDefinitions();
@@ -310,6 +361,76 @@ public abstract class AbstractServicesManager implements ServicesManager {
         return configurationContext.getServicesCache().asMap().values();
     }
 
+    /**
+     * Changes are only applied incrementally if services were loaded before
+     * and none of the loaded services have since been evicted from the cache;
+     * otherwise, or if the service registry cannot report changes, all services are reloaded.
+     * Indexes that were current before the changes are updated in place with the changed services
+     * rather than rebuilt; see {@link #loadChangesInternal(ServicesCacheChanges)}.
+     */
+    @Override
+    public synchronized void loadChanges() {
+        val serviceRegistry = configurationContext.getServiceRegistry();
+        if (lastLoadedTimestamp < 0 || !isServicesCacheComplete()) {
+            LOGGER.trace("Services cache is not fully loaded; Loading all services from [{}]", serviceRegistry.getName());
+            load();
+            return;
+        }
+        val result = serviceRegistry.loadChangesSince(lastLoadedTimestamp);
+        if (result.isEmpty()) {
+            load();
+            return;
+        }
+        val changes = result.get();
+        val cache = configurationContext.getServicesCache();
+        cache.cleanUp();
+        val previousVersion = getServicesCacheVersion();
+        val previousCacheSize = cache.estimatedSize();
+        val removedServices = new ArrayList<RegisteredService>();
+        val savedServices = new ArrayList<RegisteredService>();
+        var addedServiceCount = 0;
+        for (val registeredService : changes.getModifiedServices()) {
+            val cachedService = cache.getIfPresent(registeredService.getId());
+            if (supports(registeredService) && validateAndFilterServiceByEnvironment(registeredService)) {
+                if (!registeredService.equals(cachedService)) {
+                    LOGGER.trace("Updating registered service [{}] with name [{}] and internal identifier [{}]",
+                        registeredService.getServiceId(), registeredService.getName(), registeredService.getId());
+                    if (cachedService == null) {
+                        addedServiceCount++;
+                    } else {
+                        removedServices.add(cachedService);
+                    }
+                    cache.put(registeredService.getId(), registeredService);
+                    loadedServiceIds.add(registeredService.getId());
+                    saveInternal(registeredService);
+                    savedServices.add(registeredService);
+                }
+            } else if (cachedService != null) {
+                removedServices.add(cachedService);
+                removeCachedRegisteredService(registeredService.getId());
+            }
+        }
+        val deletedServices = cache.asMap().values()
+            .stream()
+            .filter(service -> !changes.getServiceIds().contains(service.getId()))
+            .collect(Collectors.toList());
+        deletedServices.forEach(service -> removeCachedRegisteredService(service.getId()));
+        removedServices.addAll(deletedServices);
+        lastLoadedTimestamp = changes.getTimestamp();
+
+        val changeCount = removedServices.size() + addedServiceCount;
+        if (changeCount > 0) {
+            val removedServiceCount = removedServices.size() - (savedServices.size() - addedServiceCount);
+            val cacheChanges = updateRegisteredServiceIndexes(previousVersion, previousCacheSize,
+                previousCacheSize + addedServiceCount - removedServiceCount, removedServices, savedServices);
+            loadChangesInternal(cacheChanges);
+            publishEvent(new CasRegisteredServicesLoadedEvent(this, getAllServices()));
+        }
+        evaluateExpiredServiceDefinitions();
+        LOGGER.debug("Applied [{}] change(s) from [{}] to [{}] cached service(s)", changeCount,
+            serviceRegistry.getName(), cache.estimatedSize());
+    }
+
     @Override
     public long count() {
         return configurationContext.getServiceRegistry().size();
@@ -353,10 +474,122 @@ public abstract class AbstractServicesManager implements ServicesManager {
     protected void loadInternal(final RegisteredService service) {
     }
 
+    /**
+     * Apply changes that were loaded from the service registry to the services cache
+     * to the lookup structures of this services manager. Structures that were current
+     * as of {@link ServicesCacheChanges#getPreviousVersion()} and {@link ServicesCacheChanges#getPreviousCacheSize()}
+     * may be updated with the removed and saved services, instead of being rebuilt.
+     * The default implementation rebuilds them via {@link #loadInternal()}.
+     *
+     * @param changes the changes
+     */
+    protected void loadChangesInternal(final ServicesCacheChanges changes) {
+        loadInternal();
+    }
+
+    private void removeCachedRegisteredService(final long id) {
+        val cache = configurationContext.getServicesCache();
+        val service = cache.getIfPresent(id);
+        if (service != null) {
+            LOGGER.trace("Removing registered service [{}] with internal identifier [{}]", service.getServiceId(), id);
+            cache.invalidate(id);
+            deleteInternal(service);
+        }
+        loadedServiceIds.remove(id);
+    }
+
+    private boolean isServicesCacheComplete() {
+        val cache = configurationContext.getServicesCache().asMap();
+        return loadedServiceIds.stream().allMatch(cache::containsKey);
+    }
+
     private void cacheRegisteredService(final RegisteredService service) {
         if (configurationContext.getServicesCache().getIfPresent(service.getId()) == null) {
             configurationContext.getServicesCache().put(service.getId(), service);
+            invalidateRegisteredServiceIndexes();
+        }
+    }
+
+    private RegisteredService getCachedRegisteredService(final long id, final Function<Long, RegisteredService> loader) {
+        val loaded = new AtomicBoolean();
+        val result = configurationContext.getServicesCache().get(id, k -> {
+            loaded.set(true);
+            return loader.apply(k);
+        });
+        if (result != null && loaded.get()) {
+            invalidateRegisteredServiceIndexes();
         }
+        return result;
+    }
+
+    /**
+     * Invalidate registered service indexes.
+     * Indexes are lazily rebuilt from the services cache
+     * on the next lookup that requires them.
+     */
+    protected void invalidateRegisteredServiceIndexes() {
+        servicesCacheVersion.incrementAndGet();
+        registeredServiceIndexes = new ConcurrentHashMap<>();
+    }
+
+    private ServicesCacheChanges updateRegisteredServiceIndexes(final long previousVersion, final long previousCacheSize,
+                                                                final long expectedCacheSize,
+                                                                final List<RegisteredService> removedServices,
+                                                                final List<RegisteredService> savedServices) {
+        val cache = configurationContext.getServicesCache();
+        val version = servicesCacheVersion.incrementAndGet();
+        cache.cleanUp();
+        val cacheSize = cache.estimatedSize();
+        val updatedIndexes = new ConcurrentHashMap<RegisteredServiceIndex<?>, IndexedRegisteredServices>();
+        if (cacheSize == expectedCacheSize) {
+            registeredServiceIndexes.forEach((index, indexed) -> {
+                if (indexed.getVersion() == previousVersion && indexed.getCacheSize() == previousCacheSize) {
+                    indexed.update(index, removedServices, savedServices, version, cacheSize)
+                        .ifPresent(updated -> updatedIndexes.put(index, updated));
+                }
+            });
+        }
+        LOGGER.trace("Updated [{}] of [{}] index(es) with [{}] removed and [{}] saved service(s)",
+            updatedIndexes.size(), registeredServiceIndexes.size(), removedServices.size(), savedServices.size());
+        registeredServiceIndexes = updatedIndexes;
+        return new ServicesCacheChanges(previousVersion, previousCacheSize, version, cacheSize, removedServices, savedServices);
+    }
+
+    /**
+     * Gets the version of the services cache, which changes every time
+     * services are added to, replaced in or removed from the cache by this services manager.
+     * Entries that the cache evicts on its own change the size of the cache instead.
+     *
+     * @return the services cache version
+     */
+    protected long getServicesCacheVersion() {
+        return servicesCacheVersion.get();
+    }
+
+    private List<RegisteredService> findIndexedServices(final RegisteredServiceIndexQuery<? extends RegisteredService> query) {
+        val results = new ArrayList<RegisteredService>(1);
+        Optional.ofNullable(findServiceBy(query)).ifPresent(results::add);
+        return results;
+    }
+
+    private IndexedRegisteredServices getIndexedRegisteredServices(final RegisteredServiceIndex<?> index) {
+        val cache = configurationContext.getServicesCache();
+        val version = getServicesCacheVersion();
+        cache.cleanUp();
+        val cacheSize = cache.estimatedSize();
+        return registeredServiceIndexes.compute(index, (k, indexed) -> {
+            if (indexed != null && indexed.getVersion() == version && indexed.getCacheSize() == cacheSize) {
+                return indexed;
+            }
+            val services = new HashMap<String, RegisteredService>();
+            getCacheableServicesStream()
+                .get()
+                .filter(this::validateAndFilterServiceByEnvironment)
+                .sorted()
+                .forEach(service -> k.getKey(service).ifPresent(key -> services.putIfAbsent(key, service)));
+            LOGGER.trace("Indexed [{}] service(s) via index [{}]", services.size(), k);
+            return new IndexedRegisteredServices(version, cacheSize, services);
+        });
     }
 
     private void evaluateExpiredServiceDefinitions() {
@@ -448,4 +681,67 @@ public abstract class AbstractServicesManager implements ServicesManager {
         }
         return () -> configurationContext.getServicesCache().asMap().values().stream();
     }
+
+    /**
+     * Changes applied to the services cache as they were loaded from the service registry.
+     * Replaced services are listed as removed, in the version that was cached, and as saved.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    protected static class ServicesCacheChanges {
+        private final long previousVersion;
+
+        private final long previousCacheSize;
+
+        private final long version;
+
+        private final long cacheSize;
+
+        private final Collection<RegisteredService> removedServices;
+
+        private final Collection<RegisteredService> savedServices;
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class IndexedRegisteredServices {
+        private final long version;
+
+        private final long cacheSize;
+
+        private final Map<String, RegisteredService> services;
+
+        /**
+         * Apply removed and saved services to the indexed services.
+         * A removed service that won its key may only be replaced by its own saved version,
+         * if that still sorts first; otherwise services that lost the key to it are not known
+         * and the index must be rebuilt.
+         */
+        Optional<IndexedRegisteredServices> update(final RegisteredServiceIndex<?> index,
+                                                   final Collection<RegisteredService> removedServices,
+                                                   final Collection<RegisteredService> savedServices,
+                                                   final long version, final long cacheSize) {
+            val updated = new HashMap<>(services);
+            for (val removed : removedServices) {
+                val key = index.getKey(removed);
+                if (key.isPresent() && updated.containsKey(key.get()) && updated.get(key.get()).getId() == removed.getId()) {
+                    val replacement = savedServices
+                        .stream()
+                        .filter(saved -> saved.getId() == removed.getId() && key.equals(index.getKey(saved)) && saved.compareTo(removed) <= 0)
+                        .findFirst();
+                    if (replacement.isEmpty()) {
+                        return Optional.empty();
+                    }
+                    updated.put(key.get(), replacement.get());
+                }
+            }
+            savedServices.forEach(saved -> index.getKey(saved).ifPresent(key -> {
+                val existing = updated.get(key);
+                if (existing == null || saved.compareTo(existing) < 0) {
+                    updated.put(key, saved);
+                }
+            }));
+            return Optional.of(new IndexedRegisteredServices(version, cacheSize, updated));
+        }
+    }
 }
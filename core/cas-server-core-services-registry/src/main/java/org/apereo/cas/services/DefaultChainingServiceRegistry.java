@@ -11,6 +11,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -68,6 +69,30 @@ public class DefaultChainingServiceRegistry extends AbstractServiceRegistry impl
             .collect(Collectors.toList());
     }
 
+    @Override
+    public Optional<ServiceRegistryChangeSet> loadChangesSince(final long timestamp) {
+        val changes = new ArrayList<ServiceRegistryChangeSet>(serviceRegistries.size());
+        for (val registry : serviceRegistries) {
+            val result = registry.loadChangesSince(timestamp);
+            if (result.isEmpty()) {
+                LOGGER.trace("Service registry [{}] is unable to report changes since [{}]", registry.getName(), timestamp);
+                return Optional.empty();
+            }
+            changes.add(result.get());
+        }
+        return Optional.of(ServiceRegistryChangeSet.builder()
+            .timestamp(changes.stream().mapToLong(ServiceRegistryChangeSet::getTimestamp).min().orElse(timestamp))
+            .modifiedServices(changes.stream()
+                .map(ServiceRegistryChangeSet::getModifiedServices)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toList()))
+            .serviceIds(changes.stream()
+                .map(ServiceRegistryChangeSet::getServiceIds)
+                .flatMap(Collection::stream)
+                .collect(Collectors.toSet()))
+            .build());
+    }
+
     @Override
     public RegisteredService findServiceById(final long id) {
         return serviceRegistries.stream()
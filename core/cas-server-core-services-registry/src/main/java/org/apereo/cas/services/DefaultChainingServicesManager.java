@@ -164,6 +164,16 @@ public class DefaultChainingServicesManager implements ChainingServicesManager {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public <T extends RegisteredService> T findServiceBy(final RegisteredServiceIndexQuery<T> query) {
+        return serviceManagers.stream()
+            .filter(s -> s.supports(query.getIndex().getType()))
+            .map(s -> s.findServiceBy(query))
+            .filter(Objects::nonNull)
+            .findFirst()
+            .orElse(null);
+    }
+
     @Override
     public Collection<RegisteredService> load() {
         return serviceManagers.stream()
@@ -171,6 +181,11 @@ public class DefaultChainingServicesManager implements ChainingServicesManager {
             .collect(Collectors.toList());
     }
 
+    @Override
+    public void loadChanges() {
+        serviceManagers.forEach(ServicesManager::loadChanges);
+    }
+
     @Override
     public long count() {
         return serviceManagers.stream()
@@ -1,16 +1,30 @@
 package org.apereo.cas.services;
 
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.stream.Collectors;
 
 /**
  * Default implementation of the {@link ServicesManager} interface.
+ * Candidate services are narrowed down using a {@link RegisteredServicesMatchingIndex}
+ * that is rebuilt once services are loaded, and lazily refreshed once the version
+ * of the services cache changes as services are saved, replaced or deleted,
+ * or once the services cache changes in size as entries are evicted.
+ * Changes that are loaded from the service registry are applied to the index incrementally.
  *
  * @author Scott Battaglia
  * @since 3.1
  */
+@Slf4j
 public class DefaultServicesManager extends AbstractServicesManager {
+    private volatile RegisteredServicesMatchingIndex matchingIndex = RegisteredServicesMatchingIndex.empty();
+
+    private volatile long matchingIndexVersion = -1;
+
+    private volatile long matchingIndexCacheSize = -1;
 
     public DefaultServicesManager(final ServicesManagerConfigurationContext context) {
         super(context);
@@ -25,8 +39,53 @@ public class DefaultServicesManager extends AbstractServicesManager {
 
     @Override
     protected Collection<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
-        return getCacheableServicesStream().get()
-            .sorted(Comparator.naturalOrder())
-            .collect(Collectors.toList());
+        return getRegisteredServicesMatchingIndex().getCandidateServicesToMatch(serviceId);
+    }
+
+    @Override
+    protected void loadInternal() {
+        rebuildRegisteredServicesMatchingIndex();
+    }
+
+    @Override
+    protected synchronized void loadChangesInternal(final ServicesCacheChanges changes) {
+        if (matchingIndexVersion == changes.getPreviousVersion() && matchingIndexCacheSize == changes.getPreviousCacheSize()) {
+            matchingIndex = matchingIndex.update(changes.getRemovedServices(), changes.getSavedServices());
+            matchingIndexVersion = changes.getVersion();
+            matchingIndexCacheSize = changes.getCacheSize();
+            LOGGER.trace("Updated registered services matching index to [{}] service(s)", matchingIndex.getSize());
+        }
+        rebuildRegisteredServicesMatchingIndex();
+    }
+
+    /**
+     * Gets registered services matching index,
+     * and rebuilds it if the indexed services are no longer current.
+     *
+     * @return the registered services matching index
+     */
+    protected RegisteredServicesMatchingIndex getRegisteredServicesMatchingIndex() {
+        if (isRegisteredServicesMatchingIndexStale()) {
+            rebuildRegisteredServicesMatchingIndex();
+        }
+        return matchingIndex;
+    }
+
+    private boolean isRegisteredServicesMatchingIndexStale() {
+        val cache = getConfigurationContext().getServicesCache();
+        cache.cleanUp();
+        return matchingIndexVersion != getServicesCacheVersion() || matchingIndexCacheSize != cache.estimatedSize();
+    }
+
+    private synchronized void rebuildRegisteredServicesMatchingIndex() {
+        if (isRegisteredServicesMatchingIndexStale()) {
+            val version = getServicesCacheVersion();
+            val cacheSize = getConfigurationContext().getServicesCache().estimatedSize();
+            val services = getCacheableServicesStream().get().collect(Collectors.toList());
+            matchingIndex = new RegisteredServicesMatchingIndex(services);
+            matchingIndexVersion = version;
+            matchingIndexCacheSize = cacheSize;
+            LOGGER.trace("Rebuilt registered services matching index with [{}] service(s)", matchingIndex.getSize());
+        }
     }
 }
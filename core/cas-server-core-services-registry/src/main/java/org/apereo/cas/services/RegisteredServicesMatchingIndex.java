@@ -0,0 +1,341 @@
+package org.apereo.cas.services;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link RegisteredServicesMatchingIndex}. It holds an immutable,
+ * precompiled view of registered service definitions that is used to narrow down
+ * the set of candidate services that could possibly match a given service id.
+ * <p>
+ * Plain {@link RegexRegisteredService} definitions that use the full-regex or literal
+ * matching strategies are bucketed by scheme and host, using the literal prefix that can be
+ * extracted from their service id pattern. Every other definition (extended service types that
+ * are located by other means, partial matching strategies, patterns without a usable literal prefix, etc.)
+ * is kept in a fallback bucket that is always considered. Each bucket is kept in the natural order of
+ * registered services, and candidates are always returned in that order so that evaluation order semantics remain intact.
+ * The index is only a pre-filter; actual matching is still carried out by the registered service itself.
+ * Changes to service definitions are applied via {@link #update(Collection, Collection)}, which copies
+ * only the buckets that are affected by the changes into a new index.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class RegisteredServicesMatchingIndex {
+    private static final String SCHEME_SEPARATOR = "://";
+
+    private static final char WILDCARD = '\uFFFF';
+
+    private static final String REGEX_QUANTIFIERS = "*?{";
+
+    private static final String REGEX_METACHARACTERS = "[](){}|*+?$^";
+
+    private static final String HOST_BUCKET = "host:";
+
+    private static final String SCHEME_BUCKET = "scheme:";
+
+    private static final String FALLBACK_BUCKET = StringUtils.EMPTY;
+
+    private static final Comparator<IndexedRegisteredService> EVALUATION_ORDER =
+        Comparator.comparing(IndexedRegisteredService::getRegisteredService);
+
+    private final Map<String, List<IndexedRegisteredService>> buckets;
+
+    @Getter
+    private final int size;
+
+    public RegisteredServicesMatchingIndex(final Collection<RegisteredService> services) {
+        this.buckets = new HashMap<>();
+        services
+            .stream()
+            .filter(Objects::nonNull)
+            .sorted(Comparator.naturalOrder())
+            .map(service -> new IndexedRegisteredService(service, getLiteralPrefix(service)))
+            .forEach(entry -> buckets.computeIfAbsent(getBucket(entry.getPrefix()), k -> new ArrayList<>()).add(entry));
+        this.size = countServices(buckets);
+        LOGGER.trace("Indexed [{}] service(s) into [{}] bucket(s)", size, buckets.size());
+    }
+
+    private RegisteredServicesMatchingIndex(final Map<String, List<IndexedRegisteredService>> buckets) {
+        this.buckets = buckets;
+        this.size = countServices(buckets);
+    }
+
+    /**
+     * Build an empty index.
+     *
+     * @return the registered services matching index
+     */
+    public static RegisteredServicesMatchingIndex empty() {
+        return new RegisteredServicesMatchingIndex(List.of());
+    }
+
+    /**
+     * Gets the literal prefix of the service id pattern that every matching
+     * service id must start with, ignoring case. Unescaped {@code .} characters
+     * are recorded as single-character wildcards. Returns {@code null}
+     * if the registered service cannot be indexed by its service id.
+     *
+     * @param registeredService the registered service
+     * @return the literal prefix, or null
+     */
+    static String getLiteralPrefix(final RegisteredService registeredService) {
+        if (registeredService.getClass() != RegexRegisteredService.class || StringUtils.isBlank(registeredService.getServiceId())) {
+            return null;
+        }
+        val strategy = registeredService.getMatchingStrategy();
+        if (strategy == null || strategy.getClass() == FullRegexRegisteredServiceMatchingStrategy.class) {
+            return getRegexLiteralPrefix(registeredService.getServiceId());
+        }
+        if (strategy.getClass() == LiteralRegisteredServiceMatchingStrategy.class) {
+            return toLowerCase(registeredService.getServiceId().trim());
+        }
+        return null;
+    }
+
+    /**
+     * Gets regex literal prefix.
+     *
+     * @param pattern the pattern
+     * @return the regex literal prefix
+     */
+    static String getRegexLiteralPrefix(final String pattern) {
+        if (hasUnescapedAlternation(pattern)) {
+            return null;
+        }
+        val prefix = new StringBuilder(pattern.length());
+        var index = pattern.startsWith("^") ? 1 : 0;
+        while (index < pattern.length()) {
+            var current = pattern.charAt(index);
+            var next = index + 1;
+            if (current == '\\') {
+                if (next >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(next))) {
+                    break;
+                }
+                current = pattern.charAt(next);
+                next++;
+            } else if (current == '.') {
+                current = WILDCARD;
+            } else if (REGEX_METACHARACTERS.indexOf(current) >= 0) {
+                break;
+            }
+            if (next < pattern.length()) {
+                val quantifier = pattern.charAt(next);
+                if (REGEX_QUANTIFIERS.indexOf(quantifier) >= 0) {
+                    break;
+                }
+                if (quantifier == '+') {
+                    prefix.append(toLowerCase(current));
+                    break;
+                }
+            }
+            prefix.append(toLowerCase(current));
+            index = next;
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * Gets candidate services that might match the given service id,
+     * sorted by their natural evaluation order.
+     *
+     * @param serviceId the service id
+     * @return the candidate services
+     */
+    public List<RegisteredService> getCandidateServicesToMatch(final String serviceId) {
+        var candidates = getCandidates(buckets.get(FALLBACK_BUCKET), serviceId);
+        if (StringUtils.isNotBlank(serviceId)) {
+            val scheme = getScheme(serviceId);
+            if (scheme != null) {
+                candidates = merge(candidates, getCandidates(buckets.get(SCHEME_BUCKET + scheme), serviceId));
+                val host = getSchemeAndHost(serviceId, true);
+                if (host != null) {
+                    candidates = merge(candidates, getCandidates(buckets.get(HOST_BUCKET + host), serviceId));
+                }
+            }
+        }
+        return candidates
+            .stream()
+            .map(IndexedRegisteredService::getRegisteredService)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Build a new index that reflects the given changes to the indexed services.
+     * Buckets that are not affected by the changes are shared with this index, which is left untouched.
+     *
+     * @param removedServices the services that are removed or replaced, as indexed
+     * @param savedServices   the services that are added or that replace indexed services
+     * @return the registered services matching index
+     */
+    public RegisteredServicesMatchingIndex update(final Collection<RegisteredService> removedServices,
+                                                  final Collection<RegisteredService> savedServices) {
+        val updatedBuckets = new HashMap<>(buckets);
+        val copiedBuckets = new HashSet<String>();
+        removedServices.forEach(service -> getBucketForUpdate(updatedBuckets, copiedBuckets, getBucket(getLiteralPrefix(service)))
+            .removeIf(entry -> entry.getRegisteredService().getId() == service.getId()));
+        savedServices.forEach(service -> {
+            val entry = new IndexedRegisteredService(service, getLiteralPrefix(service));
+            val bucket = getBucketForUpdate(updatedBuckets, copiedBuckets, getBucket(entry.getPrefix()));
+            bucket.removeIf(indexed -> indexed.getRegisteredService().getId() == service.getId());
+            val position = Collections.binarySearch(bucket, entry, EVALUATION_ORDER);
+            bucket.add(position >= 0 ? position : -position - 1, entry);
+        });
+        updatedBuckets.values().removeIf(List::isEmpty);
+        LOGGER.trace("Updated [{}] bucket(s) with [{}] removed and [{}] saved service(s)",
+            copiedBuckets.size(), removedServices.size(), savedServices.size());
+        return new RegisteredServicesMatchingIndex(updatedBuckets);
+    }
+
+    private static List<IndexedRegisteredService> getBucketForUpdate(final Map<String, List<IndexedRegisteredService>> buckets,
+                                                                     final Set<String> copiedBuckets, final String bucket) {
+        if (copiedBuckets.add(bucket)) {
+            val entries = buckets.get(bucket);
+            buckets.put(bucket, entries == null ? new ArrayList<>() : new ArrayList<>(entries));
+        }
+        return buckets.get(bucket);
+    }
+
+    private static int countServices(final Map<String, List<IndexedRegisteredService>> buckets) {
+        return buckets.values().stream().mapToInt(List::size).sum();
+    }
+
+    private static String getBucket(final String prefix) {
+        if (prefix != null) {
+            val host = getSchemeAndHost(prefix, false);
+            if (host != null) {
+                return HOST_BUCKET + host;
+            }
+            val scheme = getScheme(prefix);
+            if (scheme != null) {
+                return SCHEME_BUCKET + scheme;
+            }
+        }
+        return FALLBACK_BUCKET;
+    }
+
+    private static List<IndexedRegisteredService> getCandidates(final List<IndexedRegisteredService> bucket, final String serviceId) {
+        if (bucket == null) {
+            return List.of();
+        }
+        return bucket.stream().filter(entry -> entry.isCandidateFor(serviceId)).collect(Collectors.toList());
+    }
+
+    private static List<IndexedRegisteredService> merge(final List<IndexedRegisteredService> first,
+                                                         final List<IndexedRegisteredService> second) {
+        if (first.isEmpty()) {
+            return second;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        val merged = new ArrayList<IndexedRegisteredService>(first.size() + second.size());
+        var i = 0;
+        var j = 0;
+        while (i < first.size() && j < second.size()) {
+            merged.add(EVALUATION_ORDER.compare(first.get(i), second.get(j)) <= 0 ? first.get(i++) : second.get(j++));
+        }
+        merged.addAll(first.subList(i, first.size()));
+        merged.addAll(second.subList(j, second.size()));
+        return merged;
+    }
+
+    private static String getScheme(final String value) {
+        val separator = value.indexOf(SCHEME_SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        val scheme = value.substring(0, separator);
+        return scheme.indexOf(WILDCARD) >= 0 ? null : toLowerCase(scheme);
+    }
+
+    /**
+     * Gets scheme and host. The host portion is only considered complete
+     * if it is terminated by a path, port, query or fragment separator; unless
+     * the value is an actual service id where the end of the value terminates the host as well.
+     *
+     * @param value     the literal prefix or the service id
+     * @param serviceId whether the value is an actual service id
+     * @return the scheme and host, or null
+     */
+    private static String getSchemeAndHost(final String value, final boolean serviceId) {
+        val scheme = getScheme(value);
+        if (scheme == null) {
+            return null;
+        }
+        val start = scheme.length() + SCHEME_SEPARATOR.length();
+        var end = start;
+        while (end < value.length() && "/:?#".indexOf(value.charAt(end)) < 0) {
+            end++;
+        }
+        if (end == start || (!serviceId && end == value.length())) {
+            return null;
+        }
+        val host = value.substring(start, end);
+        return host.indexOf(WILDCARD) >= 0 ? null : toLowerCase(value.substring(0, end));
+    }
+
+    private static boolean hasUnescapedAlternation(final String pattern) {
+        for (var i = 0; i < pattern.length(); i++) {
+            val current = pattern.charAt(i);
+            if (current == '\\') {
+                i++;
+            } else if (current == '|') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String toLowerCase(final String value) {
+        val builder = new StringBuilder(value.length());
+        for (var i = 0; i < value.length(); i++) {
+            builder.append(toLowerCase(value.charAt(i)));
+        }
+        return builder.toString();
+    }
+
+    private static char toLowerCase(final char value) {
+        return value >= 'A' && value <= 'Z' ? (char) (value + ('a' - 'A')) : value;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class IndexedRegisteredService {
+        private final RegisteredService registeredService;
+
+        private final String prefix;
+
+        boolean isCandidateFor(final String serviceId) {
+            if (prefix == null || prefix.isEmpty()) {
+                return true;
+            }
+            if (serviceId == null || serviceId.length() < prefix.length()) {
+                return false;
+            }
+            for (var i = 0; i < prefix.length(); i++) {
+                val expected = prefix.charAt(i);
+                if (expected != WILDCARD && expected != toLowerCase(serviceId.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 
 /**
  * This is {@link ServicesManagerScheduledLoader}.
+ * On every run, the services manager is asked to apply changes
+ * made to the service registry since services were last loaded.
  *
  * @author Misagh Moayyed
  * @since 6.0.0
@@ -29,6 +31,6 @@ public class ServicesManagerScheduledLoader implements Runnable {
     )
     @Override
     public void run() {
-        servicesManager.load();
+        servicesManager.loadChanges();
     }
 }
@@ -3,6 +3,7 @@ package org.apereo.cas.services.resource;
 import org.apereo.cas.services.AbstractServiceRegistry;
 import org.apereo.cas.services.RegisteredService;
 import org.apereo.cas.services.ResourceBasedServiceRegistry;
+import org.apereo.cas.services.ServiceRegistryChangeSet;
 import org.apereo.cas.services.ServiceRegistryListener;
 import org.apereo.cas.services.replication.NoOpRegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
@@ -19,12 +20,14 @@ import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.serialization.StringSerializer;
 
 import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -39,10 +42,18 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -58,6 +69,13 @@ import java.util.stream.Stream;
 @ToString
 public abstract class AbstractResourceBasedServiceRegistry extends AbstractServiceRegistry
     implements ResourceBasedServiceRegistry, DisposableBean {
+    /**
+     * Files whose modification time is this close to the time they were read
+     * may change again without their modification time changing, given the
+     * resolution of file timestamps on some file systems.
+     */
+    private static final long MODIFICATION_TIME_RESOLUTION = 2_000;
+
     /**
      * The Service registry directory.
      */
@@ -84,6 +102,40 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
 
     private Pattern serviceFileNamePattern;
 
+    /**
+     * Map of resource path to the state of the resource when it was last read.
+     */
+    private final Map<String, ServiceResourceSnapshot> serviceResourceSnapshots = new ConcurrentHashMap<>();
+
+    /**
+     * Map of service ID to the time the service definition was last read or changed.
+     */
+    private final Map<Long, Long> serviceModificationTimestamps = new ConcurrentHashMap<>();
+
+    /**
+     * Maximum number of threads used to parse service definition files
+     * when all services are loaded.
+     */
+    @Setter
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Optional snapshot of parsed service definitions, used to avoid
+     * parsing files that have not changed when all services are loaded.
+     */
+    @Setter
+    private ResourceBasedServiceRegistrySnapshot serviceRegistrySnapshot;
+
+    /**
+     * Number of scans for changes after which the contents of all files are verified
+     * against their checksums, to catch changes that preserve modification time and size.
+     * Zero or less only verifies contents of files whose modification time cannot be trusted.
+     */
+    @Setter
+    private int contentVerificationInterval = 10;
+
+    private final AtomicLong changeScans = new AtomicLong();
+
     protected AbstractResourceBasedServiceRegistry(final Resource configDirectory,
                                                    final Collection<StringSerializer<RegisteredService>> serializers,
                                                    final ConfigurableApplicationContext applicationContext,
@@ -187,6 +239,7 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                 LOGGER.debug("Found existing service definition by id [{}]. Saving...", service.getId());
             }
             this.services.put(service.getId(), service);
+            this.serviceModificationTimestamps.put(service.getId(), System.currentTimeMillis());
             LOGGER.debug("Saved service to [{}]", f.getCanonicalPath());
         } catch (final IOException e) {
             throw new IllegalArgumentException("IO error opening file stream.", e);
@@ -220,13 +273,14 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
     @Override
     public synchronized Collection<RegisteredService> load() {
         LOGGER.trace("Loading files from [{}]", this.serviceRegistryDirectory);
+        val loadTimestamp = System.currentTimeMillis();
         val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
         LOGGER.trace("Located [{}] files from [{}] are [{}]", getExtensions(), this.serviceRegistryDirectory, files);
 
-        this.services = files
+        this.serviceResourceSnapshots.clear();
+        this.serviceModificationTimestamps.clear();
+        this.services = loadServiceResources(files)
             .stream()
-            .map(this::load)
-            .filter(Objects::nonNull)
             .flatMap(Collection::stream)
             .sorted()
             .collect(Collectors.toMap(RegisteredService::getId, Function.identity(),
@@ -234,14 +288,83 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                     BaseResourceBasedRegisteredServiceWatcher.LOG_SERVICE_DUPLICATE.accept(s2);
                     return s1;
                 }, LinkedHashMap::new));
+        this.services.keySet().forEach(id -> this.serviceModificationTimestamps.put(id, loadTimestamp));
         val listedServices = new ArrayList<>(this.services.values());
         val results = this.registeredServiceReplicationStrategy.updateLoadedRegisteredServicesFromCache(listedServices, this);
         results.forEach(service -> publishEvent(new CasRegisteredServiceLoadedEvent(this, service)));
         return results;
     }
 
+    /**
+     * Changes are detected by comparing the modification time and size of each file
+     * with the state of the file when it was last read, so that only new or modified
+     * files are parsed. Files that appear unchanged are also verified against the checksum
+     * of their contents every {@link #contentVerificationInterval} scans, or on every scan
+     * if they were modified too close to the time they were read for their modification time to be trusted.
+     * Changes cannot be tracked if service definitions are replicated
+     * across nodes, since replicated definitions may differ from the files on disk.
+     */
+    @Override
+    public synchronized Optional<ServiceRegistryChangeSet> loadChangesSince(final long timestamp) {
+        if (!(this.registeredServiceReplicationStrategy instanceof NoOpRegisteredServiceReplicationStrategy)) {
+            return Optional.empty();
+        }
+        val scanTimestamp = System.currentTimeMillis();
+        val verifyContents = contentVerificationInterval > 0 && changeScans.incrementAndGet() % contentVerificationInterval == 0;
+        val files = FileUtils.listFiles(this.serviceRegistryDirectory.toFile(), getExtensions(), true);
+        val currentResources = new HashSet<String>(files.size());
+        files.forEach(file -> {
+            val resource = file.getAbsolutePath();
+            currentResources.add(resource);
+            val snapshot = this.serviceResourceSnapshots.get(resource);
+            if (snapshot == null || snapshot.isModified(file, verifyContents)) {
+                LOGGER.trace("Service definition file [{}] is new or has changed", resource);
+                Optional.ofNullable(snapshot).ifPresent(this::removeServiceResource);
+                loadServiceResource(file).forEach(service -> {
+                    this.services.put(service.getId(), service);
+                    this.serviceModificationTimestamps.put(service.getId(), scanTimestamp);
+                    publishEvent(new CasRegisteredServiceLoadedEvent(this, service));
+                });
+            }
+        });
+        this.serviceResourceSnapshots.entrySet().removeIf(entry -> {
+            if (!currentResources.contains(entry.getKey())) {
+                LOGGER.trace("Service definition file [{}] is removed", entry.getKey());
+                removeServiceResource(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+        this.serviceModificationTimestamps.keySet().retainAll(this.services.keySet());
+
+        val modifiedServices = this.services.values()
+            .stream()
+            .filter(service -> this.serviceModificationTimestamps.getOrDefault(service.getId(), Long.MAX_VALUE) >= timestamp)
+            .sorted()
+            .collect(Collectors.toList());
+        return Optional.of(ServiceRegistryChangeSet.builder()
+            .timestamp(scanTimestamp)
+            .modifiedServices(modifiedServices)
+            .serviceIds(new HashSet<>(this.services.keySet()))
+            .build());
+    }
+
     @Override
     public Collection<RegisteredService> load(final File file) {
+        return parseServiceResource(file)
+            .stream()
+            .map(this::invokeServiceRegistryListenerPostLoad)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Parse service definitions from the given file, without invoking service registry listeners.
+     *
+     * @param file the file
+     * @return the service definitions
+     */
+    protected Collection<RegisteredService> parseServiceResource(final File file) {
         val fileName = file.getName();
         if (!file.canRead()) {
             LOGGER.warn("[{}] is not readable. Check file permissions", fileName);
@@ -280,8 +403,6 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
                 .map(s -> s.load(in))
                 .filter(Objects::nonNull)
                 .flatMap(Collection::stream)
-                .map(this::invokeServiceRegistryListenerPostLoad)
-                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
         } catch (final Exception e) {
             LOGGER.error("Error reading configuration file [{}]", fileName);
@@ -309,6 +430,7 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
     @Override
     public void update(final RegisteredService service) {
         this.services.put(service.getId(), service);
+        this.serviceModificationTimestamps.put(service.getId(), System.currentTimeMillis());
     }
 
     @Override
@@ -346,6 +468,7 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     protected void removeRegisteredService(final RegisteredService service) {
         this.services.remove(service.getId());
+        this.serviceModificationTimestamps.remove(service.getId());
     }
 
     /**
@@ -402,4 +525,182 @@ public abstract class AbstractResourceBasedServiceRegistry extends AbstractServi
      */
     protected abstract String[] getExtensions();
 
+    /**
+     * Load service definitions from the given file and keep track of the file,
+     * so that changes to it can be detected and services loaded from it can be located.
+     *
+     * @param file the file
+     * @return the service definitions
+     */
+    protected Collection<RegisteredService> loadServiceResource(final File file) {
+        val lastModified = file.lastModified();
+        val length = file.length();
+        val checksum = getChecksum(file);
+        val loaded = Optional.ofNullable(load(file)).orElseGet(ArrayList::new);
+        trackServiceResource(file, lastModified, length, checksum, loaded);
+        return loaded;
+    }
+
+    /**
+     * Gets the services that were last loaded from the given file.
+     *
+     * @param file the file
+     * @return the registered services
+     */
+    protected Collection<RegisteredService> getRegisteredServicesFromResource(final File file) {
+        return Optional.ofNullable(this.serviceResourceSnapshots.get(file.getAbsolutePath()))
+            .map(snapshot -> snapshot.getServiceIds()
+                .stream()
+                .map(this.services::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.<RegisteredService>toList()))
+            .orElseGet(ArrayList::new);
+    }
+
+    private static String getChecksum(final File file) {
+        try {
+            return ResourceBasedServiceRegistrySnapshot.checksum(file);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to calculate checksum of [{}]", file, e);
+            return null;
+        }
+    }
+
+    private void trackServiceResource(final File file, final long lastModified, final long length,
+                                      final String checksum, final Collection<RegisteredService> loaded) {
+        val serviceIds = loaded.stream().map(RegisteredService::getId).collect(Collectors.toSet());
+        this.serviceResourceSnapshots.put(file.getAbsolutePath(),
+            new ServiceResourceSnapshot(lastModified, length, checksum, serviceIds));
+    }
+
+    private List<Collection<RegisteredService>> loadServiceResources(final Collection<File> files) {
+        val snapshotEntries = Optional.ofNullable(this.serviceRegistrySnapshot)
+            .map(ResourceBasedServiceRegistrySnapshot::read)
+            .orElseGet(HashMap::new);
+        val currentEntries = new ConcurrentHashMap<String, ResourceBasedServiceRegistrySnapshot.Entry>(files.size());
+
+        val parsedResources = parallelism > 1 && files.size() > 1
+            ? parseServiceResourcesInParallel(files, snapshotEntries, currentEntries)
+            : files.stream()
+                .map(file -> parseOrRestoreServiceResource(file, snapshotEntries, currentEntries))
+                .collect(Collectors.toList());
+
+        if (this.serviceRegistrySnapshot != null) {
+            val changed = snapshotEntries.size() != currentEntries.size()
+                || currentEntries.entrySet().stream().anyMatch(entry -> entry.getValue() != snapshotEntries.get(entry.getKey()));
+            if (changed) {
+                this.serviceRegistrySnapshot.write(currentEntries);
+            }
+        }
+
+        return parsedResources
+            .stream()
+            .map(resource -> {
+                val loaded = resource.getServices()
+                    .stream()
+                    .map(this::invokeServiceRegistryListenerPostLoad)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+                trackServiceResource(resource.getFile(), resource.getLastModified(), resource.getLength(), resource.getChecksum(), loaded);
+                return loaded;
+            })
+            .collect(Collectors.toList());
+    }
+
+    private List<ParsedServiceResource> parseServiceResourcesInParallel(
+        final Collection<File> files,
+        final Map<String, ResourceBasedServiceRegistrySnapshot.Entry> snapshotEntries,
+        final Map<String, ResourceBasedServiceRegistrySnapshot.Entry> currentEntries) {
+        val threadFactory = new BasicThreadFactory.Builder().namingPattern("cas-service-registry-%d").daemon(true).build();
+        val executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()), threadFactory);
+        try {
+            LOGGER.debug("Parsing [{}] service definition files using [{}] thread(s)", files.size(), parallelism);
+            val futures = files
+                .stream()
+                .map(file -> CompletableFuture.supplyAsync(
+                    () -> parseOrRestoreServiceResource(file, snapshotEntries, currentEntries), executor))
+                .collect(Collectors.toList());
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ParsedServiceResource parseOrRestoreServiceResource(
+        final File file,
+        final Map<String, ResourceBasedServiceRegistrySnapshot.Entry> snapshotEntries,
+        final Map<String, ResourceBasedServiceRegistrySnapshot.Entry> currentEntries) {
+        val lastModified = file.lastModified();
+        val length = file.length();
+        val checksum = getChecksum(file);
+        if (this.serviceRegistrySnapshot == null || checksum == null) {
+            return new ParsedServiceResource(file, lastModified, length, checksum, parseServiceResource(file));
+        }
+        val resource = file.getAbsolutePath();
+        try {
+            val entry = snapshotEntries.get(resource);
+            if (entry != null && entry.getChecksum().equals(checksum)) {
+                val restored = entry.toRegisteredServices();
+                currentEntries.put(resource, entry);
+                LOGGER.trace("Restored [{}] service definition(s) from snapshot for [{}]", restored.size(), resource);
+                return new ParsedServiceResource(file, lastModified, length, checksum, restored);
+            }
+            val parsed = parseServiceResource(file);
+            currentEntries.put(resource, ResourceBasedServiceRegistrySnapshot.Entry.of(checksum, parsed));
+            return new ParsedServiceResource(file, lastModified, length, checksum, parsed);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to restore service definitions for [{}] from snapshot", resource, e);
+            return new ParsedServiceResource(file, lastModified, length, checksum, parseServiceResource(file));
+        }
+    }
+
+    private void removeServiceResource(final ServiceResourceSnapshot snapshot) {
+        snapshot.getServiceIds().forEach(id -> {
+            this.services.remove(id);
+            this.serviceModificationTimestamps.remove(id);
+        });
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class ParsedServiceResource {
+        private final File file;
+
+        private final long lastModified;
+
+        private final long length;
+
+        private final String checksum;
+
+        private final Collection<RegisteredService> services;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class ServiceResourceSnapshot {
+        private final long lastModified;
+
+        private final long length;
+
+        private final String checksum;
+
+        private final Set<Long> serviceIds;
+
+        private volatile long verifiedTimestamp = System.currentTimeMillis();
+
+        boolean isModified(final File file, final boolean verifyContents) {
+            if (file.lastModified() != lastModified || file.length() != length) {
+                return true;
+            }
+            if (verifyContents || verifiedTimestamp - lastModified < MODIFICATION_TIME_RESOLUTION) {
+                val verificationTimestamp = System.currentTimeMillis();
+                if (checksum == null || !checksum.equals(getChecksum(file))) {
+                    return true;
+                }
+                verifiedTimestamp = verificationTimestamp;
+            }
+            return false;
+        }
+    }
+
 }
@@ -29,7 +29,7 @@ public class CreateResourceBasedRegisteredServiceWatcher extends BaseResourceBas
         val fileName = file.getName();
         if (!fileName.startsWith(".") && Arrays.stream(serviceRegistryDao.getExtensions()).anyMatch(fileName::endsWith)) {
             LOGGER.debug("New service definition [{}] was created. Locating service entry from cache...", file);
-            val services = serviceRegistryDao.load(file);
+            val services = serviceRegistryDao.loadServiceResource(file);
             services.stream()
                 .filter(Objects::nonNull)
                 .forEach(service -> {
@@ -8,7 +8,9 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * This is {@link DeleteResourceBasedRegisteredServiceWatcher}.
@@ -28,12 +30,17 @@ public class DeleteResourceBasedRegisteredServiceWatcher extends BaseResourceBas
         val fileName = file.getName();
         if (!fileName.startsWith(".") && Arrays.stream(serviceRegistryDao.getExtensions()).anyMatch(fileName::endsWith)) {
             LOGGER.debug("Service definition [{}] was deleted. Reloading cache...", file);
-            val service = serviceRegistryDao.getRegisteredServiceFromFile(file);
-            if (service != null) {
-                serviceRegistryDao.publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
-                serviceRegistryDao.removeRegisteredService(service);
-                LOGGER.debug("Successfully deleted service definition [{}]", service.getName());
-                serviceRegistryDao.publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
+            val services = new ArrayList<>(serviceRegistryDao.getRegisteredServicesFromResource(file));
+            if (services.isEmpty()) {
+                Optional.ofNullable(serviceRegistryDao.getRegisteredServiceFromFile(file)).ifPresent(services::add);
+            }
+            if (!services.isEmpty()) {
+                services.forEach(service -> {
+                    serviceRegistryDao.publishEvent(new CasRegisteredServicePreDeleteEvent(this, service));
+                    serviceRegistryDao.removeRegisteredService(service);
+                    LOGGER.debug("Successfully deleted service definition [{}]", service.getName());
+                    serviceRegistryDao.publishEvent(new CasRegisteredServiceDeletedEvent(this, service));
+                });
             } else {
                 LOGGER.warn("Unable to locate a matching service definition from file [{}]. Reloading cache...", file);
                 val results = serviceRegistryDao.load();
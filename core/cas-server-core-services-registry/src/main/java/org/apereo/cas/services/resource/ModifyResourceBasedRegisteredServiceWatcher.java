@@ -1,5 +1,7 @@
 package org.apereo.cas.services.resource;
 
+import org.apereo.cas.support.events.service.CasRegisteredServiceDeletedEvent;
+import org.apereo.cas.support.events.service.CasRegisteredServicePreDeleteEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServicePreSaveEvent;
 import org.apereo.cas.support.events.service.CasRegisteredServiceSavedEvent;
 
@@ -27,7 +29,8 @@ public class ModifyResourceBasedRegisteredServiceWatcher extends BaseResourceBas
         val fileName = file.getName();
         if (!fileName.startsWith(".") && Arrays.stream(serviceRegistryDao.getExtensions()).anyMatch(fileName::endsWith)) {
             LOGGER.debug("New service definition [{}] was modified. Locating service entry from cache...", file);
-            val newServices = serviceRegistryDao.load(file);
+            val previousServices = serviceRegistryDao.getRegisteredServicesFromResource(file);
+            val newServices = serviceRegistryDao.loadServiceResource(file);
             newServices.stream()
                 .filter(Objects::nonNull)
                 .forEach(newService -> {
@@ -43,6 +46,15 @@ public class ModifyResourceBasedRegisteredServiceWatcher extends BaseResourceBas
                                      + "in the event processing pipeline", newService.getId(), file.getName());
                     }
                 });
+            previousServices
+                .stream()
+                .filter(oldService -> newServices.stream().noneMatch(newService -> newService.getId() == oldService.getId()))
+                .forEach(oldService -> {
+                    LOGGER.debug("Service [{}] is no longer defined in [{}] and will be removed", oldService.getId(), file.getName());
+                    serviceRegistryDao.publishEvent(new CasRegisteredServicePreDeleteEvent(this, oldService));
+                    serviceRegistryDao.removeRegisteredService(oldService);
+                    serviceRegistryDao.publishEvent(new CasRegisteredServiceDeletedEvent(this, oldService));
+                });
         }
     }
 }
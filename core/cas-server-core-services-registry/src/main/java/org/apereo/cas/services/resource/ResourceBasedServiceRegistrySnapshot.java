@@ -0,0 +1,225 @@
+package org.apereo.cas.services.resource;
+
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.util.CasVersion;
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link ResourceBasedServiceRegistrySnapshot} that keeps a binary snapshot
+ * of parsed service definitions on disk, keyed by the path and checksum of each service definition file.
+ * When the registry is loaded again, typically after a restart, definitions of files
+ * whose checksum has not changed are restored from the snapshot instead of being parsed again.
+ * <p>
+ * The snapshot is written using Java serialization, and is signed with an HMAC using the configured
+ * signing key; snapshots whose signature cannot be verified are never deserialized. The snapshot header
+ * records the version of the format and of CAS, and snapshots written by a different version of either are ignored.
+ * Deserialization is further restricted to an allow-list of classes, and entries that contain other classes
+ * are parsed from their files instead. The snapshot should still be kept in a location that is only writable by CAS.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Getter
+public class ResourceBasedServiceRegistrySnapshot {
+    private static final int VERSION = 2;
+
+    private static final String SIGNING_ALGORITHM = "HmacSHA512";
+
+    private static final ObjectInputFilter ALLOWED_CLASSES = ObjectInputFilter.Config.createFilter(
+        "org.apereo.cas.**;java.lang.*;java.util.**;java.time.**;java.math.*;java.net.URI;java.net.URL;!*");
+
+    /**
+     * The snapshot file.
+     */
+    private final File location;
+
+    /**
+     * The key used to sign and verify the snapshot.
+     */
+    @Getter(AccessLevel.NONE)
+    private final String signingKey;
+
+    /**
+     * Calculate the checksum of the given file.
+     *
+     * @param file the file
+     * @return the checksum
+     * @throws IOException the io exception
+     */
+    public static String checksum(final File file) throws IOException {
+        return DigestUtils.digest(MessageDigestAlgorithms.SHA_256, Files.readAllBytes(file.toPath()));
+    }
+
+    private static String getCasVersion() {
+        return CasVersion.asString();
+    }
+
+    private static <T> T deserialize(final byte[] bytes, final Class<T> clazz) throws IOException, ClassNotFoundException {
+        try (val in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(ALLOWED_CLASSES);
+            return clazz.cast(in.readObject());
+        }
+    }
+
+    /**
+     * Read entries from the snapshot, keyed by file path.
+     *
+     * @return the entries
+     */
+    public Map<String, Entry> read() {
+        if (!location.exists()) {
+            LOGGER.debug("Service registry snapshot [{}] does not exist", location);
+            return new HashMap<>(0);
+        }
+        try (val in = new DataInputStream(new BufferedInputStream(Files.newInputStream(location.toPath())))) {
+            val version = in.readInt();
+            val casVersion = version == VERSION ? in.readUTF() : null;
+            if (!getCasVersion().equals(casVersion)) {
+                LOGGER.info("Service registry snapshot [{}] was written by an incompatible version and will be ignored", location);
+                return new HashMap<>(0);
+            }
+            val signature = readBytes(in);
+            val payload = readBytes(in);
+            if (!MessageDigest.isEqual(signature, sign(casVersion, payload))) {
+                LOGGER.warn("Signature of service registry snapshot [{}] cannot be verified; Service definitions will be parsed instead", location);
+                return new HashMap<>(0);
+            }
+            val contents = deserialize(payload, Contents.class);
+            LOGGER.debug("Read [{}] entries from service registry snapshot [{}]", contents.getEntries().size(), location);
+            return contents.getEntries();
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to read service registry snapshot [{}]; Service definitions will be parsed instead", location);
+            LoggingUtils.warn(LOGGER, e);
+        }
+        return new HashMap<>(0);
+    }
+
+    /**
+     * Write the given entries, keyed by file path, to the snapshot.
+     * The snapshot is first written to a temporary file which then replaces the snapshot.
+     *
+     * @param entries the entries
+     */
+    public void write(final Map<String, Entry> entries) {
+        try {
+            val parent = location.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists() && !parent.mkdirs()) {
+                LOGGER.warn("Unable to create directory [{}] for service registry snapshot", parent);
+                return;
+            }
+            val temp = new File(parent, location.getName() + ".tmp");
+            val casVersion = getCasVersion();
+            val payload = SerializationUtils.serialize(new Contents(new HashMap<>(entries)));
+            val signature = sign(casVersion, payload);
+            try (val out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                out.writeInt(VERSION);
+                out.writeUTF(casVersion);
+                out.writeInt(signature.length);
+                out.write(signature);
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            Files.move(temp.toPath(), location.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.debug("Wrote [{}] entries to service registry snapshot [{}]", entries.size(), location);
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to write service registry snapshot [{}]", location);
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+
+    private byte[] readBytes(final DataInputStream in) throws IOException {
+        val length = in.readInt();
+        if (length < 0 || length > location.length()) {
+            throw new InvalidObjectException("Service registry snapshot is truncated or corrupted");
+        }
+        val bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private byte[] sign(final String casVersion, final byte[] payload) throws GeneralSecurityException {
+        val mac = Mac.getInstance(SIGNING_ALGORITHM);
+        mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), SIGNING_ALGORITHM));
+        mac.update(casVersion.getBytes(StandardCharsets.UTF_8));
+        return mac.doFinal(payload);
+    }
+
+    /**
+     * Service definitions parsed from a single file.
+     */
+    @RequiredArgsConstructor
+    @Getter
+    public static class Entry implements Serializable {
+        private static final long serialVersionUID = -2457835361926173718L;
+
+        private final String checksum;
+
+        private final byte[] services;
+
+        /**
+         * Build an entry for the given checksum and service definitions.
+         *
+         * @param checksum the checksum
+         * @param services the services
+         * @return the entry
+         */
+        public static Entry of(final String checksum, final Collection<RegisteredService> services) {
+            return new Entry(checksum, SerializationUtils.serialize(new ArrayList<>(services)));
+        }
+
+        /**
+         * Restore the service definitions held by this entry.
+         * Only classes that are allowed for snapshots may be restored.
+         *
+         * @return the list
+         * @throws Exception the exception
+         */
+        @SuppressWarnings("unchecked")
+        public List<RegisteredService> toRegisteredServices() throws Exception {
+            return deserialize(services, ArrayList.class);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class Contents implements Serializable {
+        private static final long serialVersionUID = 5109245369142071466L;
+
+        private final HashMap<String, Entry> entries;
+    }
+}
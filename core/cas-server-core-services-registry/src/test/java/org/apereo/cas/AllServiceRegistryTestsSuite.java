@@ -3,11 +3,13 @@ package org.apereo.cas;
 import org.apereo.cas.services.DefaultChainingServiceRegistryTests;
 import org.apereo.cas.services.DefaultServiceRegistryInitializerEventListenerTests;
 import org.apereo.cas.services.DefaultServiceRegistryInitializerTests;
+import org.apereo.cas.services.RegisteredServicesMatchingIndexTests;
 import org.apereo.cas.services.replication.DefaultRegisteredServiceReplicationStrategyTests;
 import org.apereo.cas.services.resource.CreateResourceBasedRegisteredServiceWatcherTests;
 import org.apereo.cas.services.resource.DefaultRegisteredServiceResourceNamingStrategyTests;
 import org.apereo.cas.services.resource.DeleteResourceBasedRegisteredServiceWatcherTests;
 import org.apereo.cas.services.resource.ModifyResourceBasedRegisteredServiceWatcherTests;
+import org.apereo.cas.services.resource.ResourceBasedServiceRegistrySnapshotTests;
 
 import org.junit.platform.suite.api.SelectClasses;
 import org.junit.platform.suite.api.Suite;
@@ -26,7 +28,9 @@ import org.junit.platform.suite.api.Suite;
     DefaultRegisteredServiceResourceNamingStrategyTests.class,
     DeleteResourceBasedRegisteredServiceWatcherTests.class,
     CreateResourceBasedRegisteredServiceWatcherTests.class,
-    ModifyResourceBasedRegisteredServiceWatcherTests.class
+    ModifyResourceBasedRegisteredServiceWatcherTests.class,
+    ResourceBasedServiceRegistrySnapshotTests.class,
+    RegisteredServicesMatchingIndexTests.class
 })
 @Suite
 public class AllServiceRegistryTestsSuite {
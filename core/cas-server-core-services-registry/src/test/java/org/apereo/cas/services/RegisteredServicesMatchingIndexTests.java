@@ -0,0 +1,182 @@
+package org.apereo.cas.services;
+
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RegisteredServicesMatchingIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("RegisteredService")
+public class RegisteredServicesMatchingIndexTests {
+
+    private static RegexRegisteredService newService(final long id, final String serviceId, final int evaluationOrder) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Service" + id);
+        service.setServiceId(serviceId);
+        service.setEvaluationOrder(evaluationOrder);
+        return service;
+    }
+
+    private static List<RegisteredService> newServices(final int count) {
+        return IntStream.range(0, count)
+            .<RegisteredService>mapToObj(i -> {
+                switch (i % 4) {
+                    case 0:
+                        return newService(i, "^https://app" + i + "\\.example\\.org/.*", i);
+                    case 1:
+                        return newService(i, "https://app" + i + ".example.org/cas/.+", i);
+                    case 2:
+                        val literal = newService(i, "https://app" + i + ".example.org/literal", i);
+                        literal.setMatchingStrategy(new LiteralRegisteredServiceMatchingStrategy().setCaseInsensitive(true));
+                        return literal;
+                    default:
+                        return newService(i, "^(https|imaps)://app" + i + "\\.example\\.org/.*", i);
+                }
+            })
+            .collect(Collectors.toList());
+    }
+
+    private static RegisteredService findLinear(final List<RegisteredService> services, final String serviceId) {
+        return services.stream()
+            .sorted(Comparator.naturalOrder())
+            .filter(service -> service.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static RegisteredService findIndexed(final RegisteredServicesMatchingIndex index, final String serviceId) {
+        return index.getCandidateServicesToMatch(serviceId)
+            .stream()
+            .filter(service -> service.matches(serviceId))
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Test
+    public void verifyLiteralPrefix() {
+        assertEquals("https://app.example.org/", RegisteredServicesMatchingIndex.getRegexLiteralPrefix("^https://app\\.example\\.org/.*"));
+        assertEquals("https://app", RegisteredServicesMatchingIndex.getRegexLiteralPrefix("https://app\\d+.org"));
+        assertEquals("http", RegisteredServicesMatchingIndex.getRegexLiteralPrefix("^https?://.+"));
+        assertEquals("https://example.org/a", RegisteredServicesMatchingIndex.getRegexLiteralPrefix("https://example\\.org/a+"));
+        assertNull(RegisteredServicesMatchingIndex.getRegexLiteralPrefix("^(https|imaps)://.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServicesMatchingIndex.getRegexLiteralPrefix("^(https)://.*"));
+        assertEquals(StringUtils.EMPTY, RegisteredServicesMatchingIndex.getRegexLiteralPrefix(".*"));
+        assertNull(RegisteredServicesMatchingIndex.getRegexLiteralPrefix("https://a\\.org/.*|https://b\\.org/.*"));
+        val prefix = RegisteredServicesMatchingIndex.getRegexLiteralPrefix("HTTPS://app.example.org/.*");
+        assertNotNull(prefix);
+        assertTrue(prefix.startsWith("https://app"));
+    }
+
+    @Test
+    public void verifyEvaluationOrder() {
+        val generic = newService(1, "^https://.*", 10);
+        val specific = newService(2, "^https://app\\.example\\.org/.*", 100);
+        val preferred = newService(3, "https://app.example.org/cas/.*", 1);
+        val index = new RegisteredServicesMatchingIndex(List.of(generic, specific, preferred));
+        assertEquals(3, index.getSize());
+        assertEquals(preferred, findIndexed(index, "https://app.example.org/cas/login"));
+        assertEquals(generic, findIndexed(index, "https://app.example.org/other"));
+        assertEquals(generic, findIndexed(index, "https://other.example.org/other"));
+        assertNull(findIndexed(index, "http://app.example.org"));
+    }
+
+    @Test
+    public void verifyCaseInsensitiveMatching() {
+        val service = newService(1, "^https://App\\.Example\\.org/.*", 1);
+        val index = new RegisteredServicesMatchingIndex(List.of(service));
+        assertEquals(service, findIndexed(index, "HTTPS://app.EXAMPLE.org/cas"));
+        assertEquals(service, findIndexed(index, "https://app.example.org/"));
+        assertNull(findIndexed(index, "https://app.example.org:8443/cas"));
+    }
+
+    @Test
+    public void verifyFallbackServices() {
+        val partial = newService(1, "example", 1);
+        partial.setMatchingStrategy(new PartialRegexRegisteredServiceMatchingStrategy());
+        val extended = new RegexRegisteredService() {
+            private static final long serialVersionUID = -2719316929466137224L;
+        };
+        extended.setId(2);
+        extended.setServiceId("^https://app\\.example\\.org/.*");
+        extended.setEvaluationOrder(2);
+        val index = new RegisteredServicesMatchingIndex(List.of(partial, extended));
+        assertEquals(2, index.getCandidateServicesToMatch("https://other.org").size());
+        assertEquals(2, index.getCandidateServicesToMatch(null).size());
+        assertEquals(partial, findIndexed(index, "https://app.example.org/cas"));
+    }
+
+    @Test
+    public void verifyIndexAgainstLinearMatching() {
+        val services = newServices(1_000);
+        val serviceIds = new ArrayList<String>();
+        IntStream.range(0, 20).forEach(i -> {
+            val app = (i * 7919) % services.size();
+            serviceIds.add("https://app" + app + ".example.org/cas/login");
+            serviceIds.add("https://app" + app + ".example.org/literal");
+            serviceIds.add("https://unknown" + app + ".example.org/");
+        });
+        val index = new RegisteredServicesMatchingIndex(services);
+        val linearResults = serviceIds.stream()
+            .map(serviceId -> findLinear(services, serviceId))
+            .collect(Collectors.toList());
+        val indexedResults = serviceIds.stream()
+            .map(serviceId -> findIndexed(index, serviceId))
+            .collect(Collectors.toList());
+        assertEquals(linearResults, indexedResults);
+        assertTrue(indexedResults.stream().anyMatch(Objects::nonNull));
+        assertEquals(services.size(), index.getSize());
+    }
+
+    @Test
+    public void verifyUpdate() {
+        val generic = newService(1, "^https://.*", 10);
+        val specific = newService(2, "^https://app\\.example\\.org/.*", 100);
+        val index = new RegisteredServicesMatchingIndex(List.of(generic, specific));
+
+        val preferred = newService(3, "https://app.example.org/cas/.*", 1);
+        val moved = newService(2, "^https://moved\\.example\\.org/.*", 1);
+        val updated = index.update(List.of(specific, generic), List.of(preferred, moved));
+        assertEquals(2, updated.getSize());
+        assertEquals(preferred, findIndexed(updated, "https://app.example.org/cas/login"));
+        assertEquals(moved, findIndexed(updated, "https://moved.example.org/cas"));
+        assertNull(findIndexed(updated, "https://app.example.org/other"));
+
+        assertEquals(2, index.getSize());
+        assertEquals(generic, findIndexed(index, "https://app.example.org/cas/login"));
+    }
+
+    @Test
+    public void verifyUpdateAgainstLinearMatching() {
+        val services = newServices(200);
+        val index = new RegisteredServicesMatchingIndex(services);
+        val removed = services.subList(0, 50);
+        val saved = IntStream.range(20, 60)
+            .<RegisteredService>mapToObj(i -> newService(i, "https://app" + (i + 1) + ".example.org/.*", 200 - i))
+            .collect(Collectors.toList());
+        val updated = index.update(removed, saved);
+
+        val current = new ArrayList<>(services.subList(50, services.size()));
+        current.removeIf(service -> saved.stream().anyMatch(s -> s.getId() == service.getId()));
+        current.addAll(saved);
+        assertEquals(current.size(), updated.getSize());
+        IntStream.range(0, services.size()).forEach(i -> {
+            val serviceId = "https://app" + i + ".example.org/cas/login";
+            assertEquals(findLinear(current, serviceId), findIndexed(updated, serviceId));
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package org.apereo.cas.services.resource;
+
+import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.util.RegisteredServiceJsonSerializer;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.InvalidClassException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link ResourceBasedServiceRegistrySnapshotTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("RegisteredService")
+public class ResourceBasedServiceRegistrySnapshotTests {
+    private static final String SIGNING_KEY = "ZuH8ZqlYrRTDXMZ3Qz8Tsap4ePqL5eAj";
+
+    private static AbstractResourceBasedServiceRegistry getServiceRegistry(final File directory) throws Exception {
+        return new AbstractResourceBasedServiceRegistry(new FileSystemResource(directory),
+            List.of(new RegisteredServiceJsonSerializer()), mock(ConfigurableApplicationContext.class),
+            new ArrayList<>()) {
+            @Override
+            protected String[] getExtensions() {
+                return new String[]{"json"};
+            }
+        };
+    }
+
+    private static RegisteredService getRegisteredService(final int id) {
+        val service = new RegexRegisteredService();
+        service.setId(id);
+        service.setName("Sample");
+        service.setServiceId("^https://app" + id + ".example.org/.*");
+        return service;
+    }
+
+    @Test
+    public void verifyParallelLoadWithSnapshot() throws Exception {
+        val directory = Files.createTempDirectory("services").toFile();
+        val location = new File(Files.createTempDirectory("snapshot").toFile(), "services.bin");
+        try {
+            val registry = getServiceRegistry(directory);
+            IntStream.rangeClosed(1, 10).forEach(id -> registry.save(getRegisteredService(id)));
+
+            val snapshot = new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY);
+            val first = getServiceRegistry(directory);
+            first.setParallelism(4);
+            first.setServiceRegistrySnapshot(snapshot);
+            val loaded = first.load();
+            assertEquals(10, loaded.size());
+            assertTrue(location.exists());
+            assertEquals(10, snapshot.read().size());
+
+            val second = getServiceRegistry(directory);
+            second.setParallelism(4);
+            second.setServiceRegistrySnapshot(snapshot);
+            val restored = second.load();
+            assertEquals(new ArrayList<>(loaded), new ArrayList<>(restored));
+
+            val sequential = getServiceRegistry(directory);
+            sequential.setParallelism(1);
+            assertEquals(new ArrayList<>(loaded), new ArrayList<>(sequential.load()));
+        } finally {
+            FileUtils.deleteQuietly(directory);
+            FileUtils.deleteQuietly(location.getParentFile());
+        }
+    }
+
+    @Test
+    public void verifyChangedFileIsParsed() throws Exception {
+        val directory = Files.createTempDirectory("services").toFile();
+        val location = new File(Files.createTempDirectory("snapshot").toFile(), "services.bin");
+        try {
+            val registry = getServiceRegistry(directory);
+            registry.save(getRegisteredService(1));
+            val snapshot = new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY);
+            registry.setServiceRegistrySnapshot(snapshot);
+            registry.load();
+            val checksum = snapshot.read().values().iterator().next().getChecksum();
+
+            val service = getRegisteredService(1);
+            service.setDescription("Changed");
+            registry.save(service);
+
+            val reloaded = getServiceRegistry(directory);
+            reloaded.setServiceRegistrySnapshot(snapshot);
+            reloaded.load();
+            assertEquals("Changed", reloaded.findServiceById(1).getDescription());
+            assertNotEquals(checksum, snapshot.read().values().iterator().next().getChecksum());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+            FileUtils.deleteQuietly(location.getParentFile());
+        }
+    }
+
+    @Test
+    public void verifyInvalidSnapshotIgnored() throws Exception {
+        val directory = Files.createTempDirectory("services").toFile();
+        val location = File.createTempFile("services", ".bin");
+        try {
+            FileUtils.write(location, "invalid-snapshot", StandardCharsets.UTF_8);
+            val snapshot = new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY);
+            assertTrue(snapshot.read().isEmpty());
+
+            val registry = getServiceRegistry(directory);
+            registry.save(getRegisteredService(1));
+            registry.setServiceRegistrySnapshot(snapshot);
+            assertEquals(1, registry.load().size());
+            val restored = new ArrayList<Long>();
+            for (val entry : snapshot.read().values()) {
+                entry.toRegisteredServices().forEach(service -> restored.add(service.getId()));
+            }
+            assertEquals(List.of(1L), restored);
+        } finally {
+            FileUtils.deleteQuietly(directory);
+            FileUtils.deleteQuietly(location);
+        }
+    }
+
+    @Test
+    public void verifyUnverifiedSnapshotIgnored() throws Exception {
+        val directory = Files.createTempDirectory("services").toFile();
+        val location = new File(Files.createTempDirectory("snapshot").toFile(), "services.bin");
+        try {
+            val registry = getServiceRegistry(directory);
+            registry.save(getRegisteredService(1));
+            registry.setServiceRegistrySnapshot(new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY));
+            registry.load();
+            assertEquals(1, new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY).read().size());
+            assertTrue(new ResourceBasedServiceRegistrySnapshot(location, "OtherSigningKey").read().isEmpty());
+
+            try (val out = new DataOutputStream(Files.newOutputStream(location.toPath()))) {
+                out.writeInt(2);
+                out.writeUTF("0.0.0");
+            }
+            assertTrue(new ResourceBasedServiceRegistrySnapshot(location, SIGNING_KEY).read().isEmpty());
+        } finally {
+            FileUtils.deleteQuietly(directory);
+            FileUtils.deleteQuietly(location.getParentFile());
+        }
+    }
+
+    @Test
+    public void verifyDisallowedClassesRejected() {
+        val entry = new ResourceBasedServiceRegistrySnapshot.Entry("checksum",
+            SerializationUtils.serialize(new ArrayList<>(List.of(new File("services.json")))));
+        assertThrows(InvalidClassException.class, entry::toRegisteredServices);
+    }
+}
@@ -19,7 +19,10 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -149,6 +152,96 @@ public abstract class AbstractServicesManagerTests<T extends ServicesManager> {
         assertNull(servicesManager.findServiceBy(serviceFactory.createService(r.getServiceId())));
     }
 
+    @Test
+    public void verifyFindByIndex() {
+        val index = RegisteredServiceIndex.of(RegexRegisteredService.class, "name", RegexRegisteredService::getName);
+        val r = new RegexRegisteredService();
+        r.setId(4100);
+        r.setName("IndexedService");
+        r.setServiceId(TEST);
+        servicesManager.save(r);
+        assertEquals(r, servicesManager.findServiceBy(index.query("indexedservice")));
+        assertEquals(r, servicesManager.findServiceBy(index.query("INDEXEDSERVICE")));
+        assertNull(servicesManager.findServiceBy(index.query(null)));
+        assertNull(servicesManager.findServiceBy(index.query("unknown")));
+
+        r.setName("RenamedService");
+        servicesManager.save(r);
+        assertNull(servicesManager.findServiceBy(index.query("IndexedService")));
+        assertEquals(r, servicesManager.findServiceBy(index.query("RenamedService")));
+
+        servicesManager.delete(r);
+        assertNull(servicesManager.findServiceBy(index.query("RenamedService")));
+    }
+
+    @Test
+    public void verifyIndexesAfterReplacingCachedService() {
+        val index = RegisteredServiceIndex.of(RegexRegisteredService.class, "name", RegexRegisteredService::getName);
+        val r = new RegexRegisteredService();
+        r.setId(4200);
+        r.setName("OriginalService");
+        r.setServiceId("https://original.example.org");
+        servicesManager.save(r);
+        assertEquals(r, servicesManager.findServiceBy(serviceFactory.createService(r.getServiceId())));
+        assertEquals(r, servicesManager.findServiceBy(index.query("OriginalService")));
+
+        val replacement = new RegexRegisteredService();
+        replacement.setId(r.getId());
+        replacement.setName("ReplacementService");
+        replacement.setServiceId("https://replacement.example.org");
+        serviceRegistry.save(replacement);
+        val found = servicesManager.findServiceBy(service -> service.getId() == r.getId());
+        assertEquals(1, found.size());
+        assertEquals("ReplacementService", found.iterator().next().getName());
+        assertEquals(r, servicesManager.findServiceBy(serviceFactory.createService(r.getServiceId())));
+        assertEquals(r, servicesManager.findServiceBy(index.query("OriginalService")));
+
+        servicesManager.load();
+        assertNull(servicesManager.findServiceBy(serviceFactory.createService(r.getServiceId())));
+        assertNull(servicesManager.findServiceBy(index.query("OriginalService")));
+        assertEquals(replacement, servicesManager.findServiceBy(serviceFactory.createService(replacement.getServiceId())));
+        assertEquals(replacement, servicesManager.findServiceBy(index.query("ReplacementService")));
+        servicesManager.delete(replacement);
+    }
+
+    @Test
+    public void verifyLoadChanges() {
+        val service = new RegexRegisteredService();
+        service.setId(5100);
+        service.setName(TEST);
+        service.setServiceId("https://changes.example.org");
+        serviceRegistry.save(service);
+        servicesManager.loadChanges();
+        assertTrue(isServiceInCache(null, service.getId()));
+
+        val changes = new AtomicReference<ServiceRegistryChangeSet>();
+        val appCtx = new StaticApplicationContext();
+        appCtx.refresh();
+        serviceRegistry = new InMemoryServiceRegistry(appCtx, new ArrayList<>(List.of(service)), new ArrayList<>()) {
+            @Override
+            public Optional<ServiceRegistryChangeSet> loadChangesSince(final long timestamp) {
+                return Optional.ofNullable(changes.get());
+            }
+        };
+        servicesManager = getServicesManagerInstance();
+        servicesManager.load();
+        assertTrue(isServiceInCache(null, service.getId()));
+
+        val modified = new RegexRegisteredService();
+        modified.setId(5200);
+        modified.setName(TEST);
+        modified.setServiceId("https://modified.example.org");
+        changes.set(ServiceRegistryChangeSet.builder()
+            .timestamp(System.currentTimeMillis())
+            .modifiedServices(List.of(modified))
+            .serviceIds(Set.of(modified.getId()))
+            .build());
+        servicesManager.loadChanges();
+        assertTrue(isServiceInCache(null, modified.getId()));
+        assertFalse(isServiceInCache(null, service.getId()));
+        assertNotNull(servicesManager.findServiceBy(serviceFactory.createService(modified.getServiceId())));
+    }
+
     /**
      * Attempts to make sure service lookup operations
      * are valid based on the existing cache, specially if load
@@ -75,6 +75,25 @@ public abstract class BaseResourceBasedServiceRegistryTests extends AbstractServ
         assertTrue(newServiceRegistry.load(file).isEmpty());
     }
 
+    @Test
+    public void verifyLoadChangesSince() {
+        newServiceRegistry.load();
+        val timestamp = System.currentTimeMillis();
+        val saved = newServiceRegistry.save(buildRegisteredServiceInstance(RandomUtils.nextInt(), RegexRegisteredService.class));
+
+        val changes = newServiceRegistry.loadChangesSince(timestamp).orElseThrow();
+        assertTrue(changes.getModifiedServices().stream().anyMatch(s -> s.getId() == saved.getId()));
+        assertTrue(changes.getServiceIds().contains(saved.getId()));
+
+        val unchanged = newServiceRegistry.loadChangesSince(changes.getTimestamp() + 1).orElseThrow();
+        assertTrue(unchanged.getModifiedServices().isEmpty());
+        assertTrue(unchanged.getServiceIds().contains(saved.getId()));
+
+        newServiceRegistry.delete(saved);
+        val deleted = newServiceRegistry.loadChangesSince(unchanged.getTimestamp()).orElseThrow();
+        assertFalse(deleted.getServiceIds().contains(saved.getId()));
+    }
+
     @Test
     public void verify() {
         val applicationContext = new StaticApplicationContext();
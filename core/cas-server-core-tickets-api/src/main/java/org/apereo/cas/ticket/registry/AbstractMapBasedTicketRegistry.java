@@ -10,11 +10,26 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This is {@link AbstractMapBasedTicketRegistry}.
+ * Single sign-on sessions are indexed by principal as tickets are added and removed,
+ * and entries that are no longer found in the underlying map are pruned from the index
+ * once looked up, so that evicted or expired tickets do not linger in the index.
+ * Tickets are also indexed by the time at which they should be checked for expiration,
+ * in buckets of {@value #EXPIRATION_BUCKET_MILLIS} milliseconds, so that expired tickets can be found
+ * without decoding every ticket in the registry.
  *
  * @author Misagh Moayyed
  * @since 5.2.0
@@ -22,16 +37,33 @@ import java.util.function.Predicate;
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegistry {
+    private static final long EXPIRATION_BUCKET_MILLIS = 10_000;
+
+    private final Map<String, Set<String>> principalSessions = new ConcurrentHashMap<>();
+
+    private final Map<String, String> sessionPrincipals = new ConcurrentHashMap<>();
+
+    private final List<NavigableMap<Long, Set<String>>> expirationBuckets = Stream.<NavigableMap<Long, Set<String>>>generate(ConcurrentSkipListMap::new)
+        .limit(EXPIRATION_PARTITION_COUNT)
+        .collect(Collectors.toList());
+
+    private final Map<String, Long> expirationCheckTimes = new ConcurrentHashMap<>();
 
     protected AbstractMapBasedTicketRegistry(final CipherExecutor cipherExecutor) {
         setCipherExecutor(cipherExecutor);
     }
 
+    private static long getExpirationBucket(final long checkTime) {
+        return checkTime - Math.floorMod(checkTime, EXPIRATION_BUCKET_MILLIS);
+    }
+
     @Override
     public void addTicketInternal(final Ticket ticket) throws Exception {
         val encTicket = encodeTicket(ticket);
         LOGGER.debug("Putting ticket [{}] in registry.", ticket.getId());
         getMapInstance().put(encTicket.getId(), encTicket);
+        addSessionToIndex(ticket, encTicket.getId());
+        addExpirationToIndex(encTicket.getId(), getExpirationCheckTime(ticket));
     }
 
     @Override
@@ -58,16 +90,83 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val encTicketId = encodeTicketId(ticketId);
-        return !StringUtils.isBlank(encTicketId) && getMapInstance().remove(encTicketId) != null;
+        if (StringUtils.isBlank(encTicketId)) {
+            return false;
+        }
+        removeSessionFromIndex(encTicketId);
+        removeExpirationFromIndex(encTicketId);
+        return getMapInstance().remove(encTicketId) != null;
     }
 
     @Override
     public long deleteAll() {
         val size = getMapInstance().size();
         getMapInstance().clear();
+        principalSessions.clear();
+        sessionPrincipals.clear();
+        expirationBuckets.forEach(Map::clear);
+        expirationCheckTimes.clear();
         return size;
     }
 
+    @Override
+    public int getExpirationPartitionCount() {
+        return EXPIRATION_PARTITION_COUNT;
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        val dueBuckets = expirationBuckets.get(partition).headMap(System.currentTimeMillis(), true);
+        val ticketIds = dueBuckets.values()
+            .stream()
+            .flatMap(Collection::stream)
+            .distinct()
+            .collect(Collectors.toList());
+        return ticketIds.stream()
+            .map(ticketId -> {
+                val found = getMapInstance().get(ticketId);
+                if (found == null) {
+                    LOGGER.trace("Ticket [{}] is no longer found and is removed from the expiration index", ticketId);
+                    removeExpirationFromIndex(ticketId);
+                    return null;
+                }
+                val ticket = decodeTicket(found);
+                if (ticket != null && !ticket.isExpired()) {
+                    addExpirationToIndex(ticketId, getExpirationRecheckTime(ticket));
+                    return null;
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull);
+    }
+
+    @Override
+    public OptionalLong getIndexedExpirationCheckTime(final Ticket ticket) {
+        val checkTime = expirationCheckTimes.get(encodeTicketId(ticket.getId()));
+        return checkTime != null ? OptionalLong.of(checkTime) : OptionalLong.empty();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val key = getPrincipalSessionIndexKey(principalId);
+        if (key == null) {
+            return Stream.empty();
+        }
+        val ticketIds = List.copyOf(principalSessions.getOrDefault(key, Set.of()));
+        return ticketIds.stream()
+            .map(ticketId -> {
+                val found = getMapInstance().get(ticketId);
+                if (found == null) {
+                    LOGGER.trace("Ticket [{}] is no longer found and is removed from the sessions index", ticketId);
+                    removeSessionFromIndex(ticketId);
+                }
+                return found;
+            })
+            .filter(Objects::nonNull)
+            .map(this::decodeTicket)
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
     @Override
     public Collection<? extends Ticket> getTickets() {
         return decodeTickets(getMapInstance().values());
@@ -77,9 +176,69 @@ public abstract class AbstractMapBasedTicketRegistry extends AbstractTicketRegis
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         LOGGER.trace("Updating ticket [{}] in registry...", ticket.getId());
         addTicket(ticket);
+        if (ticket.isExpired()) {
+            addExpirationToIndex(encodeTicketId(ticket.getId()), System.currentTimeMillis());
+        }
         return ticket;
     }
 
+    /**
+     * Remove the ticket from the index of single sign-on sessions.
+     *
+     * @param encTicketId the encoded ticket id, as stored in the map
+     */
+    protected void removeSessionFromIndex(final String encTicketId) {
+        val key = sessionPrincipals.remove(encTicketId);
+        if (key != null) {
+            principalSessions.computeIfPresent(key, (k, ticketIds) -> {
+                ticketIds.remove(encTicketId);
+                return ticketIds.isEmpty() ? null : ticketIds;
+            });
+        }
+    }
+
+    /**
+     * Remove the ticket from the index of ticket expiration.
+     *
+     * @param encTicketId the encoded ticket id, as stored in the map
+     */
+    protected void removeExpirationFromIndex(final String encTicketId) {
+        val checkTime = expirationCheckTimes.remove(encTicketId);
+        if (checkTime != null) {
+            removeFromExpirationBucket(encTicketId, getExpirationBucket(checkTime));
+        }
+    }
+
+    private void addExpirationToIndex(final String encTicketId, final long checkTime) {
+        val bucket = getExpirationBucket(checkTime);
+        val previous = expirationCheckTimes.put(encTicketId, checkTime);
+        if (previous != null && getExpirationBucket(previous) != bucket) {
+            removeFromExpirationBucket(encTicketId, getExpirationBucket(previous));
+        }
+        expirationBuckets.get(getExpirationPartition(encTicketId))
+            .computeIfAbsent(bucket, k -> ConcurrentHashMap.newKeySet())
+            .add(encTicketId);
+    }
+
+    private void removeFromExpirationBucket(final String encTicketId, final long bucket) {
+        expirationBuckets.get(getExpirationPartition(encTicketId)).computeIfPresent(bucket, (k, ticketIds) -> {
+            ticketIds.remove(encTicketId);
+            return ticketIds.isEmpty() ? null : ticketIds;
+        });
+    }
+
+    private void addSessionToIndex(final Ticket ticket, final String encTicketId) {
+        val key = getPrincipalSessionIndexKey(getSessionPrincipalId(ticket));
+        if (key != null) {
+            sessionPrincipals.put(encTicketId, key);
+            principalSessions.compute(key, (k, ticketIds) -> {
+                val sessions = ticketIds == null ? ConcurrentHashMap.<String>newKeySet() : ticketIds;
+                sessions.add(encTicketId);
+                return sessions;
+            });
+        }
+    }
+
     /**
      * Create map instance, which must ben created during initialization phases
      * and always be the same instance.
@@ -21,9 +21,11 @@ import org.jooq.lambda.Unchecked;
 
 import java.util.Collection;
 import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,6 +42,13 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private static final String MESSAGE = "Ticket encryption is not enabled. Falling back to default behavior";
 
+    /**
+     * Number of partitions that registries keeping track of ticket expiration split tickets into.
+     */
+    protected static final int EXPIRATION_PARTITION_COUNT = 16;
+
+    private static final long EXPIRATION_RECHECK_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
     /**
      * The cipher executor for ticket objects.
      */
@@ -90,14 +99,9 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     @Override
     public long countSessionsFor(final String principalId) {
-        val ticketPredicate = (Predicate<Ticket>) t -> {
-            if (t instanceof TicketGrantingTicket) {
-                val ticket = TicketGrantingTicket.class.cast(t);
-                return ticket.getAuthentication().getPrincipal().getId().equalsIgnoreCase(principalId);
-            }
-            return false;
-        };
-        return getTickets(ticketPredicate).count();
+        try (val sessions = getSessionsFor(principalId)) {
+            return sessions.count();
+        }
     }
 
     @Override
@@ -204,6 +208,110 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         return count.intValue();
     }
 
+    /**
+     * Gets the expiration partition of the ticket that is stored under the given key.
+     *
+     * @param key the key
+     * @return the partition
+     */
+    protected static int getExpirationPartition(final String key) {
+        return Math.floorMod(key.hashCode(), EXPIRATION_PARTITION_COUNT);
+    }
+
+    /**
+     * Gets the instant, in epoch milliseconds, at which the ticket should be checked for expiration.
+     * This is the earlier of the end of the ticket's time-to-live, counted from its creation,
+     * and the end of its time-to-idle, counted from its last use. Tickets whose expiration policy
+     * keeps them alive past this instant are checked again later, via {@link #getExpirationRecheckTime(Ticket)}.
+     * Tickets that are already expired are due for a check right away.
+     *
+     * @param ticket the ticket
+     * @return the expiration check time
+     */
+    protected static long getExpirationCheckTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        val now = System.currentTimeMillis();
+        if (policy == null || ticket.isExpired()) {
+            return now;
+        }
+        var checkTime = Long.MAX_VALUE;
+        val timeToLive = policy.getTimeToLive(ticket);
+        if (timeToLive != null && ticket.getCreationTime() != null) {
+            checkTime = Math.min(checkTime, plusSeconds(ticket.getCreationTime().toInstant().toEpochMilli(), timeToLive));
+        }
+        val timeToIdle = policy.getTimeToIdle();
+        if (timeToIdle != null && timeToIdle > 0) {
+            val lastTimeUsed = Optional.ofNullable(ticket.getLastTimeUsed())
+                .map(time -> time.toInstant().toEpochMilli())
+                .orElse(now);
+            checkTime = Math.min(checkTime, plusSeconds(lastTimeUsed, timeToIdle));
+        }
+        return checkTime;
+    }
+
+    /**
+     * Gets the instant, in epoch milliseconds, at which a ticket that was found
+     * not to be expired yet should be checked for expiration again. Tickets that
+     * outlive their expected expiration are checked again after a short interval.
+     *
+     * @param ticket the ticket
+     * @return the expiration check time
+     */
+    protected static long getExpirationRecheckTime(final Ticket ticket) {
+        val checkTime = getExpirationCheckTime(ticket);
+        val now = System.currentTimeMillis();
+        return checkTime > now ? checkTime : now + EXPIRATION_RECHECK_INTERVAL;
+    }
+
+    private static long plusSeconds(final long epochMillis, final long seconds) {
+        val millis = TimeUnit.SECONDS.toMillis(Math.max(seconds, 0));
+        return millis > Long.MAX_VALUE - epochMillis ? Long.MAX_VALUE : epochMillis + millis;
+    }
+
+    /**
+     * Gets the principal id of the single sign-on session
+     * represented by the given ticket, if the ticket is a ticket-granting ticket.
+     *
+     * @param ticket the ticket
+     * @return the principal id, or null
+     */
+    protected static String getSessionPrincipalId(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val authentication = ((TicketGrantingTicket) ticket).getAuthentication();
+            if (authentication != null && authentication.getPrincipal() != null) {
+                return authentication.getPrincipal().getId();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Is the ticket an unexpired single sign-on session that belongs to the given principal?
+     *
+     * @param ticket      the ticket
+     * @param principalId the principal id
+     * @return true/false
+     */
+    protected static boolean isSessionFor(final Ticket ticket, final String principalId) {
+        return ticket != null && !ticket.isExpired() && StringUtils.equalsIgnoreCase(getSessionPrincipalId(ticket), principalId);
+    }
+
+    /**
+     * Gets the key under which single sign-on sessions are indexed for the principal.
+     * Principal ids are indexed in a case-insensitive manner and are digested
+     * when ticket encryption is enabled, so the index does not reveal principal ids.
+     *
+     * @param principalId the principal id
+     * @return the index key
+     */
+    protected String getPrincipalSessionIndexKey(final String principalId) {
+        if (StringUtils.isBlank(principalId)) {
+            return null;
+        }
+        val key = principalId.toLowerCase(Locale.ENGLISH);
+        return isCipherExecutorEnabled() ? DigestUtils.sha512(key) : key;
+    }
+
     /**
      * Encode ticket id into a SHA-512.
      *
@@ -272,7 +380,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
         }
         LOGGER.debug("Attempting to decode [{}]", ticketToProcess);
         val encodedTicket = (EncodedTicket) ticketToProcess;
-        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(), this.cipherExecutor, Ticket.class);
+        val ticket = SerializationUtils.decodeAndDeserializeObject(encodedTicket.getEncodedTicket(),
+            this.cipherExecutor, Ticket.class, new Object[]{encodedTicket.getId()});
         LOGGER.debug("Decoded ticket to [{}]", ticket);
         return ticket;
     }
@@ -307,8 +416,8 @@ public abstract class AbstractTicketRegistry implements TicketRegistry {
 
     private Ticket createEncodedTicket(final Ticket ticket) throws Exception {
         LOGGER.debug("Encoding ticket [{}]", ticket);
-        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket);
         val encodedTicketId = encodeTicketId(ticket.getId());
+        val encodedTicketObject = SerializationUtils.serializeAndEncodeObject(this.cipherExecutor, ticket, new Object[]{encodedTicketId});
         return new DefaultEncodedTicket(encodedTicketId,
             ByteSource.wrap(encodedTicketObject).read(), ticket.getPrefix());
     }
@@ -8,13 +8,32 @@ import org.apereo.cas.util.LoggingUtils;
 import org.apereo.cas.util.lock.LockRepository;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 /**
  * This is {@link DefaultTicketRegistryCleaner}.
+ * Expired tickets are collected from each expiration partition of the ticket registry.
+ * Each partition is cleaned under its own lock, so that CAS nodes may share the work
+ * of cleaning the registry, and partitions may be cleaned in parallel on a single node.
+ * Expired tickets that the registry is able to remove in bulk are removed first;
+ * the remaining expired tickets are then cleaned one at a time.
+ * Since tickets may expire without being updated in the registry, and the expiration index
+ * would not know about them, all tickets of the registry are also examined for expiration
+ * on the first run and then once every {@code fullCleanInterval} runs.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -22,13 +41,39 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(transactionManager = "ticketTransactionManager")
 @Slf4j
 @RequiredArgsConstructor
-public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
+public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner, DisposableBean {
     private final LockRepository lockRepository;
 
     private final LogoutManager logoutManager;
 
     private final TicketRegistry ticketRegistry;
 
+    /**
+     * Maximum number of expiration partitions cleaned at the same time.
+     */
+    @Setter
+    private int maximumConcurrency = 1;
+
+    /**
+     * Number of runs after which all tickets of the registry are examined for expiration,
+     * rather than only those that are due in the expiration index. Zero or less disables full runs.
+     */
+    @Setter
+    private int fullCleanInterval = 10;
+
+    private final AtomicLong runs = new AtomicLong();
+
+    private ExecutorService executor;
+
+    private static int getPartitionResult(final Future<Integer> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            LoggingUtils.error(LOGGER, e.getCause());
+            return 0;
+        }
+    }
+
     @Override
     public int clean() {
         try {
@@ -61,15 +106,70 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
      * Clean tickets.
      *
      * @return the int
+     * @throws Exception the exception
      */
-    protected int cleanInternal() {
-        try (val expiredTickets = ticketRegistry.stream().filter(Ticket::isExpired)) {
-            val ticketsDeleted = expiredTickets
-                .mapToInt(this::cleanTicket)
-                .sum();
-            LOGGER.info("[{}] expired tickets removed.", ticketsDeleted);
-            return ticketsDeleted;
+    protected int cleanInternal() throws Exception {
+        val startTime = System.currentTimeMillis();
+        val maximumLag = new AtomicLong();
+        val partitions = ticketRegistry.getExpirationPartitionCount();
+        var ticketsDeleted = Math.min(partitions, maximumConcurrency) <= 1
+            ? IntStream.range(0, partitions).map(partition -> cleanPartition(partition, maximumLag)).sum()
+            : cleanPartitionsInParallel(partitions, maximumLag);
+        if (partitions > 1 && fullCleanInterval > 0 && runs.getAndIncrement() % fullCleanInterval == 0) {
+            ticketsDeleted += cleanAllTickets();
         }
+
+        val elapsed = Math.max(1, System.currentTimeMillis() - startTime);
+        LOGGER.info("[{}] expired tickets removed from [{}] partition(s) in [{}]ms at [{}] tickets/sec, with a maximum lag of [{}]ms.",
+            ticketsDeleted, partitions, elapsed, ticketsDeleted * 1000L / elapsed, maximumLag.get());
+        return ticketsDeleted;
+    }
+
+    /**
+     * Clean the expired tickets of a single expiration partition.
+     * The partition is skipped if it is being cleaned elsewhere.
+     *
+     * @param partition  the partition
+     * @param maximumLag the maximum delay between ticket expiration and cleanup
+     * @return the number of tickets deleted
+     */
+    protected int cleanPartition(final int partition, final AtomicLong maximumLag) {
+        val lockKey = getClass().getSimpleName() + "-partition-" + partition;
+        val result = lockRepository.execute(lockKey, () -> {
+            val ticketsDeleted = ticketRegistry.deleteExpiredTickets(partition);
+            LOGGER.trace("[{}] expired tickets removed in bulk from partition [{}]", ticketsDeleted, partition);
+            try (val expiredTickets = ticketRegistry.getExpiredTickets(partition)) {
+                return ticketsDeleted + expiredTickets
+                    .peek(ticket -> ticketRegistry.getIndexedExpirationCheckTime(ticket).ifPresent(checkTime ->
+                        maximumLag.accumulateAndGet(System.currentTimeMillis() - checkTime, Math::max)))
+                    .mapToInt(this::cleanExpiredTicket)
+                    .sum();
+            }
+        });
+        if (result.isEmpty()) {
+            LOGGER.debug("Expiration partition [{}] is being cleaned elsewhere and is skipped", partition);
+        }
+        return result.orElse(0);
+    }
+
+    /**
+     * Clean the expired tickets found by examining all tickets of the registry,
+     * including those that expired without being updated in the expiration index.
+     * Cleaning is skipped if it is being done elsewhere.
+     *
+     * @return the number of tickets deleted
+     */
+    protected int cleanAllTickets() {
+        val lockKey = getClass().getSimpleName() + "-all";
+        val result = lockRepository.execute(lockKey, () -> {
+            try (val tickets = ticketRegistry.stream()) {
+                return tickets.filter(Ticket::isExpired).mapToInt(this::cleanExpiredTicket).sum();
+            }
+        });
+        if (result.isEmpty()) {
+            LOGGER.debug("Ticket registry is being cleaned elsewhere and is skipped");
+        }
+        return result.orElse(0);
     }
 
     /**
@@ -82,4 +182,39 @@ public class DefaultTicketRegistryCleaner implements TicketRegistryCleaner {
     protected boolean isCleanerSupported() {
         return true;
     }
+
+    @Override
+    public synchronized void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(maximumConcurrency);
+        }
+        return executor;
+    }
+
+    private int cleanPartitionsInParallel(final int partitions, final AtomicLong maximumLag) throws Exception {
+        val tasks = IntStream.range(0, partitions)
+            .mapToObj(partition -> (Callable<Integer>) () -> cleanPartition(partition, maximumLag))
+            .collect(Collectors.toList());
+        var ticketsDeleted = 0;
+        for (val future : getExecutor().invokeAll(tasks)) {
+            ticketsDeleted += getPartitionResult(future);
+        }
+        return ticketsDeleted;
+    }
+
+    private int cleanExpiredTicket(final Ticket ticket) {
+        try {
+            return cleanTicket(ticket);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to clean expired ticket [{}]; it will be cleaned on the next run: [{}]", ticket.getId(), e.getMessage());
+            return 0;
+        }
+    }
 }
@@ -0,0 +1,333 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketAwareTicket;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * This is {@link NearCachingTicketRegistry} that keeps a bounded, short-lived local copy
+ * of tickets in front of another ticket registry, so that repeated reads of the same ticket
+ * within a request or a login flow avoid the remote round trip, and decoding the ticket.
+ * Tickets that are updated are cached as written, so the node that changes a ticket always
+ * reads its own writes. Changes are also broadcast to other nodes via a {@link TicketRegistryInvalidationChannel},
+ * and nodes evict their copies of tickets changed elsewhere as they receive those messages.
+ * Tickets are cached as decoded instances and handed out as such, the same way the in-memory
+ * ticket registry shares its tickets, so cache hits pay neither for decoding nor for a copy.
+ * Since callers may change a shared ticket before they write it, a ticket whose update fails is evicted
+ * so that a changed but unwritten instance is never served from the cache.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+public class NearCachingTicketRegistry implements TicketRegistry {
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final TicketRegistry delegate;
+
+    private final TicketRegistryInvalidationChannel invalidationChannel;
+
+    private final Cache<String, Ticket> cache;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private final LongAdder totalInvalidationDelay = new LongAdder();
+
+    private final AtomicLong lastInvalidationDelay = new AtomicLong();
+
+    public NearCachingTicketRegistry(final TicketRegistry delegate,
+                                     final TicketRegistryInvalidationChannel invalidationChannel,
+                                     final long maximumSize, final Duration timeToLive) {
+        this.delegate = delegate;
+        this.invalidationChannel = invalidationChannel;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .build();
+    }
+
+    private static Set<String> getRelatedTicketIds(final String ticketId, final Ticket ticket) {
+        val ids = new LinkedHashSet<String>();
+        ids.add(ticketId);
+        if (ticket instanceof TicketGrantingTicket) {
+            val tgt = (TicketGrantingTicket) ticket;
+            Optional.ofNullable(tgt.getServices()).map(Map::keySet).ifPresent(ids::addAll);
+            Optional.ofNullable(tgt.getProxyGrantingTickets()).map(Map::keySet).ifPresent(ids::addAll);
+            Optional.ofNullable(tgt.getDescendantTickets()).ifPresent(ids::addAll);
+        }
+        if (ticket instanceof TicketGrantingTicketAwareTicket) {
+            val parent = ((TicketGrantingTicketAwareTicket) ticket).getTicketGrantingTicket();
+            if (parent != null) {
+                ids.add(parent.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Evict the tickets named in a message published by another node.
+     *
+     * @param message the message
+     */
+    public void invalidate(final TicketRegistryInvalidationMessage message) {
+        if (nodeId.equals(message.getPublisherId())) {
+            return;
+        }
+        if (message.getTicketIds().isEmpty()) {
+            cache.invalidateAll();
+        } else {
+            cache.invalidateAll(message.getTicketIds());
+        }
+        val delay = Math.max(0, System.currentTimeMillis() - message.getTimestamp());
+        invalidations.increment();
+        totalInvalidationDelay.add(delay);
+        lastInvalidationDelay.set(delay);
+        LOGGER.trace("Evicted tickets [{}] changed by node [{}] after [{}]ms", message.getTicketIds(), message.getPublisherId(), delay);
+    }
+
+    /**
+     * Gets statistics for the local cache, such as the cache hit and miss ratios
+     * and the delay with which invalidation messages are received from other nodes.
+     *
+     * @return the statistics
+     */
+    public Map<String, Object> getStatistics() {
+        val hitCount = hits.sum();
+        val missCount = misses.sum();
+        val requests = hitCount + missCount;
+        val invalidationCount = invalidations.sum();
+        val map = new LinkedHashMap<String, Object>();
+        map.put("size", cache.estimatedSize());
+        map.put("hits", hitCount);
+        map.put("misses", missCount);
+        map.put("hitRatio", requests == 0 ? 1.0D : (double) hitCount / requests);
+        map.put("missRatio", requests == 0 ? 0.0D : (double) missCount / requests);
+        map.put("invalidations", invalidationCount);
+        map.put("lastInvalidationDelayMillis", lastInvalidationDelay.get());
+        map.put("averageInvalidationDelayMillis", invalidationCount == 0 ? 0 : totalInvalidationDelay.sum() / invalidationCount);
+        return map;
+    }
+
+    @Override
+    public void addTicket(final Ticket ticket) throws Exception {
+        delegate.addTicket(ticket);
+        if (ticket != null && !ticket.isExpired()) {
+            cacheTicket(ticket);
+        }
+    }
+
+    @Override
+    public <T extends Ticket> T getTicket(final String ticketId, final @NonNull Class<T> clazz) {
+        val ticket = getTicket(ticketId);
+        if (ticket == null) {
+            return null;
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId() + " is of type "
+                                         + ticket.getClass() + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return cached;
+        }
+        return cacheTicket(delegate.getTicket(ticketId));
+    }
+
+    @Override
+    public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
+        val cached = getCachedTicket(ticketId);
+        if (cached != null) {
+            return predicate.test(cached) ? cached : null;
+        }
+        return cacheTicket(delegate.getTicket(ticketId, predicate));
+    }
+
+    @Override
+    public int deleteTicket(final String ticketId) throws Exception {
+        if (StringUtils.isBlank(ticketId)) {
+            return 0;
+        }
+        val ids = getRelatedTicketIds(ticketId, getTicket(ticketId));
+        try {
+            return delegate.deleteTicket(ticketId);
+        } finally {
+            evict(ids);
+        }
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        val ids = getRelatedTicketIds(ticket.getId(), ticket);
+        try {
+            return delegate.deleteTicket(ticket);
+        } finally {
+            evict(ids);
+        }
+    }
+
+    @Override
+    public long deleteAll() {
+        try {
+            return delegate.deleteAll();
+        } finally {
+            cache.invalidateAll();
+            publish(Set.of());
+        }
+    }
+
+    @Override
+    public Collection<? extends Ticket> getTickets() {
+        return delegate.getTickets();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getTickets(final Predicate<Ticket> predicate) {
+        return delegate.getTickets(predicate);
+    }
+
+    @Override
+    public Ticket updateTicket(final Ticket ticket) throws Exception {
+        try {
+            val result = delegate.updateTicket(ticket);
+            cacheTicket(ticket);
+            return result;
+        } catch (final Exception e) {
+            cache.invalidate(ticket.getId());
+            throw e;
+        } finally {
+            publish(Set.of(ticket.getId()));
+        }
+    }
+
+    @Override
+    public void save(final TicketRegistryBatch batch) throws Exception {
+        val deletedIds = new LinkedHashSet<String>();
+        batch.getDeletedTicketIds().forEach(ticketId -> deletedIds.addAll(getRelatedTicketIds(ticketId, getTicket(ticketId))));
+        val ids = new LinkedHashSet<>(batch.getTicketIds());
+        ids.addAll(deletedIds);
+        try {
+            delegate.save(batch);
+            cache.invalidateAll(deletedIds);
+            batch.getAddedTickets().stream().filter(ticket -> !ticket.isExpired()).forEach(this::cacheTicket);
+            batch.getUpdatedTickets().forEach(this::cacheTicket);
+        } catch (final Exception e) {
+            cache.invalidateAll(ids);
+            throw e;
+        } finally {
+            publish(ids);
+        }
+    }
+
+    @Override
+    public int getExpirationPartitionCount() {
+        return delegate.getExpirationPartitionCount();
+    }
+
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        return delegate.getExpiredTickets(partition);
+    }
+
+    @Override
+    public int deleteExpiredTickets(final int partition) {
+        return delegate.deleteExpiredTickets(partition);
+    }
+
+    @Override
+    public OptionalLong getIndexedExpirationCheckTime(final Ticket ticket) {
+        return delegate.getIndexedExpirationCheckTime(ticket);
+    }
+
+    @Override
+    public long sessionCount() {
+        return delegate.sessionCount();
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return delegate.serviceTicketCount();
+    }
+
+    @Override
+    public Stream<? extends Ticket> stream() {
+        return delegate.stream();
+    }
+
+    @Override
+    public long countSessionsFor(final String principalId) {
+        return delegate.countSessionsFor(principalId);
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        return delegate.getSessionsFor(principalId);
+    }
+
+    private Ticket getCachedTicket(final String ticketId) {
+        if (StringUtils.isBlank(ticketId)) {
+            return null;
+        }
+        val ticket = cache.getIfPresent(ticketId);
+        if (ticket != null && !ticket.isExpired()) {
+            hits.increment();
+            return ticket;
+        }
+        if (ticket != null) {
+            cache.invalidate(ticketId);
+        }
+        misses.increment();
+        return null;
+    }
+
+    private Ticket cacheTicket(final Ticket ticket) {
+        if (ticket != null) {
+            cache.put(ticket.getId(), ticket);
+        }
+        return ticket;
+    }
+
+    private void evict(final Set<String> ticketIds) {
+        cache.invalidateAll(ticketIds);
+        publish(ticketIds);
+    }
+
+    private void publish(final Set<String> ticketIds) {
+        try {
+            invalidationChannel.publish(new TicketRegistryInvalidationMessage(nodeId, System.currentTimeMillis(), ticketIds));
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to broadcast changes to tickets [{}]: [{}]", ticketIds, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.Beans;
+import org.apereo.cas.util.spring.beans.BeanSupplier;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.aop.scope.ScopedObject;
+import org.springframework.aop.scope.ScopedProxyUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * This is {@link NearCachingTicketRegistryBeanPostProcessor} that places a
+ * {@link NearCachingTicketRegistry} in front of the ticket registry, whatever
+ * the ticket registry implementation, when the near-cache is turned on.
+ * The near-cache is only put in place if ticket changes can be broadcast
+ * to other nodes via a distributed {@link TicketRegistryInvalidationChannel}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class NearCachingTicketRegistryBeanPostProcessor implements BeanPostProcessor {
+    private final ObjectProvider<CasConfigurationProperties> casProperties;
+
+    private final ObjectProvider<TicketRegistryInvalidationChannel> invalidationChannel;
+
+    private static boolean isTicketRegistry(final Object bean, final String beanName) {
+        return bean instanceof TicketRegistry
+               && !(bean instanceof NearCachingTicketRegistry)
+               && !(bean instanceof ScopedObject)
+               && !BeanSupplier.isProxy(bean)
+               && StringUtils.equalsAny(beanName, TicketRegistry.BEAN_NAME, ScopedProxyUtils.getTargetBeanName(TicketRegistry.BEAN_NAME));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!isTicketRegistry(bean, beanName)) {
+            return bean;
+        }
+        val nearCache = casProperties.getObject().getTicket().getRegistry().getNearCache();
+        if (!nearCache.isEnabled()) {
+            return bean;
+        }
+        val channel = invalidationChannel.getIfAvailable(TicketRegistryInvalidationChannel::noOp);
+        if (!channel.isDistributed()) {
+            LOGGER.warn("Ticket registry [{}] cannot broadcast ticket changes to other CAS nodes, which would keep serving "
+                        + "tickets deleted elsewhere from their local cache. The ticket registry near-cache is turned off.",
+                bean.getClass().getSimpleName());
+            return bean;
+        }
+        LOGGER.info("Caching up to [{}] tickets locally for [{}] in front of ticket registry [{}]",
+            nearCache.getMaximumSize(), nearCache.getTimeToLive(), bean.getClass().getSimpleName());
+        val registry = new NearCachingTicketRegistry((TicketRegistry) bean, channel,
+            nearCache.getMaximumSize(), Beans.newDuration(nearCache.getTimeToLive()));
+        channel.subscribe(registry::invalidate);
+        return registry;
+    }
+}
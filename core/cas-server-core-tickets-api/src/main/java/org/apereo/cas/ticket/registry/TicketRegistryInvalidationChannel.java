@@ -0,0 +1,62 @@
+package org.apereo.cas.ticket.registry;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link TicketRegistryInvalidationChannel} that carries ticket invalidation
+ * messages among CAS nodes that keep tickets in a local cache.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public interface TicketRegistryInvalidationChannel {
+    /**
+     * Default bean name.
+     */
+    String BEAN_NAME = "ticketRegistryInvalidationChannel";
+
+    /**
+     * Channel that does not deliver messages to other nodes.
+     *
+     * @return the channel
+     */
+    static TicketRegistryInvalidationChannel noOp() {
+        return new TicketRegistryInvalidationChannel() {
+            @Override
+            public boolean isDistributed() {
+                return false;
+            }
+
+            @Override
+            public void publish(final TicketRegistryInvalidationMessage message) {
+            }
+
+            @Override
+            public void subscribe(final Consumer<TicketRegistryInvalidationMessage> consumer) {
+            }
+        };
+    }
+
+    /**
+     * Whether messages are actually delivered to other nodes.
+     *
+     * @return true/false
+     */
+    default boolean isDistributed() {
+        return true;
+    }
+
+    /**
+     * Publish the message to other nodes.
+     *
+     * @param message the message
+     */
+    void publish(TicketRegistryInvalidationMessage message);
+
+    /**
+     * Subscribe to messages published by other nodes.
+     *
+     * @param consumer the consumer
+     */
+    void subscribe(Consumer<TicketRegistryInvalidationMessage> consumer);
+}
@@ -0,0 +1,46 @@
+package org.apereo.cas.ticket.registry;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * This is {@link TicketRegistryInvalidationMessage}, broadcast by a CAS node
+ * when tickets are changed so that other nodes can evict their locally cached copies.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@ToString
+public class TicketRegistryInvalidationMessage implements Serializable {
+    private static final long serialVersionUID = -4326720587324582213L;
+
+    /**
+     * Identifier of the node that published the message.
+     */
+    private final String publisherId;
+
+    /**
+     * Time in milliseconds at which the message was published.
+     */
+    private final long timestamp;
+
+    /**
+     * Ids of the tickets that have changed, or empty if all tickets should be evicted.
+     */
+    private final Set<String> ticketIds;
+
+    @JsonCreator
+    public TicketRegistryInvalidationMessage(@JsonProperty("publisherId") final String publisherId,
+                                             @JsonProperty("timestamp") final long timestamp,
+                                             @JsonProperty("ticketIds") final Set<String> ticketIds) {
+        this.publisherId = publisherId;
+        this.timestamp = timestamp;
+        this.ticketIds = ticketIds;
+    }
+}
@@ -0,0 +1,134 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * This is {@link BinaryTicketSerializationManager} that stores tickets in the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> format,
+ * which is a more compact and faster equivalent of JSON that leaves out repeated property names and type ids.
+ * Tickets are serialized using the same object mapper and type information as the JSON serializers of the
+ * {@link TicketSerializationExecutionPlan}, and the result is encoded as a base64 string prefixed with
+ * a format header that carries the version of the format. Base64 encoding adds about a third to the size
+ * of the binary content, since every three bytes are encoded as four characters; the binary format remains smaller
+ * than compact JSON for tickets with larger attribute sets, where property names and repeated values dominate.
+ * Tickets that do not carry the header, such as tickets stored as JSON before the binary format was enabled, are read as JSON.
+ * Registries that encrypt tickets do so via {@link org.apereo.cas.util.serialization.SerializationUtils}
+ * and are not affected by this format.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class BinaryTicketSerializationManager extends DefaultTicketStringSerializationManager {
+    /**
+     * Header that marks tickets serialized in the binary format, followed by the format version.
+     */
+    public static final String FORMAT_HEADER = "#cas-smile-v";
+
+    /**
+     * Current version of the binary format.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final String FORMAT_SEPARATOR = ":";
+
+    private static final String CURRENT_FORMAT_PREFIX = FORMAT_HEADER + FORMAT_VERSION + FORMAT_SEPARATOR;
+
+    private static final SmileFactory SMILE_FACTORY = SmileFactory.builder()
+        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+        .build();
+
+    private final TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
+    public BinaryTicketSerializationManager(final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
+        super(ticketSerializationExecutionPlan);
+        this.ticketSerializationExecutionPlan = ticketSerializationExecutionPlan;
+    }
+
+    /**
+     * Indicates whether the ticket content is serialized in the binary format.
+     *
+     * @param ticketContent the ticket content
+     * @return true/false
+     */
+    public static boolean isBinaryFormat(final String ticketContent) {
+        return StringUtils.startsWith(ticketContent, FORMAT_HEADER);
+    }
+
+    @Override
+    public String serializeTicket(final Ticket ticket) {
+        val mapper = getObjectMapper(ticketSerializationExecutionPlan.getTicketSerializer(ticket));
+        if (mapper.isEmpty()) {
+            LOGGER.trace("Ticket [{}] cannot be serialized in binary format and is serialized as JSON", ticket.getId());
+            return super.serializeTicket(ticket);
+        }
+        return Unchecked.supplier(() -> {
+            val output = new ByteArrayOutputStream();
+            try (val generator = SMILE_FACTORY.createGenerator(output)) {
+                mapper.get().writeValue(generator, ticket);
+            }
+            return CURRENT_FORMAT_PREFIX + Base64.getEncoder().encodeToString(output.toByteArray());
+        }).get();
+    }
+
+    @Override
+    public <T extends Ticket> T deserializeTicket(final String ticketContent, final Class<T> clazz) {
+        if (!isBinaryFormat(ticketContent)) {
+            return super.deserializeTicket(ticketContent, clazz);
+        }
+        val version = StringUtils.substringBetween(ticketContent, FORMAT_HEADER, FORMAT_SEPARATOR);
+        if (!String.valueOf(FORMAT_VERSION).equals(version)) {
+            throw new IllegalArgumentException("Unsupported ticket serialization format version " + version);
+        }
+        val serializer = Objects.requireNonNull(ticketSerializationExecutionPlan.getTicketSerializer(clazz),
+            () -> "Unable to find ticket deserializer for " + clazz.getSimpleName());
+        val mapper = getObjectMapper(serializer)
+            .orElseThrow(() -> new IllegalArgumentException("Unable to read binary ticket content for " + clazz.getSimpleName()));
+        val ticket = readTicket(ticketContent, mapper, serializer.getTypeToSerialize());
+        if (ticket == null) {
+            throw new InvalidTicketException(clazz.getName());
+        }
+        if (!clazz.isAssignableFrom(ticket.getClass())) {
+            throw new ClassCastException("Ticket [" + ticket.getId()
+                                         + " is of type " + ticket.getClass()
+                                         + " when we were expecting " + clazz);
+        }
+        return clazz.cast(ticket);
+    }
+
+    private static Ticket readTicket(final String ticketContent, final ObjectMapper mapper,
+                                     final Class<? extends Ticket> type) {
+        try {
+            val content = Base64.getDecoder().decode(StringUtils.substringAfter(ticketContent, FORMAT_SEPARATOR));
+            try (val parser = SMILE_FACTORY.createParser(content)) {
+                return mapper.readValue(parser, type);
+            }
+        } catch (final Exception e) {
+            LOGGER.error("Cannot read binary ticket content to deserialize into type [{}]: [{}]", type, e.getMessage());
+            LOGGER.debug(e.getMessage(), e);
+        }
+        return null;
+    }
+
+    private static Optional<ObjectMapper> getObjectMapper(final Object serializer) {
+        return Optional.ofNullable(serializer)
+            .filter(AbstractJacksonBackedStringSerializer.class::isInstance)
+            .map(AbstractJacksonBackedStringSerializer.class::cast)
+            .map(AbstractJacksonBackedStringSerializer::getObjectMapper);
+    }
+}
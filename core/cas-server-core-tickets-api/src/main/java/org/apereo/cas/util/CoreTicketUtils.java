@@ -1,6 +1,8 @@
 package org.apereo.cas.util;
 
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCryptoProperties;
 import org.apereo.cas.configuration.model.core.util.EncryptionRandomizedSigningJwtCryptographyProperties;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutor;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutor;
 import org.apereo.cas.util.crypto.CipherExecutor;
 import org.apereo.cas.util.function.FunctionUtils;
@@ -60,13 +62,13 @@ public class CoreTicketUtils {
 
         if (enabled || forceIfBlankKeys) {
             LOGGER.debug("Ticket registry encryption/signing is enabled for [{}]", registryName);
-            return new DefaultTicketCipherExecutor(
-                registry.getEncryption().getKey(),
-                registry.getSigning().getKey(),
-                registry.getAlg(),
-                registry.getSigning().getKeySize(),
-                registry.getEncryption().getKeySize(),
-                registryName);
+            if (registry instanceof TicketRegistryCryptoProperties) {
+                val crypto = (TicketRegistryCryptoProperties) registry;
+                if (crypto.getStrategy() == TicketRegistryCryptoProperties.TicketCipherStrategyTypes.AES_GCM) {
+                    return newAesGcmTicketCipherExecutor(crypto, registryName);
+                }
+            }
+            return newDefaultTicketCipherExecutor(registry, registryName);
         }
         LOGGER.info("Ticket registry encryption/signing is turned off. This MAY NOT be safe in a clustered production environment. "
                     + "Consider using other choices to handle encryption, signing and verification of "
@@ -74,4 +76,28 @@ public class CoreTicketUtils {
         return CipherExecutor.noOp();
     }
 
+    private static DefaultTicketCipherExecutor newDefaultTicketCipherExecutor(
+        final EncryptionRandomizedSigningJwtCryptographyProperties registry, final String registryName) {
+        return new DefaultTicketCipherExecutor(
+            registry.getEncryption().getKey(),
+            registry.getSigning().getKey(),
+            registry.getAlg(),
+            registry.getSigning().getKeySize(),
+            registry.getEncryption().getKeySize(),
+            registryName);
+    }
+
+    private static AesGcmTicketCipherExecutor newAesGcmTicketCipherExecutor(final TicketRegistryCryptoProperties registry,
+                                                                           final String registryName) {
+        LOGGER.debug("Ticket registry [{}] encrypts tickets with AES-GCM", registryName);
+        val fallback = StringUtils.isNotBlank(registry.getSigning().getKey()) && StringUtils.isNotBlank(registry.getEncryption().getKey())
+            ? newDefaultTicketCipherExecutor(registry, registryName)
+            : null;
+        return new AesGcmTicketCipherExecutor(
+            registry.getEncryption().getKey(),
+            registry.getEncryption().getKeySize(),
+            registryName,
+            registry.getRotatedEncryptionKeys(),
+            fallback);
+    }
 }
@@ -106,8 +106,14 @@ public class DefaultUniqueTicketIdGenerator implements UniqueTicketIdGenerator {
         val number = this.numericGenerator.getNextNumberAsString();
         val ticketBody = this.randomStringGenerator.getNewString().replace('_', SEPARATOR);
         val origSuffix = StringUtils.defaultString(this.suffix);
-        val finalizedSuffix = StringUtils.isEmpty(origSuffix) ? origSuffix : SEPARATOR + origSuffix;
-        return prefix + SEPARATOR + number + SEPARATOR + ticketBody + finalizedSuffix;
+        val ticketId = new StringBuilder(prefix.length() + number.length() + ticketBody.length() + origSuffix.length() + 3)
+            .append(prefix).append(SEPARATOR)
+            .append(number).append(SEPARATOR)
+            .append(ticketBody);
+        if (!origSuffix.isEmpty()) {
+            ticketId.append(SEPARATOR).append(origSuffix);
+        }
+        return ticketId.toString();
     }
 
     /**
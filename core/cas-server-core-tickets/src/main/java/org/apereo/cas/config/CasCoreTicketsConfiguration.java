@@ -34,7 +34,9 @@ import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
 import org.apereo.cas.ticket.registry.CachingTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupport;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistryBeanPostProcessor;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationChannel;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.ProxyGrantingTicketIdGenerator;
@@ -52,6 +54,7 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -171,6 +174,32 @@ public class CasCoreTicketsConfiguration {
         }
     }
 
+    @Configuration(value = "CasCoreTicketRegistryNearCacheConfiguration", proxyBeanMethods = false)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    public static class CasCoreTicketRegistryNearCacheConfiguration {
+        @ConditionalOnMissingBean(name = TicketRegistryInvalidationChannel.BEAN_NAME)
+        @Bean
+        public TicketRegistryInvalidationChannel ticketRegistryInvalidationChannel() {
+            return TicketRegistryInvalidationChannel.noOp();
+        }
+
+        /**
+         * Note that {@code BeanPostProcessor} beans should be static.
+         *
+         * @param casProperties                     the cas properties
+         * @param ticketRegistryInvalidationChannel the ticket registry invalidation channel
+         * @return the bean post processor
+         */
+        @Bean
+        @ConditionalOnMissingBean(name = "nearCachingTicketRegistryBeanPostProcessor")
+        public static BeanPostProcessor nearCachingTicketRegistryBeanPostProcessor(
+            final ObjectProvider<CasConfigurationProperties> casProperties,
+            @Qualifier(TicketRegistryInvalidationChannel.BEAN_NAME)
+            final ObjectProvider<TicketRegistryInvalidationChannel> ticketRegistryInvalidationChannel) {
+            return new NearCachingTicketRegistryBeanPostProcessor(casProperties, ticketRegistryInvalidationChannel);
+        }
+    }
+
     @Configuration(value = "CasCoreTicketIdGeneratorConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class CasCoreTicketIdGeneratorConfiguration {
@@ -61,7 +61,11 @@ public class CasCoreTicketsSchedulingConfiguration {
         val isCleanerEnabled = casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled();
         if (isCleanerEnabled) {
             LOGGER.debug("Ticket registry cleaner is enabled.");
-            return new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
+            val cleaner = new DefaultTicketRegistryCleaner(lockRepository, logoutManager, ticketRegistry);
+            val properties = casProperties.getTicket().getRegistry().getCleaner();
+            cleaner.setMaximumConcurrency(properties.getMaximumConcurrency());
+            cleaner.setFullCleanInterval(properties.getFullCleanInterval());
+            return cleaner;
         }
         LOGGER.debug("Ticket registry cleaner is not enabled. "
                      + "Expired tickets are not forcefully cleaned by CAS. It is up to the ticket registry itself to "
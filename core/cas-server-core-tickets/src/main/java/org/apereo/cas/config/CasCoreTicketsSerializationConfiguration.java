@@ -1,7 +1,9 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.core.ticket.registry.TicketRegistryCoreProperties;
 import org.apereo.cas.configuration.support.CasFeatureModule;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
 import org.apereo.cas.ticket.serialization.DefaultTicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManager;
 import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
@@ -59,8 +61,13 @@ public class CasCoreTicketsSerializationConfiguration {
         @ConditionalOnMissingBean(name = "ticketSerializationManager")
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketSerializationManager ticketSerializationManager(
+            final CasConfigurationProperties casProperties,
             @Qualifier("ticketSerializationExecutionPlan")
             final TicketSerializationExecutionPlan ticketSerializationExecutionPlan) {
+            val format = casProperties.getTicket().getRegistry().getCore().getSerializationFormat();
+            if (format == TicketRegistryCoreProperties.TicketSerializationFormats.BINARY) {
+                return new BinaryTicketSerializationManager(ticketSerializationExecutionPlan);
+            }
             return new DefaultTicketStringSerializationManager(ticketSerializationExecutionPlan);
         }
     }
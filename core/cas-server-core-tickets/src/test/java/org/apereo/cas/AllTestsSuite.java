@@ -32,6 +32,7 @@ import org.apereo.cas.ticket.registry.CachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryCleanerTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistrySupportTests;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistryTests;
+import org.apereo.cas.ticket.registry.NearCachingTicketRegistryTests;
 import org.apereo.cas.ticket.registry.DistributedTicketRegistryTests;
 import org.apereo.cas.ticket.serialization.DefaultTicketStringSerializationManagerTests;
 import org.apereo.cas.util.DefaultUniqueTicketIdGeneratorTests;
@@ -63,6 +64,7 @@ import org.junit.platform.suite.api.Suite;
     TicketGrantingTicketExpirationPolicyTests.class,
     TimeoutExpirationPolicyTests.class,
     DefaultTicketRegistryTests.class,
+    NearCachingTicketRegistryTests.class,
     CachingTicketRegistryTests.class,
     DistributedTicketRegistryTests.class,
     Cas10ProxyHandlerTests.class,
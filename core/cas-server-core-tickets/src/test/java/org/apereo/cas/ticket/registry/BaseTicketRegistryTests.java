@@ -74,6 +74,7 @@ import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
@@ -243,6 +244,28 @@ public abstract class BaseTicketRegistryTests {
         assertTrue(count > 0);
     }
 
+    @RepeatedTest(2)
+    public void verifyGetSessionsForPrincipal() throws Exception {
+        assumeTrue(isIterableRegistry());
+        val id = UUID.randomUUID().toString();
+        ticketRegistry.addTicket(new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(id),
+            NeverExpiresExpirationPolicy.INSTANCE));
+        try (val sessions = ticketRegistry.getSessionsFor(id.toUpperCase())) {
+            val results = sessions.collect(Collectors.toList());
+            assertEquals(1, results.size());
+            assertEquals(ticketGrantingTicketId, results.get(0).getId());
+        }
+        assertEquals(1, ticketRegistry.countSessionsFor(id));
+        val tgt = ticketRegistry.getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
+        tgt.update();
+        ticketRegistry.updateTicket(tgt);
+        assertEquals(1, ticketRegistry.countSessionsFor(id));
+        ticketRegistry.deleteTicket(ticketGrantingTicketId);
+        assertEquals(0, ticketRegistry.countSessionsFor(id));
+        assertEquals(0, ticketRegistry.countSessionsFor(UUID.randomUUID().toString()));
+    }
+
     @RepeatedTest(2)
     public void verifyGetExistingTicketWithImproperClass() {
         FunctionUtils.doAndRetry(callback -> {
@@ -299,6 +322,52 @@ public abstract class BaseTicketRegistryTests {
         assertEquals(Collections.singleton("ST1"), tgtResult.getServices().keySet());
     }
 
+    @RepeatedTest(2)
+    public void verifySaveTicketBatch() throws Exception {
+        val tgt = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(tgt);
+
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService("TGT_BATCH_TEST"),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        ticketRegistry.save(TicketRegistryBatch.create().update(tgt).add(st));
+
+        assertNotNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class));
+        val tgtResult = ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(Collections.singleton(serviceTicketId), tgtResult.getServices().keySet());
+
+        ticketRegistry.save(TicketRegistryBatch.create().delete(serviceTicketId));
+        assertNull(ticketRegistry.getTicket(serviceTicketId, ServiceTicket.class));
+        assertNotNull(ticketRegistry.getTicket(tgt.getId(), TicketGrantingTicket.class));
+    }
+
+    @RepeatedTest(2)
+    public void verifyExpiredTicketsByPartition() throws Exception {
+        assumeTrue(isIterableRegistry());
+        val expired = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(expired);
+        expired.markTicketExpired();
+        ticketRegistry.updateTicket(expired);
+        val active = new TicketGrantingTicketImpl(ticketGrantingTicketId + "-active",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        ticketRegistry.addTicket(active);
+
+        val partitions = ticketRegistry.getExpirationPartitionCount();
+        assertTrue(partitions >= 1);
+        val ticketIds = IntStream.range(0, partitions)
+            .mapToObj(ticketRegistry::getExpiredTickets)
+            .flatMap(tickets -> tickets.map(Ticket::getId))
+            .collect(Collectors.toList());
+        assertTrue(ticketIds.contains(expired.getId()));
+        assertFalse(ticketIds.contains(active.getId()));
+        if (partitions > 1) {
+            val checkTime = ticketRegistry.getIndexedExpirationCheckTime(expired);
+            assertTrue(checkTime.isPresent());
+            assertTrue(checkTime.getAsLong() <= System.currentTimeMillis());
+        }
+    }
+
     @RepeatedTest(2)
     public void verifyDeleteAllExistingTickets() throws Exception {
         assumeTrue(isIterableRegistry());
@@ -588,7 +657,11 @@ public abstract class BaseTicketRegistryTests {
     }
 
     private void setUpEncryption() {
-        var registry = (AbstractTicketRegistry) AopTestUtils.getTargetObject(ticketRegistry);
+        var target = AopTestUtils.getTargetObject(ticketRegistry);
+        if (target instanceof NearCachingTicketRegistry) {
+            target = ((NearCachingTicketRegistry) target).getDelegate();
+        }
+        val registry = (AbstractTicketRegistry) target;
         if (this.useEncryption) {
             val cipher = CoreTicketUtils.newTicketRegistryCipherExecutor(
                 new EncryptionRandomizedSigningJwtCryptographyProperties(), "[tests]");
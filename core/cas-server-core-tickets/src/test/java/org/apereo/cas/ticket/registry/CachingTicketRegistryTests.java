@@ -66,4 +66,17 @@ public class CachingTicketRegistryTests extends BaseTicketRegistryTests {
         ticket.markTicketExpired();
         assertNull(registry.getTicket(ticket.getId()));
     }
+
+    @RepeatedTest(1)
+    public void verifySessionsIndexOnExpiration() throws Exception {
+        val registry = new CachingTicketRegistry(CipherExecutor.noOp(),
+            new DirectObjectProvider<>(mock(LogoutManager.class)));
+        val ticket = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(ticket);
+        assertEquals(1, registry.countSessionsFor("CASUSER"));
+        ticket.markTicketExpired();
+        assertEquals(0, registry.countSessionsFor("casuser"));
+        registry.getStorage().cleanUp();
+        assertEquals(0, registry.countSessionsFor("casuser"));
+    }
 }
@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.logout.LogoutManager;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.expiration.HardTimeoutExpirationPolicy;
 import org.apereo.cas.util.lock.LockRepository;
 
@@ -10,6 +11,8 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -37,12 +40,37 @@ public class DefaultTicketRegistryCleanerTests {
         assertEquals(ticketRegistry.sessionCount(), 0);
     }
 
+    @Test
+    public void verifyPartitionsCleanedInParallel() throws Exception {
+        val logoutManager = mock(LogoutManager.class);
+        val ticketRegistry = new DefaultTicketRegistry();
+        for (var i = 0; i < 20; i++) {
+            val tgt = new MockTicketGrantingTicket("casuser" + i);
+            ticketRegistry.addTicket(tgt);
+            tgt.markTicketExpired();
+            ticketRegistry.updateTicket(tgt);
+        }
+        val active = new MockTicketGrantingTicket("casuser");
+        ticketRegistry.addTicket(active);
+        assertEquals(ticketRegistry.getExpirationPartitionCount(), 16);
+        assertTrue(IntStream.range(0, ticketRegistry.getExpirationPartitionCount())
+            .mapToObj(ticketRegistry::getExpiredTickets)
+            .flatMap(tickets -> tickets.map(Ticket::getId))
+            .noneMatch(active.getId()::equals));
+
+        val c = new DefaultTicketRegistryCleaner(LockRepository.asDefault(), logoutManager, ticketRegistry);
+        c.setMaximumConcurrency(4);
+        assertEquals(c.clean(), 20);
+        assertEquals(ticketRegistry.sessionCount(), 1);
+        assertNotNull(ticketRegistry.getTicket(active.getId()));
+    }
 
     @Test
     public void verifyCleanFail() {
         val logoutManager = mock(LogoutManager.class);
         val ticketRegistry = mock(TicketRegistry.class);
-        when(ticketRegistry.stream()).thenThrow(IllegalArgumentException.class);
+        when(ticketRegistry.getExpirationPartitionCount()).thenReturn(1);
+        when(ticketRegistry.getExpiredTickets(anyInt())).thenThrow(IllegalArgumentException.class);
         val c = new DefaultTicketRegistryCleaner(LockRepository.noOp(), logoutManager, ticketRegistry);
         assertEquals(c.clean(), 0);
     }
@@ -0,0 +1,159 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.util.crypto.CipherExecutor;
+
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link NearCachingTicketRegistryTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Tickets")
+@SpringBootTest(classes = BaseTicketRegistryTests.SharedTestConfiguration.class)
+public class NearCachingTicketRegistryTests extends BaseTicketRegistryTests {
+
+    private static NearCachingTicketRegistry getNearCachingTicketRegistry(final TicketRegistry delegate,
+                                                                          final TicketRegistryInvalidationChannel channel) {
+        val registry = new NearCachingTicketRegistry(delegate, channel, 100, Duration.ofMinutes(1));
+        channel.subscribe(registry::invalidate);
+        return registry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> getObjectProvider(final T object) {
+        val provider = (ObjectProvider<T>) mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(object);
+        when(provider.getIfAvailable(any())).thenReturn(object);
+        return provider;
+    }
+
+    @Override
+    public TicketRegistry getNewTicketRegistry() {
+        return getNearCachingTicketRegistry(new DefaultTicketRegistry(new ConcurrentHashMap<>(), CipherExecutor.noOp()),
+            TicketRegistryInvalidationChannel.noOp());
+    }
+
+    @RepeatedTest(1)
+    public void verifyReadsServedFromCache() throws Exception {
+        val delegate = spy(new DefaultTicketRegistry(new ConcurrentHashMap<>(), CipherExecutor.noOp()));
+        val registry = getNearCachingTicketRegistry(delegate, TicketRegistryInvalidationChannel.noOp());
+        val ticket = new MockTicketGrantingTicket("casuser");
+        delegate.addTicket(ticket);
+
+        assertNotNull(registry.getTicket(ticket.getId()));
+        assertNotNull(registry.getTicket(ticket.getId()));
+        assertNotNull(registry.getTicket(ticket.getId(), MockTicketGrantingTicket.class));
+        verify(delegate, times(1)).getTicket(ticket.getId());
+
+        val statistics = registry.getStatistics();
+        assertEquals(2L, statistics.get("hits"));
+        assertEquals(1L, statistics.get("misses"));
+
+        val first = registry.getTicket(ticket.getId());
+        val second = registry.getTicket(ticket.getId());
+        assertSame(first, second);
+
+        ticket.markTicketExpired();
+        registry.updateTicket(ticket);
+        assertNull(registry.getTicket(ticket.getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyFailedWritesEvicted() throws Exception {
+        val delegate = spy(new DefaultTicketRegistry(new ConcurrentHashMap<>(), CipherExecutor.noOp()));
+        val registry = getNearCachingTicketRegistry(delegate, TicketRegistryInvalidationChannel.noOp());
+        val ticket = new MockTicketGrantingTicket("casuser");
+        registry.addTicket(ticket);
+        assertSame(ticket, registry.getCache().getIfPresent(ticket.getId()));
+
+        doThrow(new IllegalStateException("update failed")).when(delegate).updateTicket(any());
+        assertThrows(IllegalStateException.class, () -> registry.updateTicket(ticket));
+        assertNull(registry.getCache().getIfPresent(ticket.getId()));
+
+        assertNotNull(registry.getTicket(ticket.getId()));
+        doThrow(new IllegalStateException("save failed")).when(delegate).save(any());
+        assertThrows(IllegalStateException.class, () -> registry.save(TicketRegistryBatch.create().update(ticket)));
+        assertNull(registry.getCache().getIfPresent(ticket.getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyInvalidationAcrossNodes() throws Exception {
+        val channel = new InMemoryInvalidationChannel();
+        val delegate = new DefaultTicketRegistry(new ConcurrentHashMap<>(), CipherExecutor.noOp());
+        val node1 = getNearCachingTicketRegistry(delegate, channel);
+        val node2 = getNearCachingTicketRegistry(delegate, channel);
+
+        val ticket = new MockTicketGrantingTicket("casuser");
+        node1.addTicket(ticket);
+        assertNotNull(node2.getTicket(ticket.getId()));
+        assertEquals(1, node2.getCache().estimatedSize());
+
+        node1.updateTicket(ticket);
+        assertNull(node2.getCache().getIfPresent(ticket.getId()));
+        assertNotNull(node1.getCache().getIfPresent(ticket.getId()));
+        assertEquals(1L, node2.getStatistics().get("invalidations"));
+        assertEquals(0L, node1.getStatistics().get("invalidations"));
+
+        assertNotNull(node2.getTicket(ticket.getId()));
+        node1.save(TicketRegistryBatch.create().update(ticket));
+        assertNull(node2.getCache().getIfPresent(ticket.getId()));
+        assertNotNull(node1.getCache().getIfPresent(ticket.getId()));
+
+        assertNotNull(node2.getTicket(ticket.getId()));
+        node1.deleteTicket(ticket.getId());
+        assertNull(node1.getTicket(ticket.getId()));
+        assertNull(node2.getTicket(ticket.getId()));
+
+        node2.addTicket(ticket);
+        assertNotNull(node1.getTicket(ticket.getId()));
+        node2.deleteAll();
+        assertEquals(0, node1.getCache().estimatedSize());
+        assertNull(node1.getTicket(ticket.getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyNearCacheRequiresDistributedChannel() {
+        val properties = new CasConfigurationProperties();
+        properties.getTicket().getRegistry().getNearCache().setEnabled(true);
+        val delegate = new DefaultTicketRegistry(new ConcurrentHashMap<>(), CipherExecutor.noOp());
+
+        val noOp = new NearCachingTicketRegistryBeanPostProcessor(getObjectProvider(properties),
+            getObjectProvider(TicketRegistryInvalidationChannel.noOp()));
+        assertSame(delegate, noOp.postProcessAfterInitialization(delegate, TicketRegistry.BEAN_NAME));
+
+        val distributed = new NearCachingTicketRegistryBeanPostProcessor(getObjectProvider(properties),
+            getObjectProvider(new InMemoryInvalidationChannel()));
+        assertTrue(distributed.postProcessAfterInitialization(delegate, TicketRegistry.BEAN_NAME) instanceof NearCachingTicketRegistry);
+    }
+
+    private static final class InMemoryInvalidationChannel implements TicketRegistryInvalidationChannel {
+        private final List<Consumer<TicketRegistryInvalidationMessage>> consumers = new ArrayList<>();
+
+        @Override
+        public void publish(final TicketRegistryInvalidationMessage message) {
+            consumers.forEach(consumer -> consumer.accept(message));
+        }
+
+        @Override
+        public void subscribe(final Consumer<TicketRegistryInvalidationMessage> consumer) {
+            consumers.add(consumer);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.apereo.cas.ticket.serialization;
+
+import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.InvalidTicketException;
+import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicketImpl;
+import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.proxy.ProxyTicket;
+import org.apereo.cas.util.serialization.AbstractJacksonBackedStringSerializer;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link BinaryTicketSerializationManagerTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Tickets")
+public class BinaryTicketSerializationManagerTests {
+    private final TicketSerializationExecutionPlan plan = new DefaultTicketSerializationExecutionPlan();
+
+    private final TicketSerializationManager jsonSerializationManager = new DefaultTicketStringSerializationManager(plan);
+
+    private final TicketSerializationManager binarySerializationManager = new BinaryTicketSerializationManager(plan);
+
+    private static TicketGrantingTicket getTicketGrantingTicket(final int attributeCount) {
+        val attributes = new LinkedHashMap<String, List<Object>>();
+        IntStream.range(0, attributeCount).forEach(i -> attributes.put("attribute" + i,
+            List.of("value-" + i, UUID.randomUUID().toString(), "https://example.org/groups/" + i)));
+        val principal = CoreAuthenticationTestUtils.getPrincipal("casuser", attributes);
+        val tgt = new TicketGrantingTicketImpl("TGT-" + UUID.randomUUID(),
+            CoreAuthenticationTestUtils.getAuthentication(principal, attributes), NeverExpiresExpirationPolicy.INSTANCE);
+        IntStream.range(0, 10).forEach(i -> tgt.grantServiceTicket("ST-" + i, RegisteredServiceTestUtils.getService("https://app" + i),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true));
+        return tgt;
+    }
+
+    @Test
+    public void verifyOperation() {
+        val ticket = getTicketGrantingTicket(5);
+        val result = binarySerializationManager.serializeTicket(ticket);
+        assertTrue(BinaryTicketSerializationManager.isBinaryFormat(result));
+        assertTrue(result.startsWith(BinaryTicketSerializationManager.FORMAT_HEADER + BinaryTicketSerializationManager.FORMAT_VERSION));
+
+        val deserializedTicket = binarySerializationManager.deserializeTicket(result, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(ticket.getServices().keySet(), deserializedTicket.getServices().keySet());
+        assertEquals(ticket.getAuthentication().getPrincipal().getAttributes(),
+            deserializedTicket.getAuthentication().getPrincipal().getAttributes());
+        assertEquals(ticket, binarySerializationManager.deserializeTicket(result, TicketGrantingTicketImpl.class.getName()));
+        assertThrows(InvalidTicketException.class, () -> binarySerializationManager.deserializeTicket(result, ProxyTicket.class));
+    }
+
+    @Test
+    public void verifyJsonRemainsReadable() {
+        val ticket = getTicketGrantingTicket(5);
+        val json = jsonSerializationManager.serializeTicket(ticket);
+        assertFalse(BinaryTicketSerializationManager.isBinaryFormat(json));
+        assertEquals(ticket, binarySerializationManager.deserializeTicket(json, TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifyUnknownFormatVersion() {
+        val content = BinaryTicketSerializationManager.FORMAT_HEADER + (BinaryTicketSerializationManager.FORMAT_VERSION + 1) + ":AAAA";
+        assertThrows(IllegalArgumentException.class,
+            () -> binarySerializationManager.deserializeTicket(content, TicketGrantingTicket.class));
+    }
+
+    @Test
+    public void verifySizeWithLargeAttributeSet() throws Exception {
+        val ticket = getTicketGrantingTicket(200);
+        val serializer = (AbstractJacksonBackedStringSerializer) plan.getTicketSerializer(ticket);
+        val json = serializer.getObjectMapper().writeValueAsString(ticket);
+        val binary = binarySerializationManager.serializeTicket(ticket);
+        assertTrue(binary.length() < json.length());
+
+        val deserializedTicket = binarySerializationManager.deserializeTicket(binary, TicketGrantingTicket.class);
+        assertEquals(ticket, deserializedTicket);
+        assertEquals(ticket.getServices().keySet(), deserializedTicket.getServices().keySet());
+        assertEquals(ticket.getAuthentication().getPrincipal().getAttributes(),
+            deserializedTicket.getAuthentication().getPrincipal().getAttributes());
+        assertEquals(ticket.getAuthentication().getAttributes(), deserializedTicket.getAuthentication().getAttributes());
+    }
+}
@@ -0,0 +1,220 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.util.EncodingUtils;
+import org.apereo.cas.util.crypto.CipherExecutor;
+import org.apereo.cas.util.crypto.DecryptionException;
+import org.apereo.cas.util.function.FunctionUtils;
+import org.apereo.cas.util.gen.Base64RandomStringGenerator;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.codec.digest.MessageDigestAlgorithms;
+import org.apache.commons.lang3.ArrayUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutor} that encrypts tickets with AES-GCM
+ * into a compact binary envelope, without an additional signature or base64 encoding.
+ * <p>
+ * Every message is encrypted with a fresh random nonce, and the envelope header
+ * carries the id of the key that produced it so that keys can be rotated:
+ * new values are always encrypted with the active key while values produced by
+ * previous keys remain readable. The first parameter passed to encode/decode operations,
+ * if any, is bound to the message as additional authenticated data, so that a value
+ * cannot be replayed under a different ticket id. The envelope is laid out as:
+ * <pre>
+ * version (1 byte) | key id (4 bytes) | nonce (12 bytes) | ciphertext | authentication tag (16 bytes)
+ * </pre>
+ * Values that are not in this format are handed to the optional fallback cipher,
+ * which allows reading tickets that were encrypted by a previous cipher.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class AesGcmTicketCipherExecutor implements CipherExecutor<byte[], byte[]> {
+    /**
+     * Version byte that starts every envelope.
+     */
+    public static final byte VERSION = 0x01;
+
+    private static final String CIPHER_ALGORITHM = "AES/GCM/NoPadding";
+
+    private static final int KEY_ID_LENGTH = 4;
+
+    private static final int NONCE_LENGTH = 12;
+
+    private static final int TAG_LENGTH = 16;
+
+    private static final int HEADER_LENGTH = 1 + KEY_ID_LENGTH;
+
+    private static final int MAXIMUM_KEY_SIZE_IN_BYTES = 32;
+
+    private static final Set<Integer> ALLOWED_KEY_SIZES_IN_BYTES = Set.of(16, 24, MAXIMUM_KEY_SIZE_IN_BYTES);
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(
+        () -> FunctionUtils.doUnchecked(() -> Cipher.getInstance(CIPHER_ALGORITHM)));
+
+    private static final ThreadLocal<SecureRandom> RANDOMS = ThreadLocal.withInitial(SecureRandom::new);
+
+    /**
+     * Name of the cipher/component whose keys are used here.
+     */
+    @Getter
+    private final String cipherName;
+
+    /**
+     * Id of the key that encrypts new values.
+     */
+    @Getter
+    private final int activeKeyId;
+
+    private final Map<Integer, SecretKeySpec> keys = new HashMap<>();
+
+    private final CipherExecutor<byte[], byte[]> fallbackCipherExecutor;
+
+    public AesGcmTicketCipherExecutor(final String encryptionSecretKey, final int encryptionKeySize,
+                                      final String cipherName) {
+        this(encryptionSecretKey, encryptionKeySize, cipherName, null, null);
+    }
+
+    public AesGcmTicketCipherExecutor(final String encryptionSecretKey, final int encryptionKeySize,
+                                      final String cipherName, final Collection<String> rotatedEncryptionKeys,
+                                      final CipherExecutor<byte[], byte[]> fallbackCipherExecutor) {
+        this.cipherName = cipherName;
+        this.fallbackCipherExecutor = fallbackCipherExecutor;
+        val activeKey = buildEncryptionKey(encryptionSecretKey, encryptionKeySize);
+        this.activeKeyId = registerKey(activeKey);
+        if (rotatedEncryptionKeys != null) {
+            rotatedEncryptionKeys.stream()
+                .filter(StringUtils::isNotBlank)
+                .map(key -> decodeEncryptionKey(key, getEncryptionKeySetting() + "-rotated"))
+                .forEach(this::registerKey);
+        }
+    }
+
+    private static int getKeyId(final byte[] key) {
+        return ByteBuffer.wrap(DigestUtils.rawDigest(MessageDigestAlgorithms.SHA_256, key)).getInt();
+    }
+
+    private static byte[] decodeEncryptionKey(final String encryptionSecretKey, final String setting) {
+        val key = EncodingUtils.isBase64(encryptionSecretKey)
+            ? EncodingUtils.decodeBase64(encryptionSecretKey)
+            : ArrayUtils.EMPTY_BYTE_ARRAY;
+        if (!ALLOWED_KEY_SIZES_IN_BYTES.contains(key.length)) {
+            throw new IllegalArgumentException("Encryption key defined under " + setting
+                                               + " must be a Base64-encoded AES key of 16, 24 or 32 bytes");
+        }
+        return key;
+    }
+
+    private static byte[] buildAssociatedData(final byte[] header, final Object[] parameters) {
+        if (parameters == null || parameters.length == 0 || parameters[0] == null) {
+            return header;
+        }
+        return ArrayUtils.addAll(header, parameters[0].toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public byte[] encode(final byte[] value, final Object[] parameters) {
+        return FunctionUtils.doUnchecked(() -> {
+            val nonce = new byte[NONCE_LENGTH];
+            RANDOMS.get().nextBytes(nonce);
+
+            val output = new byte[HEADER_LENGTH + NONCE_LENGTH + value.length + TAG_LENGTH];
+            val buffer = ByteBuffer.wrap(output);
+            buffer.put(VERSION).putInt(activeKeyId).put(nonce);
+
+            val cipher = CIPHERS.get();
+            cipher.init(Cipher.ENCRYPT_MODE, keys.get(activeKeyId), new GCMParameterSpec(TAG_LENGTH * Byte.SIZE, nonce));
+            cipher.updateAAD(buildAssociatedData(ArrayUtils.subarray(output, 0, HEADER_LENGTH), parameters));
+            cipher.doFinal(value, 0, value.length, output, HEADER_LENGTH + NONCE_LENGTH);
+            return output;
+        });
+    }
+
+    @Override
+    public byte[] decode(final byte[] value, final Object[] parameters) {
+        if (!isEnvelope(value)) {
+            if (fallbackCipherExecutor != null) {
+                LOGGER.trace("Value is not an AES-GCM envelope; decoding via [{}]", fallbackCipherExecutor.getName());
+                return fallbackCipherExecutor.decode(value, parameters);
+            }
+            throw new DecryptionException();
+        }
+        try {
+            val buffer = ByteBuffer.wrap(value, 1, KEY_ID_LENGTH);
+            val key = keys.get(buffer.getInt());
+            if (key == null) {
+                LOGGER.debug("Unable to locate encryption key for the key id in the envelope; the key may have been retired");
+                throw new DecryptionException();
+            }
+            val cipher = CIPHERS.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_LENGTH * Byte.SIZE, value, HEADER_LENGTH, NONCE_LENGTH));
+            cipher.updateAAD(buildAssociatedData(ArrayUtils.subarray(value, 0, HEADER_LENGTH), parameters));
+            return cipher.doFinal(value, HEADER_LENGTH + NONCE_LENGTH, value.length - HEADER_LENGTH - NONCE_LENGTH);
+        } catch (final DecryptionException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw LOGGER.isTraceEnabled() ? new DecryptionException(e) : new DecryptionException();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "Ticketing";
+    }
+
+    /**
+     * Whether the given value is an envelope produced by this cipher.
+     *
+     * @param value the value
+     * @return true/false
+     */
+    public boolean isEnvelope(final byte[] value) {
+        return value != null && value.length >= HEADER_LENGTH + NONCE_LENGTH + TAG_LENGTH && value[0] == VERSION;
+    }
+
+    protected String getEncryptionKeySetting() {
+        return "cas.ticket.registry." + this.cipherName + ".crypto.encryption.key";
+    }
+
+    private int registerKey(final byte[] key) {
+        val keyId = getKeyId(key);
+        val existing = keys.putIfAbsent(keyId, new SecretKeySpec(key, "AES"));
+        if (existing != null && !MessageDigest.isEqual(existing.getEncoded(), key)) {
+            throw new IllegalArgumentException("Encryption keys under " + getEncryptionKeySetting() + " produce the same key id; generate a new key");
+        }
+        return keyId;
+    }
+
+    private byte[] buildEncryptionKey(final String encryptionSecretKey, final int encryptionKeySize) {
+        if (StringUtils.isNotBlank(encryptionSecretKey)) {
+            return decodeEncryptionKey(encryptionSecretKey, getEncryptionKeySetting());
+        }
+        LOGGER.warn("Secret key for encryption is not defined under [{}]. CAS will attempt to auto-generate the encryption key",
+            getEncryptionKeySetting());
+        val keySizeInBytes = encryptionKeySize <= MAXIMUM_KEY_SIZE_IN_BYTES ? encryptionKeySize : encryptionKeySize / Byte.SIZE;
+        val key = new Base64RandomStringGenerator(keySizeInBytes).getNewString();
+        val prop = String.format("%s=%s", getEncryptionKeySetting(), key);
+        //CHECKSTYLE:OFF
+        LOGGER.warn("Generated encryption key [{}] of size [{}]. The generated key MUST be added to CAS settings:\n\n\t{}\n\n",
+            key, keySizeInBytes, prop);
+        //CHECKSTYLE:ON
+        return decodeEncryptionKey(key, getEncryptionKeySetting());
+    }
+}
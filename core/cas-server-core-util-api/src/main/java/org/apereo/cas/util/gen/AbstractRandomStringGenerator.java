@@ -1,7 +1,5 @@
 package org.apereo.cas.util.gen;
 
-import org.apereo.cas.util.RandomUtils;
-
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +12,8 @@ import java.security.SecureRandom;
  * This is {@link AbstractRandomStringGenerator}.
  * <p>
  * Implementation of the RandomStringGenerator that allows you to define the
- * length of the random part.
+ * length of the random part. Random bytes are drawn from a {@link ThreadLocalSecureRandomSource}
+ * so that concurrent callers do not contend on a shared secure random instance.
  *
  * @author Timur Duehr
  * @since 5.2.0
@@ -24,8 +23,9 @@ import java.security.SecureRandom;
 public abstract class AbstractRandomStringGenerator implements RandomStringGenerator {
     /**
      * An instance of secure random to ensure randomness is secure.
+     * Random bytes are drawn from the instance owned by the calling thread.
      */
-    protected final SecureRandom randomizer = RandomUtils.getNativeInstance();
+    protected final SecureRandom randomizer = ThreadLocalSecureRandomSource.asSecureRandom();
 
     /**
      * Default string length before encoding.
@@ -42,7 +42,7 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
 
     @Override
     public String getAlgorithm() {
-        return randomizer.getAlgorithm();
+        return ThreadLocalSecureRandomSource.getAlgorithm();
     }
 
     /**
@@ -69,7 +69,7 @@ public abstract class AbstractRandomStringGenerator implements RandomStringGener
     @Override
     public byte[] getNewStringAsBytes(final int size) {
         val random = new byte[size];
-        this.randomizer.nextBytes(random);
+        ThreadLocalSecureRandomSource.nextBytes(random);
         return random;
     }
 }
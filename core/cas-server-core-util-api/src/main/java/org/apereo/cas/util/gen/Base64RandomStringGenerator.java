@@ -1,9 +1,9 @@
 package org.apereo.cas.util.gen;
 
-import org.apereo.cas.util.EncodingUtils;
-
 import lombok.NoArgsConstructor;
 
+import java.util.Base64;
+
 /**
  * This is {@link Base64RandomStringGenerator}.
  * <p>
@@ -15,6 +15,7 @@ import lombok.NoArgsConstructor;
  */
 @NoArgsConstructor
 public class Base64RandomStringGenerator extends AbstractRandomStringGenerator {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
 
     public Base64RandomStringGenerator(final long defaultLength) {
         super(defaultLength);
@@ -28,7 +29,7 @@ public class Base64RandomStringGenerator extends AbstractRandomStringGenerator {
      */
     @Override
     protected String convertBytesToString(final byte[] random) {
-        return EncodingUtils.encodeUrlSafeBase64(random);
+        return ENCODER.encodeToString(random);
     }
 
 }
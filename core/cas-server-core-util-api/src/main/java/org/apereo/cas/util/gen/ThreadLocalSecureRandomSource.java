@@ -0,0 +1,157 @@
+package org.apereo.cas.util.gen;
+
+import org.apereo.cas.util.RandomUtils;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This is {@link ThreadLocalSecureRandomSource} that hands out random bytes
+ * from a DRBG instance owned by the calling thread.
+ * <p>
+ * Native {@link SecureRandom} implementations share process-wide state that is guarded by a
+ * single lock, which becomes a point of contention when many request threads generate
+ * ticket ids at the same time. Here, every thread gets its own {@code DRBG} instance,
+ * personalized with the thread identity and seeded from the platform entropy source,
+ * which is reseeded after producing a fixed amount of output or after a fixed period of time.
+ * If an algorithm is configured via the {@value RandomUtils#SYSTEM_PROPERTY_SECURE_RANDOM_ALG}
+ * system property, or the platform does not support {@code DRBG}, the native instance
+ * for that algorithm is used per thread instead.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@UtilityClass
+public class ThreadLocalSecureRandomSource {
+    private static final String ALGORITHM = "DRBG";
+
+    private static final int SECURITY_STRENGTH = 256;
+
+    private static final long RESEED_INTERVAL_BYTES = 1024 * 1024;
+
+    private static final long RESEED_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private static final ThreadLocal<ReseedingSecureRandom> RANDOMS = ThreadLocal.withInitial(ReseedingSecureRandom::new);
+
+    private static final SecureRandom SECURE_RANDOM = new ThreadLocalSecureRandom();
+
+    /**
+     * Fill the given array with random bytes.
+     *
+     * @param bytes the bytes
+     */
+    public static void nextBytes(final byte[] bytes) {
+        RANDOMS.get().nextBytes(bytes);
+    }
+
+    /**
+     * The algorithm used by the random instance of the calling thread.
+     *
+     * @return the algorithm
+     */
+    public static String getAlgorithm() {
+        return RANDOMS.get().random.getAlgorithm();
+    }
+
+    /**
+     * A secure random instance backed by this source, for callers that expect a {@link SecureRandom}.
+     * Random bytes are drawn from the instance owned by the calling thread.
+     *
+     * @return the secure random
+     */
+    public static SecureRandom asSecureRandom() {
+        return SECURE_RANDOM;
+    }
+
+    private static SecureRandom newSecureRandom() {
+        val configuredAlgorithm = System.getProperty(RandomUtils.SYSTEM_PROPERTY_SECURE_RANDOM_ALG);
+        if (StringUtils.isNotBlank(configuredAlgorithm)) {
+            LOGGER.trace("Using configured secure random algorithm [{}]", configuredAlgorithm);
+            return RandomUtils.getNativeInstance();
+        }
+        try {
+            val thread = Thread.currentThread();
+            val personalization = ByteBuffer.allocate(Long.BYTES * 2)
+                .putLong(thread.getId())
+                .putLong(System.nanoTime())
+                .array();
+            return SecureRandom.getInstance(ALGORITHM, DrbgParameters.instantiation(SECURITY_STRENGTH,
+                DrbgParameters.Capability.RESEED_ONLY, personalization));
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to create [{}] secure random instance; falling back to native instance", ALGORITHM, e);
+            return RandomUtils.getNativeInstance();
+        }
+    }
+
+    private static final class ThreadLocalSecureRandom extends SecureRandom {
+        private static final long serialVersionUID = 2710374536245380829L;
+
+        ThreadLocalSecureRandom() {
+            super(new ThreadLocalSecureRandomSpi(), null);
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return ThreadLocalSecureRandomSource.getAlgorithm();
+        }
+
+        @Override
+        public void nextBytes(final byte[] bytes) {
+            ThreadLocalSecureRandomSource.nextBytes(bytes);
+        }
+    }
+
+    private static final class ThreadLocalSecureRandomSpi extends SecureRandomSpi {
+        private static final long serialVersionUID = -6093467427385317094L;
+
+        @Override
+        protected void engineSetSeed(final byte[] seed) {
+            RANDOMS.get().random.setSeed(seed);
+        }
+
+        @Override
+        protected void engineNextBytes(final byte[] bytes) {
+            ThreadLocalSecureRandomSource.nextBytes(bytes);
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(final int numBytes) {
+            return RANDOMS.get().random.generateSeed(numBytes);
+        }
+    }
+
+    private static final class ReseedingSecureRandom {
+        private final SecureRandom random = newSecureRandom();
+
+        private long bytesSinceReseed;
+
+        private long lastReseed = System.nanoTime();
+
+        void nextBytes(final byte[] bytes) {
+            bytesSinceReseed += bytes.length;
+            if (bytesSinceReseed >= RESEED_INTERVAL_BYTES || System.nanoTime() - lastReseed >= RESEED_INTERVAL_NANOS) {
+                reseed();
+            }
+            random.nextBytes(bytes);
+        }
+
+        private void reseed() {
+            try {
+                random.reseed();
+            } catch (final UnsupportedOperationException e) {
+                LOGGER.trace("Secure random instance [{}] does not support reseeding", random.getAlgorithm());
+            }
+            bytesSinceReseed = 0;
+            lastReseed = System.nanoTime();
+        }
+    }
+}
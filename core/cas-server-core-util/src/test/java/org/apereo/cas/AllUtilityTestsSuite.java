@@ -10,6 +10,7 @@ import org.apereo.cas.util.RegexUtilsTests;
 import org.apereo.cas.util.ResourceUtilsTests;
 import org.apereo.cas.util.ScriptingUtilsTests;
 import org.apereo.cas.util.SystemUtilsTests;
+import org.apereo.cas.util.cipher.AesGcmTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.BinaryCipherExecutorTests;
 import org.apereo.cas.util.cipher.DefaultTicketCipherExecutorTests;
 import org.apereo.cas.util.cipher.JasyptNumberCipherExecutorTests;
@@ -25,6 +26,7 @@ import org.apereo.cas.util.gen.DefaultLongNumericGeneratorTests;
 import org.apereo.cas.util.gen.DefaultRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.HexRandomStringGeneratorTests;
 import org.apereo.cas.util.gen.RandomStringGeneratorTests;
+import org.apereo.cas.util.gen.ThreadLocalSecureRandomSourceTests;
 import org.apereo.cas.util.http.HttpMessageTests;
 import org.apereo.cas.util.http.SimpleHttpClientTests;
 
@@ -53,9 +55,11 @@ import org.junit.platform.suite.api.Suite;
     DefaultLongNumericGeneratorTests.class,
     DefaultRandomStringGeneratorTests.class,
     DefaultTicketCipherExecutorTests.class,
+    AesGcmTicketCipherExecutorTests.class,
     EncodingUtilsTests.class,
     DefaultCasRuntimeModuleLoaderTests.class,
     HexRandomStringGeneratorTests.class,
+    ThreadLocalSecureRandomSourceTests.class,
     RegexUtilsTests.class,
     JasyptNumberCipherExecutorTests.class,
     StringCipherExecutorTests.class,
@@ -0,0 +1,107 @@
+package org.apereo.cas.util.cipher;
+
+import org.apereo.cas.util.crypto.DecryptionException;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AesGcmTicketCipherExecutorTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Cipher")
+public class AesGcmTicketCipherExecutorTests {
+    private static final byte[] TICKET = "TGT-1-1234567890-cas".getBytes(StandardCharsets.UTF_8);
+
+    private static final String ENCRYPTION_KEY = "e0q85ep-GXg8tfuDEWUJGw";
+
+    private static final String ROTATED_ENCRYPTION_KEY = "7jR4SWiQXhAwZagN1RVNuAJ0PE4R2aeax4Fl6fEtT3A";
+
+    @Test
+    public void verifyEncryptionKeySizes() {
+        IntStream.of(16, 24, 32, 128, 256).forEach(keySize -> {
+            val cipher = new AesGcmTicketCipherExecutor(null, keySize, "tests");
+            val encoded = cipher.encode(TICKET);
+            assertTrue(cipher.isEnvelope(encoded));
+            assertArrayEquals(TICKET, cipher.decode(encoded));
+            assertNotNull(cipher.getName());
+        });
+    }
+
+    @Test
+    public void verifyFreshNonce() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests");
+        val encoded1 = cipher.encode(TICKET);
+        val encoded2 = cipher.encode(TICKET);
+        assertFalse(Arrays.equals(encoded1, encoded2));
+        assertArrayEquals(cipher.decode(encoded1), cipher.decode(encoded2));
+    }
+
+    @Test
+    public void verifyAssociatedData() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests");
+        val encoded = cipher.encode(TICKET, new Object[]{"ticket-1"});
+        assertArrayEquals(TICKET, cipher.decode(encoded, new Object[]{"ticket-1"}));
+        assertThrows(DecryptionException.class, () -> cipher.decode(encoded, new Object[]{"ticket-2"}));
+        assertThrows(DecryptionException.class, () -> cipher.decode(encoded));
+    }
+
+    @Test
+    public void verifyTamperedEnvelope() {
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests");
+        val encoded = cipher.encode(TICKET);
+        encoded[encoded.length - 1] ^= 1;
+        assertThrows(DecryptionException.class, () -> cipher.decode(encoded));
+        assertThrows(DecryptionException.class, () -> cipher.decode("not-an-envelope".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void verifyKeyRotation() {
+        val previous = new AesGcmTicketCipherExecutor(ROTATED_ENCRYPTION_KEY, 32, "tests");
+        val encodedByPrevious = previous.encode(TICKET);
+
+        val current = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests", List.of(ROTATED_ENCRYPTION_KEY), null);
+        assertNotEquals(previous.getActiveKeyId(), current.getActiveKeyId());
+        assertArrayEquals(TICKET, current.decode(encodedByPrevious));
+
+        val encodedByCurrent = current.encode(TICKET);
+        assertThrows(DecryptionException.class, () -> previous.decode(encodedByCurrent));
+
+        val retired = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests");
+        assertThrows(DecryptionException.class, () -> retired.decode(encodedByPrevious));
+    }
+
+    @Test
+    public void verifyFallbackCipher() {
+        val signingKey = "VfYEhlNRkOuG8AaWXQmG0QB7XYsvPwpTF6w8pkucuQ3E8ZMBRyesEPMvuBFyF-8czyvapyrsaTwM49x-JzZAKQ";
+        val legacy = new DefaultTicketCipherExecutor(ENCRYPTION_KEY, signingKey, "AES", 512, 16, "tests");
+        val encodedByLegacy = legacy.encode(TICKET);
+
+        val cipher = new AesGcmTicketCipherExecutor(ENCRYPTION_KEY, 16, "tests", List.of(), legacy);
+        assertArrayEquals(TICKET, cipher.decode(encodedByLegacy));
+        assertTrue(cipher.isEnvelope(cipher.encode(TICKET)));
+    }
+
+    @Test
+    public void verifyInvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> new AesGcmTicketCipherExecutor("short", 16, "tests"));
+    }
+
+    @Test
+    public void verifyCompactEnvelope() {
+        val legacy = new DefaultTicketCipherExecutor(null, null, "AES", 512, 16, "tests");
+        val cipher = new AesGcmTicketCipherExecutor(null, 16, "tests");
+        val payload = new byte[2048];
+        assertTrue(cipher.encode(payload).length < legacy.encode(payload).length);
+    }
+}
@@ -0,0 +1,84 @@
+package org.apereo.cas.util.gen;
+
+import org.apereo.cas.util.RandomUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ThreadLocalSecureRandomSourceTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Simple")
+public class ThreadLocalSecureRandomSourceTests {
+
+    @Test
+    public void verifyAlgorithm() {
+        assertNotNull(ThreadLocalSecureRandomSource.getAlgorithm());
+        assertEquals(ThreadLocalSecureRandomSource.getAlgorithm(), new Base64RandomStringGenerator().getAlgorithm());
+    }
+
+    @Test
+    public void verifyConfiguredAlgorithm() throws Exception {
+        val algorithm = new AtomicReference<String>();
+        System.setProperty(RandomUtils.SYSTEM_PROPERTY_SECURE_RANDOM_ALG, "SHA1PRNG");
+        try {
+            val thread = new Thread(() -> algorithm.set(ThreadLocalSecureRandomSource.getAlgorithm()));
+            thread.start();
+            thread.join();
+        } finally {
+            System.clearProperty(RandomUtils.SYSTEM_PROPERTY_SECURE_RANDOM_ALG);
+        }
+        assertEquals("SHA1PRNG", algorithm.get());
+    }
+
+    @Test
+    public void verifySecureRandom() {
+        val random = ThreadLocalSecureRandomSource.asSecureRandom();
+        assertEquals(ThreadLocalSecureRandomSource.getAlgorithm(), random.getAlgorithm());
+        assertSame(random, new Base64RandomStringGenerator().getRandomizer());
+        val bytes = new byte[32];
+        random.nextBytes(bytes);
+        assertNotEquals(Base64.getEncoder().encodeToString(new byte[32]), Base64.getEncoder().encodeToString(bytes));
+        assertNotEquals(random.nextLong(), random.nextLong());
+    }
+
+    @Test
+    public void verifyBytesAcrossReseeds() {
+        val first = new byte[32];
+        ThreadLocalSecureRandomSource.nextBytes(first);
+        val bulk = new byte[1024 * 1024];
+        ThreadLocalSecureRandomSource.nextBytes(bulk);
+        val second = new byte[32];
+        ThreadLocalSecureRandomSource.nextBytes(second);
+        assertNotEquals(Base64.getEncoder().encodeToString(first), Base64.getEncoder().encodeToString(second));
+    }
+
+    @Test
+    public void verifyUniqueAcrossThreads() {
+        val generator = new Base64RandomStringGenerator(32);
+        val values = ConcurrentHashMap.<String>newKeySet();
+        IntStream.range(0, 5000).parallel().forEach(i -> values.add(generator.getNewString()));
+        assertEquals(5000, values.size());
+    }
+
+    @Test
+    public void verifyUrlSafeEncoding() {
+        val generator = new Base64RandomStringGenerator(64);
+        IntStream.range(0, 100).forEach(i -> {
+            val value = generator.getNewString();
+            assertFalse(value.contains("+") || value.contains("/") || value.contains("="));
+            assertEquals(64, Base64.getUrlDecoder().decode(value).length);
+        });
+    }
+}
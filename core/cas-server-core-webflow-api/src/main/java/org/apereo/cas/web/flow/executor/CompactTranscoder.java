@@ -0,0 +1,226 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.cryptacular.bean.CipherBean;
+import org.springframework.util.ClassUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes an object into a compact byte stream prior to encryption. Objects are serialized
+ * using a stream that only records class names and serial version ids instead of full class
+ * descriptors, which assumes that compatible classes are available when state is decoded;
+ * state written by an incompatible class version is rejected. The serialized
+ * stream is optionally compressed using deflate tuned for speed.
+ * <p>
+ * Encoded state carries a version header, which allows this transcoder to
+ * decode state produced by both this transcoder and {@link EncryptedTranscoder}.
+ * Whether state is encoded in the compact form is controlled separately, so
+ * a CAS cluster can first be taught to read compact state before producing it.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class CompactTranscoder extends EncryptedTranscoder {
+    private static final byte[] HEADER_MAGIC = {'C', 'W', 'F'};
+
+    private static final byte VERSION = 2;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final int HEADER_LENGTH = HEADER_MAGIC.length + 2;
+
+    private static final int COMPRESSION_THRESHOLD = 256;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Flag to indicate whether state should be encoded in the compact form.
+     */
+    private final boolean compactEncoding;
+
+    public CompactTranscoder(final CipherBean cipherBean) {
+        this(cipherBean, true, true);
+    }
+
+    public CompactTranscoder(final CipherBean cipherBean, final boolean compression,
+                             final boolean compactEncoding) {
+        super(cipherBean, compression);
+        this.compactEncoding = compactEncoding;
+    }
+
+    private static boolean isCompactEncoded(final byte[] data) {
+        if (data == null || data.length < HEADER_LENGTH) {
+            return false;
+        }
+        for (var i = 0; i < HEADER_MAGIC.length; i++) {
+            if (data[i] != HEADER_MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] deflate(final byte[] data) {
+        val deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            val out = new ByteArrayOutputStream(data.length / 2);
+            val buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                val count = deflater.deflate(buffer);
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] data, final int offset, final int length) throws IOException {
+        val inflater = new Inflater(true);
+        try {
+            inflater.setInput(data, offset, data.length - offset);
+            val result = new byte[length];
+            var count = 0;
+            while (count < length) {
+                val inflated = inflater.inflate(result, count, length - count);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Compressed webflow state is truncated");
+                }
+                count += inflated;
+            }
+            return result;
+        } catch (final DataFormatException e) {
+            throw new IOException("Compressed webflow state is malformed", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    @SuppressWarnings("BanSerializableRead")
+    private static Object readCompactObject(final byte[] body) throws IOException {
+        try (val in = new CompactObjectInputStream(new ByteArrayInputStream(body))) {
+            return in.readObject();
+        } catch (final Exception e) {
+            LoggingUtils.error(LOGGER, e);
+            throw new IOException("Deserialization error", e);
+        }
+    }
+
+    @Override
+    public byte[] encode(final Object o) throws IOException {
+        if (!compactEncoding) {
+            return super.encode(o);
+        }
+        if (o == null) {
+            return ArrayUtils.EMPTY_BYTE_ARRAY;
+        }
+        val serialized = new ByteArrayOutputStream();
+        try (val out = new CompactObjectOutputStream(serialized)) {
+            writeObjectToOutputStream(o, out);
+        } catch (final NotSerializableException e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+
+        var body = serialized.toByteArray();
+        var flags = (byte) 0;
+        if (isCompression() && body.length >= COMPRESSION_THRESHOLD) {
+            body = deflate(body);
+            flags |= FLAG_COMPRESSED;
+        }
+        val outBuffer = new ByteArrayOutputStream(HEADER_LENGTH + Integer.BYTES + body.length);
+        try (val out = new DataOutputStream(outBuffer)) {
+            out.write(HEADER_MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(flags);
+            out.writeInt(serialized.size());
+            out.write(body);
+        }
+        return encrypt(outBuffer);
+    }
+
+    @Override
+    public Object decode(final byte[] encoded) throws IOException {
+        val data = decrypt(encoded);
+        if (!isCompactEncoded(data)) {
+            LOGGER.trace("Webflow state is not encoded in compact form; decoding it as a standard serialized stream");
+            return readObject(data);
+        }
+        val version = data[HEADER_MAGIC.length];
+        if (version != VERSION) {
+            throw new IOException("Unsupported webflow state encoding version " + version);
+        }
+        val flags = data[HEADER_MAGIC.length + 1];
+        try (val in = new DataInputStream(new ByteArrayInputStream(data, HEADER_LENGTH, Integer.BYTES))) {
+            val length = in.readInt();
+            val offset = HEADER_LENGTH + Integer.BYTES;
+            val body = (flags & FLAG_COMPRESSED) != 0
+                ? inflate(data, offset, length)
+                : ArrayUtils.subarray(data, offset, data.length);
+            return readCompactObject(body);
+        }
+    }
+
+    /**
+     * Object stream that records class names and serial version ids instead of full class descriptors.
+     */
+    private static final class CompactObjectOutputStream extends ObjectOutputStream {
+        CompactObjectOutputStream(final OutputStream out) throws IOException {
+            super(out);
+        }
+
+        @Override
+        protected void writeClassDescriptor(final ObjectStreamClass desc) throws IOException {
+            writeUTF(desc.getName());
+            writeLong(desc.getSerialVersionUID());
+        }
+    }
+
+    /**
+     * Object stream that resolves class descriptors from class names
+     * recorded by {@link CompactObjectOutputStream}, and verifies that the
+     * recorded serial version ids match the local classes.
+     */
+    private static final class CompactObjectInputStream extends ObjectInputStream {
+        CompactObjectInputStream(final InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected ObjectStreamClass readClassDescriptor() throws IOException, ClassNotFoundException {
+            val className = readUTF();
+            val serialVersionUID = readLong();
+            val clazz = Class.forName(className, false, ClassUtils.getDefaultClassLoader());
+            val descriptor = ObjectStreamClass.lookup(clazz);
+            if (descriptor == null) {
+                throw new InvalidClassException(className, "Class is not serializable");
+            }
+            if (descriptor.getSerialVersionUID() != serialVersionUID) {
+                throw new InvalidClassException(className, "Local class is incompatible: stream serialVersionUID = "
+                    + serialVersionUID + ", local class serialVersionUID = " + descriptor.getSerialVersionUID());
+            }
+            return descriptor;
+        }
+    }
+}
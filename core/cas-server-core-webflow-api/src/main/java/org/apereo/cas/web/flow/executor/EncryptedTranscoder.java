@@ -2,6 +2,8 @@ package org.apereo.cas.web.flow.executor;
 
 import org.apereo.cas.util.LoggingUtils;
 
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -41,6 +43,7 @@ public class EncryptedTranscoder implements Transcoder {
     /**
      * Flag to indicate whether to Gzip compression before encryption.
      */
+    @Getter(AccessLevel.PROTECTED)
     private final boolean compression;
 
     public EncryptedTranscoder(final CipherBean cipherBean) {
@@ -109,9 +112,19 @@ public class EncryptedTranscoder implements Transcoder {
     }
 
     @Override
-    @SuppressWarnings("BanSerializableRead")
     public Object decode(final byte[] encoded) throws IOException {
-        val data = decrypt(encoded);
+        return readObject(decrypt(encoded));
+    }
+
+    /**
+     * Read object from the decrypted byte stream.
+     *
+     * @param data the decrypted data
+     * @return the object
+     * @throws IOException the io exception
+     */
+    @SuppressWarnings("BanSerializableRead")
+    protected Object readObject(final byte[] data) throws IOException {
         try (val inBuffer = new ByteArrayInputStream(data);
              val in = this.compression
                  ? new ObjectInputStream(new GZIPInputStream(inBuffer))
@@ -123,7 +136,14 @@ public class EncryptedTranscoder implements Transcoder {
         }
     }
 
-    private byte[] decrypt(final byte[] encoded) throws IOException {
+    /**
+     * Decrypt.
+     *
+     * @param encoded the encoded
+     * @return the byte [ ]
+     * @throws IOException the io exception
+     */
+    protected byte[] decrypt(final byte[] encoded) throws IOException {
         try {
             return cipherBean.decrypt(encoded);
         } catch (final Exception e) {
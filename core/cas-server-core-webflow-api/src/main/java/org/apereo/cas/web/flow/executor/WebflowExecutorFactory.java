@@ -1,6 +1,7 @@
 package org.apereo.cas.web.flow.executor;
 
 import org.apereo.cas.configuration.model.core.web.flow.WebflowProperties;
+import org.apereo.cas.configuration.model.core.web.flow.WebflowSessionManagementProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.util.crypto.CipherExecutor;
 
@@ -74,6 +75,8 @@ public class WebflowExecutorFactory {
 
     private Transcoder getWebflowStateTranscoder() {
         val cipherBean = new WebflowCipherBean(this.webflowCipherExecutor);
-        return new EncryptedTranscoder(cipherBean);
+        val compactEncoding = webflowProperties.getSession().getTranscoder()
+            == WebflowSessionManagementProperties.WebflowStateTranscoderTypes.COMPACT;
+        return new CompactTranscoder(cipherBean, true, compactEncoding);
     }
 }
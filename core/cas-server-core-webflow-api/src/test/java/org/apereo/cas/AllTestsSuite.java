@@ -8,6 +8,7 @@ import org.apereo.cas.web.flow.configurer.DynamicFlowModelBuilderTests;
 import org.apereo.cas.web.flow.decorator.GroovyLoginWebflowDecoratorTests;
 import org.apereo.cas.web.flow.decorator.RestfulLoginWebflowDecoratorTests;
 import org.apereo.cas.web.flow.executor.ClientFlowExecutionRepositoryTests;
+import org.apereo.cas.web.flow.executor.CompactTranscoderTests;
 import org.apereo.cas.web.flow.executor.EncryptedTranscoderTests;
 import org.apereo.cas.web.flow.services.DefaultRegisteredServiceUserInterfaceInfoTests;
 
@@ -30,7 +31,8 @@ import org.junit.platform.suite.api.Suite;
     CasWebflowLoginContextProviderTests.class,
     DefaultCasWebflowExecutionPlanTests.class,
     StaticEventExecutionActionTests.class,
-    EncryptedTranscoderTests.class
+    EncryptedTranscoderTests.class,
+    CompactTranscoderTests.class
 })
 @Suite
 public class AllTestsSuite {
@@ -0,0 +1,157 @@
+package org.apereo.cas.web.flow.executor;
+
+import org.apereo.cas.authentication.credential.UsernamePasswordCredential;
+
+import com.google.common.primitives.Bytes;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import org.apache.commons.lang3.ArrayUtils;
+import org.cryptacular.bean.AEADBlockCipherBean;
+import org.cryptacular.bean.CipherBean;
+import org.cryptacular.bean.KeyStoreFactoryBean;
+import org.cryptacular.generator.sp80038d.RBGNonce;
+import org.cryptacular.io.ClassPathResource;
+import org.cryptacular.spec.AEADBlockCipherSpec;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.webflow.core.collection.LocalAttributeMap;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.Serializable;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test cases for {@link CompactTranscoder}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Webflow")
+public class CompactTranscoderTests {
+    private static CipherBean getCipherBean() {
+        val ksFactory = new KeyStoreFactoryBean();
+        ksFactory.setResource(new ClassPathResource("test-keystore.jceks"));
+        ksFactory.setType("JCEKS");
+        ksFactory.setPassword("changeit");
+
+        val cipherBean = new AEADBlockCipherBean();
+        cipherBean.setBlockCipherSpec(new AEADBlockCipherSpec("AES", "GCM"));
+        cipherBean.setKeyStore(ksFactory.newInstance());
+        cipherBean.setKeyAlias("aes128");
+        cipherBean.setKeyPassword("changeit");
+        cipherBean.setNonce(new RBGNonce());
+        return cipherBean;
+    }
+
+    private static LocalAttributeMap<Object> getWebflowState() throws Exception {
+        val state = new LocalAttributeMap<Object>();
+        state.put("credential", new UsernamePasswordCredential("casuser", "Mellon"));
+        state.put("service", new URL("https://app.example.org/cas/login?service=https%3A%2F%2Fapp.example.org"));
+        state.put("authenticationDate", ZonedDateTime.now());
+        val attributes = new HashMap<String, List<Object>>();
+        IntStream.range(0, 20).forEach(i -> attributes.put("attribute" + i,
+            IntStream.range(0, 3).mapToObj(j -> (Object) ("value-" + i + '-' + j)).collect(Collectors.toList())));
+        state.put("attributes", attributes);
+        val events = new ArrayList<SampleWebflowEvent>();
+        IntStream.range(0, 10).forEach(i -> events.add(new SampleWebflowEvent("event" + i, UUID.randomUUID().toString(), i)));
+        state.put("events", events);
+        return state;
+    }
+
+    @Test
+    public void verifyEncodeDecode() throws Exception {
+        val transcoder = new CompactTranscoder(getCipherBean());
+        val state = getWebflowState();
+        assertEquals(state, transcoder.decode(transcoder.encode(state)));
+        val value = "Four score and seven years ago";
+        assertEquals(value, transcoder.decode(transcoder.encode(value)));
+    }
+
+    @Test
+    public void verifyEncodeDecodeUncompressed() throws Exception {
+        val transcoder = new CompactTranscoder(getCipherBean(), false, true);
+        val state = getWebflowState();
+        assertEquals(state, transcoder.decode(transcoder.encode(state)));
+    }
+
+    @Test
+    public void verifyDecodesStandardEncoding() throws Exception {
+        val cipherBean = getCipherBean();
+        val standard = new EncryptedTranscoder(cipherBean);
+        val compact = new CompactTranscoder(cipherBean);
+        val state = getWebflowState();
+        assertEquals(state, compact.decode(standard.encode(state)));
+
+        val rollout = new CompactTranscoder(cipherBean, true, false);
+        val encoded = rollout.encode(state);
+        assertEquals(state, standard.decode(encoded));
+        assertEquals(state, rollout.decode(compact.encode(state)));
+    }
+
+    @Test
+    public void verifyBadEncoding() throws Exception {
+        val encoder = new CompactTranscoder(mock(CipherBean.class));
+        assertArrayEquals(ArrayUtils.EMPTY_BYTE_ARRAY, encoder.encode(null));
+        assertThrows(IOException.class, () -> encoder.decode(null));
+    }
+
+    @Test
+    public void verifyUnsupportedVersion() {
+        val bean = mock(CipherBean.class);
+        when(bean.decrypt(any())).thenReturn(new byte[]{'C', 'W', 'F', 9, 0, 0, 0, 0, 0});
+        val encoder = new CompactTranscoder(bean);
+        assertThrows(IOException.class, () -> encoder.decode(ArrayUtils.EMPTY_BYTE_ARRAY));
+    }
+
+    @Test
+    public void verifyIncompatibleSerialVersion() throws Exception {
+        val bean = mock(CipherBean.class);
+        when(bean.encrypt(any())).thenAnswer(args -> args.getArgument(0));
+        when(bean.decrypt(any())).thenAnswer(args -> args.getArgument(0));
+        val transcoder = new CompactTranscoder(bean, false, true);
+        val event = new SampleWebflowEvent("event", "source", 1);
+        val encoded = transcoder.encode(event);
+        assertEquals(event, transcoder.decode(encoded));
+
+        val uid = ByteBuffer.allocate(Long.BYTES).putLong(4256743162739181530L).array();
+        val position = Bytes.indexOf(encoded, uid);
+        assertTrue(position > 0);
+        encoded[position + Long.BYTES - 1] ^= 1;
+        val exception = assertThrows(IOException.class, () -> transcoder.decode(encoded));
+        assertTrue(exception.getCause() instanceof InvalidClassException);
+    }
+
+    @Test
+    public void verifyEncodedSize() throws Exception {
+        val cipherBean = getCipherBean();
+        val standard = new EncryptedTranscoder(cipherBean);
+        val compact = new CompactTranscoder(cipherBean);
+        val state = getWebflowState();
+        assertTrue(compact.encode(state).length < standard.encode(state).length);
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class SampleWebflowEvent implements Serializable {
+        private static final long serialVersionUID = 4256743162739181530L;
+
+        private final String id;
+
+        private final String source;
+
+        private final int order;
+    }
+}
@@ -37,6 +37,7 @@ import org.apereo.cas.ticket.proxy.ProxyGrantingTicket;
 import org.apereo.cas.ticket.proxy.ProxyGrantingTicketFactory;
 import org.apereo.cas.ticket.proxy.ProxyTicket;
 import org.apereo.cas.ticket.proxy.ProxyTicketFactory;
+import org.apereo.cas.ticket.registry.TicketRegistryBatch;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.DigestUtils;
 import org.apereo.cas.util.LoggingUtils;
@@ -131,8 +132,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
 
                     val factory = (ServiceTicketFactory) configurationContext.getTicketFactory().get(ServiceTicket.class);
                     val serviceTicket = factory.create(ticketGrantingTicket, selectedService, credentialProvided, ServiceTicket.class);
-                    configurationContext.getTicketRegistry().updateTicket(ticketGrantingTicket);
-                    configurationContext.getTicketRegistry().addTicket(serviceTicket);
+                    configurationContext.getTicketRegistry().save(TicketRegistryBatch.create()
+                        .update(ticketGrantingTicket)
+                        .add(serviceTicket));
 
                     LOGGER.info("Granted service ticket [{}] for service [{}] and principal [{}]",
                         serviceTicket.getId(), DigestUtils.abbreviate(selectedService.getId()), principal.getId());
@@ -177,8 +179,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                         val factory = (ProxyTicketFactory) configurationContext.getTicketFactory().get(ProxyTicket.class);
                         val proxyTicket = factory.create(proxyGrantingTicketObject, service, ProxyTicket.class);
 
-                        configurationContext.getTicketRegistry().updateTicket(proxyGrantingTicketObject);
-                        configurationContext.getTicketRegistry().addTicket(proxyTicket);
+                        configurationContext.getTicketRegistry().save(TicketRegistryBatch.create()
+                            .update(proxyGrantingTicketObject)
+                            .add(proxyTicket));
 
                         LOGGER.info("Granted proxy ticket [{}] for service [{}] for user [{}]",
                             proxyTicket.getId(), service.getId(), principal.getId());
@@ -228,8 +231,9 @@ public class DefaultCentralAuthenticationService extends AbstractCentralAuthenti
                     val factory = (ProxyGrantingTicketFactory) configurationContext.getTicketFactory().get(ProxyGrantingTicket.class);
                     val proxyGrantingTicket = factory.create(serviceTicket, authentication, ProxyGrantingTicket.class);
                     LOGGER.debug("Generated proxy granting ticket [{}] based off of [{}]", proxyGrantingTicket, serviceTicketId);
-                    configurationContext.getTicketRegistry().addTicket(proxyGrantingTicket);
-                    configurationContext.getTicketRegistry().updateTicket(serviceTicket.getTicketGrantingTicket());
+                    configurationContext.getTicketRegistry().save(TicketRegistryBatch.create()
+                        .add(proxyGrantingTicket)
+                        .update(serviceTicket.getTicketGrantingTicket()));
                     doPublishEvent(new CasProxyGrantingTicketCreatedEvent(this, proxyGrantingTicket));
                     return proxyGrantingTicket;
                 }))
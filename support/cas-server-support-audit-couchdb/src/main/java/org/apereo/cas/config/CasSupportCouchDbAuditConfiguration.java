@@ -9,6 +9,7 @@ import org.apereo.cas.couchdb.core.CouchDbConnectorFactory;
 import org.apereo.cas.couchdb.core.DefaultCouchDbConnectorFactory;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
+import lombok.val;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.ektorp.impl.ObjectMapperFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -55,7 +56,9 @@ public class CasSupportCouchDbAuditConfiguration {
     public AuditTrailManager couchDbAuditTrailManager(
         @Qualifier("auditActionContextCouchDbRepository")
         final AuditActionContextCouchDbRepository repository, final CasConfigurationProperties casProperties) {
-        return new CouchDbAuditTrailManager(casProperties.getAudit().getCouchDb().isAsynchronous(), repository);
+        val manager = new CouchDbAuditTrailManager(casProperties.getAudit().getCouchDb().isAsynchronous(), repository);
+        manager.setPipelineProperties(casProperties.getAudit().getEngine().getPipeline());
+        return manager;
     }
 
     @ConditionalOnMissingBean(name = "couchDbAuditTrailExecutionPlanConfigurer")
@@ -0,0 +1,101 @@
+package org.apereo.cas.audit;
+
+import org.apereo.cas.audit.spi.AbstractAuditTrailManager;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.audit.AuditActionContext;
+import org.apereo.inspektr.audit.support.JdbcAuditTrailManager;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This is {@link BatchingJdbcAuditTrailManager}. Audit records are saved
+ * using JDBC batch inserts, so that a batch of records collected by the asynchronous
+ * audit pipeline is written in a single database round trip.
+ * Querying and cleaning up audit records is delegated to {@link JdbcAuditTrailManager}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+public class BatchingJdbcAuditTrailManager extends AbstractAuditTrailManager {
+    private static final String INSERT_SQL_TEMPLATE = "INSERT INTO %s (AUD_USER, AUD_CLIENT_IP, AUD_SERVER_IP, "
+        + "AUD_RESOURCE, AUD_ACTION, APPLIC_CD, AUD_USERAGENT, AUD_DATE) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcAuditTrailManager delegate;
+
+    private final TransactionOperations transactionTemplate;
+
+    private final String tableName;
+
+    private final int columnLength;
+
+    public BatchingJdbcAuditTrailManager(final JdbcAuditTrailManager delegate,
+                                         final TransactionOperations transactionTemplate,
+                                         final String tableName,
+                                         final int columnLength,
+                                         final boolean asynchronous) {
+        super(asynchronous);
+        this.delegate = delegate;
+        this.transactionTemplate = transactionTemplate;
+        this.tableName = tableName;
+        this.columnLength = columnLength;
+    }
+
+    @Override
+    protected void saveAuditRecord(final AuditActionContext audit) {
+        saveAuditRecords(List.of(audit));
+    }
+
+    @Override
+    @SuppressWarnings("JavaUtilDate")
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val sql = String.format(INSERT_SQL_TEMPLATE, tableName);
+        LOGGER.trace("Inserting [{}] audit records into [{}]", audits.size(), tableName);
+        transactionTemplate.executeWithoutResult(status ->
+            delegate.getJdbcTemplate().batchUpdate(sql, audits, audits.size(), (ps, audit) -> {
+                ps.setString(1, truncate(audit.getPrincipal()));
+                ps.setString(2, audit.getClientIpAddress());
+                ps.setString(3, audit.getServerIpAddress());
+                ps.setString(4, truncate(audit.getResourceOperatedUpon()));
+                ps.setString(5, truncate(audit.getActionPerformed()));
+                ps.setString(6, audit.getApplicationCode());
+                ps.setString(7, audit.getUserAgent());
+                ps.setTimestamp(8, new Timestamp(audit.getWhenActionWasPerformed().getTime()));
+            }));
+    }
+
+    @Override
+    public Set<? extends AuditActionContext> getAuditRecordsSince(final LocalDate localDate) {
+        return delegate.getAuditRecordsSince(localDate);
+    }
+
+    @Override
+    public void removeAll() {
+        delegate.removeAll();
+    }
+
+    @Override
+    public void clean() {
+        delegate.clean();
+    }
+
+    @Override
+    public void destroy() {
+        super.destroy();
+        delegate.destroy();
+    }
+
+    private String truncate(final String value) {
+        return StringUtils.substring(value, 0, columnLength);
+    }
+}
@@ -1,6 +1,7 @@
 package org.apereo.cas.audit.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlanConfigurer;
+import org.apereo.cas.audit.BatchingJdbcAuditTrailManager;
 import org.apereo.cas.audit.spi.entity.AuditTrailEntity;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.model.core.audit.AuditJdbcProperties;
@@ -167,19 +168,23 @@ public class CasSupportJdbcAuditConfiguration {
                 .when(CONDITION.given(applicationContext.getEnvironment()))
                 .supply(() -> {
                     val jdbc = casProperties.getAudit().getJdbc();
+                    val tableName = getAuditTableNameFrom(jdbc);
                     val t = new JdbcAuditTrailManager(inspektrAuditTransactionTemplate);
                     t.setCleanupCriteria(auditCleanupCriteria);
                     t.setDataSource(inspektrAuditTrailDataSource);
-                    t.setAsynchronous(jdbc.isAsynchronous());
+                    t.setAsynchronous(false);
                     t.setColumnLength(jdbc.getColumnLength());
-                    t.setTableName(getAuditTableNameFrom(jdbc));
+                    t.setTableName(tableName);
                     if (StringUtils.isNotBlank(jdbc.getSelectSqlQueryTemplate())) {
                         t.setSelectByDateSqlTemplate(jdbc.getSelectSqlQueryTemplate());
                     }
                     if (StringUtils.isNotBlank(jdbc.getDateFormatterPattern())) {
                         t.setDateFormatterPattern(jdbc.getDateFormatterPattern());
                     }
-                    return t;
+                    val manager = new BatchingJdbcAuditTrailManager(t, inspektrAuditTransactionTemplate,
+                        tableName, jdbc.getColumnLength(), jdbc.isAsynchronous());
+                    manager.setPipelineProperties(casProperties.getAudit().getEngine().getPipeline());
+                    return manager;
                 })
                 .otherwiseProxy()
                 .get();
@@ -11,8 +11,11 @@ import lombok.val;
 import org.apereo.inspektr.audit.AuditActionContext;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Objects;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,7 +48,7 @@ public class RedisAuditTrailManager extends AbstractAuditTrailManager {
 
     @SuppressWarnings("JavaUtilDate")
     private static String getAuditRedisKey(final AuditActionContext context) {
-        return CAS_AUDIT_CONTEXT_PREFIX + context.getWhenActionWasPerformed().getTime();
+        return CAS_AUDIT_CONTEXT_PREFIX + context.getWhenActionWasPerformed().getTime() + ':' + UUID.randomUUID();
     }
 
     private static String getPatternAuditRedisKey() {
@@ -76,6 +79,15 @@ public class RedisAuditTrailManager extends AbstractAuditTrailManager {
         this.redisTemplate.boundValueOps(redisKey).set(audit);
     }
 
+    @Override
+    protected void saveAuditRecords(final Collection<AuditActionContext> audits) {
+        val records = audits
+            .stream()
+            .collect(Collectors.toMap(RedisAuditTrailManager::getAuditRedisKey, Function.identity()));
+        LOGGER.trace("Saving [{}] audit records", records.size());
+        this.redisTemplate.opsForValue().multiSet(records);
+    }
+
     private Stream<String> getAuditRedisKeys() {
         return redisTemplate.keys(getPatternAuditRedisKey(), this.scanCount);
     }
@@ -7,17 +7,28 @@ import org.apereo.cas.config.CasCoreUtilConfiguration;
 import org.apereo.cas.config.CasCoreWebConfiguration;
 import org.apereo.cas.config.CasSupportRedisAuditConfiguration;
 import org.apereo.cas.config.support.CasWebApplicationServiceFactoryConfiguration;
+import org.apereo.cas.redis.core.CasRedisTemplate;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
 import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.audit.AuditActionContext;
 import org.apereo.inspektr.audit.AuditTrailManager;
 import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link RedisAuditTrailManagerTests}.
  *
@@ -46,4 +57,22 @@ public class RedisAuditTrailManagerTests extends BaseAuditConfigurationTests {
     @Autowired
     @Qualifier("redisAuditTrailManager")
     private AuditTrailManager auditTrailManager;
+
+    @Autowired
+    @Qualifier("auditRedisTemplate")
+    private CasRedisTemplate auditRedisTemplate;
+
+    @Test
+    @SuppressWarnings("JavaUtilDate")
+    public void verifyBatchWithSameTimestamp() {
+        val manager = new RedisAuditTrailManager(auditRedisTemplate, false, 10);
+        val when = new Date();
+        val audits = List.of(
+            new AuditActionContext("casuser1", "TEST", "TEST", "CAS", when, "1.2.3.4", "1.2.3.4", "GoogleChrome"),
+            new AuditActionContext("casuser2", "TEST", "TEST", "CAS", when, "1.2.3.4", "1.2.3.4", "GoogleChrome"));
+        manager.saveAuditRecords(audits);
+        val results = manager.getAuditRecordsSince(LocalDate.now(ZoneOffset.UTC).minusDays(1));
+        assertEquals(2, results.size());
+        manager.removeAll();
+    }
 }
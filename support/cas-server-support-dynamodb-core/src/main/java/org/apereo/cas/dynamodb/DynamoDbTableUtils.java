@@ -13,15 +13,19 @@ import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
 import software.amazon.awssdk.services.dynamodb.model.BillingMode;
 import software.amazon.awssdk.services.dynamodb.model.Condition;
+import software.amazon.awssdk.services.dynamodb.model.CreateGlobalSecondaryIndexAction;
 import software.amazon.awssdk.services.dynamodb.model.CreateTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DeleteTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndexUpdate;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.ProvisionedThroughput;
 import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
 import software.amazon.awssdk.services.dynamodb.model.TableDescription;
 import software.amazon.awssdk.services.dynamodb.model.TableStatus;
+import software.amazon.awssdk.services.dynamodb.model.UpdateTableRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -122,16 +126,41 @@ public class DynamoDbTableUtils {
                                    final boolean deleteTable,
                                    final List<AttributeDefinition> attributeDefinitions,
                                    final List<KeySchemaElement> keySchemaElements) throws Exception {
+        createTable(dynamoDbClient, dynamoDbProperties, tableName, deleteTable,
+            attributeDefinitions, keySchemaElements, List.of());
+    }
 
-        val billingMode = BillingMode.fromValue(dynamoDbProperties.getBillingMode().name());
+    /**
+     * Create table along with its global secondary indexes.
+     * Indexes are given the same provisioned throughput as the table, if any.
+     *
+     * @param dynamoDbClient          the dynamo db client
+     * @param dynamoDbProperties      the dynamo db properties
+     * @param tableName               the table name
+     * @param deleteTable             the delete tables
+     * @param attributeDefinitions    the attribute definitions
+     * @param keySchemaElements       the key schema elements
+     * @param globalSecondaryIndexes  the global secondary indexes
+     * @throws Exception the exception
+     */
+    public static void createTable(final DynamoDbClient dynamoDbClient,
+                                   final AbstractDynamoDbProperties dynamoDbProperties,
+                                   final String tableName,
+                                   final boolean deleteTable,
+                                   final List<AttributeDefinition> attributeDefinitions,
+                                   final List<KeySchemaElement> keySchemaElements,
+                                   final List<GlobalSecondaryIndex> globalSecondaryIndexes) throws Exception {
 
-        val throughput = billingMode == BillingMode.PROVISIONED ? ProvisionedThroughput.builder()
-            .readCapacityUnits(dynamoDbProperties.getReadCapacity())
-            .writeCapacityUnits(dynamoDbProperties.getWriteCapacity())
-            .build() : null;
+        val billingMode = BillingMode.fromValue(dynamoDbProperties.getBillingMode().name());
+        val throughput = getProvisionedThroughput(dynamoDbProperties);
+        val indexes = globalSecondaryIndexes
+            .stream()
+            .map(index -> index.toBuilder().provisionedThroughput(throughput).build())
+            .collect(Collectors.toList());
         val request = CreateTableRequest.builder()
             .attributeDefinitions(attributeDefinitions)
             .keySchema(keySchemaElements)
+            .globalSecondaryIndexes(indexes.isEmpty() ? null : indexes)
             .provisionedThroughput(throughput)
             .tableName(tableName)
             .billingMode(billingMode)
@@ -152,6 +181,45 @@ public class DynamoDbTableUtils {
         LOGGER.debug("Located newly created table with description: [{}]", tableDescription);
     }
 
+    /**
+     * Create the global secondary index on an existing table, unless the table already carries
+     * an index by the same name. The index is given the same provisioned throughput as the table, if any.
+     * The index is backfilled by DynamoDb in the background, and can only be queried once it becomes active.
+     *
+     * @param dynamoDbClient       the dynamo db client
+     * @param dynamoDbProperties   the dynamo db properties
+     * @param tableName            the table name
+     * @param attributeDefinitions the attribute definitions
+     * @param globalSecondaryIndex the global secondary index
+     * @return true if the index is created, false if it already exists
+     */
+    public static boolean createGlobalSecondaryIndexIfMissing(final DynamoDbClient dynamoDbClient,
+                                                              final AbstractDynamoDbProperties dynamoDbProperties,
+                                                              final String tableName,
+                                                              final List<AttributeDefinition> attributeDefinitions,
+                                                              final GlobalSecondaryIndex globalSecondaryIndex) {
+        val table = dynamoDbClient.describeTable(DescribeTableRequest.builder().tableName(tableName).build()).table();
+        if (table.hasGlobalSecondaryIndexes() && table.globalSecondaryIndexes()
+            .stream()
+            .anyMatch(index -> index.indexName().equals(globalSecondaryIndex.indexName()))) {
+            return false;
+        }
+        val action = CreateGlobalSecondaryIndexAction.builder()
+            .indexName(globalSecondaryIndex.indexName())
+            .keySchema(globalSecondaryIndex.keySchema())
+            .projection(globalSecondaryIndex.projection())
+            .provisionedThroughput(getProvisionedThroughput(dynamoDbProperties))
+            .build();
+        val request = UpdateTableRequest.builder()
+            .tableName(tableName)
+            .attributeDefinitions(attributeDefinitions)
+            .globalSecondaryIndexUpdates(GlobalSecondaryIndexUpdate.builder().create(action).build())
+            .build();
+        LOGGER.debug("Sending request [{}] to create global secondary index", request);
+        dynamoDbClient.updateTable(request);
+        return true;
+    }
+
     /**
      * Gets records by keys.
      *
@@ -191,6 +259,14 @@ public class DynamoDbTableUtils {
         return Stream.empty();
     }
 
+    private static ProvisionedThroughput getProvisionedThroughput(final AbstractDynamoDbProperties dynamoDbProperties) {
+        val billingMode = BillingMode.fromValue(dynamoDbProperties.getBillingMode().name());
+        return billingMode == BillingMode.PROVISIONED ? ProvisionedThroughput.builder()
+            .readCapacityUnits(dynamoDbProperties.getReadCapacity())
+            .writeCapacityUnits(dynamoDbProperties.getWriteCapacity())
+            .build() : null;
+    }
+
     private static TableDescription waitForTableDescription(final DynamoDbClient dynamo,
                                                             final String tableName,
                                                             final TableStatus desiredStatus,
@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
 
 import lombok.RequiredArgsConstructor;
@@ -9,7 +11,9 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * This is {@link DynamoDbTicketRegistry}.
@@ -28,7 +32,7 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
             LOGGER.debug("Adding ticket [{}] with ttl [{}s]", ticket.getId(),
                 ticket.getExpirationPolicy().getTimeToLive());
             val encTicket = encodeTicket(ticket);
-            this.dbTableService.put(ticket, encTicket);
+            this.dbTableService.put(ticket, encTicket, getPrincipalSessionIndexKey(getSessionPrincipalId(ticket)));
         } catch (final Exception e) {
             LoggingUtils.error(LOGGER, e);
         }
@@ -59,6 +63,46 @@ public class DynamoDbTicketRegistry extends AbstractTicketRegistry {
         return decodeTickets(this.dbTableService.getAll());
     }
 
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val key = getPrincipalSessionIndexKey(principalId);
+        if (key == null) {
+            return Stream.empty();
+        }
+        return decodeTickets(this.dbTableService.getTicketsForPrincipal(key).stream())
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * Tickets that are due to be checked for expiration but turn out to be still valid
+     * are scheduled to be checked again later, so they are not fetched again on every run.
+     *
+     * @param partition the partition
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        return decodeTickets(this.dbTableService.getExpiredTickets().stream())
+            .filter(Objects::nonNull)
+            .filter(ticket -> {
+                if (ticket.isExpired()) {
+                    return true;
+                }
+                this.dbTableService.updateExpirationCheckTime(ticket, encodeTicketId(ticket.getId()), getExpirationRecheckTime(ticket));
+                return false;
+            });
+    }
+
+    @Override
+    public long sessionCount() {
+        return this.dbTableService.countTickets(TicketGrantingTicket.PREFIX);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return this.dbTableService.countTickets(ServiceTicket.PREFIX);
+    }
+
     @Override
     public Ticket updateTicket(final Ticket ticket) throws Exception {
         addTicket(ticket);
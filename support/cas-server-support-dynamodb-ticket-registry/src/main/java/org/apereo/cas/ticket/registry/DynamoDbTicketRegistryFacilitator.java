@@ -4,26 +4,45 @@ import org.apereo.cas.configuration.model.support.dynamodb.DynamoDbTicketRegistr
 import org.apereo.cas.dynamodb.DynamoDbTableUtils;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LoggingUtils;
 
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.SerializationUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
+import org.springframework.beans.factory.DisposableBean;
 import software.amazon.awssdk.core.SdkBytes;
 import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeDefinition;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
 import software.amazon.awssdk.services.dynamodb.model.DeleteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.DeleteRequest;
 import software.amazon.awssdk.services.dynamodb.model.GetItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.GlobalSecondaryIndex;
 import software.amazon.awssdk.services.dynamodb.model.KeySchemaElement;
 import software.amazon.awssdk.services.dynamodb.model.KeyType;
+import software.amazon.awssdk.services.dynamodb.model.Projection;
+import software.amazon.awssdk.services.dynamodb.model.ProjectionType;
 import software.amazon.awssdk.services.dynamodb.model.PutItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.QueryRequest;
 import software.amazon.awssdk.services.dynamodb.model.ScalarAttributeType;
 import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.model.Select;
+import software.amazon.awssdk.services.dynamodb.model.TimeToLiveSpecification;
+import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.UpdateTimeToLiveRequest;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -31,11 +50,29 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * This is {@link DynamoDbTicketRegistryFacilitator}.
+ * Tables that hold ticket-granting tickets carry a global secondary index on the principal
+ * of the single sign-on session, so that sessions can be queried by principal.
+ * Every ticket records the time at which it is due to be checked for expiration, which the cleaner
+ * scans for, along with the latest time at which it may still be valid; tables that hold any other
+ * ticket type use the latter as their DynamoDb time-to-live attribute.
+ * Bulk operations scan each table in parallel segments, on a thread pool shared by all scans,
+ * and remove items in batches. Items that DynamoDb leaves unprocessed are retried with exponential backoff.
  *
  * @author Misagh Moayyed
  * @since 5.1.0
@@ -43,13 +80,32 @@ import java.util.stream.Collectors;
 @Slf4j
 @Getter
 @RequiredArgsConstructor
-public class DynamoDbTicketRegistryFacilitator {
+public class DynamoDbTicketRegistryFacilitator implements DisposableBean {
+    /**
+     * Name of the global secondary index on the principal column.
+     */
+    public static final String PRINCIPAL_INDEX_NAME = "principalIndex";
+
+    private static final int BATCH_WRITE_SIZE = 25;
+
+    private static final int BATCH_WRITE_MAXIMUM_RETRIES = 8;
+
+    private static final long BATCH_WRITE_INITIAL_BACKOFF_MILLIS = 50;
+
+    private static final long BATCH_WRITE_MAXIMUM_BACKOFF_MILLIS = 5_000;
+
     private final TicketCatalog ticketCatalog;
 
     private final DynamoDbTicketRegistryProperties dynamoDbProperties;
 
     private final DynamoDbClient amazonDynamoDBClient;
 
+    @Getter(AccessLevel.NONE)
+    private final Set<String> unindexedTables = ConcurrentHashMap.newKeySet();
+
+    @Getter(AccessLevel.NONE)
+    private ExecutorService scanExecutor;
+
     private static Ticket deserializeTicket(final Map<String, AttributeValue> returnItem) {
         val bb = returnItem.get(ColumnNames.ENCODED.getColumnName()).b();
         LOGGER.debug("Located binary encoding of ticket item [{}]. Transforming item into ticket object", returnItem);
@@ -61,6 +117,56 @@ public class DynamoDbTicketRegistryFacilitator {
         return null;
     }
 
+    private static boolean isTicketGrantingTicketDefinition(final TicketDefinition definition) {
+        return TicketGrantingTicket.class.isAssignableFrom(definition.getImplementationClass());
+    }
+
+    /**
+     * Gets the time, in epoch seconds, after which the ticket can no longer be valid unless it is
+     * written again, which is the case whenever the ticket is used. This is the time at which the ticket
+     * is written, extended by the longer of the time-to-live and time-to-idle of its expiration policy.
+     * Nothing is returned if the expiration policy declares neither.
+     *
+     * @param ticket the ticket
+     * @return the removal time
+     */
+    private static OptionalLong getRemovalTime(final Ticket ticket) {
+        val policy = ticket.getExpirationPolicy();
+        val timeToLive = Objects.requireNonNullElse(policy.getTimeToLive(), 0L);
+        val timeToIdle = Objects.requireNonNullElse(policy.getTimeToIdle(), 0L);
+        val duration = Math.max(timeToLive, timeToIdle);
+        val now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+        if (duration <= 0 || duration > Long.MAX_VALUE - now) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(now + duration);
+    }
+
+    private static void backoff(final int attempt) {
+        try {
+            val delay = Math.min(BATCH_WRITE_MAXIMUM_BACKOFF_MILLIS, BATCH_WRITE_INITIAL_BACKOFF_MILLIS << (attempt - 1));
+            Thread.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Ticket> deserializeTickets(final List<Map<String, AttributeValue>> items) {
+        return items.stream()
+            .map(DynamoDbTicketRegistryFacilitator::deserializeTicket)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (scanExecutor != null) {
+            scanExecutor.shutdownNow();
+            scanExecutor = null;
+        }
+    }
+
     /**
      * Delete.
      *
@@ -82,20 +188,23 @@ public class DynamoDbTicketRegistryFacilitator {
     }
 
     /**
-     * Delete all.
+     * Delete all tickets from all tables.
+     * Tables are scanned in parallel segments for ticket ids,
+     * which are then removed in batches.
      *
-     * @return the int
+     * @return the number of removed tickets
      */
     public int deleteAll() {
-        val count = new AtomicInteger();
-        val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(r -> {
-            val scan = ScanRequest.builder().tableName(r.getProperties().getStorageName()).build();
-            LOGGER.debug("Submitting scan request [{}] to table [{}]", scan, r.getProperties().getStorageName());
-            count.addAndGet(this.amazonDynamoDBClient.scan(scan).count());
-        });
-        createTicketTables(true);
-        return count.get();
+        return getTableNames().stream()
+            .mapToInt(tableName -> scan(tableName,
+                builder -> builder
+                    .projectionExpression("#id")
+                    .expressionAttributeNames(Map.of("#id", ColumnNames.ID.getColumnName())),
+                page -> deleteItems(tableName, page.items()))
+                .stream()
+                .mapToInt(Integer::intValue)
+                .sum())
+            .sum();
     }
 
     /**
@@ -104,19 +213,99 @@ public class DynamoDbTicketRegistryFacilitator {
      * @return the all
      */
     public Collection<Ticket> getAll() {
-        val metadata = this.ticketCatalog.findAll();
-        val tickets = new ArrayList<Ticket>(metadata.size());
-        metadata.forEach(r -> {
-            val scan = ScanRequest.builder().tableName(r.getProperties().getStorageName()).build();
-            LOGGER.debug("Scanning table with request [{}]", scan);
-            val result = this.amazonDynamoDBClient.scan(scan);
-            LOGGER.debug("Scanned table with result [{}]", scan);
-            tickets.addAll(result.items().stream()
-                .map(DynamoDbTicketRegistryFacilitator::deserializeTicket).collect(Collectors.toList()));
+        val tickets = new ArrayList<Ticket>();
+        getTableNames().forEach(tableName -> {
+            LOGGER.debug("Scanning table [{}] for all tickets", tableName);
+            scan(tableName, UnaryOperator.identity(), page -> deserializeTickets(page.items())).forEach(tickets::addAll);
         });
         return tickets;
     }
 
+    /**
+     * Gets tickets that are due to expire, by scanning all tables.
+     * Tickets must still be checked for expiration by the caller.
+     *
+     * @return the tickets
+     */
+    public Collection<Ticket> getExpiredTickets() {
+        val now = AttributeValue.builder().n(Long.toString(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()))).build();
+        val tickets = new ArrayList<Ticket>();
+        getTableNames().forEach(tableName -> scan(tableName,
+            builder -> builder
+                .filterExpression("#expiresAt <= :now")
+                .expressionAttributeNames(Map.of("#expiresAt", ColumnNames.EXPIRES_AT.getColumnName()))
+                .expressionAttributeValues(Map.of(":now", now)),
+            page -> deserializeTickets(page.items())).forEach(tickets::addAll));
+        return tickets;
+    }
+
+    /**
+     * Gets the tickets that are indexed under the given principal,
+     * by querying the principal index of tables that hold ticket-granting tickets.
+     *
+     * @param principal the principal index key
+     * @return the tickets
+     */
+    public Collection<Ticket> getTicketsForPrincipal(final String principal) {
+        val value = AttributeValue.builder().s(principal).build();
+        val names = Map.of("#principal", ColumnNames.PRINCIPAL.getColumnName());
+        val values = Map.of(":principal", value);
+        return ticketCatalog.findAll()
+            .stream()
+            .filter(DynamoDbTicketRegistryFacilitator::isTicketGrantingTicketDefinition)
+            .map(definition -> definition.getProperties().getStorageName())
+            .distinct()
+            .flatMap(tableName -> {
+                try {
+                    val request = QueryRequest.builder()
+                        .tableName(tableName)
+                        .indexName(PRINCIPAL_INDEX_NAME)
+                        .keyConditionExpression("#principal = :principal")
+                        .expressionAttributeNames(names)
+                        .expressionAttributeValues(values)
+                        .build();
+                    LOGGER.debug("Submitting query request [{}] to table [{}]", request, tableName);
+                    return deserializeTickets(amazonDynamoDBClient.queryPaginator(request).items()
+                        .stream().collect(Collectors.toList())).stream();
+                } catch (final Exception e) {
+                    if (unindexedTables.add(tableName)) {
+                        LOGGER.warn("Unable to query index [{}] of table [{}]; scanning the table instead: [{}]",
+                            PRINCIPAL_INDEX_NAME, tableName, e.getMessage());
+                    } else {
+                        LOGGER.debug("Unable to query index [{}] of table [{}]: [{}]", PRINCIPAL_INDEX_NAME, tableName, e.getMessage());
+                    }
+                    return scan(tableName, builder -> builder
+                        .filterExpression("#principal = :principal")
+                        .expressionAttributeNames(names)
+                        .expressionAttributeValues(values), page -> deserializeTickets(page.items()))
+                        .stream()
+                        .flatMap(Collection::stream);
+                }
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Count tickets stored in the table that holds tickets with the given prefix.
+     * The count may include tickets that have expired, but are not yet removed.
+     *
+     * @param prefix the ticket prefix
+     * @return the count
+     */
+    public long countTickets(final String prefix) {
+        val metadata = ticketCatalog.find(prefix);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", prefix);
+            return 0;
+        }
+        return scan(metadata.getProperties().getStorageName(),
+            builder -> builder.select(Select.COUNT),
+            page -> (long) page.count())
+            .stream()
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+
     /**
      * Get ticket.
      *
@@ -152,29 +341,82 @@ public class DynamoDbTicketRegistryFacilitator {
      *
      * @param ticket        the ticket
      * @param encodedTicket the encoded ticket
+     * @param principal     the principal index key of the single sign-on session, if any
      */
-    public void put(final Ticket ticket, final Ticket encodedTicket) {
+    public void put(final Ticket ticket, final Ticket encodedTicket, final String principal) {
         val metadata = this.ticketCatalog.find(ticket);
-        val values = buildTableAttributeValuesMapFromTicket(ticket, encodedTicket);
+        val values = buildTableAttributeValuesMapFromTicket(ticket, encodedTicket, principal);
         LOGGER.debug("Adding ticket id [{}] with attribute values [{}]", encodedTicket.getId(), values);
         val putItemRequest = PutItemRequest.builder().tableName(metadata.getProperties().getStorageName()).item(values).build();
         LOGGER.debug("Submitting put request [{}] for ticket id [{}]", putItemRequest, encodedTicket.getId());
         val putItemResult = amazonDynamoDBClient.putItem(putItemRequest);
         LOGGER.debug("Ticket added with result [{}]", putItemResult);
-        getAll();
+    }
+
+    /**
+     * Update the time at which the ticket is due to be checked for expiration,
+     * for tickets that were found to be still valid past their expected expiration.
+     * Tickets that are no longer found are left alone.
+     *
+     * @param ticket          the ticket
+     * @param encodedTicketId the encoded ticket id
+     * @param checkTime       the expiration check time, in epoch milliseconds
+     */
+    public void updateExpirationCheckTime(final Ticket ticket, final String encodedTicketId, final long checkTime) {
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            LOGGER.warn("No ticket definition could be found in the catalog to match [{}]", ticket.getId());
+            return;
+        }
+        val request = UpdateItemRequest.builder()
+            .tableName(metadata.getProperties().getStorageName())
+            .key(Map.of(ColumnNames.ID.getColumnName(), AttributeValue.builder().s(encodedTicketId).build()))
+            .updateExpression("SET #expiresAt = :expiresAt")
+            .conditionExpression("attribute_exists(#id)")
+            .expressionAttributeNames(Map.of("#expiresAt", ColumnNames.EXPIRES_AT.getColumnName(), "#id", ColumnNames.ID.getColumnName()))
+            .expressionAttributeValues(Map.of(":expiresAt",
+                AttributeValue.builder().n(Long.toString(TimeUnit.MILLISECONDS.toSeconds(checkTime))).build()))
+            .build();
+        try {
+            LOGGER.trace("Submitting request [{}] to update expiration check time of ticket [{}]", request, ticket.getId());
+            amazonDynamoDBClient.updateItem(request);
+        } catch (final ConditionalCheckFailedException e) {
+            LOGGER.trace("Ticket [{}] is no longer found: [{}]", ticket.getId(), e.getMessage());
+        }
     }
 
     /**
      * Create ticket tables.
+     * Tables that hold ticket-granting tickets are created with a global secondary index
+     * on the principal, which is also added to such tables if they already exist without it;
+     * all other tables expire tickets using DynamoDb's time-to-live.
      *
      * @param deleteTables the delete tables
      */
     public void createTicketTables(final boolean deleteTables) {
         val metadata = this.ticketCatalog.findAll();
-        metadata.forEach(Unchecked.consumer(r -> DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties,
-            r.getProperties().getStorageName(), deleteTables,
-            List.of(AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.S).build()),
-            List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()))));
+        metadata.forEach(Unchecked.consumer(r -> {
+            val tableName = r.getProperties().getStorageName();
+            val attributes = new ArrayList<AttributeDefinition>();
+            attributes.add(AttributeDefinition.builder().attributeName(ColumnNames.ID.getColumnName()).attributeType(ScalarAttributeType.S).build());
+            val indexes = new ArrayList<GlobalSecondaryIndex>();
+            if (isTicketGrantingTicketDefinition(r)) {
+                attributes.add(AttributeDefinition.builder()
+                    .attributeName(ColumnNames.PRINCIPAL.getColumnName()).attributeType(ScalarAttributeType.S).build());
+                indexes.add(GlobalSecondaryIndex.builder()
+                    .indexName(PRINCIPAL_INDEX_NAME)
+                    .keySchema(KeySchemaElement.builder().attributeName(ColumnNames.PRINCIPAL.getColumnName()).keyType(KeyType.HASH).build())
+                    .projection(Projection.builder().projectionType(ProjectionType.ALL).build())
+                    .build());
+            }
+            DynamoDbTableUtils.createTable(amazonDynamoDBClient, dynamoDbProperties, tableName, deleteTables, attributes,
+                List.of(KeySchemaElement.builder().attributeName(ColumnNames.ID.getColumnName()).keyType(KeyType.HASH).build()),
+                indexes);
+            indexes.forEach(index -> createIndexIfMissing(tableName, attributes, index));
+            if (!isTicketGrantingTicketDefinition(r)) {
+                enableTimeToLive(tableName);
+            }
+        }));
     }
 
     /**
@@ -182,9 +424,11 @@ public class DynamoDbTicketRegistryFacilitator {
      *
      * @param ticket    the ticket
      * @param encTicket the encoded ticket
+     * @param principal the principal index key of the single sign-on session, if any
      * @return the map
      */
-    public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket) {
+    public Map<String, AttributeValue> buildTableAttributeValuesMapFromTicket(final Ticket ticket, final Ticket encTicket,
+                                                                              final String principal) {
         val values = new HashMap<String, AttributeValue>();
         values.put(ColumnNames.ID.getColumnName(),
             AttributeValue.builder().s(encTicket.getId()).build());
@@ -198,12 +442,125 @@ public class DynamoDbTicketRegistryFacilitator {
             AttributeValue.builder().n(Long.toString(ticket.getExpirationPolicy().getTimeToLive())).build());
         values.put(ColumnNames.TIME_TO_IDLE.getColumnName(),
             AttributeValue.builder().n(Long.toString(ticket.getExpirationPolicy().getTimeToIdle())).build());
+        values.put(ColumnNames.EXPIRES_AT.getColumnName(),
+            AttributeValue.builder().n(Long.toString(TimeUnit.MILLISECONDS.toSeconds(AbstractTicketRegistry.getExpirationCheckTime(ticket)))).build());
+        getRemovalTime(ticket).ifPresent(removeAt -> values.put(ColumnNames.REMOVE_AT.getColumnName(),
+            AttributeValue.builder().n(Long.toString(removeAt)).build()));
+        if (StringUtils.isNotBlank(principal)) {
+            values.put(ColumnNames.PRINCIPAL.getColumnName(), AttributeValue.builder().s(principal).build());
+        }
         values.put(ColumnNames.ENCODED.getColumnName(),
             AttributeValue.builder().b(SdkBytes.fromByteBuffer(ByteBuffer.wrap(SerializationUtils.serialize(encTicket)))).build());
         LOGGER.debug("Created attribute values [{}] based on provided ticket [{}]", values, encTicket.getId());
         return values;
     }
 
+    private List<String> getTableNames() {
+        return ticketCatalog.findAll()
+            .stream()
+            .map(definition -> definition.getProperties().getStorageName())
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    private void createIndexIfMissing(final String tableName, final List<AttributeDefinition> attributes,
+                                      final GlobalSecondaryIndex index) {
+        try {
+            if (DynamoDbTableUtils.createGlobalSecondaryIndexIfMissing(amazonDynamoDBClient, dynamoDbProperties, tableName, attributes, index)) {
+                LOGGER.info("Global secondary index [{}] is added to table [{}]", index.indexName(), tableName);
+            }
+        } catch (final Exception e) {
+            LOGGER.warn("Unable to add global secondary index [{}] to table [{}]; sessions are found by scanning the table instead: [{}]",
+                index.indexName(), tableName, e.getMessage());
+        }
+    }
+
+    private void enableTimeToLive(final String tableName) {
+        try {
+            val request = UpdateTimeToLiveRequest.builder()
+                .tableName(tableName)
+                .timeToLiveSpecification(TimeToLiveSpecification.builder()
+                    .attributeName(ColumnNames.REMOVE_AT.getColumnName())
+                    .enabled(Boolean.TRUE)
+                    .build())
+                .build();
+            LOGGER.debug("Submitting request [{}] to enable time-to-live for table [{}]", request, tableName);
+            amazonDynamoDBClient.updateTimeToLive(request);
+        } catch (final Exception e) {
+            LOGGER.debug("Unable to enable time-to-live for table [{}]; it may already be enabled: [{}]", tableName, e.getMessage());
+        }
+    }
+
+    private int deleteItems(final String tableName, final List<Map<String, AttributeValue>> items) {
+        return Lists.partition(items, BATCH_WRITE_SIZE).stream().mapToInt(batch -> {
+            var requests = Map.of(tableName, batch.stream()
+                .map(item -> WriteRequest.builder().deleteRequest(DeleteRequest.builder().key(item).build()).build())
+                .collect(Collectors.toList()));
+            var attempt = 0;
+            while (!requests.isEmpty() && attempt <= BATCH_WRITE_MAXIMUM_RETRIES) {
+                if (attempt > 0) {
+                    backoff(attempt);
+                }
+                val request = BatchWriteItemRequest.builder().requestItems(requests).build();
+                LOGGER.trace("Submitting batch request to delete [{}] items from table [{}]", batch.size(), tableName);
+                requests = amazonDynamoDBClient.batchWriteItem(request).unprocessedItems();
+                attempt++;
+            }
+            val unprocessed = requests.values().stream().mapToInt(List::size).sum();
+            if (unprocessed > 0) {
+                LOGGER.warn("Unable to delete [{}] items from table [{}] after [{}] attempts", unprocessed, tableName, attempt);
+            }
+            return batch.size() - unprocessed;
+        }).sum();
+    }
+
+    private synchronized ExecutorService getScanExecutor() {
+        if (scanExecutor == null) {
+            val segments = Math.max(1, dynamoDbProperties.getScanSegments());
+            val executor = new ThreadPoolExecutor(segments, segments, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>());
+            executor.allowCoreThreadTimeOut(true);
+            scanExecutor = executor;
+        }
+        return scanExecutor;
+    }
+
+    /**
+     * Scan the table in parallel segments, going through all pages of each segment.
+     * Each page of items is handed over to the given function, whose results are collected.
+     */
+    private <T> List<T> scan(final String tableName,
+                             final UnaryOperator<ScanRequest.Builder> customizer,
+                             final Function<ScanResponse, T> pageFunction) {
+        val segments = Math.max(1, dynamoDbProperties.getScanSegments());
+        try {
+            val tasks = IntStream.range(0, segments)
+                .mapToObj(segment -> (Callable<List<T>>) () -> {
+                    val request = customizer.apply(ScanRequest.builder()
+                        .tableName(tableName)
+                        .segment(segment)
+                        .totalSegments(segments))
+                        .build();
+                    LOGGER.debug("Submitting scan request [{}] to table [{}]", request, tableName);
+                    val results = new ArrayList<T>();
+                    for (val page : amazonDynamoDBClient.scanPaginator(request)) {
+                        results.add(pageFunction.apply(page));
+                    }
+                    return results;
+                })
+                .collect(Collectors.toList());
+            val results = new ArrayList<T>();
+            for (val future : getScanExecutor().invokeAll(tasks)) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * Column names for tables holding tickets.
      */
@@ -235,6 +592,19 @@ public class DynamoDbTicketRegistryFacilitator {
          * timeToIdle column.
          */
         TIME_TO_IDLE("timeToIdle"),
+        /**
+         * expiresAt column, the time at which the ticket is due to be checked for expiration, in epoch seconds.
+         */
+        EXPIRES_AT("expiresAt"),
+        /**
+         * removeAt column, the time after which the ticket can no longer be valid, in epoch seconds.
+         * This is the time-to-live attribute of tables that do not hold ticket-granting tickets.
+         */
+        REMOVE_AT("removeAt"),
+        /**
+         * principal column.
+         */
+        PRINCIPAL("principal"),
         /**
          * encoded column.
          */
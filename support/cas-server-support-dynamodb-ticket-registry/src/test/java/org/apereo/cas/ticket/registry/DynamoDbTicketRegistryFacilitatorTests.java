@@ -2,6 +2,7 @@ package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
@@ -36,7 +37,7 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             val ticket = new MockTicketGrantingTicket("casuser",
                     CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
                     CollectionUtils.wrap("name", "CAS"));
-            val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket);
+            val map = dynamoDbTicketRegistryFacilitator.buildTableAttributeValuesMapFromTicket(ticket, ticket, "casuser");
             assertFalse(map.isEmpty());
             Arrays.stream(DynamoDbTicketRegistryFacilitator.ColumnNames.values())
                     .forEach(c -> assertTrue(map.containsKey(c.getColumnName())));
@@ -48,7 +49,7 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             val ticket = new MockTicketGrantingTicket("casuser",
                     CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
                     CollectionUtils.wrap("name", "CAS"));
-            dynamoDbTicketRegistryFacilitator.put(ticket, ticket);
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket, "casuser");
             val col = dynamoDbTicketRegistryFacilitator.getAll();
             assertFalse(col.isEmpty());
             val ticketFetched = dynamoDbTicketRegistryFacilitator.get(ticket.getId(), ticket.getId());
@@ -57,6 +58,42 @@ public class DynamoDbTicketRegistryFacilitatorTests {
             assertTrue(dynamoDbTicketRegistryFacilitator.deleteAll() > 0);
 
         }
+
+        @Test
+        public void verifyIndexedOperations() {
+            dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+            val ticket = new MockTicketGrantingTicket("casuser",
+                    CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                    CollectionUtils.wrap("name", "CAS"));
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket, "casuser");
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.getTicketsForPrincipal("casuser").size());
+            assertTrue(dynamoDbTicketRegistryFacilitator.getTicketsForPrincipal("unknown").isEmpty());
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.countTickets(TicketGrantingTicket.PREFIX));
+            assertTrue(dynamoDbTicketRegistryFacilitator.getExpiredTickets().isEmpty());
+
+            ticket.markTicketExpired();
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket, "casuser");
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.getExpiredTickets().size());
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.deleteAll());
+            assertEquals(0, dynamoDbTicketRegistryFacilitator.countTickets(TicketGrantingTicket.PREFIX));
+        }
+
+        @Test
+        public void verifyExpirationCheckTime() {
+            dynamoDbTicketRegistryFacilitator.createTicketTables(true);
+            val ticket = new MockTicketGrantingTicket("casuser",
+                    CoreAuthenticationTestUtils.getCredentialsWithSameUsernameAndPassword(),
+                    CollectionUtils.wrap("name", "CAS"));
+            dynamoDbTicketRegistryFacilitator.put(ticket, ticket, "casuser");
+            assertTrue(dynamoDbTicketRegistryFacilitator.getExpiredTickets().isEmpty());
+            dynamoDbTicketRegistryFacilitator.updateExpirationCheckTime(ticket, ticket.getId(), System.currentTimeMillis() - 1000);
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.getExpiredTickets().size());
+
+            val unknown = new MockTicketGrantingTicket("casuser");
+            assertDoesNotThrow(() -> dynamoDbTicketRegistryFacilitator.updateExpirationCheckTime(unknown, unknown.getId(),
+                System.currentTimeMillis()));
+            assertEquals(1, dynamoDbTicketRegistryFacilitator.deleteAll());
+        }
     }
 
     @Nested
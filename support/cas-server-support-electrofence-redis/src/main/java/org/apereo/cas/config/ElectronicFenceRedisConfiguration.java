@@ -0,0 +1,64 @@
+package org.apereo.cas.config;
+
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
+import org.apereo.cas.authentication.CasSSLContext;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.support.CasFeatureModule;
+import org.apereo.cas.impl.profile.redis.RedisAuthenticationRiskProfileStore;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.redis.core.RedisObjectFactory;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
+
+import lombok.val;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+/**
+ * This is {@link ElectronicFenceRedisConfiguration}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Configuration(value = "ElectronicFenceRedisConfiguration", proxyBeanMethods = false)
+@EnableConfigurationProperties(CasConfigurationProperties.class)
+@ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.Electrofence, module = "redis")
+public class ElectronicFenceRedisConfiguration {
+
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @ConditionalOnMissingBean(name = "redisAuthenticationRiskProfileConnectionFactory")
+    public RedisConnectionFactory redisAuthenticationRiskProfileConnectionFactory(
+        @Qualifier(CasSSLContext.BEAN_NAME)
+        final CasSSLContext casSslContext,
+        final CasConfigurationProperties casProperties) {
+        val redis = casProperties.getAuthn().getAdaptive().getRisk().getProfile().getRedis();
+        return RedisObjectFactory.newRedisConnectionFactory(redis, casSslContext);
+    }
+
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @ConditionalOnMissingBean(name = "redisAuthenticationRiskProfileTemplate")
+    public CasRedisTemplate<String, String> redisAuthenticationRiskProfileTemplate(
+        @Qualifier("redisAuthenticationRiskProfileConnectionFactory")
+        final RedisConnectionFactory redisAuthenticationRiskProfileConnectionFactory) {
+        return RedisObjectFactory.newStringRedisTemplate(redisAuthenticationRiskProfileConnectionFactory);
+    }
+
+    @Bean
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    public AuthenticationRiskProfileStore authenticationRiskProfileStore(
+        @Qualifier("redisAuthenticationRiskProfileTemplate")
+        final CasRedisTemplate<String, String> redisAuthenticationRiskProfileTemplate,
+        @Qualifier(CasEventRepository.BEAN_NAME)
+        final CasEventRepository casEventRepository,
+        final CasConfigurationProperties casProperties) {
+        return new RedisAuthenticationRiskProfileStore(casEventRepository, casProperties, redisAuthenticationRiskProfileTemplate);
+    }
+}
@@ -0,0 +1,117 @@
+package org.apereo.cas.impl.profile.redis;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.impl.profile.BaseAuthenticationRiskProfileStore;
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This is {@link RedisAuthenticationRiskProfileStore} that stores risk profiles in a redis database.
+ * Each profile is kept as a redis hash of counters, keyed by day, counter type and value, and
+ * authentication events are applied with {@code HINCRBY} inside a script, so that concurrent
+ * updates from multiple CAS nodes are never lost. Counters of days that fall outside the history
+ * window are removed as profiles are read, and profiles are set to expire once they have not
+ * been updated for the duration of the authentication history.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+public class RedisAuthenticationRiskProfileStore extends BaseAuthenticationRiskProfileStore {
+    private static final String KEY_SEPARATOR = ":";
+
+    private static final String CAS_PREFIX = RedisAuthenticationRiskProfileStore.class.getSimpleName();
+
+    private static final String MODE_INCREMENT = "increment";
+
+    private static final String MODE_INITIALIZE = "initialize";
+
+    /**
+     * Apply counters to the profile hash, only if the profile exists when incrementing
+     * or only if it does not exist when initializing it from the authentication history.
+     */
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+        "local exists = redis.call('EXISTS', KEYS[1]) "
+        + "if (exists == 1 and ARGV[2] == '" + MODE_INITIALIZE + "') "
+        + "or (exists == 0 and ARGV[2] == '" + MODE_INCREMENT + "') then return 0 end "
+        + "for i = 3, #ARGV, 2 do redis.call('HINCRBY', KEYS[1], ARGV[i], ARGV[i + 1]) end "
+        + "redis.call('EXPIRE', KEYS[1], ARGV[1]) "
+        + "return 1", Long.class);
+
+    private final CasRedisTemplate<String, String> template;
+
+    public RedisAuthenticationRiskProfileStore(final CasEventRepository casEventRepository,
+                                               final CasConfigurationProperties casProperties,
+                                               final CasRedisTemplate<String, String> template) {
+        super(casEventRepository, casProperties);
+        this.template = template;
+    }
+
+    private static String getKey(final String principal) {
+        return CAS_PREFIX + KEY_SEPARATOR + principal;
+    }
+
+    @Override
+    protected void updateProfile(final CasEvent event) {
+        val principal = event.getPrincipalId();
+        if (!applyCounters(principal, MODE_INCREMENT, AuthenticationRiskProfile.toCounters(event))) {
+            LOGGER.trace("Building risk profile for [{}] from the authentication history", principal);
+            saveProfile(buildProfile(principal));
+        }
+    }
+
+    @Override
+    protected AuthenticationRiskProfile findProfile(final String principal) {
+        val key = getKey(principal);
+        val entries = template.<String, String>opsForHash().entries(key);
+        if (entries.isEmpty()) {
+            return null;
+        }
+        val startDay = AuthenticationRiskProfile.getHistoryStartDay(getHistoryStartDate());
+        val counters = new HashMap<String, Long>(entries.size());
+        val expired = new ArrayList<Object>();
+        entries.forEach((counter, value) -> AuthenticationRiskProfile.getCounterDay(counter).ifPresent(day -> {
+            if (day < startDay) {
+                expired.add(counter);
+            } else {
+                counters.put(counter, Long.parseLong(value));
+            }
+        }));
+        if (!expired.isEmpty()) {
+            LOGGER.trace("Removing [{}] expired risk profile counters for [{}]", expired.size(), principal);
+            template.opsForHash().delete(key, expired.toArray());
+        }
+        return AuthenticationRiskProfile.fromCounters(principal, counters);
+    }
+
+    @Override
+    protected void saveProfile(final AuthenticationRiskProfile profile) {
+        applyCounters(profile.getPrincipal(), MODE_INITIALIZE, profile.toCounters());
+    }
+
+    private boolean applyCounters(final String principal, final String mode, final Map<String, Long> counters) {
+        val args = new ArrayList<String>(2 + counters.size() * 2);
+        args.add(String.valueOf(Math.max(1, getHistoryDuration().toSeconds())));
+        args.add(mode);
+        counters.forEach((counter, value) -> {
+            args.add(counter);
+            args.add(String.valueOf(value));
+        });
+        val result = template.execute(UPDATE_SCRIPT, List.of(getKey(principal)), args.toArray());
+        return result != null && result == 1;
+    }
+}
@@ -0,0 +1,101 @@
+package org.apereo.cas.impl.profile.redis;
+
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
+import org.apereo.cas.config.CasCoreHttpConfiguration;
+import org.apereo.cas.config.CasEventsInMemoryRepositoryConfiguration;
+import org.apereo.cas.config.ElectronicFenceRedisConfiguration;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link RedisAuthenticationRiskProfileStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Redis")
+@SpringBootTest(classes = {
+    ElectronicFenceRedisConfiguration.class,
+    CasEventsInMemoryRepositoryConfiguration.class,
+    CasCoreHttpConfiguration.class,
+    RefreshAutoConfiguration.class
+},
+    properties = {
+        "cas.authn.adaptive.risk.profile.redis.host=localhost",
+        "cas.authn.adaptive.risk.profile.redis.port=6379"
+    })
+@EnabledIfListeningOnPort(port = 6379)
+public class RedisAuthenticationRiskProfileStoreTests {
+    @Autowired
+    @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+    private AuthenticationRiskProfileStore authenticationRiskProfileStore;
+
+    @Autowired
+    @Qualifier(CasEventRepository.BEAN_NAME)
+    private CasEventRepository casEventRepository;
+
+    private static CasEvent getEvent(final String principal) {
+        val event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        event.setPrincipalId(principal);
+        event.setCreationTime(ZonedDateTime.now(ZoneOffset.UTC).toString());
+        event.putClientIpAddress("1.2.3.4");
+        event.putAgent("Firefox");
+        return event;
+    }
+
+    @Test
+    public void verifyOperation() throws Exception {
+        val principal = UUID.randomUUID().toString();
+        casEventRepository.save(getEvent(principal));
+        assertEquals(1, authenticationRiskProfileStore.getProfile(principal).getEventCount());
+
+        authenticationRiskProfileStore.update(getEvent(principal));
+        val profile = authenticationRiskProfileStore.getProfile(principal);
+        assertEquals(2, profile.getEventCount());
+        assertEquals(2, profile.getIpAddressCount("1.2.3.4"));
+        assertEquals(2, profile.getUserAgentCount("firefox"));
+    }
+
+    @Test
+    public void verifyConcurrentUpdates() throws Exception {
+        val principal = UUID.randomUUID().toString();
+        casEventRepository.save(getEvent(principal));
+        assertEquals(1, authenticationRiskProfileStore.getProfile(principal).getEventCount());
+
+        val updates = 50;
+        val executor = Executors.newFixedThreadPool(8);
+        try {
+            val futures = IntStream.range(0, updates)
+                .mapToObj(i -> executor.submit(() -> authenticationRiskProfileStore.update(getEvent(principal))))
+                .collect(Collectors.toList());
+            for (val future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        val profile = authenticationRiskProfileStore.getProfile(principal);
+        assertEquals(updates + 1, profile.getEventCount());
+        assertEquals(updates + 1, profile.getIpAddressCount("1.2.3.4"));
+    }
+}
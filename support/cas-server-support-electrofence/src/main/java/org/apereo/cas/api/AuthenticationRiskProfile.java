@@ -0,0 +1,337 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.Serializable;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * This is {@link AuthenticationRiskProfile}, which keeps track of how often
+ * a principal has authenticated from a given ip address, user agent, geolocation
+ * and hour of the day. Counts are kept in daily buckets, so that
+ * authentication events that fall outside the history window can be expired
+ * without having to query the authentication history again.
+ * <p>
+ * Profiles can also be represented as a flat map of counters, keyed by day,
+ * counter type and value, which allows stores to update counts atomically
+ * in place instead of replacing the whole profile.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@ToString(of = {"principal", "totals"})
+@RequiredArgsConstructor
+public class AuthenticationRiskProfile implements Serializable {
+    private static final long serialVersionUID = -2850424389254364611L;
+
+    private static final int HOURS_IN_DAY = 24;
+
+    private static final String COUNTER_SEPARATOR = ":";
+
+    private static final String COUNTER_TOTAL = "count";
+
+    private static final String COUNTER_HOUR = "hour";
+
+    private static final String COUNTER_IP_ADDRESS = "ip";
+
+    private static final String COUNTER_USER_AGENT = "agent";
+
+    private static final String COUNTER_GEO_LOCATION = "geo";
+
+    @Getter
+    private final String principal;
+
+    private final TreeMap<Long, Counts> days = new TreeMap<>();
+
+    private final Counts totals = new Counts();
+
+    private ZonedDateTime lastEventTime;
+
+    private static String getGeoLocationKey(final GeoLocationRequest location) {
+        return location.getLatitude() + "," + location.getLongitude();
+    }
+
+    private static ZonedDateTime getCreationTime(final CasEvent event) {
+        return Optional.ofNullable(event.getCreationTime())
+            .map(DateTimeUtils::convertToZonedDateTime)
+            .map(dt -> dt.withZoneSameInstant(ZoneOffset.UTC))
+            .orElseGet(() -> ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Gets the counters that recording the given authentication event adds to a profile.
+     *
+     * @param event the event
+     * @return the counters, keyed by day, counter type and value
+     */
+    public static Map<String, Long> toCounters(final CasEvent event) {
+        val creationTime = getCreationTime(event);
+        val counts = new Counts();
+        counts.add(event, creationTime.getHour());
+        val counters = new HashMap<String, Long>();
+        counts.export(creationTime.toLocalDate().toEpochDay(), counters);
+        return counters;
+    }
+
+    /**
+     * Build a profile from counters produced by {@link #toCounters()} or {@link #toCounters(CasEvent)}.
+     * Counters that cannot be parsed are ignored.
+     *
+     * @param principal the principal
+     * @param counters  the counters
+     * @return the authentication risk profile
+     */
+    public static AuthenticationRiskProfile fromCounters(final String principal, final Map<String, Long> counters) {
+        val profile = new AuthenticationRiskProfile(principal);
+        counters.forEach((counter, value) -> {
+            val day = getCounterDay(counter);
+            if (day.isPresent()) {
+                val parts = counter.split(COUNTER_SEPARATOR, 3);
+                val key = parts.length > 2 ? parts[2] : StringUtils.EMPTY;
+                profile.days.computeIfAbsent(day.get(), k -> new Counts()).apply(parts[1], key, value);
+                profile.totals.apply(parts[1], key, value);
+            }
+        });
+        return profile;
+    }
+
+    /**
+     * Gets the day, as an epoch day, to which the counter belongs.
+     *
+     * @param counter the counter
+     * @return the day, or empty if the counter cannot be parsed
+     */
+    public static Optional<Long> getCounterDay(final String counter) {
+        val parts = counter.split(COUNTER_SEPARATOR, 3);
+        if (parts.length < 2 || !StringUtils.isNumeric(parts[0])) {
+            return Optional.empty();
+        }
+        return Optional.of(Long.parseLong(parts[0]));
+    }
+
+    /**
+     * Gets the start day, as an epoch day, of a history window that starts at the given date.
+     *
+     * @param dateTime the date time
+     * @return the day
+     */
+    public static long getHistoryStartDay(final ZonedDateTime dateTime) {
+        return dateTime.withZoneSameInstant(ZoneOffset.UTC).toLocalDate().toEpochDay();
+    }
+
+    /**
+     * Record the authentication event into this profile.
+     *
+     * @param event the event
+     */
+    public synchronized void record(final CasEvent event) {
+        val creationTime = getCreationTime(event);
+        val day = creationTime.toLocalDate().toEpochDay();
+        val hour = creationTime.getHour();
+        days.computeIfAbsent(day, k -> new Counts()).add(event, hour);
+        totals.add(event, hour);
+        if (lastEventTime == null || creationTime.isAfter(lastEventTime)) {
+            lastEventTime = creationTime;
+        }
+    }
+
+    /**
+     * Gets the creation time of the most recent authentication event recorded into this profile.
+     *
+     * @return the time, or empty if no event is recorded
+     */
+    public synchronized Optional<ZonedDateTime> getLastEventTime() {
+        return Optional.ofNullable(lastEventTime);
+    }
+
+    /**
+     * Remove authentication events recorded before the given date from this profile.
+     *
+     * @param dateTime the date time
+     */
+    public synchronized void expire(final ZonedDateTime dateTime) {
+        val expired = days.headMap(getHistoryStartDay(dateTime));
+        expired.values().forEach(totals::subtract);
+        expired.clear();
+    }
+
+    /**
+     * Gets the counters of this profile.
+     *
+     * @return the counters, keyed by day, counter type and value
+     */
+    public synchronized Map<String, Long> toCounters() {
+        val counters = new HashMap<String, Long>();
+        days.forEach((day, counts) -> counts.export(day, counters));
+        return counters;
+    }
+
+    /**
+     * Gets the number of authentication events in this profile.
+     *
+     * @return the count
+     */
+    public synchronized long getEventCount() {
+        return totals.count;
+    }
+
+    /**
+     * Gets the number of authentication events from the given ip address.
+     *
+     * @param ipAddress the ip address
+     * @return the count
+     */
+    public synchronized long getIpAddressCount(final String ipAddress) {
+        return StringUtils.isBlank(ipAddress) ? 0 : totals.ipAddresses.getOrDefault(ipAddress.toLowerCase(), 0L);
+    }
+
+    /**
+     * Gets the number of authentication events from the given user agent.
+     *
+     * @param userAgent the user agent
+     * @return the count
+     */
+    public synchronized long getUserAgentCount(final String userAgent) {
+        return StringUtils.isBlank(userAgent) ? 0 : totals.userAgents.getOrDefault(userAgent.toLowerCase(), 0L);
+    }
+
+    /**
+     * Gets the number of authentication events from the given geolocation.
+     *
+     * @param location the location
+     * @return the count
+     */
+    public synchronized long getGeoLocationCount(final GeoLocationRequest location) {
+        return totals.geoLocations.getOrDefault(getGeoLocationKey(location), 0L);
+    }
+
+    /**
+     * Gets the number of authentication events that occurred between the given hours of the day, inclusive.
+     * If the start hour is after the end hour, the range wraps around midnight.
+     *
+     * @param fromHour the from hour
+     * @param toHour   the to hour
+     * @return the count
+     */
+    public synchronized long getHourOfDayCount(final int fromHour, final int toHour) {
+        var count = 0L;
+        for (var hour = 0; hour < HOURS_IN_DAY; hour++) {
+            val inRange = fromHour <= toHour
+                ? hour >= fromHour && hour <= toHour
+                : hour >= fromHour || hour <= toHour;
+            if (inRange) {
+                count += totals.hours[hour];
+            }
+        }
+        return count;
+    }
+
+    private static final class Counts implements Serializable {
+        private static final long serialVersionUID = 4391741538736491847L;
+
+        private final Map<String, Long> ipAddresses = new HashMap<>();
+
+        private final Map<String, Long> userAgents = new HashMap<>();
+
+        private final Map<String, Long> geoLocations = new HashMap<>();
+
+        private final long[] hours = new long[HOURS_IN_DAY];
+
+        private long count;
+
+        private static void decrement(final Map<String, Long> counts, final Map<String, Long> other) {
+            other.forEach((key, value) -> counts.computeIfPresent(key, (k, current) -> current > value ? current - value : null));
+        }
+
+        private static void increment(final Map<String, Long> counts, final String key) {
+            if (StringUtils.isNotBlank(key)) {
+                counts.merge(key, 1L, Long::sum);
+            }
+        }
+
+        private static String getCounter(final long day, final String type, final String key) {
+            return day + COUNTER_SEPARATOR + type + COUNTER_SEPARATOR + key;
+        }
+
+        private static void export(final long day, final String type, final Map<String, Long> counts,
+                                   final Map<String, Long> counters) {
+            counts.forEach((key, value) -> counters.put(getCounter(day, type, key), value));
+        }
+
+        void add(final CasEvent event, final int hour) {
+            count++;
+            hours[hour]++;
+            increment(ipAddresses, StringUtils.lowerCase(event.getClientIpAddress()));
+            increment(userAgents, StringUtils.lowerCase(event.getAgent()));
+            val location = event.getGeoLocation();
+            if (StringUtils.isNotBlank(location.getLatitude()) && StringUtils.isNotBlank(location.getLongitude())) {
+                increment(geoLocations, getGeoLocationKey(location));
+            }
+        }
+
+        void export(final long day, final Map<String, Long> counters) {
+            counters.put(getCounter(day, COUNTER_TOTAL, StringUtils.EMPTY), count);
+            for (var hour = 0; hour < HOURS_IN_DAY; hour++) {
+                if (hours[hour] > 0) {
+                    counters.put(getCounter(day, COUNTER_HOUR, String.valueOf(hour)), hours[hour]);
+                }
+            }
+            export(day, COUNTER_IP_ADDRESS, ipAddresses, counters);
+            export(day, COUNTER_USER_AGENT, userAgents, counters);
+            export(day, COUNTER_GEO_LOCATION, geoLocations, counters);
+        }
+
+        void apply(final String type, final String key, final long value) {
+            switch (type) {
+                case COUNTER_TOTAL:
+                    count += value;
+                    break;
+                case COUNTER_HOUR:
+                    if (StringUtils.isNumeric(key) && Integer.parseInt(key) < HOURS_IN_DAY) {
+                        hours[Integer.parseInt(key)] += value;
+                    }
+                    break;
+                case COUNTER_IP_ADDRESS:
+                    ipAddresses.merge(key, value, Long::sum);
+                    break;
+                case COUNTER_USER_AGENT:
+                    userAgents.merge(key, value, Long::sum);
+                    break;
+                case COUNTER_GEO_LOCATION:
+                    geoLocations.merge(key, value, Long::sum);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        void subtract(final Counts other) {
+            count -= other.count;
+            for (var hour = 0; hour < HOURS_IN_DAY; hour++) {
+                hours[hour] -= other.hours[hour];
+            }
+            decrement(ipAddresses, other.ipAddresses);
+            decrement(userAgents, other.userAgents);
+            decrement(geoLocations, other.geoLocations);
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + count + ", ipAddresses=" + ipAddresses.size()
+                + ", userAgents=" + userAgents.size() + ", geoLocations=" + geoLocations.size();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package org.apereo.cas.api;
+
+import org.apereo.cas.support.events.dao.CasEvent;
+
+/**
+ * This is {@link AuthenticationRiskProfileStore}, which keeps
+ * track of risk profiles for each principal and updates them
+ * as authentication events are recorded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public interface AuthenticationRiskProfileStore {
+    /**
+     * Bean name.
+     */
+    String BEAN_NAME = "authenticationRiskProfileStore";
+
+    /**
+     * Gets the risk profile for the principal, limited to
+     * authentication events that are within the history window.
+     *
+     * @param principal the principal
+     * @return the risk profile
+     */
+    AuthenticationRiskProfile getProfile(String principal);
+
+    /**
+     * Update the risk profile of the principal linked to the event.
+     *
+     * @param event the event
+     */
+    void update(CasEvent event);
+}
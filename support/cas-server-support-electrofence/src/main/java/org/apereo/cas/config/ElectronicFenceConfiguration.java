@@ -5,6 +5,7 @@ import org.apereo.cas.api.AuthenticationRiskContingencyPlan;
 import org.apereo.cas.api.AuthenticationRiskEvaluator;
 import org.apereo.cas.api.AuthenticationRiskMitigator;
 import org.apereo.cas.api.AuthenticationRiskNotifier;
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
 import org.apereo.cas.audit.AuditActionResolvers;
 import org.apereo.cas.audit.AuditResourceResolvers;
 import org.apereo.cas.audit.AuditTrailRecordResolutionPlanConfigurer;
@@ -22,6 +23,10 @@ import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifier;
 import org.apereo.cas.impl.plans.BaseAuthenticationRiskContingencyPlan;
 import org.apereo.cas.impl.plans.BlockAuthenticationContingencyPlan;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlan;
+import org.apereo.cas.impl.profile.AuthenticationRiskProfileEventListener;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileEventListener;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileStore;
+import org.apereo.cas.impl.profile.InMemoryAuthenticationRiskProfileStore;
 import org.apereo.cas.notifications.CommunicationsManager;
 import org.apereo.cas.support.events.CasEventRepository;
 import org.apereo.cas.util.spring.beans.BeanCondition;
@@ -165,6 +170,32 @@ public class ElectronicFenceConfiguration {
 
     }
 
+    @Configuration(value = "ElectronicFenceRiskProfileConfiguration", proxyBeanMethods = false)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    public static class ElectronicFenceRiskProfileConfiguration {
+        @ConditionalOnMissingBean(name = AuthenticationRiskProfileStore.BEAN_NAME)
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public AuthenticationRiskProfileStore authenticationRiskProfileStore(
+            final CasConfigurationProperties casProperties,
+            @Qualifier(CasEventRepository.BEAN_NAME)
+            final CasEventRepository casEventRepository) {
+            if (casProperties.getAuthn().getAdaptive().getRisk().getProfile().isInMemory()) {
+                return new InMemoryAuthenticationRiskProfileStore(casEventRepository, casProperties);
+            }
+            return new DefaultAuthenticationRiskProfileStore(casEventRepository, casProperties);
+        }
+
+        @ConditionalOnMissingBean(name = "authenticationRiskProfileEventListener")
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        public AuthenticationRiskProfileEventListener authenticationRiskProfileEventListener(
+            @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+            final AuthenticationRiskProfileStore authenticationRiskProfileStore) {
+            return new DefaultAuthenticationRiskProfileEventListener(authenticationRiskProfileStore);
+        }
+    }
+
     @Configuration(value = "ElectronicFenceCalculatorConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     public static class ElectronicFenceCalculatorConfiguration {
@@ -175,11 +206,11 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator ipAddressAuthenticationRequestRiskCalculator(
             final ConfigurableApplicationContext applicationContext,
             final CasConfigurationProperties casProperties,
-            @Qualifier(CasEventRepository.BEAN_NAME)
-            final CasEventRepository casEventRepository) throws Exception {
+            @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+            final AuthenticationRiskProfileStore authenticationRiskProfileStore) throws Exception {
             return BeanSupplier.of(AuthenticationRequestRiskCalculator.class)
                 .when(BeanCondition.on("cas.authn.adaptive.risk.ip.enabled").isTrue().given(applicationContext.getEnvironment()))
-                .supply(() -> new IpAddressAuthenticationRequestRiskCalculator(casEventRepository, casProperties))
+                .supply(() -> new IpAddressAuthenticationRequestRiskCalculator(authenticationRiskProfileStore, casProperties))
                 .otherwiseProxy()
                 .get();
         }
@@ -190,11 +221,11 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator userAgentAuthenticationRequestRiskCalculator(
             final ConfigurableApplicationContext applicationContext,
             final CasConfigurationProperties casProperties,
-            @Qualifier(CasEventRepository.BEAN_NAME)
-            final CasEventRepository casEventRepository) throws Exception {
+            @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+            final AuthenticationRiskProfileStore authenticationRiskProfileStore) throws Exception {
             return BeanSupplier.of(AuthenticationRequestRiskCalculator.class)
                 .when(BeanCondition.on("cas.authn.adaptive.risk.agent.enabled").isTrue().given(applicationContext.getEnvironment()))
-                .supply(() -> new UserAgentAuthenticationRequestRiskCalculator(casEventRepository, casProperties))
+                .supply(() -> new UserAgentAuthenticationRequestRiskCalculator(authenticationRiskProfileStore, casProperties))
                 .otherwiseProxy()
                 .get();
         }
@@ -205,11 +236,11 @@ public class ElectronicFenceConfiguration {
         public AuthenticationRequestRiskCalculator dateTimeAuthenticationRequestRiskCalculator(
             final ConfigurableApplicationContext applicationContext,
             final CasConfigurationProperties casProperties,
-            @Qualifier(CasEventRepository.BEAN_NAME)
-            final CasEventRepository casEventRepository) throws Exception {
+            @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+            final AuthenticationRiskProfileStore authenticationRiskProfileStore) throws Exception {
             return BeanSupplier.of(AuthenticationRequestRiskCalculator.class)
                 .when(BeanCondition.on("cas.authn.adaptive.risk.date-time.enabled").isTrue().given(applicationContext.getEnvironment()))
-                .supply(() -> new DateTimeAuthenticationRequestRiskCalculator(casEventRepository, casProperties))
+                .supply(() -> new DateTimeAuthenticationRequestRiskCalculator(authenticationRiskProfileStore, casProperties))
                 .otherwiseProxy()
                 .get();
         }
@@ -227,11 +258,11 @@ public class ElectronicFenceConfiguration {
             final CasConfigurationProperties casProperties,
             @Qualifier(GeoLocationService.BEAN_NAME)
             final GeoLocationService geoLocationService,
-            @Qualifier(CasEventRepository.BEAN_NAME)
-            final CasEventRepository casEventRepository) throws Exception {
+            @Qualifier(AuthenticationRiskProfileStore.BEAN_NAME)
+            final AuthenticationRiskProfileStore authenticationRiskProfileStore) throws Exception {
             return BeanSupplier.of(AuthenticationRequestRiskCalculator.class)
                 .when(BeanCondition.on("cas.authn.adaptive.risk.geo-location.enabled").isTrue().given(applicationContext.getEnvironment()))
-                .supply(() -> new GeoLocationAuthenticationRequestRiskCalculator(casEventRepository, casProperties, geoLocationService))
+                .supply(() -> new GeoLocationAuthenticationRequestRiskCalculator(authenticationRiskProfileStore, casProperties, geoLocationService))
                 .otherwiseProxy()
                 .get();
         }
@@ -1,13 +1,12 @@
 package org.apereo.cas.impl.calcs;
 
 import org.apereo.cas.api.AuthenticationRequestRiskCalculator;
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
 import org.apereo.cas.api.AuthenticationRiskScore;
 import org.apereo.cas.authentication.Authentication;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.services.RegisteredService;
-import org.apereo.cas.support.events.CasEventRepository;
-import org.apereo.cas.support.events.dao.CasEvent;
-import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -17,10 +16,6 @@ import lombok.val;
 import javax.servlet.http.HttpServletRequest;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
 /**
  * This is {@link BaseAuthenticationRequestRiskCalculator}.
@@ -33,9 +28,9 @@ import java.util.stream.Stream;
 public abstract class BaseAuthenticationRequestRiskCalculator implements AuthenticationRequestRiskCalculator {
 
     /**
-     * CAS event repository instance.
+     * Store that keeps the risk profile of each principal.
      */
-    protected final CasEventRepository casEventRepository;
+    protected final AuthenticationRiskProfileStore authenticationRiskProfileStore;
 
     /**
      * CAS settings.
@@ -47,17 +42,11 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
                                                    final RegisteredService service,
                                                    final HttpServletRequest request) {
         val principal = authentication.getPrincipal();
-        val events = new Supplier<Stream<? extends CasEvent>>() {
-            @Override
-            public Stream<? extends CasEvent> get() {
-                return getCasTicketGrantingTicketCreatedEventsFor(principal.getId());
-            }
-        };
-
-        if (events.get().findAny().isEmpty()) {
+        val profile = authenticationRiskProfileStore.getProfile(principal.getId());
+        if (profile.getEventCount() == 0) {
             return new AuthenticationRiskScore(HIGHEST_RISK_SCORE);
         }
-        val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, events));
+        val score = new AuthenticationRiskScore(calculateScore(request, authentication, service, profile));
         LOGGER.debug("Calculated authentication risk score by [{}] is [{}]", getClass().getSimpleName(), score);
         return score;
     }
@@ -68,43 +57,28 @@ public abstract class BaseAuthenticationRequestRiskCalculator implements Authent
      * @param request        the request
      * @param authentication the authentication
      * @param service        the service
-     * @param events         the events
+     * @param profile        the risk profile of the principal
      * @return the authentication risk score
      */
     protected BigDecimal calculateScore(final HttpServletRequest request,
                                         final Authentication authentication,
                                         final RegisteredService service,
-                                        final Supplier<Stream<? extends CasEvent>> events) {
+                                        final AuthenticationRiskProfile profile) {
         return HIGHEST_RISK_SCORE;
     }
 
-    /**
-     * Gets cas ticket granting ticket created events.
-     *
-     * @param principal the principal
-     * @return the cas ticket granting ticket created events for
-     */
-    protected Stream<? extends CasEvent> getCasTicketGrantingTicketCreatedEventsFor(final String principal) {
-        val type = CasTicketGrantingTicketCreatedEvent.class.getName();
-        LOGGER.debug("Retrieving events of type [{}] for [{}]", type, principal);
-
-        val date = ZonedDateTime.now(ZoneOffset.UTC)
-            .minusDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
-        return casEventRepository.getEventsOfTypeForPrincipal(type, principal, date);
-    }
-
     /**
      * Calculate score based on events count big decimal.
      *
      * @param authentication the authentication
-     * @param events         the events
+     * @param profile        the risk profile of the principal
      * @param count          the count
      * @return the big decimal
      */
     protected BigDecimal calculateScoreBasedOnEventsCount(final Authentication authentication,
-                                                          final Supplier<Stream<? extends CasEvent>> events,
+                                                          final AuthenticationRiskProfile profile,
                                                           final long count) {
-        val eventCount = events.get().count();
+        val eventCount = profile.getEventCount();
         if (count == eventCount) {
             LOGGER.debug("Principal [{}] is assigned to the lowest risk score with attempted count of [{}]",
                 authentication.getPrincipal(), count);
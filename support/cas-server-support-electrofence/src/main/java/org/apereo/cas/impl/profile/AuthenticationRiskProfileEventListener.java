@@ -0,0 +1,25 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.util.spring.CasEventListener;
+
+import org.springframework.boot.actuate.audit.listener.AuditApplicationEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * This is {@link AuthenticationRiskProfileEventListener}, which updates
+ * authentication risk profiles as authentication events are saved
+ * into the events repository.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@FunctionalInterface
+public interface AuthenticationRiskProfileEventListener extends CasEventListener {
+    /**
+     * Handle the event published once an authentication event is saved.
+     *
+     * @param event the event
+     */
+    @EventListener
+    void handleCasEventSaved(AuditApplicationEvent event);
+}
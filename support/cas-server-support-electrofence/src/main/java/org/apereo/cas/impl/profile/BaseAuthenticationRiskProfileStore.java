@@ -0,0 +1,128 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link BaseAuthenticationRiskProfileStore}. Risk profiles that are not found
+ * in the store are built once from the authentication history in the {@link CasEventRepository},
+ * and are then kept up to date as new authentication events are recorded.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class BaseAuthenticationRiskProfileStore implements AuthenticationRiskProfileStore {
+    private static final String EVENT_TYPE = CasTicketGrantingTicketCreatedEvent.class.getName();
+
+    /**
+     * CAS event repository instance.
+     */
+    protected final CasEventRepository casEventRepository;
+
+    /**
+     * CAS settings.
+     */
+    protected final CasConfigurationProperties casProperties;
+
+    @Override
+    public AuthenticationRiskProfile getProfile(final String principal) {
+        var profile = findProfile(principal);
+        if (profile == null) {
+            profile = buildProfile(principal);
+            saveProfile(profile);
+        }
+        profile.expire(getHistoryStartDate());
+        return profile;
+    }
+
+    @Override
+    public void update(final CasEvent event) {
+        if (EVENT_TYPE.equals(event.getType())) {
+            updateProfile(event);
+        }
+    }
+
+    /**
+     * Update the risk profile of the principal linked to the authentication event.
+     * By default, the profile is loaded, updated and saved back, which is not atomic;
+     * stores that are shared among nodes should update the stored profile in place.
+     *
+     * @param event the event
+     */
+    protected void updateProfile(final CasEvent event) {
+        val profile = findProfile(event.getPrincipalId());
+        if (profile == null) {
+            LOGGER.trace("Building risk profile for [{}] from the authentication history", event.getPrincipalId());
+            saveProfile(buildProfile(event.getPrincipalId()));
+        } else {
+            profile.record(event);
+            profile.expire(getHistoryStartDate());
+            saveProfile(profile);
+        }
+    }
+
+    /**
+     * Gets the duration for which risk profiles should be kept.
+     *
+     * @return the duration
+     */
+    protected Duration getHistoryDuration() {
+        return Duration.ofDays(casProperties.getAuthn().getAdaptive().getRisk().getDaysInRecentHistory());
+    }
+
+    /**
+     * Build the risk profile from the authentication history of the principal.
+     *
+     * @param principal the principal
+     * @return the authentication risk profile
+     */
+    protected AuthenticationRiskProfile buildProfile(final String principal) {
+        LOGGER.debug("Retrieving events of type [{}] for [{}]", EVENT_TYPE, principal);
+        val profile = new AuthenticationRiskProfile(principal);
+        try (val events = casEventRepository.getEventsOfTypeForPrincipal(EVENT_TYPE, principal, getHistoryStartDate())) {
+            events.forEach(profile::record);
+        }
+        return profile;
+    }
+
+    /**
+     * Find the risk profile for the principal.
+     *
+     * @param principal the principal
+     * @return the risk profile, or null if none is found.
+     */
+    protected abstract AuthenticationRiskProfile findProfile(String principal);
+
+    /**
+     * Save the risk profile.
+     *
+     * @param profile the profile
+     */
+    protected abstract void saveProfile(AuthenticationRiskProfile profile);
+
+    /**
+     * Gets the start date of the authentication history window.
+     *
+     * @return the date
+     */
+    protected ZonedDateTime getHistoryStartDate() {
+        return ZonedDateTime.now(ZoneOffset.UTC).minus(getHistoryDuration());
+    }
+}
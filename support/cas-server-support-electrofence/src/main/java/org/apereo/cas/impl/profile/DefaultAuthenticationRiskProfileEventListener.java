@@ -0,0 +1,47 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfileStore;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.util.DateTimeUtils;
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.boot.actuate.audit.listener.AuditApplicationEvent;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileEventListener}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@Getter
+@RequiredArgsConstructor
+public class DefaultAuthenticationRiskProfileEventListener implements AuthenticationRiskProfileEventListener {
+    private final AuthenticationRiskProfileStore authenticationRiskProfileStore;
+
+    @Override
+    public void handleCasEventSaved(final AuditApplicationEvent event) {
+        try {
+            val auditEvent = event.getAuditEvent();
+            val casEvent = new CasEvent();
+            casEvent.setType(auditEvent.getType());
+            casEvent.setPrincipalId(auditEvent.getPrincipal());
+            auditEvent.getData().forEach((key, value) -> casEvent.put(key, value == null ? null : value.toString()));
+            val timestamp = Optional.ofNullable(casEvent.get(CasEvent.FIELD_TIMESTAMP))
+                .map(Long::valueOf)
+                .map(Instant::ofEpochMilli)
+                .orElseGet(auditEvent::getTimestamp);
+            casEvent.setCreationTime(DateTimeUtils.zonedDateTimeOf(timestamp).toString());
+            authenticationRiskProfileStore.update(casEvent);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+    }
+}
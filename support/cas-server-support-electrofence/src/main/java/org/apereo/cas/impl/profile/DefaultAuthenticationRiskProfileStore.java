@@ -0,0 +1,35 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.events.CasEventRepository;
+import org.apereo.cas.support.events.dao.CasEvent;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileStore} that keeps no state of its own,
+ * and builds risk profiles from the authentication history in the {@link CasEventRepository}
+ * every time they are requested. Risk scores always reflect authentication events that are
+ * recorded by all CAS nodes sharing the same event repository.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public class DefaultAuthenticationRiskProfileStore extends BaseAuthenticationRiskProfileStore {
+    public DefaultAuthenticationRiskProfileStore(final CasEventRepository casEventRepository,
+                                                 final CasConfigurationProperties casProperties) {
+        super(casEventRepository, casProperties);
+    }
+
+    @Override
+    protected void updateProfile(final CasEvent event) {
+    }
+
+    @Override
+    protected AuthenticationRiskProfile findProfile(final String principal) {
+        return null;
+    }
+
+    @Override
+    protected void saveProfile(final AuthenticationRiskProfile profile) {
+    }
+}
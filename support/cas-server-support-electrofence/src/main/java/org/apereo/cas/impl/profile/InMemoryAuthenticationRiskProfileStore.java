@@ -0,0 +1,75 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.support.events.CasEventRepository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * This is {@link InMemoryAuthenticationRiskProfileStore} that keeps risk profiles in memory.
+ * Profiles are only updated with authentication events recorded on the local node,
+ * so this store is only suitable for single-node deployments; in a cluster, risk scores
+ * would be calculated from a partial and stale view of the authentication history.
+ * <p>
+ * Profiles expire once their most recent authentication event falls outside the history window,
+ * and are then rebuilt from the authentication history the next time they are needed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public class InMemoryAuthenticationRiskProfileStore extends BaseAuthenticationRiskProfileStore {
+    private final Cache<String, AuthenticationRiskProfile> profiles;
+
+    public InMemoryAuthenticationRiskProfileStore(final CasEventRepository casEventRepository,
+                                                  final CasConfigurationProperties casProperties) {
+        super(casEventRepository, casProperties);
+        this.profiles = Caffeine.newBuilder()
+            .maximumSize(casProperties.getAuthn().getAdaptive().getRisk().getProfile().getMaximumSize())
+            .expireAfter(new LastEventExpiry(getHistoryDuration()))
+            .build();
+    }
+
+    @Override
+    protected AuthenticationRiskProfile findProfile(final String principal) {
+        return profiles.getIfPresent(principal);
+    }
+
+    @Override
+    protected void saveProfile(final AuthenticationRiskProfile profile) {
+        profiles.put(profile.getPrincipal(), profile);
+    }
+
+    @RequiredArgsConstructor
+    private static final class LastEventExpiry implements Expiry<String, AuthenticationRiskProfile> {
+        private final Duration historyDuration;
+
+        @Override
+        public long expireAfterCreate(final String key, final AuthenticationRiskProfile profile, final long currentTime) {
+            return profile.getLastEventTime()
+                .map(time -> Duration.between(ZonedDateTime.now(ZoneOffset.UTC), time.plus(historyDuration)))
+                .map(duration -> Math.max(0, duration.toNanos()))
+                .orElse(0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(final String key, final AuthenticationRiskProfile profile,
+                                      final long currentTime, final long currentDuration) {
+            return expireAfterCreate(key, profile, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(final String key, final AuthenticationRiskProfile profile,
+                                    final long currentTime, final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -7,6 +7,9 @@ import org.apereo.cas.impl.calcs.UserAgentAuthenticationRequestRiskCalculatorTes
 import org.apereo.cas.impl.notify.AuthenticationRiskEmailNotifierTests;
 import org.apereo.cas.impl.notify.AuthenticationRiskSmsNotifierTests;
 import org.apereo.cas.impl.plans.MultifactorAuthenticationContingencyPlanTests;
+import org.apereo.cas.impl.profile.AuthenticationRiskProfileTests;
+import org.apereo.cas.impl.profile.DefaultAuthenticationRiskProfileStoreTests;
+import org.apereo.cas.impl.profile.InMemoryAuthenticationRiskProfileStoreTests;
 import org.apereo.cas.web.flow.RiskAwareAuthenticationWebflowConfigurerTests;
 import org.apereo.cas.web.flow.RiskAwareAuthenticationWebflowEventResolverTests;
 
@@ -28,7 +31,10 @@ import org.junit.platform.suite.api.Suite;
     AuthenticationRiskEmailNotifierTests.class,
     MultifactorAuthenticationContingencyPlanTests.class,
     RiskAwareAuthenticationWebflowEventResolverTests.class,
-    AuthenticationRiskSmsNotifierTests.class
+    AuthenticationRiskSmsNotifierTests.class,
+    AuthenticationRiskProfileTests.class,
+    InMemoryAuthenticationRiskProfileStoreTests.class,
+    DefaultAuthenticationRiskProfileStoreTests.class
 })
 @Suite
 public class AllTestsSuite {
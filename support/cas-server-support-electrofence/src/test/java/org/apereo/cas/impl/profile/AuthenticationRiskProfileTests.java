@@ -0,0 +1,110 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.api.AuthenticationRiskProfile;
+import org.apereo.cas.authentication.adaptive.geo.GeoLocationRequest;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.ticket.CasTicketGrantingTicketCreatedEvent;
+import org.apereo.cas.util.serialization.SerializationUtils;
+
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link AuthenticationRiskProfileTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Authentication")
+public class AuthenticationRiskProfileTests {
+
+    private static CasEvent getEvent(final ZonedDateTime creationTime, final String ipAddress, final String agent) {
+        val event = new CasEvent();
+        event.setType(CasTicketGrantingTicketCreatedEvent.class.getName());
+        event.setPrincipalId("casuser");
+        event.setCreationTime(creationTime.toString());
+        event.putClientIpAddress(ipAddress);
+        event.putAgent(agent);
+        val location = new GeoLocationRequest(40.71, -74.005);
+        event.putGeoLocation(location);
+        return event;
+    }
+
+    @Test
+    public void verifyCounts() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC).withHour(10);
+        val profile = new AuthenticationRiskProfile("casuser");
+        profile.record(getEvent(now, "1.2.3.4", "Firefox"));
+        profile.record(getEvent(now.minusHours(2), "1.2.3.4", "Chrome"));
+        profile.record(getEvent(now.minusDays(1).withHour(23), "5.6.7.8", "firefox"));
+
+        assertEquals(3, profile.getEventCount());
+        assertEquals(2, profile.getIpAddressCount("1.2.3.4"));
+        assertEquals(0, profile.getIpAddressCount("9.9.9.9"));
+        assertEquals(0, profile.getIpAddressCount(null));
+        assertEquals(2, profile.getUserAgentCount("FIREFOX"));
+        assertEquals(3, profile.getGeoLocationCount(new GeoLocationRequest(40.71, -74.005)));
+        assertEquals(0, profile.getGeoLocationCount(new GeoLocationRequest(48.85, 2.35)));
+        assertEquals(2, profile.getHourOfDayCount(8, 10));
+        assertEquals(1, profile.getHourOfDayCount(22, 2));
+        assertEquals(3, profile.getHourOfDayCount(0, 23));
+    }
+
+    @Test
+    public void verifyExpiration() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC);
+        val profile = new AuthenticationRiskProfile("casuser");
+        profile.record(getEvent(now, "1.2.3.4", "Firefox"));
+        profile.record(getEvent(now.minusDays(10), "1.2.3.4", "Chrome"));
+        profile.record(getEvent(now.minusDays(20), "5.6.7.8", "Chrome"));
+        profile.expire(now.minusDays(15));
+        assertEquals(2, profile.getEventCount());
+        assertEquals(0, profile.getIpAddressCount("5.6.7.8"));
+        assertEquals(1, profile.getUserAgentCount("Chrome"));
+        profile.expire(now.minusDays(5));
+        assertEquals(1, profile.getEventCount());
+        assertEquals(0, profile.getUserAgentCount("Chrome"));
+        assertEquals(1, profile.getIpAddressCount("1.2.3.4"));
+    }
+
+    @Test
+    public void verifyCounters() {
+        val now = ZonedDateTime.now(ZoneOffset.UTC).withHour(10);
+        val profile = new AuthenticationRiskProfile("casuser");
+        val first = getEvent(now, "1.2.3.4", "Firefox");
+        profile.record(first);
+        profile.record(getEvent(now.minusDays(2).withHour(23), "2001:db8::1", "Chrome"));
+
+        val counters = AuthenticationRiskProfile.toCounters(first);
+        assertEquals(1L, counters.get(now.toLocalDate().toEpochDay() + ":count:"));
+
+        val result = AuthenticationRiskProfile.fromCounters("casuser", profile.toCounters());
+        assertEquals(2, result.getEventCount());
+        assertEquals(1, result.getIpAddressCount("2001:db8::1"));
+        assertEquals(1, result.getUserAgentCount("firefox"));
+        assertEquals(2, result.getGeoLocationCount(new GeoLocationRequest(40.71, -74.005)));
+        assertEquals(1, result.getHourOfDayCount(23, 23));
+        result.expire(now.minusDays(1));
+        assertEquals(1, result.getEventCount());
+        assertEquals(0, result.getIpAddressCount("2001:db8::1"));
+
+        assertTrue(AuthenticationRiskProfile.getCounterDay("unknown").isEmpty());
+        assertEquals(0, AuthenticationRiskProfile.fromCounters("casuser", Map.of("unknown", 1L)).getEventCount());
+    }
+
+    @Test
+    public void verifySerialization() {
+        val profile = new AuthenticationRiskProfile("casuser");
+        profile.record(getEvent(ZonedDateTime.now(ZoneOffset.UTC), "1.2.3.4", "Firefox"));
+        val result = SerializationUtils.deserialize(SerializationUtils.serialize(profile), AuthenticationRiskProfile.class);
+        assertEquals("casuser", result.getPrincipal());
+        assertEquals(1, result.getIpAddressCount("1.2.3.4"));
+    }
+}
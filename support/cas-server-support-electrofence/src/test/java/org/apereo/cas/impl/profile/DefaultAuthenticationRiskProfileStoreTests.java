@@ -0,0 +1,39 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.impl.mock.MockTicketGrantingTicketCreatedEventProducer;
+import org.apereo.cas.support.events.CasEventRepositoryFilter;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link DefaultAuthenticationRiskProfileStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Authentication")
+public class DefaultAuthenticationRiskProfileStoreTests {
+
+    @Test
+    public void verifyProfileBuiltFromSharedHistory() throws Exception {
+        val casEventRepository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(),
+            Caffeine.newBuilder().build(key -> null));
+        val store = new DefaultAuthenticationRiskProfileStore(casEventRepository, new CasConfigurationProperties());
+        for (var i = 0; i < 5; i++) {
+            MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", i, casEventRepository);
+        }
+        assertEquals(5, store.getProfile("casuser").getEventCount());
+
+        val event = MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", casEventRepository);
+        store.update(event);
+        assertEquals(6, store.getProfile("casuser").getEventCount());
+        assertEquals(0, store.getProfile("unknown").getEventCount());
+    }
+}
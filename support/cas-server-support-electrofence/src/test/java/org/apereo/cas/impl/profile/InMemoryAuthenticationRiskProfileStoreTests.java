@@ -0,0 +1,83 @@
+package org.apereo.cas.impl.profile;
+
+import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.impl.mock.MockTicketGrantingTicketCreatedEventProducer;
+import org.apereo.cas.support.events.CasEventRepositoryFilter;
+import org.apereo.cas.support.events.dao.CasEvent;
+import org.apereo.cas.support.events.dao.InMemoryCasEventRepository;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.val;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.audit.listener.AuditApplicationEvent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link InMemoryAuthenticationRiskProfileStoreTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Authentication")
+public class InMemoryAuthenticationRiskProfileStoreTests {
+
+    @Test
+    public void verifyProfileMaintainedIncrementally() throws Exception {
+        val casEventRepository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(),
+            Caffeine.newBuilder().build(key -> null));
+        val store = new InMemoryAuthenticationRiskProfileStore(casEventRepository, new CasConfigurationProperties());
+        val listener = new DefaultAuthenticationRiskProfileEventListener(store);
+        casEventRepository.setApplicationEventPublisher(event -> listener.handleCasEventSaved((AuditApplicationEvent) event));
+
+        for (var i = 0; i < 10; i++) {
+            MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", i, casEventRepository);
+        }
+        val event = MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", casEventRepository);
+
+        val profile = store.getProfile("casuser");
+        assertEquals(11, profile.getEventCount());
+        assertTrue(profile.getIpAddressCount(event.getClientIpAddress()) >= 1);
+        assertTrue(profile.getUserAgentCount(event.getAgent()) >= 1);
+        assertTrue(profile.getGeoLocationCount(event.getGeoLocation()) >= 1);
+        assertEquals(11, profile.getHourOfDayCount(0, 23));
+        assertSame(profile, store.getProfile("casuser"));
+    }
+
+    @Test
+    public void verifyProfileBuiltFromHistory() throws Exception {
+        val casEventRepository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(),
+            Caffeine.newBuilder().build(key -> null));
+        for (var i = 0; i < 5; i++) {
+            MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", i, casEventRepository);
+        }
+        val store = new InMemoryAuthenticationRiskProfileStore(casEventRepository, new CasConfigurationProperties());
+        assertEquals(5, store.getProfile("casuser").getEventCount());
+        assertEquals(0, store.getProfile("unknown").getEventCount());
+
+        val otherEvent = new CasEvent();
+        otherEvent.setType("OtherEvent");
+        otherEvent.setPrincipalId("casuser");
+        store.update(otherEvent);
+        assertEquals(5, store.getProfile("casuser").getEventCount());
+    }
+
+    @Test
+    public void verifyProfileExpiresWithLastEvent() throws Exception {
+        val casEventRepository = new InMemoryCasEventRepository(CasEventRepositoryFilter.noOp(),
+            Caffeine.newBuilder().build(key -> null));
+        MockTicketGrantingTicketCreatedEventProducer.createEvent("casuser", 1, casEventRepository);
+        val casProperties = new CasConfigurationProperties();
+        casProperties.getAuthn().getAdaptive().getRisk().setDaysInRecentHistory(10);
+        val store = new InMemoryAuthenticationRiskProfileStore(casEventRepository, casProperties);
+        val profile = store.getProfile("casuser");
+        assertEquals(1, profile.getEventCount());
+        assertTrue(profile.getLastEventTime().isPresent());
+        assertSame(profile, store.getProfile("casuser"));
+
+        val unknown = store.getProfile("unknown");
+        assertTrue(unknown.getLastEventTime().isEmpty());
+        assertNotSame(unknown, store.getProfile("unknown"));
+    }
+}
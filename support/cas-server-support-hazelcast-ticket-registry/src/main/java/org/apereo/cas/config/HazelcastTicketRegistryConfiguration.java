@@ -6,10 +6,14 @@ import org.apereo.cas.hz.HazelcastConfigurationFactory;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.registry.HazelcastTicketRegistry;
+import org.apereo.cas.ticket.registry.HazelcastTicketRegistryInvalidationChannel;
 import org.apereo.cas.ticket.registry.NoOpTicketRegistryCleaner;
 import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistryCleaner;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationChannel;
 import org.apereo.cas.util.CoreTicketUtils;
+import org.apereo.cas.util.spring.beans.BeanCondition;
+import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
 import com.hazelcast.core.HazelcastInstance;
@@ -20,6 +24,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
@@ -42,6 +47,7 @@ import org.springframework.context.annotation.ScopedProxyMode;
 @Slf4j
 @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.TicketRegistry, module = "hazelcast")
 public class HazelcastTicketRegistryConfiguration {
+    private static final BeanCondition CONDITION_NEAR_CACHE = BeanCondition.on("cas.ticket.registry.near-cache.enabled").isTrue();
 
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -76,6 +82,18 @@ public class HazelcastTicketRegistryConfiguration {
         return hazelcastInstance;
     }
 
+    @Bean
+    public TicketRegistryInvalidationChannel ticketRegistryInvalidationChannel(
+        final ConfigurableApplicationContext applicationContext,
+        @Qualifier("casTicketRegistryHazelcastInstance")
+        final HazelcastInstance casTicketRegistryHazelcastInstance) {
+        return BeanSupplier.of(TicketRegistryInvalidationChannel.class)
+            .when(CONDITION_NEAR_CACHE.given(applicationContext.getEnvironment()))
+            .supply(() -> new HazelcastTicketRegistryInvalidationChannel(casTicketRegistryHazelcastInstance))
+            .otherwise(TicketRegistryInvalidationChannel::noOp)
+            .get();
+    }
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     public TicketRegistryCleaner ticketRegistryCleaner() {
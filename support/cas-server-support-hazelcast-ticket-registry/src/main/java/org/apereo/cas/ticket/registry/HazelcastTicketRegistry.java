@@ -12,6 +12,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.beans.factory.DisposableBean;
 
 import java.util.ArrayList;
@@ -20,6 +21,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Hazelcast-based implementation of a {@link TicketRegistry}.
@@ -67,6 +69,50 @@ public class HazelcastTicketRegistry extends AbstractTicketRegistry implements A
         }
     }
 
+    /**
+     * Tickets that are added or updated in the batch are written to their maps
+     * in a single Hazelcast transaction. Deletions are applied after the transaction has completed.
+     * Batches that contain tickets with no definition in the ticket catalog are rejected as a whole.
+     *
+     * @param batch the batch
+     * @throws Exception the exception
+     */
+    @Override
+    public void save(final TicketRegistryBatch batch) throws Exception {
+        val tickets = Stream.concat(
+                batch.getAddedTickets().stream().filter(ticket -> ticket != null && !ticket.isExpired()),
+                batch.getUpdatedTickets().stream())
+            .collect(Collectors.toList());
+        if (!tickets.isEmpty()) {
+            val encodedTickets = new ArrayList<Pair<TicketDefinition, Ticket>>(tickets.size());
+            for (val ticket : tickets) {
+                val ttl = ticket.getExpirationPolicy().getTimeToLive();
+                if (ttl < 0) {
+                    throw new IllegalArgumentException("The expiration policy of ticket " + ticket.getId() + " is set to use a negative ttl");
+                }
+                val metadata = ticketCatalog.find(ticket);
+                if (metadata == null) {
+                    throw new IllegalArgumentException("Could not locate ticket definition in the catalog for ticket " + ticket.getId());
+                }
+                encodedTickets.add(Pair.of(metadata, encodeTicket(ticket)));
+            }
+            hazelcastInstance.executeTransaction(context -> {
+                for (var i = 0; i < tickets.size(); i++) {
+                    val metadata = encodedTickets.get(i).getKey();
+                    val encTicket = encodedTickets.get(i).getValue();
+                    val ttl = tickets.get(i).getExpirationPolicy().getTimeToLive();
+                    context.<String, Ticket>getMap(metadata.getProperties().getStorageName())
+                        .put(encTicket.getId(), encTicket, ttl, TimeUnit.SECONDS);
+                }
+                LOGGER.debug("Saved [{}] tickets in a single transaction", tickets.size());
+                return null;
+            });
+        }
+        for (val ticketId : batch.getDeletedTicketIds()) {
+            deleteTicket(ticketId);
+        }
+    }
+
     @Override
     public Ticket getTicket(final String ticketId, final Predicate<Ticket> predicate) {
         val encTicketId = encodeTicketId(ticketId);
@@ -0,0 +1,48 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.util.LoggingUtils;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link HazelcastTicketRegistryInvalidationChannel} that broadcasts
+ * ticket invalidation messages to CAS nodes using a hazelcast topic.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HazelcastTicketRegistryInvalidationChannel implements TicketRegistryInvalidationChannel {
+    /**
+     * Default hazelcast topic name.
+     */
+    public static final String TOPIC_NAME = "CAS_TICKET_INVALIDATION";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    @Override
+    public void publish(final TicketRegistryInvalidationMessage message) {
+        getTopic().publish(message);
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketRegistryInvalidationMessage> consumer) {
+        getTopic().addMessageListener(message -> {
+            try {
+                consumer.accept(message.getMessageObject());
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        });
+    }
+
+    private ITopic<TicketRegistryInvalidationMessage> getTopic() {
+        return hazelcastInstance.getTopic(TOPIC_NAME);
+    }
+}
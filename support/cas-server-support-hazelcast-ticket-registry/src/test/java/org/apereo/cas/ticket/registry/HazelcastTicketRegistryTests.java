@@ -18,6 +18,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -43,6 +48,21 @@ public class HazelcastTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier(TicketRegistry.BEAN_NAME)
     private TicketRegistry newTicketRegistry;
 
+    @Autowired
+    @Qualifier("casTicketRegistryHazelcastInstance")
+    private HazelcastInstance casTicketRegistryHazelcastInstance;
+
+    @RepeatedTest(1)
+    public void verifyInvalidationChannel() {
+        val channel = new HazelcastTicketRegistryInvalidationChannel(casTicketRegistryHazelcastInstance);
+        assertTrue(channel.isDistributed());
+        val received = new CopyOnWriteArrayList<TicketRegistryInvalidationMessage>();
+        channel.subscribe(received::add);
+        channel.publish(new TicketRegistryInvalidationMessage("node", System.currentTimeMillis(), Set.of("TGT-1")));
+        await().atMost(Duration.ofSeconds(10)).until(() -> !received.isEmpty());
+        assertEquals(Set.of("TGT-1"), received.get(0).getTicketIds());
+    }
+
     @RepeatedTest(1)
     public void verifyBadExpPolicyValue() {
         val instance = mock(HazelcastInstance.class);
@@ -60,6 +80,16 @@ public class HazelcastTicketRegistryTests extends BaseTicketRegistryTests {
         });
     }
 
+    @RepeatedTest(1)
+    public void verifyBatchWithUnknownTicket() {
+        val instance = mock(HazelcastInstance.class);
+        val catalog = mock(TicketCatalog.class);
+        val registry = new HazelcastTicketRegistry(instance, catalog, 0);
+        val batch = TicketRegistryBatch.create().add(new MockTicketGrantingTicket("casuser"));
+        assertThrows(IllegalArgumentException.class, () -> registry.save(batch));
+        verify(instance, never()).executeTransaction(any());
+    }
+
     @RepeatedTest(1)
     public void verifyBadTicketInCatalog() {
         val ticket = new MockTicketGrantingTicket("casuser");
@@ -3,12 +3,16 @@ package org.apereo.cas.config;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.ticket.registry.JmsTicketRegistry;
+import org.apereo.cas.ticket.registry.JmsTicketRegistryInvalidationChannel;
 import org.apereo.cas.ticket.registry.JmsTicketRegistryQueuePublisher;
 import org.apereo.cas.ticket.registry.JmsTicketRegistryQueueReceiver;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationChannel;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.PublisherIdentifier;
 import org.apereo.cas.util.serialization.JacksonObjectMapperFactory;
+import org.apereo.cas.util.spring.beans.BeanCondition;
+import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +23,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 import org.springframework.boot.autoconfigure.jms.DefaultJmsListenerContainerFactoryConfigurer;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.context.config.annotation.RefreshScope;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
@@ -44,6 +49,8 @@ import javax.jms.ConnectionFactory;
 @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.TicketRegistry, module = "jms")
 @Configuration(value = "JmsTicketRegistryConfiguration", proxyBeanMethods = false)
 public class JmsTicketRegistryConfiguration {
+    private static final BeanCondition CONDITION_NEAR_CACHE = BeanCondition.on("cas.ticket.registry.near-cache.enabled").isTrue();
+
     @ConditionalOnMissingBean(name = "messageQueueTicketRegistryIdentifier")
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -99,6 +106,18 @@ public class JmsTicketRegistryConfiguration {
         return registry;
     }
 
+    @Bean
+    public TicketRegistryInvalidationChannel ticketRegistryInvalidationChannel(
+        final ConfigurableApplicationContext applicationContext,
+        @Qualifier("jmsConnectionFactory")
+        final ConnectionFactory jmsConnectionFactory) {
+        return BeanSupplier.of(TicketRegistryInvalidationChannel.class)
+            .when(CONDITION_NEAR_CACHE.given(applicationContext.getEnvironment()))
+            .supply(() -> new JmsTicketRegistryInvalidationChannel(jmsConnectionFactory))
+            .otherwise(TicketRegistryInvalidationChannel::noOp)
+            .get();
+    }
+
     @ConditionalOnMissingBean(name = "messageQueueTicketRegistryFactory")
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
@@ -0,0 +1,80 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jms.core.JmsTemplate;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.converter.MappingJackson2MessageConverter;
+import org.springframework.jms.support.converter.MessageType;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.MessageListener;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This is {@link JmsTicketRegistryInvalidationChannel} that broadcasts
+ * ticket invalidation messages to CAS nodes using a JMS topic.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class JmsTicketRegistryInvalidationChannel implements TicketRegistryInvalidationChannel, DisposableBean {
+    /**
+     * Topic destination name.
+     */
+    public static final String TOPIC_DESTINATION = "CasTicketRegistryInvalidationTopic";
+
+    private final JmsTemplate jmsTemplate;
+
+    private final DefaultMessageListenerContainer container;
+
+    private final List<Consumer<TicketRegistryInvalidationMessage>> consumers = new CopyOnWriteArrayList<>();
+
+    public JmsTicketRegistryInvalidationChannel(final ConnectionFactory connectionFactory) {
+        val converter = new MappingJackson2MessageConverter();
+        converter.setTargetType(MessageType.TEXT);
+        converter.setTypeIdPropertyName("_type");
+
+        this.jmsTemplate = new JmsTemplate(connectionFactory);
+        this.jmsTemplate.setPubSubDomain(true);
+        this.jmsTemplate.setMessageConverter(converter);
+
+        this.container = new DefaultMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.setPubSubDomain(true);
+        this.container.setDestinationName(TOPIC_DESTINATION);
+        this.container.setMessageListener((MessageListener) message -> {
+            try {
+                val result = (TicketRegistryInvalidationMessage) converter.fromMessage(message);
+                consumers.forEach(consumer -> consumer.accept(result));
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        });
+        this.container.afterPropertiesSet();
+    }
+
+    @Override
+    public void publish(final TicketRegistryInvalidationMessage message) {
+        jmsTemplate.convertAndSend(TOPIC_DESTINATION, message);
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketRegistryInvalidationMessage> consumer) {
+        consumers.add(consumer);
+        if (!container.isRunning()) {
+            container.start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        container.destroy();
+    }
+}
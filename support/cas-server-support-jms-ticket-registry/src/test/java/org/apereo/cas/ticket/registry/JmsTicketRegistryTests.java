@@ -4,6 +4,8 @@ import org.apereo.cas.config.JmsTicketRegistryConfiguration;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
 import lombok.Getter;
+import lombok.val;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -12,6 +14,14 @@ import org.springframework.boot.autoconfigure.jms.activemq.ActiveMQAutoConfigura
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.jms.annotation.EnableJms;
 
+import javax.jms.ConnectionFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.awaitility.Awaitility.*;
+import static org.junit.jupiter.api.Assertions.*;
+
 /**
  * This is {@link JmsTicketRegistryTests}.
  *
@@ -36,4 +46,25 @@ public class JmsTicketRegistryTests extends BaseTicketRegistryTests {
     @Autowired
     @Qualifier(TicketRegistry.BEAN_NAME)
     private TicketRegistry newTicketRegistry;
+
+    @Autowired
+    @Qualifier("jmsConnectionFactory")
+    private ConnectionFactory jmsConnectionFactory;
+
+    @RepeatedTest(1)
+    public void verifyInvalidationChannel() throws Exception {
+        val channel = new JmsTicketRegistryInvalidationChannel(jmsConnectionFactory);
+        try {
+            val received = new CopyOnWriteArrayList<TicketRegistryInvalidationMessage>();
+            channel.subscribe(received::add);
+            await().atMost(Duration.ofSeconds(10)).until(() -> {
+                channel.publish(new TicketRegistryInvalidationMessage("node", System.currentTimeMillis(), Set.of("TGT-1")));
+                return !received.isEmpty();
+            });
+            assertEquals(Set.of("TGT-1"), received.get(0).getTicketIds());
+            assertEquals("node", received.get(0).getPublisherId());
+        } finally {
+            channel.destroy();
+        }
+    }
 }
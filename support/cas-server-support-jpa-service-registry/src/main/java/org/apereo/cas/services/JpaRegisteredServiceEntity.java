@@ -70,6 +70,14 @@ public class JpaRegisteredServiceEntity implements Serializable {
     @Column(nullable = false, length = 8_000)
     private String body;
 
+    /**
+     * Time, in milliseconds since epoch, at which the definition was last saved.
+     * Rows that predate this column carry no value, and are stamped
+     * once they are picked up as modified by the service registry.
+     */
+    @Column
+    private Long lastModified;
+
     /**
      * From registered service.
      *
@@ -84,6 +92,7 @@ public class JpaRegisteredServiceEntity implements Serializable {
             .serviceId(service.getServiceId())
             .evaluationOrder(service.getEvaluationOrder())
             .body(jsonBody)
+            .lastModified(System.currentTimeMillis())
             .build();
     }
 
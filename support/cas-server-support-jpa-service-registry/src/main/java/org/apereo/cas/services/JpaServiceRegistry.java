@@ -3,6 +3,7 @@ package org.apereo.cas.services;
 import org.apereo.cas.support.events.service.CasRegisteredServiceLoadedEvent;
 
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
@@ -11,7 +12,9 @@ import org.springframework.transaction.support.TransactionOperations;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
+import java.time.Duration;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -29,12 +32,20 @@ import java.util.stream.LongStream;
 @EnableTransactionManagement(proxyTargetClass = false)
 @Transactional(transactionManager = JpaServiceRegistry.BEAN_NAME_TRANSACTION_MANAGER)
 @ToString
+@Slf4j
 public class JpaServiceRegistry extends AbstractServiceRegistry {
     /**
      * Transaction manager name.
      */
     public static final String BEAN_NAME_TRANSACTION_MANAGER = "transactionManagerServiceReg";
 
+    /**
+     * Changes are looked up since slightly before the requested time,
+     * to account for clock differences between nodes and for transactions
+     * that commit after the modification time was assigned.
+     */
+    private static final Duration MODIFICATION_TIME_TOLERANCE = Duration.ofMinutes(1);
+
     private final TransactionOperations transactionTemplate;
 
     @PersistenceContext(unitName = "serviceEntityManagerFactory")
@@ -80,6 +91,40 @@ public class JpaServiceRegistry extends AbstractServiceRegistry {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Rows that carry no modification time, because they predate the column or were written
+     * by other means, are stamped with the time of the scan, so they are only picked up as
+     * modified once rather than on every scan.
+     */
+    @Override
+    public Optional<ServiceRegistryChangeSet> loadChangesSince(final long timestamp) {
+        val scanTimestamp = System.currentTimeMillis();
+        val stampQuery = String.format("UPDATE %s r SET r.lastModified = :now WHERE r.lastModified IS NULL",
+            JpaRegisteredServiceEntity.ENTITY_NAME);
+        val stamped = entityManager.createQuery(stampQuery).setParameter("now", scanTimestamp).executeUpdate();
+        if (stamped > 0) {
+            LOGGER.debug("Stamped [{}] registered service(s) that carried no modification time", stamped);
+        }
+        val query = String.format("SELECT r FROM %s r WHERE r.lastModified >= :since", JpaRegisteredServiceEntity.ENTITY_NAME);
+        val modifiedServices = entityManager.createQuery(query, JpaRegisteredServiceEntity.class)
+            .setParameter("since", timestamp - MODIFICATION_TIME_TOLERANCE.toMillis())
+            .getResultList()
+            .stream()
+            .map(JpaRegisteredServiceEntity::toRegisteredService)
+            .sorted()
+            .map(this::invokeServiceRegistryListenerPostLoad)
+            .filter(Objects::nonNull)
+            .peek(s -> publishEvent(new CasRegisteredServiceLoadedEvent(this, s)))
+            .collect(Collectors.toList());
+        val idQuery = String.format("SELECT r.id FROM %s r", JpaRegisteredServiceEntity.ENTITY_NAME);
+        val serviceIds = new HashSet<>(entityManager.createQuery(idQuery, Long.class).getResultList());
+        return Optional.of(ServiceRegistryChangeSet.builder()
+            .timestamp(scanTimestamp)
+            .modifiedServices(modifiedServices)
+            .serviceIds(serviceIds)
+            .build());
+    }
+
     @Override
     public Long save(final Supplier<RegisteredService> supplier,
                      final Consumer<RegisteredService> andThenConsume,
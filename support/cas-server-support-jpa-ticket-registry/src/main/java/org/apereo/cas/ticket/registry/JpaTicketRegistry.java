@@ -5,12 +5,14 @@ import org.apereo.cas.jpa.JpaBeanFactory;
 import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
+import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketAwareTicket;
 import org.apereo.cas.ticket.registry.generic.BaseTicketEntity;
 
+import com.google.common.collect.Lists;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.apache.commons.lang3.StringUtils;
@@ -23,8 +25,18 @@ import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceContext;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -32,6 +44,9 @@ import java.util.stream.Stream;
 /**
  * JPA implementation of a CAS {@link TicketRegistry}. This implementation of
  * ticket registry is suitable for HA environments.
+ * Each ticket row carries the time at which the ticket is due to expire, so that
+ * expired tickets can be found and removed by indexed queries
+ * without reading and deserializing every ticket in the registry.
  *
  * @author Scott Battaglia
  * @author Marvin S. Addison
@@ -40,7 +55,6 @@ import java.util.stream.Stream;
 @EnableTransactionManagement(proxyTargetClass = false)
 @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER)
 @Slf4j
-@RequiredArgsConstructor
 @Getter
 public class JpaTicketRegistry extends AbstractTicketRegistry {
     /**
@@ -48,6 +62,38 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
      */
     public static final String BEAN_NAME_TRANSACTION_MANAGER = "ticketTransactionManager";
 
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
+    private static final ZonedDateTime MAXIMUM_EXPIRATION_TIME = ZonedDateTime.of(9999, 12, 31, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final String QUERY_SELECT_BY_ID = "SELECT t FROM %s t WHERE t.id = :id";
+
+    private static final String QUERY_SELECT_ALL = "SELECT t FROM %s t";
+
+    private static final String QUERY_SELECT_BY_PRINCIPAL = "SELECT t FROM %s t WHERE t.principalId = :principalId";
+
+    private static final String QUERY_SELECT_EXPIRED = "SELECT t FROM %s t WHERE t.expiresAt IS NULL OR t.expiresAt <= :expiresAt";
+
+    private static final String QUERY_SELECT_EXPIRED_BY_TYPE = "SELECT t FROM %s t WHERE t.expiresAt IS NULL "
+        + "OR (t.expiresAt <= :expiresAt AND t.type IN :types)";
+
+    private static final String QUERY_SELECT_EXPIRED_EXCLUDING_TYPE = "SELECT t FROM %s t "
+        + "WHERE t.expiresAt <= :expiresAt AND t.type NOT IN :types";
+
+    private static final String QUERY_COUNT_BY_TYPE = "SELECT COUNT(t.id) FROM %s t WHERE t.type = :type";
+
+    private static final String QUERY_UPDATE_EXPIRATION = "UPDATE %s t SET t.expiresAt = :expiresAt WHERE t.id = :id";
+
+    private static final String QUERY_DELETE_ALL = "DELETE FROM %s";
+
+    private static final String QUERY_DELETE_BY_ID = "DELETE FROM %s o WHERE o.id = :id";
+
+    private static final String QUERY_DELETE_BY_IDS = "DELETE FROM %s t WHERE t.id IN :ids";
+
+    private static final String QUERY_DELETE_WITH_CHILDREN = "DELETE FROM %s t WHERE t.parentId = :id OR t.id = :id";
+
+    private static final String QUERY_DELETE_WITH_CHILDREN_BY_IDS = "DELETE FROM %s t WHERE t.id IN :ids OR t.parentId IN :ids";
+
     private final LockModeType lockType;
 
     private final TicketCatalog ticketCatalog;
@@ -58,9 +104,25 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     private final CasConfigurationProperties casProperties;
 
+    private final JpaTicketEntityFactory jpaTicketEntityFactory;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, String> queries = new ConcurrentHashMap<>();
+
     @PersistenceContext(unitName = "ticketEntityManagerFactory")
     private EntityManager entityManager;
 
+    public JpaTicketRegistry(final LockModeType lockType, final TicketCatalog ticketCatalog,
+                             final JpaBeanFactory jpaBeanFactory, final TransactionOperations transactionTemplate,
+                             final CasConfigurationProperties casProperties) {
+        this.lockType = lockType;
+        this.ticketCatalog = ticketCatalog;
+        this.jpaBeanFactory = jpaBeanFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.casProperties = casProperties;
+        this.jpaTicketEntityFactory = new JpaTicketEntityFactory(casProperties.getTicket().getRegistry().getJpa().getDialect());
+    }
+
     private static long countToLong(final Object result) {
         return ((Number) result).longValue();
     }
@@ -71,6 +133,8 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             val encodeTicket = encodeTicket(ticket);
             val factory = getJpaTicketEntityFactory();
             val ticketEntity = factory.fromTicket(encodeTicket);
+            indexSession(ticket, ticketEntity);
+            ticketEntity.setExpiresAt(getExpirationTime(getExpirationCheckTime(ticket)));
             if (ticket instanceof TicketGrantingTicketAwareTicket
                 && TicketGrantingTicketAwareTicket.class.cast(ticket).getTicketGrantingTicket() != null) {
                 val parentId = encodeTicketId(((TicketGrantingTicketAwareTicket) ticket).getTicketGrantingTicket().getId());
@@ -90,12 +154,11 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
                 return null;
             }
             val factory = getJpaTicketEntityFactory();
-            val sql = String.format("SELECT t FROM %s t WHERE t.id = :id", factory.getEntityName());
-            val query = entityManager.createQuery(sql, factory.getType());
+            val query = entityManager.createQuery(getQuery(QUERY_SELECT_BY_ID), factory.getType());
             query.setParameter("id", encTicketId);
             query.setLockMode(this.lockType);
             val ticket = query.getSingleResult();
-            val entity = getJpaTicketEntityFactory().toTicket(ticket);
+            val entity = factory.toTicket(ticket);
             val result = decodeTicket(entity);
             if (predicate.test(result)) {
                 return result;
@@ -114,8 +177,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public long deleteAll() {
-        val factory = getJpaTicketEntityFactory();
-        val query = entityManager.createQuery(String.format("DELETE FROM %s", factory.getEntityName()));
+        val query = entityManager.createQuery(getQuery(QUERY_DELETE_ALL));
         return query.executeUpdate();
     }
 
@@ -123,8 +185,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
     public Collection<? extends Ticket> getTickets() {
         val factory = getJpaTicketEntityFactory();
-        val sql = String.format("SELECT t FROM %s t", factory.getEntityName());
-        val query = entityManager.createQuery(sql, factory.getType());
+        val query = entityManager.createQuery(getQuery(QUERY_SELECT_ALL), factory.getType());
         query.setLockMode(this.lockType);
 
         return query
@@ -141,12 +202,22 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
 
         val factory = getJpaTicketEntityFactory();
         val ticketEntity = factory.fromTicket(encodeTicket);
+        indexSession(ticket, ticketEntity);
+        ticketEntity.setExpiresAt(getExpirationTime(getExpirationCheckTime(ticket)));
 
         this.entityManager.merge(ticketEntity);
         LOGGER.debug("Updated ticket [{}]", encodeTicket);
         return encodeTicket;
     }
 
+    @Override
+    public void save(final TicketRegistryBatch batch) {
+        transactionTemplate.executeWithoutResult(Unchecked.consumer(status -> {
+            LOGGER.trace("Saving ticket batch [{}] in a single transaction", batch);
+            super.save(batch);
+        }));
+    }
+
     /**
      * This method purposefully doesn't lock any rows, because the stream traversing can take an indeterminate
      * amount of time, and logging in to an application with an existing TGT will update the TGT row in the database.
@@ -156,8 +227,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Override
     public Stream<? extends Ticket> stream() {
         val factory = getJpaTicketEntityFactory();
-        val sql = String.format("SELECT t FROM %s t", factory.getEntityName());
-        val query = entityManager.createQuery(sql, factory.getType());
+        val query = entityManager.createQuery(getQuery(QUERY_SELECT_ALL), factory.getType());
         query.setLockMode(LockModeType.NONE);
         return jpaBeanFactory
             .streamQuery(query)
@@ -169,26 +239,114 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
     @Override
     @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
     public long sessionCount() {
-        val factory = getJpaTicketEntityFactory();
         val md = this.ticketCatalog.find(TicketGrantingTicket.PREFIX);
-        val sql = String.format("SELECT COUNT(t.id) FROM %s t WHERE t.type=:type", factory.getEntityName());
-        val query = this.entityManager.createQuery(sql).setParameter("type", md.getImplementationClass().getName());
+        val query = this.entityManager.createQuery(getQuery(QUERY_COUNT_BY_TYPE)).setParameter("type", md.getImplementationClass().getName());
         return countToLong(query.getSingleResult());
     }
 
     @Override
     @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
     public long serviceTicketCount() {
-        val factory = getJpaTicketEntityFactory();
         val md = this.ticketCatalog.find(ServiceTicket.PREFIX);
-        val sql = String.format("SELECT COUNT(t.id) FROM %s t WHERE t.type=:type", factory.getEntityName());
-        val query = this.entityManager.createQuery(sql).setParameter("type", md.getImplementationClass().getName());
+        val query = this.entityManager.createQuery(getQuery(QUERY_COUNT_BY_TYPE)).setParameter("type", md.getImplementationClass().getName());
         return countToLong(query.getSingleResult());
     }
 
     @Override
-    public boolean deleteSingleTicket(final String ticketIdToDelete) {
+    @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val key = getPrincipalSessionIndexKey(principalId);
+        if (key == null) {
+            return Stream.empty();
+        }
         val factory = getJpaTicketEntityFactory();
+        val query = entityManager.createQuery(getQuery(QUERY_SELECT_BY_PRINCIPAL), factory.getType());
+        query.setParameter("principalId", key);
+        query.setLockMode(LockModeType.NONE);
+        return query.getResultList()
+            .stream()
+            .map(factory::toTicket)
+            .map(this::decodeTicket)
+            .filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    /**
+     * Sessions are counted from the tickets indexed under the principal id, each of which is checked
+     * for expiration. The expiration time recorded in the database is only the time at which the ticket
+     * is due to be checked, and tickets may well remain valid past that time.
+     *
+     * @param principalId the principal id
+     * @return the count
+     */
+    @Override
+    @Transactional(transactionManager = JpaTicketRegistry.BEAN_NAME_TRANSACTION_MANAGER, readOnly = true)
+    public long countSessionsFor(final String principalId) {
+        return getSessionsFor(principalId).count();
+    }
+
+    /**
+     * Expired tickets that are not ticket-granting tickets are removed in bulk, along with their children,
+     * in chunks of {@value #DEFAULT_BATCH_SIZE} tickets. The recorded expiration time of a ticket is only the
+     * next time its expiration should be checked, so each candidate is checked for expiration first; tickets
+     * that are not expired yet are rescheduled instead. Bulk removals are skipped when ticket encryption
+     * is enabled, since the type of encrypted tickets is not known to the database.
+     *
+     * @param partition the partition
+     * @return the number of tickets removed
+     */
+    @Override
+    public int deleteExpiredTickets(final int partition) {
+        if (isCipherExecutorEnabled()) {
+            LOGGER.trace("Expired tickets are not removed in bulk when ticket encryption is enabled");
+            return 0;
+        }
+        val expirationTime = ZonedDateTime.now(Clock.systemUTC());
+        val types = getTicketGrantingTicketTypes();
+        val totalCount = new AtomicInteger();
+        var candidates = 0;
+        do {
+            candidates = Objects.requireNonNull(transactionTemplate.execute(
+                status -> deleteExpiredTicketBatch(expirationTime, types, totalCount)));
+        } while (candidates >= DEFAULT_BATCH_SIZE);
+        return totalCount.get();
+    }
+
+    /**
+     * Tickets without an expiration time, such as tickets that were stored before
+     * expiration times were recorded, are checked as well. Tickets that turn out
+     * not to be expired yet are rescheduled once the returned stream is closed.
+     *
+     * @param partition the partition
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        val factory = getJpaTicketEntityFactory();
+        val query = isCipherExecutorEnabled()
+            ? entityManager.createQuery(getQuery(QUERY_SELECT_EXPIRED), factory.getType())
+            : entityManager.createQuery(getQuery(QUERY_SELECT_EXPIRED_BY_TYPE), factory.getType())
+                .setParameter("types", getTicketGrantingTicketTypes());
+        query.setParameter("expiresAt", ZonedDateTime.now(Clock.systemUTC()));
+        query.setLockMode(LockModeType.NONE);
+
+        val rescheduledTickets = new LinkedHashMap<String, ZonedDateTime>();
+        return jpaBeanFactory
+            .streamQuery(query)
+            .map(BaseTicketEntity.class::cast)
+            .map(entity -> {
+                val ticket = decodeTicket(factory.toTicket(entity));
+                if (ticket != null && !ticket.isExpired()) {
+                    rescheduledTickets.put(entity.getId(), getExpirationTime(getExpirationRecheckTime(ticket)));
+                    return null;
+                }
+                return ticket;
+            })
+            .filter(Objects::nonNull)
+            .onClose(() -> rescheduleExpiration(rescheduledTickets));
+    }
+
+    @Override
+    public boolean deleteSingleTicket(final String ticketIdToDelete) {
         val result = this.transactionTemplate.execute(transactionStatus -> {
             val encTicketId = encodeTicketId(ticketIdToDelete);
             var totalCount = 0;
@@ -197,8 +355,7 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
             if (md.getProperties().isCascadeRemovals()) {
                 totalCount = deleteTicketGrantingTickets(encTicketId);
             } else {
-                val sql = String.format("DELETE FROM %s o WHERE o.id = :id", factory.getEntityName());
-                val query = entityManager.createQuery(sql);
+                val query = entityManager.createQuery(getQuery(QUERY_DELETE_BY_ID));
                 query.setParameter("id", encTicketId);
                 totalCount = query.executeUpdate();
             }
@@ -207,9 +364,89 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
         return Objects.requireNonNull(result);
     }
 
-    private JpaTicketEntityFactory getJpaTicketEntityFactory() {
-        val jpa = casProperties.getTicket().getRegistry().getJpa();
-        return new JpaTicketEntityFactory(jpa.getDialect());
+    private int deleteExpiredTicketBatch(final ZonedDateTime expirationTime, final List<String> types, final AtomicInteger totalCount) {
+        val factory = getJpaTicketEntityFactory();
+        val entities = entityManager.createQuery(getQuery(QUERY_SELECT_EXPIRED_EXCLUDING_TYPE), factory.getType())
+            .setParameter("expiresAt", expirationTime)
+            .setParameter("types", types)
+            .setLockMode(LockModeType.NONE)
+            .setMaxResults(DEFAULT_BATCH_SIZE)
+            .getResultList();
+        val expiredIds = new ArrayList<String>(entities.size());
+        val rescheduledTickets = new LinkedHashMap<String, ZonedDateTime>();
+        entities.stream().map(BaseTicketEntity.class::cast).forEach(entity -> {
+            val ticket = decodeTicket(factory.toTicket(entity));
+            if (ticket != null && !ticket.isExpired()) {
+                rescheduledTickets.put(entity.getId(), getExpirationTime(getExpirationRecheckTime(ticket)));
+            } else {
+                expiredIds.add(entity.getId());
+            }
+        });
+        entityManager.clear();
+        rescheduledTickets.forEach((id, time) -> entityManager.createQuery(getQuery(QUERY_UPDATE_EXPIRATION))
+            .setParameter("id", id)
+            .setParameter("expiresAt", time)
+            .executeUpdate());
+        if (!expiredIds.isEmpty()) {
+            val count = entityManager.createQuery(getQuery(QUERY_DELETE_WITH_CHILDREN_BY_IDS))
+                .setParameter("ids", expiredIds)
+                .executeUpdate();
+            totalCount.addAndGet(count);
+            LOGGER.trace("Removed [{}] expired tickets in bulk", count);
+        }
+        LOGGER.trace("Rescheduled expiration of [{}] tickets that are not expired yet", rescheduledTickets.size());
+        return entities.size();
+    }
+
+    private void indexSession(final Ticket ticket, final BaseTicketEntity ticketEntity) {
+        val key = getPrincipalSessionIndexKey(getSessionPrincipalId(ticket));
+        if (key != null) {
+            ticketEntity.setPrincipalId(key);
+        }
+    }
+
+    @Override
+    protected int deleteChildren(final TicketGrantingTicket ticket) {
+        val services = ticket.getServices();
+        if (services == null || services.isEmpty()) {
+            return 0;
+        }
+        val ticketIds = services.keySet().stream().map(this::encodeTicketId).collect(Collectors.toList());
+        val result = transactionTemplate.execute(status -> Lists.partition(ticketIds, DEFAULT_BATCH_SIZE)
+            .stream()
+            .mapToInt(ids -> entityManager.createQuery(getQuery(QUERY_DELETE_BY_IDS)).setParameter("ids", ids).executeUpdate())
+            .sum());
+        LOGGER.debug("Removed [{}] service tickets of ticket-granting ticket [{}]", result, ticket.getId());
+        return Objects.requireNonNull(result);
+    }
+
+    private static ZonedDateTime getExpirationTime(final long expirationCheckTime) {
+        val expirationTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(expirationCheckTime), ZoneOffset.UTC);
+        return expirationTime.isAfter(MAXIMUM_EXPIRATION_TIME) ? MAXIMUM_EXPIRATION_TIME : expirationTime;
+    }
+
+    private void rescheduleExpiration(final Map<String, ZonedDateTime> rescheduledTickets) {
+        if (!rescheduledTickets.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> rescheduledTickets.forEach((id, expirationTime) ->
+                entityManager.createQuery(getQuery(QUERY_UPDATE_EXPIRATION))
+                    .setParameter("id", id)
+                    .setParameter("expiresAt", expirationTime)
+                    .executeUpdate()));
+            LOGGER.debug("Rescheduled expiration of [{}] tickets that are not expired yet", rescheduledTickets.size());
+        }
+    }
+
+    private List<String> getTicketGrantingTicketTypes() {
+        return ticketCatalog.findAll()
+            .stream()
+            .map(TicketDefinition::getImplementationClass)
+            .filter(TicketGrantingTicket.class::isAssignableFrom)
+            .map(Class::getName)
+            .collect(Collectors.toList());
+    }
+
+    private String getQuery(final String query) {
+        return queries.computeIfAbsent(query, q -> String.format(q, jpaTicketEntityFactory.getEntityName()));
     }
 
     /**
@@ -219,10 +456,9 @@ public class JpaTicketRegistry extends AbstractTicketRegistry {
      * @return the total count
      */
     private int deleteTicketGrantingTickets(final String ticketId) {
-        val factory = getJpaTicketEntityFactory();
-        var sql = String.format("DELETE FROM %s t WHERE t.parentId = :id OR t.id = :id", factory.getEntityName());
+        val sql = getQuery(QUERY_DELETE_WITH_CHILDREN);
         LOGGER.trace("Creating delete query [{}] for ticket id [{}]", sql, ticketId);
-        var query = entityManager.createQuery(sql);
+        val query = entityManager.createQuery(sql);
         query.setParameter("id", ticketId);
         return query.executeUpdate();
     }
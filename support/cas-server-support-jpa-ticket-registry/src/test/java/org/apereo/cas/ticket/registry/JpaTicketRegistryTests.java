@@ -16,6 +16,7 @@ import org.apereo.cas.services.RegisteredServiceTestUtils;
 import org.apereo.cas.support.oauth.OAuth20GrantTypes;
 import org.apereo.cas.support.oauth.OAuth20ResponseTypes;
 import org.apereo.cas.ticket.DefaultSecurityTokenTicketFactory;
+import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketFactory;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
@@ -43,11 +44,15 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.cloud.autoconfigure.RefreshAutoConfiguration;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 
 import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -152,6 +157,51 @@ public class JpaTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(this.newTicketRegistry.getTicket(oAuthCode.getId()));
     }
 
+    @RepeatedTest(2)
+    public void verifyExpiredTicketsRemovedInBulk() throws Exception {
+        val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        val tgt = tgtFactory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        newTicketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        newTicketRegistry.addTicket(st);
+        newTicketRegistry.updateTicket(tgt);
+        assertEquals(1, newTicketRegistry.countSessionsFor(tgt.getAuthentication().getPrincipal().getId()));
+
+        st.markTicketExpired();
+        tgt.markTicketExpired();
+        newTicketRegistry.updateTicket(st);
+        newTicketRegistry.updateTicket(tgt);
+        assertEquals(0, newTicketRegistry.countSessionsFor(tgt.getAuthentication().getPrincipal().getId()));
+
+        assertEquals(useEncryption ? 0 : 1, newTicketRegistry.deleteExpiredTickets(0));
+        try (val expiredTickets = newTicketRegistry.getExpiredTickets(0)) {
+            val expiredTicketIds = expiredTickets.map(Ticket::getId).collect(Collectors.toSet());
+            assertTrue(expiredTicketIds.contains(tgt.getId()));
+            assertEquals(useEncryption, expiredTicketIds.contains(st.getId()));
+        }
+    }
+
+    @RepeatedTest(2)
+    public void verifyUnexpiredTicketsPastCheckTimeKept() throws Exception {
+        val tgtFactory = (TicketGrantingTicketFactory) ticketFactory.get(TicketGrantingTicket.class);
+        val tgt = tgtFactory.create(RegisteredServiceTestUtils.getAuthentication(),
+            RegisteredServiceTestUtils.getService(), TicketGrantingTicket.class);
+        newTicketRegistry.addTicket(tgt);
+        val st = tgt.grantServiceTicket(serviceTicketId, RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+        newTicketRegistry.addTicket(st);
+        newTicketRegistry.updateTicket(tgt);
+
+        val jdbcTemplate = new JdbcTemplate(dataSourceTicket);
+        jdbcTemplate.update("UPDATE cas_tickets SET expires_at = ?",
+            Timestamp.from(Instant.now().minusSeconds(TimeUnit.HOURS.toSeconds(1))));
+        assertEquals(0, newTicketRegistry.deleteExpiredTickets(0));
+        assertNotNull(newTicketRegistry.getTicket(st.getId()));
+        assertEquals(0, newTicketRegistry.deleteExpiredTickets(0));
+    }
+
     @ImportAutoConfiguration({
         AopAutoConfiguration.class,
         RefreshAutoConfiguration.class
@@ -8,11 +8,14 @@ import org.apereo.cas.services.ServiceRegistryExecutionPlanConfigurer;
 import org.apereo.cas.services.ServiceRegistryListener;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.RegisteredServiceResourceNamingStrategy;
+import org.apereo.cas.services.resource.ResourceBasedServiceRegistrySnapshot;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfigureOrder;
@@ -25,6 +28,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.core.Ordered;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -35,6 +39,7 @@ import java.util.Optional;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@Slf4j
 @Configuration(value = "JsonServiceRegistryConfiguration", proxyBeanMethods = false)
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.ServiceRegistry, module = "json")
@@ -62,6 +67,17 @@ public class JsonServiceRegistryConfiguration {
         if (registry.getJson().isWatcherEnabled()) {
             json.enableDefaultWatcherService();
         }
+        if (registry.getJson().getParallelism() > 0) {
+            json.setParallelism(registry.getJson().getParallelism());
+        }
+        if (StringUtils.isNotBlank(registry.getJson().getSnapshotLocation())) {
+            if (StringUtils.isBlank(registry.getJson().getSnapshotSigningKey())) {
+                LOGGER.warn("Service registry snapshot [{}] is not used since no signing key is defined", registry.getJson().getSnapshotLocation());
+            } else {
+                json.setServiceRegistrySnapshot(new ResourceBasedServiceRegistrySnapshot(
+                    new File(registry.getJson().getSnapshotLocation()), registry.getJson().getSnapshotSigningKey()));
+            }
+        }
         return json;
     }
 
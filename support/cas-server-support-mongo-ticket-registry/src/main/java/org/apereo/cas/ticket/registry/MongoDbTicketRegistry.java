@@ -5,6 +5,7 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketDefinition;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.LoggingUtils;
@@ -16,19 +17,25 @@ import lombok.val;
 import org.apache.commons.lang3.StringUtils;
 import org.hjson.JsonValue;
 import org.hjson.Stringify;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
-import org.springframework.data.mongodb.core.query.TextCriteria;
-import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.StreamUtils;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -42,7 +49,8 @@ import java.util.stream.Stream;
  */
 @Slf4j
 @RequiredArgsConstructor
-public class MongoDbTicketRegistry extends AbstractTicketRegistry {
+public class MongoDbTicketRegistry extends AbstractTicketRegistry implements DisposableBean {
+    private static final int BULK_WRITE_THREADS = 16;
 
     private final TicketCatalog ticketCatalog;
 
@@ -50,6 +58,13 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
 
     private final TicketSerializationManager ticketSerializationManager;
 
+    /**
+     * Executes bulk writes to separate collections concurrently;
+     * runs them on the calling thread once all threads are busy.
+     */
+    private final ExecutorService bulkWriteExecutor = new ThreadPoolExecutor(0, BULK_WRITE_THREADS,
+        1, TimeUnit.MINUTES, new SynchronousQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy());
+
     /**
      * Calculate the time at which the ticket is eligible for automated deletion by MongoDb.
      * Makes the assumption that the CAS server date and the Mongo server date are in sync.
@@ -157,6 +172,7 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
             val collectionName = getTicketCollectionInstanceByMetadata(metadata);
             val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
             val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            update.set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal());
             val result = this.mongoTemplate.updateFirst(query, update, collectionName);
             LOGGER.debug("Updated ticket [{}] with result [{}]", ticket, result);
             return result.getMatchedCount() > 0 ? ticket : null;
@@ -167,6 +183,43 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         return null;
     }
 
+    /**
+     * Tickets that are added or updated in the batch are written using a single ordered bulk operation
+     * per ticket collection, rather than one round trip per ticket. Multi-document transactions
+     * are only available with replica sets, and are not used here. Bulk writes cannot span collections,
+     * so the bulk operations of separate collections, such as the ticket-granting ticket and the service
+     * ticket it issues, are sent concurrently and the batch waits for a single round trip.
+     *
+     * @param batch the batch
+     * @throws Exception the exception
+     */
+    @Override
+    public void save(final TicketRegistryBatch batch) throws Exception {
+        val operations = new LinkedHashMap<String, BulkOperations>();
+        for (val ticket : batch.getAddedTickets()) {
+            if (ticket != null && !ticket.isExpired()) {
+                val holder = buildTicketAsDocument(ticket);
+                getBulkOperations(operations, ticket).insert(holder);
+            }
+        }
+        for (val ticket : batch.getUpdatedTickets()) {
+            val holder = buildTicketAsDocument(ticket);
+            val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_ID).is(holder.getTicketId()));
+            val update = Update.update(TicketHolder.FIELD_NAME_JSON, holder.getJson());
+            update.set(TicketHolder.FIELD_NAME_PRINCIPAL, holder.getPrincipal());
+            getBulkOperations(operations, ticket).updateOne(query, update);
+        }
+        executeBulkOperations(operations);
+        for (val ticketId : batch.getDeletedTicketIds()) {
+            deleteTicket(ticketId);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        bulkWriteExecutor.shutdown();
+    }
+
     @Override
     public Stream<Ticket> stream() {
         return ticketCatalog.findAll().stream()
@@ -182,22 +235,19 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
     }
 
     @Override
-    public long countSessionsFor(final String principalId) {
-        if (isCipherExecutorEnabled()) {
-            return super.countSessionsFor(principalId);
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val key = getPrincipalSessionIndexKey(principalId);
+        if (key == null) {
+            return Stream.empty();
         }
-
-        val ticketDefinitions = ticketCatalog.find(TicketGrantingTicket.class);
-        return ticketDefinitions.stream()
+        val query = new Query(Criteria.where(TicketHolder.FIELD_NAME_PRINCIPAL).is(key));
+        return ticketCatalog.find(TicketGrantingTicket.class)
+            .stream()
             .map(this::getTicketCollectionInstanceByMetadata)
-            .mapToLong(map -> {
-                val criteria = TextCriteria.forDefaultLanguage().matchingAny(principalId);
-                val query = TextQuery.queryText(criteria)
-                    .sortByScore()
-                    .with(PageRequest.of(0, 10));
-                return mongoTemplate.count(query, map);
-            })
-            .sum();
+            .map(collectionName -> mongoTemplate.find(query, TicketHolder.class, collectionName))
+            .flatMap(List::stream)
+            .map(holder -> decodeTicket(deserializeTicketFromMongoDocument(holder)))
+            .filter(ticket -> isSessionFor(ticket, principalId));
     }
 
     @Override
@@ -229,14 +279,49 @@ public class MongoDbTicketRegistry extends AbstractTicketRegistry {
         val encTicket = encodeTicket(ticket);
         val json = serializeTicketForMongoDocument(encTicket);
         if (StringUtils.isNotBlank(json)) {
-            LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+            if (LOGGER.isTraceEnabled()) {
+                if (BinaryTicketSerializationManager.isBinaryFormat(json)) {
+                    LOGGER.trace("Serialized ticket [{}] into a binary document of [{}] character(s)", encTicket.getId(), json.length());
+                } else {
+                    LOGGER.trace("Serialized ticket into a JSON document as \n [{}]", JsonValue.readJSON(json).toString(Stringify.FORMATTED));
+                }
+            }
             val expireAt = getExpireAt(ticket);
             LOGGER.trace("Calculated expiration date for ticket ttl as [{}]", expireAt);
-            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt);
+            val principal = getPrincipalSessionIndexKey(getSessionPrincipalId(ticket));
+            return new TicketHolder(json, encTicket.getId(), encTicket.getClass().getName(), expireAt, principal);
         }
         throw new IllegalArgumentException("Ticket " + ticket.getId() + " cannot be serialized to JSON");
     }
 
+    private void executeBulkOperations(final Map<String, BulkOperations> operations) {
+        val entries = new ArrayList<>(operations.entrySet());
+        val futures = entries.stream()
+            .skip(1)
+            .map(entry -> CompletableFuture.runAsync(() -> executeBulkOperations(entry.getKey(), entry.getValue()), bulkWriteExecutor))
+            .collect(Collectors.toList());
+        try {
+            entries.stream().findFirst().ifPresent(entry -> executeBulkOperations(entry.getKey(), entry.getValue()));
+        } finally {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    private void executeBulkOperations(final String collectionName, final BulkOperations bulk) {
+        val result = bulk.execute();
+        LOGGER.debug("Saved tickets in collection [{}] with result [{}]", collectionName, result);
+    }
+
+    private BulkOperations getBulkOperations(final Map<String, BulkOperations> operations, final Ticket ticket) {
+        val metadata = this.ticketCatalog.find(ticket);
+        if (metadata == null) {
+            throw new IllegalArgumentException("Could not locate ticket definition in the catalog for ticket " + ticket.getId());
+        }
+        val collectionName = getTicketCollectionInstanceByMetadata(metadata);
+        return operations.computeIfAbsent(collectionName,
+            name -> mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TicketHolder.class, name));
+    }
+
     private String getTicketCollectionInstanceByMetadata(final TicketDefinition metadata) {
         val mapName = metadata.getProperties().getStorageName();
         LOGGER.debug("Locating collection name [{}] for ticket definition [{}]", mapName, metadata);
@@ -43,6 +43,11 @@ public class TicketHolder implements Serializable {
      */
     public static final String FIELD_NAME_ID = "ticketId";
 
+    /**
+     * Field name to hold the principal id of single sign-on sessions.
+     */
+    public static final String FIELD_NAME_PRINCIPAL = "principal";
+
     private static final long serialVersionUID = -4843440028617071224L;
 
     @JsonProperty
@@ -55,4 +60,7 @@ public class TicketHolder implements Serializable {
     private final String type;
 
     private final Date expireAt;
+
+    @JsonProperty
+    private final String principal;
 }
@@ -68,6 +68,7 @@ public class MongoDbTicketRegistryFacilitator {
                 .onField(TicketHolder.FIELD_NAME_ID)
                 .build();
             val expireIndex = new Index().on(TicketHolder.FIELD_NAME_EXPIRE_AT, Sort.Direction.ASC);
+            val principalIndex = new Index().on(TicketHolder.FIELD_NAME_PRINCIPAL, Sort.Direction.ASC).sparse();
             
             val timeout = ticket.getProperties().getStorageTimeout();
             if (timeout > 0 && timeout != Long.MAX_VALUE) {
@@ -77,6 +78,7 @@ public class MongoDbTicketRegistryFacilitator {
             val expectedIndexes = new ArrayList<IndexDefinition>();
             expectedIndexes.add(expireIndex);
             expectedIndexes.add(columnsIndex);
+            expectedIndexes.add(principalIndex);
             LOGGER.debug("Expected indexes are [{}]", expectedIndexes);
             MongoDbConnectionFactory.createOrUpdateIndexes(mongoTemplate, collection, expectedIndexes);
         }
@@ -30,6 +30,8 @@ import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketCatalog;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
 import org.apereo.cas.ticket.expiration.NeverExpiresExpirationPolicy;
+import org.apereo.cas.ticket.serialization.BinaryTicketSerializationManager;
+import org.apereo.cas.ticket.serialization.TicketSerializationExecutionPlan;
 import org.apereo.cas.ticket.serialization.TicketSerializationManager;
 import org.apereo.cas.util.junit.EnabledIfListeningOnPort;
 
@@ -106,6 +108,14 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
     @Qualifier("mongoDbTicketRegistryTemplate")
     private MongoOperations mongoDbTicketRegistryTemplate;
 
+    @Autowired
+    @Qualifier(TicketCatalog.BEAN_NAME)
+    private TicketCatalog ticketCatalog;
+
+    @Autowired
+    @Qualifier("ticketSerializationExecutionPlan")
+    private TicketSerializationExecutionPlan ticketSerializationExecutionPlan;
+
     @BeforeEach
     public void before() {
         newTicketRegistry.deleteAll();
@@ -119,6 +129,17 @@ public class MongoDbTicketRegistryTests extends BaseTicketRegistryTests {
         assertNull(result);
     }
 
+    @RepeatedTest(1)
+    public void verifyBinarySerializationFormat() throws Exception {
+        val registry = new MongoDbTicketRegistry(ticketCatalog, mongoDbTicketRegistryTemplate,
+            new BinaryTicketSerializationManager(ticketSerializationExecutionPlan));
+        val ticket = new TicketGrantingTicketImpl(ticketGrantingTicketId,
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(ticket);
+        assertEquals(ticket, registry.getTicket(ticket.getId()));
+        assertTrue(registry.deleteTicket(ticket.getId()) > 0);
+    }
+
     @RepeatedTest(1)
     public void verifyBadTicketInCatalog() throws Exception {
         val ticket = new MockTicketGrantingTicket("casuser");
@@ -3,6 +3,7 @@ package org.apereo.cas.support.oauth.services;
 import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndexQuery;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.util.CollectionUtils;
 
@@ -10,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.core.Ordered;
 
+import java.util.Optional;
+
 /**
  * This is {@link OAuth20ServicesManagerRegisteredServiceLocator}.
  *
@@ -39,5 +42,11 @@ public class OAuth20ServicesManagerRegisteredServiceLocator extends DefaultServi
         return service.getAttributes().containsKey(OAuth20Constants.CLIENT_ID)
             && registeredService instanceof OAuthRegisteredService;
     }
-}
 
+    @Override
+    public Optional<RegisteredServiceIndexQuery<? extends RegisteredService>> getIndexQuery(final Service service) {
+        return CollectionUtils.firstElement(service.getAttributes().get(OAuth20Constants.CLIENT_ID))
+            .map(Object::toString)
+            .map(OAuthRegisteredService.INDEX_CLIENT_ID::query);
+    }
+}
@@ -105,7 +105,7 @@ public class OAuth20Utils {
         if (StringUtils.isBlank(clientId)) {
             return null;
         }
-        return getRegisteredOAuthServiceByPredicate(servicesManager, s -> s.getClientId().equalsIgnoreCase(clientId));
+        return servicesManager.findServiceBy(OAuthRegisteredService.INDEX_CLIENT_ID.query(clientId));
     }
 
     /**
@@ -2,6 +2,7 @@ package org.apereo.cas.support.oauth.services;
 
 import org.apereo.cas.services.AbstractRegisteredService;
 import org.apereo.cas.services.RegexRegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndex;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.EqualsAndHashCode;
@@ -25,6 +26,12 @@ import java.util.Set;
 @EqualsAndHashCode(callSuper = true)
 public class OAuthRegisteredService extends RegexRegisteredService {
 
+    /**
+     * Case-insensitive index of OAuth registered services by client id.
+     */
+    public static final RegisteredServiceIndex<OAuthRegisteredService> INDEX_CLIENT_ID =
+        RegisteredServiceIndex.of(OAuthRegisteredService.class, "clientId", OAuthRegisteredService::getClientId);
+
     private static final long serialVersionUID = 5318897374067731021L;
 
     private String clientSecret;
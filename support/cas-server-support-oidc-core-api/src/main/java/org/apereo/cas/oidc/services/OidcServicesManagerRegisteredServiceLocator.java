@@ -4,6 +4,7 @@ import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.services.DefaultServicesManagerRegisteredServiceLocator;
 import org.apereo.cas.services.OidcRegisteredService;
 import org.apereo.cas.services.RegisteredService;
+import org.apereo.cas.services.RegisteredServiceIndexQuery;
 import org.apereo.cas.support.oauth.OAuth20Constants;
 import org.apereo.cas.util.CollectionUtils;
 
@@ -11,6 +12,8 @@ import lombok.extern.slf4j.Slf4j;
 import lombok.val;
 import org.springframework.core.Ordered;
 
+import java.util.Optional;
+
 /**
  * This is {@link OidcServicesManagerRegisteredServiceLocator}.
  *
@@ -47,5 +50,11 @@ public class OidcServicesManagerRegisteredServiceLocator extends DefaultServices
         return service.getAttributes().containsKey(OAuth20Constants.CLIENT_ID)
             && registeredService instanceof OidcRegisteredService;
     }
-}
 
+    @Override
+    public Optional<RegisteredServiceIndexQuery<? extends RegisteredService>> getIndexQuery(final Service service) {
+        return CollectionUtils.firstElement(service.getAttributes().get(OAuth20Constants.CLIENT_ID))
+            .map(Object::toString)
+            .map(OidcRegisteredService.INDEX_CLIENT_ID::query);
+    }
+}
@@ -31,6 +31,12 @@ import java.util.Set;
 @NoArgsConstructor
 public class OidcRegisteredService extends OAuthRegisteredService {
 
+    /**
+     * Case-insensitive index of OpenID Connect registered services by client id.
+     */
+    public static final RegisteredServiceIndex<OidcRegisteredService> INDEX_CLIENT_ID =
+        RegisteredServiceIndex.of(OidcRegisteredService.class, "clientId", OidcRegisteredService::getClientId);
+
     private static final long serialVersionUID = 1310899699465091444L;
 
     @ExpressionLanguageCapable
@@ -0,0 +1,213 @@
+package org.apereo.cas.persondir;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.AbstractAggregatingDefaultQueryPersonAttributeDao;
+import org.apereo.services.persondir.util.CollectionsUtil;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDao}. Queries all attribute repositories
+ * concurrently using a bounded executor and merges the results, in the order in which
+ * repositories are defined, using the configured attribute merger. Repositories that fail to
+ * produce a result before the timeout elapses are skipped, and their query is cancelled.
+ * Queries are never executed on the calling thread; once the executor is saturated,
+ * queries that cannot be queued are rejected right away and their repositories are skipped.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class ParallelMergingPersonAttributeDao extends AbstractAggregatingDefaultQueryPersonAttributeDao implements DisposableBean {
+    private static final int QUEUE_CAPACITY_PER_THREAD = 100;
+
+    private final ExecutorService executorService;
+
+    @Getter
+    private final Duration timeout;
+
+    private final Map<String, SourceStatistics> statistics = new ConcurrentHashMap<>();
+
+    public ParallelMergingPersonAttributeDao(final int poolSize, final Duration timeout) {
+        val threads = Math.max(1, poolSize);
+        this.executorService = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(threads * QUEUE_CAPACITY_PER_THREAD),
+            new BasicThreadFactory.Builder().namingPattern("cas-attribute-repository-%d").daemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+    }
+
+    private static String getSourceName(final IPersonAttributeDao dao) {
+        return Arrays.toString(dao.getId());
+    }
+
+    @Override
+    public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                     final IPersonAttributeDaoFilter filter) {
+        Validate.notNull(query, "query may not be null.");
+        Validate.validState(personAttributeDaos != null, "personAttributeDaos must be set");
+
+        val daos = personAttributeDaos
+            .stream()
+            .filter(dao -> filter == null || filter.choosePersonAttributeDao(dao))
+            .collect(Collectors.toList());
+        val futures = daos
+            .stream()
+            .map(dao -> submitQuery(query, dao, filter))
+            .collect(Collectors.toList());
+
+        val deadline = System.nanoTime() + timeout.toNanos();
+        Set<IPersonAttributes> resultPeople = null;
+        try {
+            for (var i = 0; i < daos.size(); i++) {
+                val dao = daos.get(i);
+                val currentPeople = getResultFromDao(dao, futures.get(i), deadline);
+                if (currentPeople != null) {
+                    resultPeople = resultPeople == null
+                        ? new LinkedHashSet<>(currentPeople)
+                        : attrMerger.mergeResults(resultPeople, currentPeople);
+                } else if (requireAll) {
+                    LOGGER.debug("Attribute repository [{}] did not resolve a person and configuration requires all "
+                                 + "sources to produce valid results. Short-circuiting the execution and returning null instead", dao);
+                    return null;
+                }
+            }
+        } finally {
+            futures.stream().filter(Objects::nonNull).forEach(future -> future.cancel(true));
+        }
+        LOGGER.debug("Aggregated search results [{}] for query [{}]", resultPeople, query);
+        return resultPeople == null ? null : CollectionsUtil.safelyWrapAsUnmodifiableSet(resultPeople);
+    }
+
+    @Override
+    protected Set<IPersonAttributes> getAttributesFromDao(final Map<String, List<Object>> seed, final boolean isFirstQuery,
+                                                          final IPersonAttributeDao currentlyConsidering,
+                                                          final Set<IPersonAttributes> resultPeople,
+                                                          final IPersonAttributeDaoFilter filter) {
+        val start = System.nanoTime();
+        try {
+            return currentlyConsidering.getPeopleWithMultivaluedAttributes(seed, filter);
+        } finally {
+            getSourceStatistics(currentlyConsidering).recordLatency(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets statistics for each attribute repository, such as the number of queries,
+     * query latencies and the number of queries that timed out or failed.
+     *
+     * @return the statistics, keyed by attribute repository id
+     */
+    public Map<String, Map<String, Object>> getStatistics() {
+        return statistics.entrySet()
+            .stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toMap()));
+    }
+
+    @Override
+    public void destroy() {
+        executorService.shutdownNow();
+    }
+
+    private Future<Set<IPersonAttributes>> submitQuery(final Map<String, List<Object>> query,
+                                                       final IPersonAttributeDao dao,
+                                                       final IPersonAttributeDaoFilter filter) {
+        try {
+            return executorService.submit(() -> getAttributesFromDao(query, true, dao, null, filter));
+        } catch (final RejectedExecutionException e) {
+            getSourceStatistics(dao).rejections.increment();
+            LOGGER.warn("Attribute repository [{}] cannot be queried; the executor is saturated", getSourceName(dao));
+            return null;
+        }
+    }
+
+    private Set<IPersonAttributes> getResultFromDao(final IPersonAttributeDao dao,
+                                                    final Future<Set<IPersonAttributes>> future,
+                                                    final long deadline) {
+        if (future == null) {
+            return null;
+        }
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            getSourceStatistics(dao).timeouts.increment();
+            LOGGER.warn("Attribute repository [{}] failed to produce a result within [{}]", getSourceName(dao), timeout);
+        } catch (final ExecutionException e) {
+            getSourceStatistics(dao).failures.increment();
+            val cause = e.getCause();
+            if (!isRecoverExceptions()) {
+                LOGGER.error("Attribute repository [{}] failed to produce a result", getSourceName(dao), cause);
+                throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+            }
+            LOGGER.warn("Attribute repository [{}] failed to produce a result and will be ignored", getSourceName(dao), cause);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        return null;
+    }
+
+    private SourceStatistics getSourceStatistics(final IPersonAttributeDao dao) {
+        return statistics.computeIfAbsent(getSourceName(dao), key -> new SourceStatistics());
+    }
+
+    private static final class SourceStatistics {
+        private final LongAdder queries = new LongAdder();
+
+        private final LongAdder totalLatency = new LongAdder();
+
+        private final AtomicLong lastLatency = new AtomicLong();
+
+        private final LongAdder timeouts = new LongAdder();
+
+        private final LongAdder failures = new LongAdder();
+
+        private final LongAdder rejections = new LongAdder();
+
+        void recordLatency(final long latency) {
+            queries.increment();
+            totalLatency.add(latency);
+            lastLatency.set(latency);
+        }
+
+        Map<String, Object> toMap() {
+            val count = queries.sum();
+            val map = new LinkedHashMap<String, Object>();
+            map.put("queries", count);
+            map.put("lastLatencyMillis", TimeUnit.NANOSECONDS.toMillis(lastLatency.get()));
+            map.put("averageLatencyMillis", count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatency.sum() / count));
+            map.put("timeouts", timeouts.sum());
+            map.put("failures", failures.sum());
+            map.put("rejections", rejections.sum());
+            return map;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.persondir.DefaultPersonDirectoryAttributeRepositoryPlan;
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryCustomizer;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlan;
 import org.apereo.cas.persondir.PersonDirectoryAttributeRepositoryPlanConfigurer;
@@ -147,6 +148,9 @@ public class CasPersonDirectoryConfiguration {
                     dao.setAddOriginalAttributesToQuery(true);
                     dao.setStopIfFirstDaoReturnsNull(true);
                     return dao;
+                case PARALLEL_MERGE:
+                    return new ParallelMergingPersonAttributeDao(properties.getCore().getParallelMergePoolSize(),
+                        Beans.newDuration(properties.getCore().getParallelMergeTimeout()));
                 case MERGE:
                 default:
                     return new MergingPersonAttributeDaoImpl();
@@ -0,0 +1,197 @@
+package org.apereo.cas;
+
+import org.apereo.cas.persondir.ParallelMergingPersonAttributeDao;
+import org.apereo.cas.util.CollectionUtils;
+
+import lombok.val;
+import org.apereo.services.persondir.IPersonAttributeDao;
+import org.apereo.services.persondir.IPersonAttributeDaoFilter;
+import org.apereo.services.persondir.IPersonAttributes;
+import org.apereo.services.persondir.support.StubPersonAttributeDao;
+import org.apereo.services.persondir.support.merger.MultivaluedAttributeMerger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This is {@link ParallelMergingPersonAttributeDaoTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("Attributes")
+public class ParallelMergingPersonAttributeDaoTests {
+
+    private static IPersonAttributeDao getAttributeRepository(final String id, final long delay,
+                                                              final Map<String, List<Object>> attributes) {
+        val dao = new StubPersonAttributeDao(attributes) {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                             final IPersonAttributeDaoFilter filter) {
+                try {
+                    Thread.sleep(delay);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                return super.getPeopleWithMultivaluedAttributes(query, filter);
+            }
+        };
+        dao.setId(id);
+        return dao;
+    }
+
+    private static IPersonAttributeDao getAttributeRepository(final String id, final CyclicBarrier barrier,
+                                                              final Map<String, List<Object>> attributes) {
+        val dao = new StubPersonAttributeDao(attributes) {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                             final IPersonAttributeDaoFilter filter) {
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                } catch (final Exception e) {
+                    return null;
+                }
+                return super.getPeopleWithMultivaluedAttributes(query, filter);
+            }
+        };
+        dao.setId(id);
+        return dao;
+    }
+
+    private static ParallelMergingPersonAttributeDao getAggregateAttributeRepository(final Duration timeout,
+                                                                                     final IPersonAttributeDao... daos) {
+        return getAggregateAttributeRepository(4, timeout, daos);
+    }
+
+    private static ParallelMergingPersonAttributeDao getAggregateAttributeRepository(final int poolSize,
+                                                                                     final Duration timeout,
+                                                                                     final IPersonAttributeDao... daos) {
+        val aggregate = new ParallelMergingPersonAttributeDao(poolSize, timeout);
+        aggregate.setMerger(new MultivaluedAttributeMerger());
+        aggregate.setPersonAttributeDaos(new ArrayList<>(List.of(daos)));
+        aggregate.setRecoverExceptions(true);
+        return aggregate;
+    }
+
+    @Test
+    public void verifyRepositoriesQueriedConcurrently() {
+        val barrier = new CyclicBarrier(3);
+        val aggregate = getAggregateAttributeRepository(Duration.ofSeconds(10),
+            getAttributeRepository("first", barrier, Map.of("uid", List.of("cas"), "eppn", List.of("casuser"))),
+            getAttributeRepository("second", barrier, Map.of("givenName", List.of("apereo"), "eppn", List.of("cas"))),
+            getAttributeRepository("third", barrier, Map.of("mail", List.of("cas@example.org"))));
+        val person = aggregate.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person);
+        assertEquals("cas", person.getAttributeValue("uid"));
+        assertEquals("apereo", person.getAttributeValue("givenName"));
+        assertEquals("cas@example.org", person.getAttributeValue("mail"));
+        assertEquals(List.of("casuser", "cas"), person.getAttributeValues("eppn"));
+        assertEquals(3, aggregate.getStatistics().size());
+        aggregate.destroy();
+    }
+
+    @Test
+    public void verifySlowRepositoryTimesOut() {
+        val aggregate = getAggregateAttributeRepository(Duration.ofMillis(300),
+            getAttributeRepository("fast", 0, Map.of("uid", List.of("cas"))),
+            getAttributeRepository("slow", 5000, Map.of("givenName", List.of("apereo"))));
+        val person = aggregate.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person);
+        assertEquals("cas", person.getAttributeValue("uid"));
+        assertNull(person.getAttributeValue("givenName"));
+        val statistics = aggregate.getStatistics();
+        assertEquals(1L, statistics.get("[slow]").get("timeouts"));
+        assertEquals(0L, statistics.get("[fast]").get("timeouts"));
+        aggregate.destroy();
+    }
+
+    @Test
+    public void verifyRequireAllRepositorySources() {
+        val aggregate = getAggregateAttributeRepository(Duration.ofMillis(300),
+            getAttributeRepository("fast", 0, Map.of("uid", List.of("cas"))),
+            getAttributeRepository("slow", 5000, Map.of("givenName", List.of("apereo"))));
+        aggregate.setRequireAll(true);
+        assertNull(aggregate.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose()));
+        aggregate.destroy();
+    }
+
+    @Test
+    public void verifySaturatedExecutorRejectsQueries() {
+        val latch = new CountDownLatch(1);
+        val blocking = new StubPersonAttributeDao(Map.of("uid", List.of("cas"))) {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                             final IPersonAttributeDaoFilter filter) {
+                try {
+                    latch.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+        };
+        blocking.setId("blocking");
+        val daos = new ArrayList<IPersonAttributeDao>();
+        daos.add(blocking);
+        IntStream.range(0, 150).forEach(i -> daos.add(getAttributeRepository("queued-" + i, 0, Map.of("uid", List.of("cas")))));
+        val callerThread = Thread.currentThread();
+        val callerRan = new AtomicBoolean();
+        val observer = new StubPersonAttributeDao(Map.of("uid", List.of("cas"))) {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                             final IPersonAttributeDaoFilter filter) {
+                callerRan.compareAndSet(false, Thread.currentThread() == callerThread);
+                return super.getPeopleWithMultivaluedAttributes(query, filter);
+            }
+        };
+        observer.setId("observer");
+        daos.add(observer);
+
+        val aggregate = getAggregateAttributeRepository(1, Duration.ofMillis(200), daos.toArray(IPersonAttributeDao[]::new));
+        try {
+            aggregate.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose());
+            assertFalse(callerRan.get());
+            val statistics = aggregate.getStatistics();
+            assertEquals(1L, statistics.get("[observer]").get("rejections"));
+            assertEquals(0L, statistics.get("[queued-0]").get("rejections"));
+        } finally {
+            latch.countDown();
+            aggregate.destroy();
+        }
+    }
+
+    @Test
+    public void verifyFailingRepository() {
+        val failing = new StubPersonAttributeDao() {
+            @Override
+            public Set<IPersonAttributes> getPeopleWithMultivaluedAttributes(final Map<String, List<Object>> query,
+                                                                             final IPersonAttributeDaoFilter filter) {
+                throw new IllegalArgumentException("Repository is unavailable");
+            }
+        };
+        failing.setId("failing");
+        val aggregate = getAggregateAttributeRepository(Duration.ofSeconds(5),
+            getAttributeRepository("working", 0, Map.of("uid", List.of("cas"))), failing);
+        val person = aggregate.getPerson("casuser", IPersonAttributeDaoFilter.alwaysChoose());
+        assertNotNull(person);
+        assertEquals(1L, aggregate.getStatistics().get("[failing]").get("failures"));
+
+        aggregate.setRecoverExceptions(false);
+        assertThrows(IllegalArgumentException.class,
+            () -> aggregate.getPeople(CollectionUtils.wrap("username", "casuser"), IPersonAttributeDaoFilter.alwaysChoose()));
+        aggregate.destroy();
+    }
+}
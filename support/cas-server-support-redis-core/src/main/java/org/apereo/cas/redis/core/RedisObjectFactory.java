@@ -64,6 +64,23 @@ public class RedisObjectFactory {
         return template;
     }
 
+    /**
+     * New redis template whose keys, values and hash entries are all plain strings.
+     *
+     * @param connectionFactory the connection factory
+     * @return the redis template
+     */
+    public static CasRedisTemplate<String, String> newStringRedisTemplate(final RedisConnectionFactory connectionFactory) {
+        val template = new DefaultCasRedisTemplate<String, String>();
+        val string = new StringRedisSerializer();
+        template.setKeySerializer(string);
+        template.setValueSerializer(string);
+        template.setHashValueSerializer(string);
+        template.setHashKeySerializer(string);
+        template.setConnectionFactory(connectionFactory);
+        return template;
+    }
+
     /**
      * New redis connection factory.
      *
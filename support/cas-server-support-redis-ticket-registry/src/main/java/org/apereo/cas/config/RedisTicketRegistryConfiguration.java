@@ -8,7 +8,9 @@ import org.apereo.cas.redis.core.RedisObjectFactory;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.registry.DefaultTicketRegistry;
 import org.apereo.cas.ticket.registry.RedisTicketRegistry;
+import org.apereo.cas.ticket.registry.RedisTicketRegistryInvalidationChannel;
 import org.apereo.cas.ticket.registry.TicketRegistry;
+import org.apereo.cas.ticket.registry.TicketRegistryInvalidationChannel;
 import org.apereo.cas.util.CoreTicketUtils;
 import org.apereo.cas.util.lock.DefaultLockRepository;
 import org.apereo.cas.util.lock.LockRepository;
@@ -76,18 +78,35 @@ public class RedisTicketRegistryConfiguration {
                 .get();
         }
 
+        @Bean
+        @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+        @ConditionalOnMissingBean(name = "ticketIndexRedisTemplate")
+        public CasRedisTemplate<String, String> ticketIndexRedisTemplate(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier("redisTicketConnectionFactory")
+            final RedisConnectionFactory redisTicketConnectionFactory) {
+            return BeanSupplier.of(CasRedisTemplate.class)
+                .when(CONDITION.given(applicationContext.getEnvironment()))
+                .supply(() -> RedisObjectFactory.newStringRedisTemplate(redisTicketConnectionFactory))
+                .otherwiseProxy()
+                .get();
+        }
+
         @Bean
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         public TicketRegistry ticketRegistry(
             final ConfigurableApplicationContext applicationContext,
             final CasConfigurationProperties casProperties,
+            @Qualifier("ticketIndexRedisTemplate")
+            final CasRedisTemplate<String, String> ticketIndexRedisTemplate,
             @Qualifier("ticketRedisTemplate")
             final CasRedisTemplate<String, Ticket> ticketRedisTemplate) {
             return BeanSupplier.of(TicketRegistry.class)
                 .when(CONDITION.given(applicationContext.getEnvironment()))
                 .supply(() -> {
                     val redis = casProperties.getTicket().getRegistry().getRedis();
-                    val r = new RedisTicketRegistry(ticketRedisTemplate, redis.getScanCount());
+                    val r = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, redis.getScanCount());
+                    r.setExpirationIndexEnabled(casProperties.getTicket().getRegistry().getCleaner().getSchedule().isEnabled());
                     r.setCipherExecutor(CoreTicketUtils.newTicketRegistryCipherExecutor(redis.getCrypto(), "redis"));
                     return r;
                 })
@@ -96,6 +115,27 @@ public class RedisTicketRegistryConfiguration {
         }
     }
 
+    @Configuration(value = "RedisTicketRegistryNearCacheConfiguration", proxyBeanMethods = false)
+    @EnableConfigurationProperties(CasConfigurationProperties.class)
+    public static class RedisTicketRegistryNearCacheConfiguration {
+        private static final BeanCondition CONDITION_NEAR_CACHE = BeanCondition.on("cas.ticket.registry.redis.enabled").isTrue().evenIfMissing()
+            .and("cas.ticket.registry.near-cache.enabled").isTrue();
+
+        @Bean
+        public TicketRegistryInvalidationChannel ticketRegistryInvalidationChannel(
+            final ConfigurableApplicationContext applicationContext,
+            @Qualifier("redisTicketConnectionFactory")
+            final RedisConnectionFactory redisTicketConnectionFactory,
+            @Qualifier("ticketRedisTemplate")
+            final CasRedisTemplate<String, Ticket> ticketRedisTemplate) {
+            return BeanSupplier.of(TicketRegistryInvalidationChannel.class)
+                .when(CONDITION_NEAR_CACHE.given(applicationContext.getEnvironment()))
+                .supply(() -> new RedisTicketRegistryInvalidationChannel(ticketRedisTemplate, redisTicketConnectionFactory))
+                .otherwise(TicketRegistryInvalidationChannel::noOp)
+                .get();
+        }
+    }
+
     @Configuration(value = "RedisTicketRegistryLockingConfiguration", proxyBeanMethods = false)
     @EnableConfigurationProperties(CasConfigurationProperties.class)
     @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.TicketRegistryLocking, module = "redis")
@@ -0,0 +1,165 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.authentication.principal.Service;
+
+import lombok.val;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * This is {@link RedisLinkedServices}, the services of a ticket-granting ticket that
+ * the redis ticket registry keeps in a separate redis hash. Services are only loaded from redis
+ * the first time they are accessed, and the map keeps track of the services that are linked
+ * or removed from then on, so that only those changes are written back to redis.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+public class RedisLinkedServices extends AbstractMap<String, Service> implements Serializable {
+    private static final long serialVersionUID = 5262941208315620343L;
+
+    private final Map<String, Service> linkedServices = new LinkedHashMap<>();
+
+    private final Set<String> removedServices = new LinkedHashSet<>();
+
+    private transient Supplier<Map<String, Service>> loader;
+
+    private Map<String, Service> services;
+
+    /**
+     * Bind the loader of services linked in redis.
+     *
+     * @param loader the loader
+     */
+    synchronized void bind(final Supplier<Map<String, Service>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Gets services linked since the services were loaded or last written.
+     *
+     * @return the services
+     */
+    synchronized Map<String, Service> getLinkedServices() {
+        return new LinkedHashMap<>(linkedServices);
+    }
+
+    /**
+     * Gets ids of services removed since the services were loaded or last written.
+     *
+     * @return the ids
+     */
+    synchronized Set<String> getRemovedServices() {
+        return new LinkedHashSet<>(removedServices);
+    }
+
+    /**
+     * Forget tracked changes once they are written to redis.
+     */
+    synchronized void commit() {
+        linkedServices.clear();
+        removedServices.clear();
+    }
+
+    @Override
+    public synchronized Service put(final String key, final Service value) {
+        linkedServices.put(key, value);
+        removedServices.remove(key);
+        return getServices().put(key, value);
+    }
+
+    @Override
+    public Service get(final Object key) {
+        return getServices().get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return getServices().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return getServices().size();
+    }
+
+    @Override
+    public synchronized Service remove(final Object key) {
+        val services = getServices();
+        if (services.containsKey(key)) {
+            trackRemoval((String) key);
+        }
+        return services.remove(key);
+    }
+
+    @Override
+    public Set<Entry<String, Service>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Service>> iterator() {
+                val iterator = getServices().entrySet().iterator();
+                return new Iterator<>() {
+                    private Entry<String, Service> current;
+
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Service> next() {
+                        current = iterator.next();
+                        return current;
+                    }
+
+                    @Override
+                    public void remove() {
+                        synchronized (RedisLinkedServices.this) {
+                            iterator.remove();
+                            trackRemoval(current.getKey());
+                        }
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return getServices().size();
+            }
+        };
+    }
+
+    private synchronized Map<String, Service> getServices() {
+        if (services == null) {
+            services = new LinkedHashMap<>();
+            if (loader != null) {
+                services.putAll(loader.get());
+            }
+        }
+        return services;
+    }
+
+    private void trackRemoval(final String key) {
+        linkedServices.remove(key);
+        removedServices.add(key);
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        synchronized (this) {
+            if (loader != null) {
+                getServices();
+            }
+            out.defaultWriteObject();
+        }
+    }
+}
@@ -1,22 +1,68 @@
 package org.apereo.cas.ticket.registry;
 
+import org.apereo.cas.authentication.principal.Service;
 import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.util.LoggingUtils;
+import org.apereo.cas.util.serialization.SerializationUtils;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.BoundZSetOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Key-value ticket registry implementation that stores tickets in redis keyed on the ticket ID.
+ * Tickets are also indexed by ticket prefix in redis sorted sets whose scores are the expiration
+ * instants of the tickets, so that tickets can be counted and listed without scanning the keyspace.
+ * Single sign-on sessions are also indexed per principal in a redis hash whose fields are the
+ * redis keys of the principal's ticket-granting tickets. The hash expires along with the longest-lived
+ * ticket-granting ticket of the principal, and fields of tickets that have since expired are pruned on lookup.
+ * Index entries are plain strings and are managed via a separate template that uses string serializers.
+ * Ticket indexes are trimmed of expired entries whenever a ticket is written, and the expiration index
+ * is only maintained when the ticket registry cleaner is enabled, so that neither grows without bound.
  *
  * @author serv
  * @since 5.1.0
@@ -26,10 +72,34 @@ import java.util.stream.Stream;
 public class RedisTicketRegistry extends AbstractTicketRegistry {
     private static final String CAS_TICKET_PREFIX = "CAS_TICKET:";
 
+    private static final String CAS_PRINCIPAL_PREFIX = "CAS_PRINCIPAL:";
+
+    private static final String CAS_TICKET_INDEX_PREFIX = "CAS_TICKET_INDEX:";
+
+    private static final String CAS_TICKET_INDEXES = "CAS_TICKET_INDEXES";
+
+    private static final String CAS_TICKET_SERVICES_PREFIX = "CAS_TICKET_SERVICES:";
+
+    private static final String CAS_TICKET_EXPIRATION_PREFIX = "CAS_TICKET_EXPIRATION:";
+
+    private static final int DEFAULT_BATCH_SIZE = 500;
+
     private final CasRedisTemplate<String, Ticket> client;
 
+    private final CasRedisTemplate<String, String> indexClient;
+
     private final long scanCount;
 
+    private final Set<String> registeredIndexes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Whether tickets should be tracked in the expiration index.
+     * Only the ticket registry cleaner reads the index, and it should
+     * be turned off when the cleaner is disabled.
+     */
+    @Setter
+    private boolean expirationIndexEnabled = true;
+
     /**
      * If not time out value is specified, expire the ticket immediately.
      *
@@ -50,23 +120,104 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
         return CAS_TICKET_PREFIX + ticketId;
     }
 
-    private static String getPatternTicketRedisKey() {
-        return CAS_TICKET_PREFIX + '*';
+    private static String getTicketServicesRedisKey(final String redisKey) {
+        return CAS_TICKET_SERVICES_PREFIX + redisKey;
+    }
+
+    private static String getTicketIndexRedisKey(final String prefix) {
+        return CAS_TICKET_INDEX_PREFIX + prefix;
+    }
+
+    private static String getExpirationIndexRedisKey(final int partition) {
+        return CAS_TICKET_EXPIRATION_PREFIX + partition;
+    }
+
+    private static TicketIndexType getTicketIndexType(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            return TicketIndexType.SESSION;
+        }
+        if (ticket instanceof ServiceTicket) {
+            return TicketIndexType.SERVICE;
+        }
+        return TicketIndexType.OTHER;
+    }
+
+    /**
+     * Serialize the ticket-granting ticket, leaving out its services, which are kept in a separate redis hash.
+     * The services map is replaced by an empty {@link RedisLinkedServices} in the serialized form only,
+     * so the ticket itself, which may be in use by other threads, is never changed or copied.
+     *
+     * @param ticket the ticket
+     * @return the serialized ticket
+     * @throws IOException the exception
+     */
+    private static byte[] serializeWithoutServices(final TicketGrantingTicket ticket) throws IOException {
+        val services = ticket.getServices();
+        val output = new ByteArrayOutputStream();
+        try (val stream = new ObjectOutputStream(output) {
+            {
+                enableReplaceObject(true);
+            }
+
+            @Override
+            protected Object replaceObject(final Object object) {
+                return object == services ? new RedisLinkedServices() : object;
+            }
+        }) {
+            stream.writeObject(ticket);
+        }
+        return output.toByteArray();
     }
 
     @Override
-    @SuppressWarnings("java:S2583")
     public long deleteAll() {
-        val redisKeys = getKeysStream().collect(Collectors.toSet());
-        val size = Objects.requireNonNull(redisKeys).size();
-        this.client.delete(redisKeys);
-        return size;
+        var count = 0L;
+        for (val prefix : getTicketIndexes().keySet()) {
+            try (val redisKeys = getTicketIndexRedisKeys(prefix, 0)) {
+                val iterator = redisKeys.iterator();
+                while (iterator.hasNext()) {
+                    val batch = nextBatch(iterator);
+                    count += Objects.requireNonNull(client.delete(batch));
+                    client.delete(batch.stream().map(RedisTicketRegistry::getTicketServicesRedisKey).collect(Collectors.toList()));
+                }
+            }
+            indexClient.delete(getTicketIndexRedisKey(prefix));
+        }
+        indexClient.delete(CAS_TICKET_INDEXES);
+        registeredIndexes.clear();
+        indexClient.delete(IntStream.range(0, EXPIRATION_PARTITION_COUNT)
+            .mapToObj(RedisTicketRegistry::getExpirationIndexRedisKey)
+            .collect(Collectors.toList()));
+        try (val principalRedisKeys = indexClient.keys(CAS_PRINCIPAL_PREFIX + '*', getBatchSize())) {
+            val iterator = principalRedisKeys.iterator();
+            while (iterator.hasNext()) {
+                indexClient.delete(nextBatch(iterator));
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int deleteTicket(final Ticket ticket) throws Exception {
+        val count = super.deleteTicket(ticket);
+        val principalRedisKey = getPrincipalRedisKey(getSessionPrincipalId(ticket));
+        if (principalRedisKey != null) {
+            indexClient.boundHashOps(principalRedisKey).delete(getTicketRedisKey(encodeTicketId(ticket.getId())));
+        }
+        return count;
     }
 
     @Override
     public boolean deleteSingleTicket(final String ticketId) {
         val redisKey = getTicketRedisKey(encodeTicketId(ticketId));
-        this.client.delete(redisKey);
+        pipelined(() -> {
+            client.delete(List.of(redisKey, getTicketServicesRedisKey(redisKey)));
+            getTicketIndex(StringUtils.substringBefore(ticketId, "-")).remove(redisKey);
+            if (expirationIndexEnabled) {
+                getExpirationIndex(getExpirationPartition(redisKey)).remove(redisKey);
+            }
+            return null;
+        });
         return true;
     }
 
@@ -74,10 +225,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     public void addTicketInternal(final Ticket ticket) {
         try {
             LOGGER.debug("Adding ticket [{}]", ticket);
-            val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
-            val encodeTicket = encodeTicket(ticket);
-            val timeout = getTimeout(ticket);
-            this.client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+            writeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to add [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -91,6 +239,7 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
             val t = this.client.boundValueOps(redisKey).get();
             if (t != null) {
                 val result = decodeTicket(t);
+                bindLinkedServices(result);
                 if (predicate.test(result)) {
                     return result;
                 }
@@ -114,31 +263,75 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
 
     @Override
     public Stream<? extends Ticket> stream() {
-        return getKeysStream()
-            .map(redisKey -> {
-                val ticket = this.client.boundValueOps(redisKey).get();
-                if (ticket == null) {
-                    this.client.delete(redisKey);
-                    return null;
+        val now = System.currentTimeMillis();
+        return getTicketIndexes()
+            .keySet()
+            .stream()
+            .flatMap(prefix -> {
+                val index = getTicketIndex(prefix);
+                index.removeRangeByScore(0, now);
+                val redisKeys = getTicketIndexRedisKeys(prefix, now);
+                return getTickets(redisKeys.iterator(), staleKeys -> index.remove(staleKeys.toArray()))
+                    .onClose(redisKeys::close);
+            });
+    }
+
+    @Override
+    public int getExpirationPartitionCount() {
+        return expirationIndexEnabled ? EXPIRATION_PARTITION_COUNT : 1;
+    }
+
+    /**
+     * Tickets are kept in sorted sets, one per partition, scored by the time at which they
+     * should be checked for expiration. Only tickets that are due are fetched; those that turn
+     * out to be still valid are scheduled to be checked again later. If the expiration
+     * index is not maintained, all tickets are scanned for expiration instead.
+     *
+     * @param partition the partition
+     * @return the expired tickets
+     */
+    @Override
+    public Stream<? extends Ticket> getExpiredTickets(final int partition) {
+        if (!expirationIndexEnabled) {
+            return stream().filter(Ticket::isExpired);
+        }
+        val index = getExpirationIndex(partition);
+        val redisKeys = Objects.requireNonNull(index.rangeByScore(0, System.currentTimeMillis()));
+        return getTickets(redisKeys.iterator(), staleKeys -> index.remove(staleKeys.toArray()))
+            .filter(ticket -> {
+                if (ticket.isExpired()) {
+                    return true;
                 }
-                return ticket;
-            })
-            .filter(Objects::nonNull)
-            .map(this::decodeTicket)
-            .filter(Objects::nonNull);
+                index.add(getTicketRedisKey(encodeTicketId(ticket.getId())), getExpirationRecheckTime(ticket));
+                return false;
+            });
+    }
+
+    @Override
+    public OptionalLong getIndexedExpirationCheckTime(final Ticket ticket) {
+        if (!expirationIndexEnabled) {
+            return OptionalLong.empty();
+        }
+        val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
+        val score = getExpirationIndex(getExpirationPartition(redisKey)).score(redisKey);
+        return score != null ? OptionalLong.of(score.longValue()) : OptionalLong.empty();
+    }
+
+    @Override
+    public long sessionCount() {
+        return countTickets(TicketIndexType.SESSION);
+    }
+
+    @Override
+    public long serviceTicketCount() {
+        return countTickets(TicketIndexType.SERVICE);
     }
 
     @Override
     public Ticket updateTicket(final Ticket ticket) {
         try {
             LOGGER.debug("Updating ticket [{}]", ticket);
-            val encodeTicket = this.encodeTicket(ticket);
-            val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
-            LOGGER.debug("Fetched redis key [{}] for ticket [{}]", redisKey, ticket);
-
-            val timeout = getTimeout(ticket);
-            client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
-            return encodeTicket;
+            return writeTicket(ticket);
         } catch (final Exception e) {
             LOGGER.error("Failed to update [{}]", ticket);
             LoggingUtils.error(LOGGER, e);
@@ -147,11 +340,401 @@ public class RedisTicketRegistry extends AbstractTicketRegistry {
     }
 
     /**
-     * Get a stream of all CAS-related keys from Redis DB.
+     * Tickets that are added or updated in the batch are written to redis in a single
+     * {@code MULTI}/{@code EXEC} transaction. Deletions may need to look up related tickets
+     * and are therefore applied after the transaction has completed. Redis cluster deployments
+     * do not support transactions across keys, and apply changes one at a time instead.
+     *
+     * @param batch the batch
+     * @throws Exception the exception
+     */
+    @Override
+    public void save(final TicketRegistryBatch batch) throws Exception {
+        if (isClusterAware()) {
+            super.save(batch);
+            return;
+        }
+        val tickets = Stream.concat(
+                batch.getAddedTickets().stream().filter(ticket -> ticket != null && !ticket.isExpired()),
+                batch.getUpdatedTickets().stream())
+            .collect(Collectors.toList());
+        if (!tickets.isEmpty()) {
+            val sessionExpirations = getSessionExpirations(tickets);
+            try {
+                val results = client.execute(new SessionCallback<List<Object>>() {
+                    @Override
+                    public <K, V> List<Object> execute(final RedisOperations<K, V> operations) {
+                        operations.multi();
+                        tickets.forEach(Unchecked.consumer(ticket -> writeTicket(ticket, sessionExpirations::get)));
+                        return operations.exec();
+                    }
+                });
+                LOGGER.debug("Saved [{}] tickets in a single transaction with results [{}]", tickets.size(), results);
+            } catch (final Exception e) {
+                registeredIndexes.clear();
+                throw e;
+            }
+        }
+        for (val ticketId : batch.getDeletedTicketIds()) {
+            deleteTicket(ticketId);
+        }
+    }
+
+    @Override
+    public Stream<? extends Ticket> getSessionsFor(final String principalId) {
+        val principalRedisKey = getPrincipalRedisKey(principalId);
+        if (principalRedisKey == null) {
+            return Stream.empty();
+        }
+        val sessions = indexClient.<String, String>boundHashOps(principalRedisKey);
+        val redisKeys = Objects.requireNonNull(sessions.keys());
+        return getTickets(redisKeys.iterator(), staleKeys -> {
+            LOGGER.trace("Tickets [{}] are no longer found and are removed from the sessions index", staleKeys);
+            sessions.delete(staleKeys.toArray());
+        }).filter(ticket -> isSessionFor(ticket, principalId));
+    }
+
+    private String getPrincipalRedisKey(final String principalId) {
+        val key = getPrincipalSessionIndexKey(principalId);
+        return key != null ? CAS_PRINCIPAL_PREFIX + key : null;
+    }
+
+    /**
+     * Write the ticket and its index entries to redis. The current state of the indexes
+     * is fetched in a single round trip, and all writes are then sent in a single pipeline.
      *
-     * @return stream of all CAS-related keys from Redis DB
+     * @param ticket the ticket
+     * @return the encoded ticket
+     */
+    private Ticket writeTicket(final Ticket ticket) {
+        val sessionExpirations = getSessionExpirations(List.of(ticket));
+        return pipelined(Unchecked.supplier(() -> writeTicket(ticket, sessionExpirations::get)));
+    }
+
+    /**
+     * Write the ticket and its index entries to redis.
+     * The current expiration of the principal's sessions index is looked up via the given function,
+     * so that it can be fetched ahead of time when writes are queued in a transaction.
+     *
+     * @param ticket            the ticket
+     * @param sessionExpiration the session index expiration
+     * @return the encoded ticket
+     * @throws Exception the exception
      */
-    private Stream<String> getKeysStream() {
-        return client.keys(getPatternTicketRedisKey(), this.scanCount);
+    private Ticket writeTicket(final Ticket ticket, final Function<String, Long> sessionExpiration) throws Exception {
+        val redisKey = getTicketRedisKey(encodeTicketId(ticket.getId()));
+        val timeout = getTimeout(ticket);
+        val encodeTicket = ticket instanceof TicketGrantingTicket
+            ? writeTicketGrantingTicket((TicketGrantingTicket) ticket, redisKey, timeout)
+            : writeTicketBody(ticket, redisKey, timeout);
+        addTicketToIndex(ticket, redisKey, timeout);
+        if (expirationIndexEnabled) {
+            getExpirationIndex(getExpirationPartition(redisKey)).add(redisKey, getExpirationCheckTime(ticket));
+        }
+        addSessionToIndex(ticket, redisKey, timeout, sessionExpiration);
+        return encodeTicket;
+    }
+
+    private Ticket writeTicketBody(final Ticket ticket, final String redisKey, final long timeout) throws Exception {
+        val encodeTicket = encodeTicket(ticket);
+        client.boundValueOps(redisKey).set(encodeTicket, timeout, TimeUnit.SECONDS);
+        return encodeTicket;
+    }
+
+    /**
+     * Services of ticket-granting tickets are kept in a separate redis hash keyed by service ticket id,
+     * and are left out of the ticket itself. This way, the ticket does not grow with every service ticket
+     * that is issued. Tickets read from redis keep track of the services that are linked or removed
+     * via {@link RedisLinkedServices}, and only those changes are written to the hash; services linked
+     * by other nodes in the meantime are left alone. Tickets that were not read from redis have all of
+     * their services written, and none removed.
+     *
+     * @param ticket   the ticket
+     * @param redisKey the redis key
+     * @param timeout  the timeout
+     * @return the encoded ticket
+     * @throws Exception the exception
+     */
+    private Ticket writeTicketGrantingTicket(final TicketGrantingTicket ticket, final String redisKey,
+                                             final long timeout) throws Exception {
+        val encodeTicket = writeTicketGrantingTicketBody(ticket, redisKey, timeout);
+
+        val services = ticket.getServices();
+        val trackedServices = services instanceof RedisLinkedServices ? (RedisLinkedServices) services : null;
+        val linkedServices = trackedServices != null ? trackedServices.getLinkedServices() : new LinkedHashMap<>(services);
+        val removedServices = trackedServices != null ? trackedServices.getRemovedServices() : Set.<String>of();
+
+        val linkage = client.<String, Object>boundHashOps(getTicketServicesRedisKey(redisKey));
+        if (!linkedServices.isEmpty()) {
+            LOGGER.trace("Linking [{}] services to ticket [{}]", linkedServices.size(), ticket.getId());
+            val fields = new LinkedHashMap<String, Object>();
+            linkedServices.forEach((id, service) -> fields.put(encodeTicketId(id), encodeLinkedService(id, service)));
+            linkage.putAll(fields);
+        }
+        if (!removedServices.isEmpty()) {
+            LOGGER.trace("Unlinking services [{}] from ticket [{}]", removedServices, ticket.getId());
+            linkage.delete(removedServices.stream().map(this::encodeTicketId).toArray());
+        }
+        linkage.expire(timeout, TimeUnit.SECONDS);
+        if (trackedServices != null) {
+            trackedServices.commit();
+        }
+        return encodeTicket;
+    }
+
+    /**
+     * Write the body of the ticket-granting ticket without its services. The ticket is serialized once,
+     * and the serialized form is written as is, or encrypted first when ticket encryption is enabled.
+     * Tickets are written in the same java serialization format that the redis template uses for values,
+     * and are read back via the template as usual.
+     *
+     * @param ticket   the ticket
+     * @param redisKey the redis key
+     * @param timeout  the timeout
+     * @return the encoded ticket
+     * @throws IOException the exception
+     */
+    private Ticket writeTicketGrantingTicketBody(final TicketGrantingTicket ticket, final String redisKey,
+                                                 final long timeout) throws IOException {
+        val body = serializeWithoutServices(ticket);
+        if (isCipherExecutorEnabled()) {
+            val encodedTicketId = encodeTicketId(ticket.getId());
+            val encodedTicket = new DefaultEncodedTicket(encodedTicketId,
+                (byte[]) cipherExecutor.encode(body, new Object[]{encodedTicketId}), ticket.getPrefix());
+            client.boundValueOps(redisKey).set(encodedTicket, timeout, TimeUnit.SECONDS);
+            return encodedTicket;
+        }
+        val key = ((RedisSerializer<String>) client.getKeySerializer()).serialize(redisKey);
+        client.execute((RedisCallback<Boolean>) connection -> connection.stringCommands()
+            .set(Objects.requireNonNull(key), body, Expiration.seconds(timeout), RedisStringCommands.SetOption.upsert()));
+        return ticket;
+    }
+
+    private Object encodeLinkedService(final String serviceTicketId, final Service service) {
+        val linkedService = new AbstractMap.SimpleImmutableEntry<>(serviceTicketId, service);
+        return isCipherExecutorEnabled()
+            ? SerializationUtils.serializeAndEncodeObject(cipherExecutor, linkedService)
+            : linkedService;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map.Entry<String, Service> decodeLinkedService(final Object linkedService) {
+        if (linkedService instanceof byte[]) {
+            return isCipherExecutorEnabled()
+                ? SerializationUtils.decodeAndDeserializeObject((byte[]) linkedService, cipherExecutor, AbstractMap.SimpleImmutableEntry.class)
+                : null;
+        }
+        return (Map.Entry<String, Service>) linkedService;
+    }
+
+    /**
+     * Look up the current expiration of the sessions indexes of the principals of the given tickets.
+     * Lookups are sent in a single pipeline, unless redis is deployed as a cluster.
+     *
+     * @param tickets the tickets
+     * @return the session index expirations, keyed by redis key
+     */
+    private Map<String, Long> getSessionExpirations(final List<? extends Ticket> tickets) {
+        val principalRedisKeys = tickets.stream()
+            .map(ticket -> getPrincipalRedisKey(getSessionPrincipalId(ticket)))
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        val sessionExpirations = new HashMap<String, Long>();
+        if (principalRedisKeys.size() == 1 || isClusterAware()) {
+            principalRedisKeys.forEach(key -> sessionExpirations.put(key, indexClient.getExpire(key)));
+        } else if (!principalRedisKeys.isEmpty()) {
+            val results = indexClient.executePipelined(new SessionCallback<Object>() {
+                @Override
+                public <K, V> Object execute(final RedisOperations<K, V> operations) {
+                    principalRedisKeys.forEach(indexClient::getExpire);
+                    return null;
+                }
+            });
+            for (var i = 0; i < principalRedisKeys.size(); i++) {
+                sessionExpirations.put(principalRedisKeys.get(i), (Long) results.get(i));
+            }
+        }
+        return sessionExpirations;
+    }
+
+    /**
+     * Send the redis commands issued by the given operations in a single pipeline,
+     * unless redis is deployed as a cluster. Results of the commands are not available
+     * to the operations, which should only be used to write.
+     *
+     * @param <T>        the type parameter
+     * @param operations the operations
+     * @return the result of the operations
+     */
+    private <T> T pipelined(final Supplier<T> operations) {
+        if (isClusterAware()) {
+            return operations.get();
+        }
+        val result = new AtomicReference<T>();
+        client.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(final RedisOperations<K, V> redisOperations) {
+                result.set(operations.get());
+                return null;
+            }
+        });
+        return result.get();
+    }
+
+    /**
+     * Bind ticket-granting tickets read from redis to the redis hash of their linked services,
+     * which are only fetched once the services of the ticket are accessed.
+     *
+     * @param ticket the ticket
+     */
+    private void bindLinkedServices(final Ticket ticket) {
+        if (ticket instanceof TicketGrantingTicket) {
+            val services = ((TicketGrantingTicket) ticket).getServices();
+            if (services instanceof RedisLinkedServices) {
+                val servicesRedisKey = getTicketServicesRedisKey(getTicketRedisKey(encodeTicketId(ticket.getId())));
+                ((RedisLinkedServices) services).bind(() -> getLinkedServices(servicesRedisKey));
+            }
+        }
+    }
+
+    private Map<String, Service> getLinkedServices(final String servicesRedisKey) {
+        LOGGER.trace("Loading services linked to [{}]", servicesRedisKey);
+        val services = new LinkedHashMap<String, Service>();
+        client.opsForHash().entries(servicesRedisKey)
+            .values()
+            .stream()
+            .map(this::decodeLinkedService)
+            .filter(Objects::nonNull)
+            .forEach(entry -> services.put(entry.getKey(), entry.getValue()));
+        return services;
+    }
+
+    private void addSessionToIndex(final Ticket ticket, final String redisKey, final long timeout,
+                                   final Function<String, Long> sessionExpiration) {
+        val principalRedisKey = getPrincipalRedisKey(getSessionPrincipalId(ticket));
+        if (principalRedisKey != null) {
+            val sessions = indexClient.<String, String>boundHashOps(principalRedisKey);
+            sessions.put(redisKey, ticket.getPrefix());
+            val expiration = sessionExpiration.apply(principalRedisKey);
+            if (expiration == null || expiration < timeout) {
+                sessions.expire(timeout, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void addTicketToIndex(final Ticket ticket, final String redisKey, final long timeout) {
+        val prefix = ticket.getPrefix();
+        if (registeredIndexes.add(prefix)) {
+            indexClient.<String, String>boundHashOps(CAS_TICKET_INDEXES).put(prefix, getTicketIndexType(ticket).name());
+        }
+        val now = System.currentTimeMillis();
+        val index = getTicketIndex(prefix);
+        index.removeRangeByScore(0, now);
+        index.add(redisKey, now + TimeUnit.SECONDS.toMillis(timeout));
+    }
+
+    private long countTickets(final TicketIndexType type) {
+        val now = System.currentTimeMillis();
+        return getTicketIndexes()
+            .entrySet()
+            .stream()
+            .filter(entry -> type.name().equals(entry.getValue()))
+            .map(entry -> getTicketIndex(entry.getKey()).count(now, Double.POSITIVE_INFINITY))
+            .filter(Objects::nonNull)
+            .mapToLong(Long::longValue)
+            .sum();
+    }
+
+    private Map<String, String> getTicketIndexes() {
+        return indexClient.<String, String>boundHashOps(CAS_TICKET_INDEXES).entries();
+    }
+
+    private BoundZSetOperations<String, String> getTicketIndex(final String prefix) {
+        return indexClient.boundZSetOps(getTicketIndexRedisKey(prefix));
+    }
+
+    private BoundZSetOperations<String, String> getExpirationIndex(final int partition) {
+        return indexClient.boundZSetOps(getExpirationIndexRedisKey(partition));
+    }
+
+    /**
+     * Scan the ticket index for the redis keys of tickets that expire after the given instant.
+     *
+     * @param prefix the ticket prefix
+     * @param now    the instant in milliseconds
+     * @return the redis keys
+     */
+    private Stream<String> getTicketIndexRedisKeys(final String prefix, final long now) {
+        val options = ScanOptions.scanOptions().count(getBatchSize()).build();
+        val cursor = getTicketIndex(prefix).scan(options);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED), false)
+            .filter(entry -> entry.getScore() == null || entry.getScore() > now)
+            .map(ZSetOperations.TypedTuple::getValue)
+            .onClose(cursor::close);
+    }
+
+    /**
+     * Fetch tickets from redis in batches, using a single round trip for each batch of keys.
+     * Keys whose tickets can no longer be found are handed over to the given consumer
+     * so they can be removed from the index that produced them.
+     *
+     * @param redisKeys the redis keys
+     * @param staleKeys the consumer of stale keys
+     * @return the tickets
+     */
+    private Stream<Ticket> getTickets(final Iterator<String> redisKeys, final Consumer<List<String>> staleKeys) {
+        val batches = new Iterator<List<String>>() {
+            @Override
+            public boolean hasNext() {
+                return redisKeys.hasNext();
+            }
+
+            @Override
+            public List<String> next() {
+                return nextBatch(redisKeys);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+            .flatMap(batch -> {
+                val tickets = Objects.requireNonNull(client.opsForValue().multiGet(batch));
+                val missing = new ArrayList<String>();
+                for (var i = 0; i < batch.size(); i++) {
+                    if (tickets.get(i) == null) {
+                        missing.add(batch.get(i));
+                    }
+                }
+                if (!missing.isEmpty()) {
+                    staleKeys.accept(missing);
+                }
+                val decoded = tickets.stream()
+                    .filter(Objects::nonNull)
+                    .map(this::decodeTicket)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+                decoded.forEach(this::bindLinkedServices);
+                return decoded.stream();
+            });
+    }
+
+    private List<String> nextBatch(final Iterator<String> redisKeys) {
+        val batch = new ArrayList<String>(getBatchSize());
+        while (redisKeys.hasNext() && batch.size() < getBatchSize()) {
+            batch.add(redisKeys.next());
+        }
+        return batch;
+    }
+
+    private boolean isClusterAware() {
+        val connectionFactory = client.getConnectionFactory();
+        return connectionFactory instanceof LettuceConnectionFactory && ((LettuceConnectionFactory) connectionFactory).isClusterAware();
+    }
+
+    private int getBatchSize() {
+        return scanCount > 0 ? (int) Math.min(scanCount, Integer.MAX_VALUE) : DEFAULT_BATCH_SIZE;
+    }
+
+    private enum TicketIndexType {
+        SESSION, SERVICE, OTHER
     }
 }
@@ -0,0 +1,71 @@
+package org.apereo.cas.ticket.registry;
+
+import org.apereo.cas.redis.core.CasRedisTemplate;
+import org.apereo.cas.ticket.Ticket;
+import org.apereo.cas.util.LoggingUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.util.function.Consumer;
+
+/**
+ * This is {@link RedisTicketRegistryInvalidationChannel} that broadcasts
+ * ticket invalidation messages to CAS nodes using redis pub/sub.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class RedisTicketRegistryInvalidationChannel implements TicketRegistryInvalidationChannel, DisposableBean {
+    /**
+     * Default redis channel name.
+     */
+    public static final String CHANNEL_NAME = "CAS_TICKET_INVALIDATION";
+
+    private final CasRedisTemplate<String, Ticket> client;
+
+    private final RedisMessageListenerContainer container;
+
+    private final JdkSerializationRedisSerializer serializer = new JdkSerializationRedisSerializer();
+
+    public RedisTicketRegistryInvalidationChannel(final CasRedisTemplate<String, Ticket> client,
+                                                  final RedisConnectionFactory connectionFactory) {
+        this.client = client;
+        this.container = new RedisMessageListenerContainer();
+        this.container.setConnectionFactory(connectionFactory);
+        this.container.afterPropertiesSet();
+    }
+
+    @Override
+    public void publish(final TicketRegistryInvalidationMessage message) {
+        client.convertAndSend(CHANNEL_NAME, message);
+    }
+
+    @Override
+    public void subscribe(final Consumer<TicketRegistryInvalidationMessage> consumer) {
+        container.addMessageListener((message, pattern) -> {
+            try {
+                val result = (TicketRegistryInvalidationMessage) serializer.deserialize(message.getBody());
+                if (result != null) {
+                    consumer.accept(result);
+                }
+            } catch (final Exception e) {
+                LoggingUtils.warn(LOGGER, e);
+            }
+        }, new ChannelTopic(CHANNEL_NAME));
+        if (!container.isRunning()) {
+            container.start();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+    }
+}
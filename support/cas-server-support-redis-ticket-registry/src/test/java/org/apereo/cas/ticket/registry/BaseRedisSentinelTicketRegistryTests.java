@@ -29,6 +29,10 @@ public abstract class BaseRedisSentinelTicketRegistryTests extends BaseTicketReg
     @Qualifier("ticketRedisTemplate")
     protected CasRedisTemplate<String, Ticket> ticketRedisTemplate;
 
+    @Autowired
+    @Qualifier("ticketIndexRedisTemplate")
+    protected CasRedisTemplate<String, String> ticketIndexRedisTemplate;
+
     @Autowired
     @Qualifier(TicketRegistry.BEAN_NAME)
     private TicketRegistry newTicketRegistry;
@@ -1,6 +1,8 @@
 package org.apereo.cas.ticket.registry;
 
 import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
+import org.apereo.cas.services.RegisteredServiceTestUtils;
+import org.apereo.cas.ticket.ServiceTicket;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
 import org.apereo.cas.ticket.TicketGrantingTicketImpl;
@@ -14,6 +16,13 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.function.Executable;
 import org.springframework.test.context.TestPropertySource;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -44,7 +53,7 @@ public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegis
         val tgt = getNewTicketRegistry().getTicket(ticketGrantingTicketId, TicketGrantingTicket.class);
         assertNotNull(tgt);
 
-        val secondRegistry = new RedisTicketRegistry(ticketRedisTemplate, 0);
+        val secondRegistry = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, 0);
         secondRegistry.setCipherExecutor(CipherExecutor.noOp());
         val ticket = secondRegistry.getTicket(ticketGrantingTicketId);
         assertNull(ticket);
@@ -69,4 +78,135 @@ public class RedisServerTicketRegistryTests extends BaseRedisSentinelTicketRegis
         });
     }
 
+    @RepeatedTest(1)
+    public void verifyTicketIndexes() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, 10);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+        registry.deleteAll();
+
+        val service = RegisteredServiceTestUtils.getService();
+        for (var i = 0; i < 25; i++) {
+            val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-index-" + i,
+                CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+            val st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-index-" + i,
+                service, NeverExpiresExpirationPolicy.INSTANCE, false, true);
+            registry.addTicket(tgt);
+            registry.addTicket(st);
+        }
+        assertEquals(25, registry.sessionCount());
+        assertEquals(25, registry.serviceTicketCount());
+        assertEquals(50, registry.stream().count());
+
+        ticketRedisTemplate.delete("CAS_TICKET:" + TicketGrantingTicket.PREFIX + "-index-0");
+        assertEquals(49, registry.getTickets().size());
+        assertEquals(24, registry.sessionCount());
+
+        assertTrue(registry.deleteSingleTicket(ServiceTicket.PREFIX + "-index-0"));
+        assertEquals(24, registry.serviceTicketCount());
+        assertEquals(48, registry.deleteAll());
+        assertEquals(0, registry.sessionCount());
+        assertEquals(0, registry.serviceTicketCount());
+        assertTrue(ticketIndexRedisTemplate.keys("CAS_PRINCIPAL:*", 10).findAny().isEmpty());
+    }
+
+    @RepeatedTest(1)
+    public void verifyIndexesAreTrimmed() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, 10);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+        registry.setExpirationIndexEnabled(false);
+        registry.deleteAll();
+
+        val index = ticketIndexRedisTemplate.boundZSetOps("CAS_TICKET_INDEX:" + TicketGrantingTicket.PREFIX);
+        index.add("CAS_TICKET:" + TicketGrantingTicket.PREFIX + "-expired", 1);
+        registry.addTicket(new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-trimmed",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE));
+        assertEquals(1, index.size());
+        assertEquals(1, registry.sessionCount());
+        assertEquals(1, registry.getExpirationPartitionCount());
+        assertTrue(ticketIndexRedisTemplate.keys("CAS_TICKET_EXPIRATION:*", 10).findAny().isEmpty());
+        assertEquals(1, registry.deleteAll());
+    }
+
+    @RepeatedTest(1)
+    public void verifyLinkedServices() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, 10);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-linked",
+            CoreAuthenticationTestUtils.getAuthentication(), NeverExpiresExpirationPolicy.INSTANCE);
+        registry.addTicket(tgt);
+        for (var i = 0; i < 5; i++) {
+            val st = tgt.grantServiceTicket(ServiceTicket.PREFIX + "-linked-" + i,
+                RegisteredServiceTestUtils.getService("https://app" + i + ".example.org"),
+                NeverExpiresExpirationPolicy.INSTANCE, false, true);
+            registry.save(TicketRegistryBatch.create().update(tgt).add(st));
+        }
+        assertEquals(5, tgt.getServices().size());
+        val stored = (TicketGrantingTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:" + tgt.getId()).get();
+        assertNotNull(stored);
+        assertTrue(stored.getServices().isEmpty());
+        assertEquals(5, ticketRedisTemplate.boundHashOps("CAS_TICKET_SERVICES:CAS_TICKET:" + tgt.getId()).size());
+
+        val found = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        assertEquals(tgt.getServices().keySet(), found.getServices().keySet());
+        assertTrue(registry.getSessionsFor(tgt.getAuthentication().getPrincipal().getId())
+            .anyMatch(ticket -> ((TicketGrantingTicket) ticket).getServices().size() == 5));
+
+        found.getServices().remove(ServiceTicket.PREFIX + "-linked-0");
+        registry.updateTicket(found);
+        assertEquals(4, registry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().size());
+
+        val first = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        val second = registry.getTicket(tgt.getId(), TicketGrantingTicket.class);
+        first.grantServiceTicket(ServiceTicket.PREFIX + "-linked-first",
+            RegisteredServiceTestUtils.getService("https://first.example.org"), NeverExpiresExpirationPolicy.INSTANCE, false, false);
+        registry.updateTicket(first);
+        second.getServices().remove(ServiceTicket.PREFIX + "-linked-1");
+        registry.updateTicket(second);
+        assertEquals(3, second.getServices().size());
+        val services = registry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices();
+        assertEquals(4, services.size());
+        assertTrue(services.containsKey(ServiceTicket.PREFIX + "-linked-first"));
+        assertFalse(services.containsKey(ServiceTicket.PREFIX + "-linked-1"));
+
+        assertEquals(5, registry.deleteTicket(tgt.getId()));
+        assertFalse(ticketRedisTemplate.hasKey("CAS_TICKET_SERVICES:CAS_TICKET:" + tgt.getId()));
+    }
+
+    @RepeatedTest(1)
+    public void verifyTicketGrantingTicketSerializedOncePerWrite() throws Exception {
+        val registry = new RedisTicketRegistry(ticketRedisTemplate, ticketIndexRedisTemplate, 10);
+        registry.setCipherExecutor(CipherExecutor.noOp());
+
+        val authentication = CoreAuthenticationTestUtils.getAuthentication("casuser",
+            Map.of("counter", List.<Object>of(new SerializationCounter())));
+        val tgt = new TicketGrantingTicketImpl(TicketGrantingTicket.PREFIX + "-serialized",
+            authentication, NeverExpiresExpirationPolicy.INSTANCE);
+        tgt.grantServiceTicket(ServiceTicket.PREFIX + "-serialized", RegisteredServiceTestUtils.getService(),
+            NeverExpiresExpirationPolicy.INSTANCE, false, true);
+
+        SerializationCounter.WRITES.set(0);
+        registry.addTicket(tgt);
+        assertEquals(1, SerializationCounter.WRITES.get());
+        registry.updateTicket(tgt);
+        assertEquals(2, SerializationCounter.WRITES.get());
+
+        val stored = (TicketGrantingTicket) ticketRedisTemplate.boundValueOps("CAS_TICKET:" + tgt.getId()).get();
+        assertNotNull(stored);
+        assertTrue(stored.getServices().isEmpty());
+        assertEquals(1, tgt.getServices().size());
+        assertEquals(1, registry.getTicket(tgt.getId(), TicketGrantingTicket.class).getServices().size());
+        registry.deleteTicket(tgt.getId());
+    }
+
+    private static final class SerializationCounter implements Serializable {
+        private static final long serialVersionUID = -3346452612637124871L;
+
+        private static final AtomicInteger WRITES = new AtomicInteger();
+
+        private void writeObject(final ObjectOutputStream out) throws IOException {
+            WRITES.incrementAndGet();
+            out.defaultWriteObject();
+        }
+    }
 }
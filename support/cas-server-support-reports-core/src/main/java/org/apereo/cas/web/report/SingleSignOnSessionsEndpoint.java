@@ -6,6 +6,7 @@ import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.slo.SingleLogoutRequestExecutor;
 import org.apereo.cas.ticket.Ticket;
 import org.apereo.cas.ticket.TicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.DateTimeUtils;
 import org.apereo.cas.util.ISOStandardDateFormat;
 import org.apereo.cas.util.LoggingUtils;
@@ -60,13 +61,17 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
 
     private final ObjectProvider<SingleLogoutRequestExecutor> singleLogoutRequestExecutor;
 
+    private final ObjectProvider<TicketRegistry> ticketRegistry;
+
     public SingleSignOnSessionsEndpoint(
         final ObjectProvider<CentralAuthenticationService> centralAuthenticationService,
         final CasConfigurationProperties casProperties,
-        final ObjectProvider<SingleLogoutRequestExecutor> singleLogoutRequestExecutor) {
+        final ObjectProvider<SingleLogoutRequestExecutor> singleLogoutRequestExecutor,
+        final ObjectProvider<TicketRegistry> ticketRegistry) {
         super(casProperties);
         this.centralAuthenticationService = centralAuthenticationService;
         this.singleLogoutRequestExecutor = singleLogoutRequestExecutor;
+        this.ticketRegistry = ticketRegistry;
     }
 
     /**
@@ -189,10 +194,8 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
 
         if (StringUtils.isNotBlank(username)) {
             val sessionsMap = new HashMap<String, Object>(1);
-            val tickets = centralAuthenticationService.getObject().getTickets(
-                ticket -> ticket instanceof TicketGrantingTicket
-                          && ((TicketGrantingTicket) ticket).getAuthentication().getPrincipal().getId().equalsIgnoreCase(username));
-            tickets.forEach(ticket -> sessionsMap.put(ticket.getId(), destroySsoSession(ticket.getId(), request, response)));
+            val ticketIds = getSessionsFor(username).map(Ticket::getId).collect(Collectors.toList());
+            ticketIds.forEach(ticketId -> sessionsMap.put(ticketId, destroySsoSession(ticketId, request, response)));
             return sessionsMap;
         }
 
@@ -254,10 +257,12 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
                                                                  final long from,
                                                                  final long count) {
         val dateFormat = new ISOStandardDateFormat();
-        return getNonExpiredTicketGrantingTickets(from, count)
+        val tickets = StringUtils.isBlank(username)
+            ? getNonExpiredTicketGrantingTickets(from, count)
+            : getSessionsFor(username).skip(from).limit(count);
+        return tickets
             .map(TicketGrantingTicket.class::cast)
             .filter(tgt -> !(option == SsoSessionReportOptions.DIRECT && tgt.getProxiedBy() != null))
-            .filter(tgt -> StringUtils.isBlank(username) || StringUtils.equalsIgnoreCase(username, tgt.getAuthentication().getPrincipal().getId()))
             .map(tgt -> {
                 val authentication = tgt.getAuthentication();
                 val principal = authentication.getPrincipal();
@@ -293,6 +298,12 @@ public class SingleSignOnSessionsEndpoint extends BaseCasActuatorEndpoint {
             .collect(Collectors.toList());
     }
 
+    private Stream<? extends Ticket> getSessionsFor(final String username) {
+        try (val sessions = ticketRegistry.getObject().getSessionsFor(username)) {
+            return sessions.collect(Collectors.toList()).stream();
+        }
+    }
+
     private Stream<? extends Ticket> getNonExpiredTicketGrantingTickets(final long from, final long count) {
         return centralAuthenticationService.getObject()
             .getTickets(ticket -> ticket instanceof TicketGrantingTicket && !ticket.isExpired(), from, count);
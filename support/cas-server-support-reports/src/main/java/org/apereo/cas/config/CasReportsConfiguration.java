@@ -15,6 +15,7 @@ import org.apereo.cas.services.ServicesManager;
 import org.apereo.cas.services.util.RegisteredServiceJsonSerializer;
 import org.apereo.cas.services.util.RegisteredServiceYamlSerializer;
 import org.apereo.cas.ticket.ExpirationPolicyBuilder;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.ticket.registry.TicketRegistrySupport;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.feature.CasRuntimeModuleLoader;
@@ -146,9 +147,11 @@ public class CasReportsConfiguration {
         final ObjectProvider<CentralAuthenticationService> centralAuthenticationService,
         @Qualifier("defaultSingleLogoutRequestExecutor")
         final ObjectProvider<SingleLogoutRequestExecutor> defaultSingleLogoutRequestExecutor,
+        @Qualifier(TicketRegistry.BEAN_NAME)
+        final ObjectProvider<TicketRegistry> ticketRegistry,
         final CasConfigurationProperties casProperties) {
         return new SingleSignOnSessionsEndpoint(centralAuthenticationService,
-            casProperties, defaultSingleLogoutRequestExecutor);
+            casProperties, defaultSingleLogoutRequestExecutor, ticketRegistry);
     }
 
     @Bean
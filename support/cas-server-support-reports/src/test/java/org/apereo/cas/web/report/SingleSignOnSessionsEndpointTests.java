@@ -5,6 +5,7 @@ import org.apereo.cas.authentication.CoreAuthenticationTestUtils;
 import org.apereo.cas.configuration.CasConfigurationProperties;
 import org.apereo.cas.logout.slo.SingleLogoutRequestExecutor;
 import org.apereo.cas.mock.MockTicketGrantingTicket;
+import org.apereo.cas.ticket.registry.TicketRegistry;
 import org.apereo.cas.util.spring.DirectObjectProvider;
 
 import lombok.val;
@@ -146,7 +147,8 @@ public class SingleSignOnSessionsEndpointTests extends AbstractCasEndpointTests
         when(cas.deleteTicket(anyString())).thenThrow(new RuntimeException());
 
         val results = new SingleSignOnSessionsEndpoint(new DirectObjectProvider<>(cas),
-            casProperties, new DirectObjectProvider<>(defaultSingleLogoutRequestExecutor)).destroySsoSessions(
+            casProperties, new DirectObjectProvider<>(defaultSingleLogoutRequestExecutor),
+            new DirectObjectProvider<>(mock(TicketRegistry.class))).destroySsoSessions(
             SingleSignOnSessionsEndpoint.SsoSessionReportOptions.DIRECT.getType(), null,
             0, 1_000,
             new MockHttpServletRequest(), new MockHttpServletResponse());
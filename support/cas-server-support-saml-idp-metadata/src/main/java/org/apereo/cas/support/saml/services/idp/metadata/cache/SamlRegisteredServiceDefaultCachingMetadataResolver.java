@@ -5,13 +5,17 @@ import org.apereo.cas.support.saml.SamlException;
 import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.Ticker;
 import com.google.common.collect.Iterables;
 import lombok.Getter;
-import lombok.Synchronized;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
@@ -25,11 +29,19 @@ import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * An adaptation of metadata resolver which handles the resolution of metadata resources
  * inside a cache. It basically is a fancy wrapper around a cache, and constructs the cache
  * semantics before processing the resolution of metadata for a SAML service.
+ * <p>
+ * Cache hits are lock-free, and concurrent misses for the same cache key share a single load
+ * that is carried out by the cache itself. Cached resolvers are refreshed in the background
+ * once three quarters of their own expiration has passed, allowing requests to continue
+ * using the current resolver while the refreshed copy is loaded. The expiration of each resolver
+ * is determined by {@link SamlRegisteredServiceMetadataExpirationPolicy}, and so honors the cache duration
+ * found in service provider metadata or defined by the service before the metadata cache expiration.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -39,10 +51,14 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
 
     private static final int MAX_CACHE_SIZE = 10_000;
 
-    private final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> chainingMetadataResolverCacheLoader;
+    private final MetadataResolverCacheLoader chainingMetadataResolverCacheLoader;
 
     private final LoadingCache<SamlRegisteredServiceCacheKey, MetadataResolver> cache;
 
+    private final Cache<MetadataResolver, Long> refreshTimes;
+
+    private final Ticker ticker;
+
     @Getter
     private final OpenSamlConfigBean openSamlConfigBean;
 
@@ -50,12 +66,23 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         final Duration metadataCacheExpiration,
         final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> loader,
         final OpenSamlConfigBean openSamlConfigBean) {
+        this(metadataCacheExpiration, loader, openSamlConfigBean, Ticker.systemTicker());
+    }
+
+    public SamlRegisteredServiceDefaultCachingMetadataResolver(
+        final Duration metadataCacheExpiration,
+        final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> loader,
+        final OpenSamlConfigBean openSamlConfigBean,
+        final Ticker ticker) {
         this.openSamlConfigBean = openSamlConfigBean;
-        this.chainingMetadataResolverCacheLoader = loader;
+        this.ticker = ticker;
+        this.chainingMetadataResolverCacheLoader = new MetadataResolverCacheLoader(loader);
+        this.refreshTimes = Caffeine.newBuilder().weakKeys().build();
         this.cache = Caffeine.newBuilder()
             .maximumSize(MAX_CACHE_SIZE)
             .recordStats()
-            .expireAfter(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration))
+            .ticker(ticker)
+            .expireAfter(new RefreshingExpirationPolicy(new SamlRegisteredServiceMetadataExpirationPolicy(metadataCacheExpiration)))
             .build(this.chainingMetadataResolverCacheLoader);
     }
 
@@ -67,7 +94,6 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
     }
 
     @Override
-    @Synchronized
     public MetadataResolver resolve(final SamlRegisteredService service, final CriteriaSet criteriaSet) {
         LOGGER.debug("Resolving metadata for [{}] at [{}]", service.getName(), service.getMetadataLocation());
         val cacheKey = new SamlRegisteredServiceCacheKey(service, criteriaSet);
@@ -140,9 +166,22 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
         val resolver = Objects.requireNonNull(cache.get(cacheKey));
         LOGGER.debug("Loaded and cached SAML metadata [{}] from [{}]",
             resolver.getId(), service.getMetadataLocation());
+        refreshIfNecessary(cacheKey, resolver);
         return resolver;
     }
 
+    /**
+     * Each resolver is refreshed at most once. Should the refresh fail,
+     * the resolver remains in use until it expires and is loaded again.
+     */
+    private void refreshIfNecessary(final SamlRegisteredServiceCacheKey cacheKey, final MetadataResolver resolver) {
+        val refreshTime = refreshTimes.getIfPresent(resolver);
+        if (refreshTime != null && ticker.read() - refreshTime >= 0 && refreshTimes.asMap().remove(resolver, refreshTime)) {
+            LOGGER.trace("Metadata resolver [{}] for [{}] is due for a refresh", resolver.getId(), cacheKey.getRegisteredService().getName());
+            cache.refresh(cacheKey);
+        }
+    }
+
     @SuperBuilder
     @Getter
     @SuppressWarnings("UnusedMethod")
@@ -170,7 +209,117 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolver implements Saml
      *
      * @return the statistics
      */
-    CacheStats getCacheStatistics() {
-        return this.cache.stats();
+    public MetadataResolverCacheStatistics getCacheStatistics() {
+        val stats = this.cache.stats();
+        return MetadataResolverCacheStatistics.builder()
+            .hitCount(stats.hitCount())
+            .missCount(stats.missCount())
+            .loadSuccessCount(stats.loadSuccessCount())
+            .loadFailureCount(stats.loadFailureCount())
+            .totalLoadTime(stats.totalLoadTime())
+            .averageLoadPenalty(stats.averageLoadPenalty())
+            .evictionCount(stats.evictionCount())
+            .refreshCount(chainingMetadataResolverCacheLoader.getRefreshCount().sum())
+            .refreshFailureCount(chainingMetadataResolverCacheLoader.getRefreshFailureCount().sum())
+            .build();
+    }
+
+    /**
+     * Statistics collected for the metadata resolver cache.
+     * Load counts and times include background refreshes;
+     * load times are measured in nanoseconds.
+     */
+    @SuperBuilder
+    @Getter
+    @ToString
+    public static class MetadataResolverCacheStatistics {
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long loadSuccessCount;
+
+        private final long loadFailureCount;
+
+        private final long totalLoadTime;
+
+        private final double averageLoadPenalty;
+
+        private final long evictionCount;
+
+        private final long refreshCount;
+
+        private final long refreshFailureCount;
+    }
+
+    /**
+     * Records when each cached resolver is due for a refresh,
+     * which is once three quarters of its expiration has passed.
+     */
+    @RequiredArgsConstructor
+    private class RefreshingExpirationPolicy implements Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        private static final int REFRESH_PORTIONS = 4;
+
+        private final Expiry<SamlRegisteredServiceCacheKey, MetadataResolver> delegate;
+
+        @Override
+        public long expireAfterCreate(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                      @NonNull final MetadataResolver resolver, final long currentTime) {
+            return recordRefreshTime(resolver, currentTime, delegate.expireAfterCreate(cacheKey, resolver, currentTime));
+        }
+
+        @Override
+        public long expireAfterUpdate(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                      @NonNull final MetadataResolver resolver,
+                                      final long currentTime, final long currentDuration) {
+            return recordRefreshTime(resolver, currentTime,
+                delegate.expireAfterUpdate(cacheKey, resolver, currentTime, currentDuration));
+        }
+
+        @Override
+        public long expireAfterRead(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                    @NonNull final MetadataResolver resolver,
+                                    final long currentTime, final long currentDuration) {
+            return delegate.expireAfterRead(cacheKey, resolver, currentTime, currentDuration);
+        }
+
+        private long recordRefreshTime(final MetadataResolver resolver, final long currentTime, final long duration) {
+            if (duration > 0) {
+                val refreshAfter = duration - duration / REFRESH_PORTIONS;
+                LOGGER.trace("Metadata resolver [{}] will be refreshed in the background after [{}] nanoseconds", resolver.getId(), refreshAfter);
+                refreshTimes.put(resolver, currentTime + refreshAfter);
+            }
+            return duration;
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    private static class MetadataResolverCacheLoader implements CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> {
+        private final CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver> delegate;
+
+        private final LongAdder refreshCount = new LongAdder();
+
+        private final LongAdder refreshFailureCount = new LongAdder();
+
+        @Override
+        public MetadataResolver load(@NonNull final SamlRegisteredServiceCacheKey cacheKey) throws Exception {
+            return delegate.load(cacheKey);
+        }
+
+        @Override
+        public MetadataResolver reload(@NonNull final SamlRegisteredServiceCacheKey cacheKey,
+                                       @NonNull final MetadataResolver oldValue) throws Exception {
+            try {
+                LOGGER.debug("Refreshing metadata resolver [{}] for [{}]", oldValue.getId(), cacheKey.getRegisteredService().getName());
+                val resolver = delegate.reload(cacheKey, oldValue);
+                refreshCount.increment();
+                return resolver;
+            } catch (final Exception e) {
+                refreshFailureCount.increment();
+                LOGGER.warn("Unable to refresh metadata resolver for [{}]: [{}]", cacheKey.getRegisteredService().getName(), e.getMessage());
+                throw e;
+            }
+        }
     }
 }
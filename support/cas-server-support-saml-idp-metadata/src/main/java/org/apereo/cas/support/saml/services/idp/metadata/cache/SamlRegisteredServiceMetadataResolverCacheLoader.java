@@ -2,28 +2,37 @@ package org.apereo.cas.support.saml.services.idp.metadata.cache;
 
 import org.apereo.cas.support.saml.OpenSamlConfigBean;
 import org.apereo.cas.support.saml.SamlException;
+import org.apereo.cas.support.saml.SamlUtils;
+import org.apereo.cas.support.saml.services.SamlRegisteredService;
 import org.apereo.cas.support.saml.services.idp.metadata.plan.SamlRegisteredServiceMetadataResolutionPlan;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.http.HttpClient;
 import org.apereo.cas.util.spring.SpringExpressionLanguageValueResolver;
 
 import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import lombok.RequiredArgsConstructor;
-import lombok.Synchronized;
 import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.jooq.lambda.Unchecked;
 import org.opensaml.saml.metadata.resolver.ChainingMetadataResolver;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
 
 import java.util.ArrayList;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This is {@link SamlRegisteredServiceMetadataResolverCacheLoader} that uses Guava's cache loading strategy
  * to keep track of metadata resources and resolvers. The cache loader here supports loading
  * metadata resources from SAML services, supports dynamic metadata queries and is able
  * to run various validation filters on the metadata before finally caching the resolver.
+ * <p>
+ * Metadata for different services is loaded concurrently. Loads that share the same metadata source,
+ * and so the same metadata backup file, are carried out one at a time.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -44,9 +53,31 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
     private final SamlRegisteredServiceMetadataResolutionPlan metadataResolutionPlan;
 
+    private final LoadingCache<String, Lock> metadataSourceLocks = Caffeine.newBuilder()
+        .weakValues()
+        .build(key -> new ReentrantLock());
+
+    private static String getMetadataSourceKey(final SamlRegisteredService service) {
+        val metadataLocation = StringUtils.defaultString(
+            SpringExpressionLanguageValueResolver.getInstance().resolve(service.getMetadataLocation()));
+        return SamlUtils.isDynamicMetadataQueryConfigured(metadataLocation)
+            ? metadataLocation + '|' + service.getServiceId()
+            : metadataLocation;
+    }
+
     @Override
-    @Synchronized
     public ChainingMetadataResolver load(final SamlRegisteredServiceCacheKey cacheKey) {
+        val service = cacheKey.getRegisteredService();
+        val lock = metadataSourceLocks.get(getMetadataSourceKey(service));
+        lock.lock();
+        try {
+            return loadMetadataResolver(cacheKey);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ChainingMetadataResolver loadMetadataResolver(final SamlRegisteredServiceCacheKey cacheKey) {
         val metadataResolver = new ChainingMetadataResolver();
 
         val service = cacheKey.getRegisteredService();
@@ -81,7 +112,6 @@ public class SamlRegisteredServiceMetadataResolverCacheLoader implements CacheLo
 
         LOGGER.debug("Metadata resolvers active for this request are [{}]", metadataResolvers);
         return metadataResolver;
-
     }
 }
 
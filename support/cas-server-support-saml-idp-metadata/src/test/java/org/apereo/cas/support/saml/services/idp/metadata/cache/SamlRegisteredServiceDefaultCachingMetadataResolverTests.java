@@ -9,20 +9,33 @@ import org.apereo.cas.support.saml.services.idp.metadata.cache.resolver.UrlResou
 import org.apereo.cas.support.saml.services.idp.metadata.plan.DefaultSamlRegisteredServiceMetadataResolutionPlan;
 import org.apereo.cas.util.MockWebServer;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import lombok.val;
 import net.shibboleth.utilities.java.support.resolver.CriteriaSet;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.opensaml.core.criterion.EntityIdCriterion;
 import org.opensaml.saml.criterion.EntityRoleCriterion;
+import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
 import org.opensaml.saml.saml2.metadata.SPSSODescriptor;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestPropertySource;
 
 import java.time.Duration;
-
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.awaitility.Awaitility.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link SamlRegisteredServiceDefaultCachingMetadataResolverTests}.
@@ -40,6 +53,90 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends Ba
         return criteriaSet1;
     }
 
+    private static MetadataResolver getMetadataResolver() throws Exception {
+        val entity = mock(EntityDescriptor.class);
+        when(entity.isValid()).thenReturn(true);
+        val metadataResolver = mock(MetadataResolver.class);
+        when(metadataResolver.getId()).thenReturn(UUID.randomUUID().toString());
+        when(metadataResolver.resolveSingle(any())).thenReturn(entity);
+        return metadataResolver;
+    }
+
+    private static SamlRegisteredService getSamlRegisteredService() {
+        val service = new SamlRegisteredService();
+        service.setName("Example");
+        service.setId(1000);
+        service.setServiceId("https://sp.example.org");
+        service.setMetadataLocation("classpath:sample-sp.xml");
+        return service;
+    }
+
+    @Test
+    public void verifyConcurrentMissesShareSingleLoad() throws Exception {
+        val loads = new AtomicInteger();
+        val metadataResolver = getMetadataResolver();
+        val cacheLoader = (CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver>) key -> {
+            loads.incrementAndGet();
+            Thread.sleep(250);
+            return metadataResolver;
+        };
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofMinutes(1), cacheLoader, openSamlConfigBean);
+        val service = getSamlRegisteredService();
+        val criteriaSet = getCriteriaFor(service.getServiceId());
+
+        val numThreads = 10;
+        val executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            val ready = new CountDownLatch(1);
+            val results = new ArrayList<Future<MetadataResolver>>();
+            for (var i = 0; i < numThreads; i++) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return resolver.resolve(service, criteriaSet);
+                }));
+            }
+            ready.countDown();
+            for (val result : results) {
+                assertSame(metadataResolver, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        val stats = resolver.getCacheStatistics();
+        assertEquals(1, stats.getLoadSuccessCount());
+        assertTrue(stats.getTotalLoadTime() > 0);
+    }
+
+    @Test
+    public void verifyBackgroundRefresh() throws Exception {
+        val loads = new AtomicInteger();
+        val cacheLoader = (CacheLoader<SamlRegisteredServiceCacheKey, MetadataResolver>) key -> {
+            loads.incrementAndGet();
+            return getMetadataResolver();
+        };
+        val ticker = new AtomicLong();
+        val resolver = new SamlRegisteredServiceDefaultCachingMetadataResolver(Duration.ofHours(1),
+            cacheLoader, openSamlConfigBean, ticker::get);
+        val service = getSamlRegisteredService();
+        service.setMetadataExpirationDuration("PT4S");
+        val criteriaSet = getCriteriaFor(service.getServiceId());
+
+        val original = resolver.resolve(service, criteriaSet);
+        assertNotNull(original);
+        ticker.addAndGet(Duration.ofMillis(2500).toNanos());
+        assertSame(original, resolver.resolve(service, criteriaSet));
+        assertEquals(0, resolver.getCacheStatistics().getRefreshCount());
+
+        ticker.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertSame(original, resolver.resolve(service, criteriaSet));
+        await().untilAsserted(() -> assertNotSame(original, resolver.resolve(service, criteriaSet)));
+        val stats = resolver.getCacheStatistics();
+        assertEquals(1, stats.getRefreshCount());
+        assertEquals(0, stats.getRefreshFailureCount());
+        assertEquals(2, loads.get());
+    }
+
     @Test
     public void verifyAggregateCacheOverUrlResource() {
         val aggregateRegisteredService = new SamlRegisteredService();
@@ -184,22 +281,22 @@ public class SamlRegisteredServiceDefaultCachingMetadataResolverTests extends Ba
 
         assertNotNull(resolver.resolve(service, criteriaSet1));
         val stats1 = resolver.getCacheStatistics();
-        assertEquals(1, stats1.missCount());
-        assertEquals(1, stats1.loadSuccessCount());
-        assertEquals(0, stats1.hitCount());
+        assertEquals(1, stats1.getMissCount());
+        assertEquals(1, stats1.getLoadSuccessCount());
+        assertEquals(0, stats1.getHitCount());
 
         assertNotNull(resolver.resolve(service, criteriaSet1));
         val stats2 = resolver.getCacheStatistics();
-        assertEquals(1, stats2.missCount());
-        assertEquals(1, stats2.loadSuccessCount());
-        assertEquals(1, stats2.hitCount());
+        assertEquals(1, stats2.getMissCount());
+        assertEquals(1, stats2.getLoadSuccessCount());
+        assertEquals(1, stats2.getHitCount());
 
         val criteriaSet2 = getCriteriaFor("https://vbushib.einsteinmed.org/idp/");
 
         assertNotNull(resolver.resolve(service, criteriaSet2));
         val stats3 = resolver.getCacheStatistics();
-        assertEquals(2, stats3.missCount());
-        assertEquals(2, stats3.loadSuccessCount());
-        assertEquals(1, stats3.hitCount());
+        assertEquals(2, stats3.getMissCount());
+        assertEquals(2, stats3.getLoadSuccessCount());
+        assertEquals(1, stats3.getHitCount());
     }
 }
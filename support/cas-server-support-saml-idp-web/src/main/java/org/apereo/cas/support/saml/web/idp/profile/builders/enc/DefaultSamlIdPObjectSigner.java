@@ -17,6 +17,8 @@ import org.apereo.cas.util.crypto.CertUtils;
 import org.apereo.cas.util.crypto.PrivateKeyFactoryBean;
 import org.apereo.cas.util.function.FunctionUtils;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Sets;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -35,7 +37,9 @@ import org.opensaml.saml.criterion.EntityRoleCriterion;
 import org.opensaml.saml.criterion.RoleDescriptorCriterion;
 import org.opensaml.saml.metadata.criteria.entity.impl.EvaluableEntityRoleEntityDescriptorCriterion;
 import org.opensaml.saml.metadata.resolver.MetadataResolver;
+import org.opensaml.saml.metadata.resolver.RefreshableMetadataResolver;
 import org.opensaml.saml.saml2.core.RequestAbstractType;
+import org.opensaml.saml.saml2.metadata.EntityDescriptor;
 import org.opensaml.saml.saml2.metadata.IDPSSODescriptor;
 import org.opensaml.saml.saml2.metadata.RoleDescriptor;
 import org.opensaml.saml.security.impl.SAMLMetadataSignatureSigningParametersResolver;
@@ -57,6 +61,7 @@ import org.opensaml.xmlsec.impl.BasicSignatureSigningConfiguration;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.PrivateKey;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Objects;
 import java.util.Optional;
@@ -64,6 +69,12 @@ import java.util.regex.Pattern;
 
 /**
  * This is {@link DefaultSamlIdPObjectSigner}.
+ * Signing private keys are cached per service and key algorithm, and fully prepared
+ * {@link SignatureSigningParameters} are cached per relying party and service signing overrides.
+ * Cache keys are built from cheap identifiers only, such as the service and entity ids,
+ * the configured metadata location and the last refresh time of the IdP metadata resolver,
+ * so that keys and certificates are only resolved from the {@link SamlIdPMetadataLocator}
+ * when an entry is missing from the cache.
  *
  * @author Misagh Moayyed
  * @since 5.0.0
@@ -78,6 +89,32 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
 
     private final SamlIdPMetadataLocator samlIdPMetadataLocator;
 
+    private final Cache<String, PrivateKey> signingPrivateKeyCache = Caffeine.newBuilder()
+        .maximumSize(100)
+        .expireAfterAccess(Duration.ofHours(1))
+        .build();
+
+    private final Cache<SignatureSigningParametersCacheKey, SignatureSigningParameters> signatureSigningParametersCache =
+        Caffeine.newBuilder()
+            .maximumSize(1000)
+            .expireAfterWrite(Duration.ofMinutes(30))
+            .build();
+
+    private static String getSigningOverridesFingerprint(final SamlRegisteredService service) {
+        return String.join("|",
+            String.valueOf(service.getId()),
+            StringUtils.defaultString(service.getName()),
+            StringUtils.defaultString(service.getSigningKeyAlgorithm()),
+            StringUtils.defaultString(service.getSigningCredentialType()),
+            StringUtils.defaultString(service.getSigningCredentialFingerprint()),
+            String.valueOf(service.getSigningSignatureReferenceDigestMethods()),
+            String.valueOf(service.getSigningSignatureAlgorithms()),
+            String.valueOf(service.getSigningSignatureBlackListedAlgorithms()),
+            String.valueOf(service.getSigningSignatureWhiteListedAlgorithms()),
+            StringUtils.defaultString(service.getSigningSignatureCanonicalizationAlgorithm()),
+            StringUtils.defaultString(service.getWhiteListBlackListPrecedence()));
+    }
+
     private static boolean doesCredentialFingerprintMatch(final AbstractCredential credential,
                                                           final SamlRegisteredService samlRegisteredService) {
         val fingerprint = samlRegisteredService.getSigningCredentialFingerprint();
@@ -208,6 +245,62 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
      */
     protected SignatureSigningParameters buildSignatureSigningParameters(final RoleDescriptor descriptor,
                                                                          final SamlRegisteredService service) {
+        val cacheKey = buildSignatureSigningParametersCacheKey(descriptor, service);
+        return signatureSigningParametersCache.get(cacheKey, k -> {
+            LOGGER.trace("Signature signing parameters are not cached for [{}]; resolving...", service.getName());
+            return resolveSignatureSigningParameters(descriptor, service);
+        });
+    }
+
+    /**
+     * Build signature signing parameters cache key.
+     * The key is tied to the role descriptor instance of the relying party,
+     * so refreshed service provider metadata always produces a new key. Signing keys,
+     * certificates and metadata are not resolved to build the key.
+     *
+     * @param descriptor the descriptor
+     * @param service    the service
+     * @return the signature signing parameters cache key
+     */
+    protected SignatureSigningParametersCacheKey buildSignatureSigningParametersCacheKey(final RoleDescriptor descriptor,
+                                                                                         final SamlRegisteredService service) {
+        val entityId = descriptor.getParent() instanceof EntityDescriptor
+            ? ((EntityDescriptor) descriptor.getParent()).getEntityID()
+            : StringUtils.EMPTY;
+        val fingerprint = String.join("|",
+            getSigningOverridesFingerprint(service),
+            entityId,
+            getSigningKeyIdentifier(service));
+        return new SignatureSigningParametersCacheKey(descriptor, fingerprint);
+    }
+
+    /**
+     * Gets an identifier for the signing key of the service, built from the service definition,
+     * the configured metadata location and the last refresh time of the IdP metadata resolver.
+     *
+     * @param service the service
+     * @return the signing key identifier
+     */
+    protected String getSigningKeyIdentifier(final SamlRegisteredService service) {
+        val lastRefresh = samlIdPMetadataResolver instanceof RefreshableMetadataResolver
+            ? ((RefreshableMetadataResolver) samlIdPMetadataResolver).getLastRefresh()
+            : null;
+        return String.join("|",
+            String.valueOf(service.getId()),
+            StringUtils.defaultString(service.getServiceId()),
+            StringUtils.defaultString(casProperties.getAuthn().getSamlIdp().getMetadata().getFileSystem().getLocation()),
+            String.valueOf(lastRefresh));
+    }
+
+    /**
+     * Resolve signature signing parameters.
+     *
+     * @param descriptor the descriptor
+     * @param service    the service
+     * @return the signature signing parameters
+     */
+    protected SignatureSigningParameters resolveSignatureSigningParameters(final RoleDescriptor descriptor,
+                                                                           final SamlRegisteredService service) {
         return FunctionUtils.doUnchecked(() -> {
             val criteria = new CriteriaSet();
             val signatureSigningConfiguration = getSignatureSigningConfiguration(service);
@@ -306,18 +399,20 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
      */
     protected PrivateKey getSigningPrivateKey(final SamlRegisteredService registeredService) throws Exception {
         val samlIdp = casProperties.getAuthn().getSamlIdp();
-        val signingKey = samlIdPMetadataLocator.resolveSigningKey(Optional.of(registeredService));
-        val privateKeyFactoryBean = new PrivateKeyFactoryBean();
-        privateKeyFactoryBean.setLocation(signingKey);
-        if (StringUtils.isBlank(registeredService.getSigningKeyAlgorithm())) {
-            privateKeyFactoryBean.setAlgorithm(samlIdp.getAlgs().getPrivateKeyAlgName());
-        } else {
-            privateKeyFactoryBean.setAlgorithm(registeredService.getSigningKeyAlgorithm());
-        }
-        privateKeyFactoryBean.setSingleton(false);
-        LOGGER.debug("Locating signature signing key for [{}] using algorithm [{}]",
-            registeredService.getMetadataLocation(), privateKeyFactoryBean.getAlgorithm());
-        return privateKeyFactoryBean.getObject();
+        val algorithm = StringUtils.isBlank(registeredService.getSigningKeyAlgorithm())
+            ? samlIdp.getAlgs().getPrivateKeyAlgName()
+            : registeredService.getSigningKeyAlgorithm();
+        val cacheKey = getSigningKeyIdentifier(registeredService) + '|' + algorithm;
+        return signingPrivateKeyCache.get(cacheKey, k -> FunctionUtils.doUnchecked(() -> {
+            val signingKey = samlIdPMetadataLocator.resolveSigningKey(Optional.of(registeredService));
+            val privateKeyFactoryBean = new PrivateKeyFactoryBean();
+            privateKeyFactoryBean.setLocation(signingKey);
+            privateKeyFactoryBean.setAlgorithm(algorithm);
+            privateKeyFactoryBean.setSingleton(false);
+            LOGGER.debug("Locating signature signing key for [{}] using algorithm [{}]",
+                registeredService.getMetadataLocation(), privateKeyFactoryBean.getAlgorithm());
+            return privateKeyFactoryBean.getObject();
+        }));
     }
 
     private BasicSignatureSigningConfiguration configureSignatureSigningSecurityConfiguration(final SamlRegisteredService service) {
@@ -411,4 +506,32 @@ public class DefaultSamlIdPObjectSigner implements SamlIdPObjectSigner {
         }
         return null;
     }
+
+    /**
+     * Cache key for signature signing parameters that matches
+     * the role descriptor by identity and the signing configuration by value.
+     */
+    @RequiredArgsConstructor
+    protected static final class SignatureSigningParametersCacheKey {
+        private final RoleDescriptor descriptor;
+
+        private final String fingerprint;
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SignatureSigningParametersCacheKey)) {
+                return false;
+            }
+            val other = (SignatureSigningParametersCacheKey) o;
+            return descriptor == other.descriptor && fingerprint.equals(other.fingerprint);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(descriptor) + fingerprint.hashCode();
+        }
+    }
 }
@@ -9,11 +9,15 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.opensaml.messaging.context.MessageContext;
 import org.opensaml.saml.common.xml.SAMLConstants;
+import org.opensaml.xmlsec.context.SecurityParametersContext;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.TestPropertySource;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 /**
  * This is {@link SamlIdPObjectSignerTests}.
@@ -44,4 +48,45 @@ public class SamlIdPObjectSignerTests extends BaseSamlIdPConfigurationTests {
             SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, new MessageContext()));
 
     }
+
+    @Test
+    public void verifySigningParametersAreCached() throws Exception {
+        val samlRegisteredService = getSamlRegisteredServiceFor(true, true, false, "https://cassp.example.org");
+        samlRegisteredService.setId(2000);
+        samlRegisteredService.setName("ObjectSignerCacheTest");
+
+        val adaptor = SamlRegisteredServiceServiceProviderMetadataFacade
+            .get(samlRegisteredServiceCachingMetadataResolver, samlRegisteredService,
+                samlRegisteredService.getServiceId()).get();
+        val locator = spy(samlIdPMetadataLocator);
+        val signer = new DefaultSamlIdPObjectSigner(casSamlIdPMetadataResolver, casProperties, locator);
+
+        val authnRequest = SamlIdPTestUtils.getAuthnRequest(openSamlConfigBean, samlRegisteredService);
+        val context1 = new MessageContext();
+        signer.encode(authnRequest, samlRegisteredService, adaptor, new MockHttpServletResponse(),
+            new MockHttpServletRequest(), SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, context1);
+        clearInvocations(locator);
+        val context2 = new MessageContext();
+        signer.encode(authnRequest, samlRegisteredService, adaptor, new MockHttpServletResponse(),
+            new MockHttpServletRequest(), SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, context2);
+
+        val params1 = context1.getSubcontext(SecurityParametersContext.class).getSignatureSigningParameters();
+        val params2 = context2.getSubcontext(SecurityParametersContext.class).getSignatureSigningParameters();
+        assertNotNull(params1);
+        assertSame(params1, params2);
+        verify(locator, never()).resolveSigningKey(any());
+        verify(locator, never()).resolveSigningCertificate(any());
+        verify(locator, never()).resolveMetadata(any());
+        assertEquals(1, signer.getSignatureSigningParametersCache().estimatedSize());
+        assertEquals(1, signer.getSigningPrivateKeyCache().estimatedSize());
+
+        samlRegisteredService.setSigningSignatureAlgorithms(List.of("http://www.w3.org/2001/04/xmldsig-more#rsa-sha512"));
+        val context3 = new MessageContext();
+        signer.encode(authnRequest, samlRegisteredService, adaptor, new MockHttpServletResponse(),
+            new MockHttpServletRequest(), SAMLConstants.SAML2_POST_BINDING_URI, authnRequest, context3);
+        val params3 = context3.getSubcontext(SecurityParametersContext.class).getSignatureSigningParameters();
+        assertNotSame(params1, params3);
+        assertEquals(2, signer.getSignatureSigningParametersCache().estimatedSize());
+        assertEquals(1, signer.getSigningPrivateKeyCache().estimatedSize());
+    }
 }
@@ -22,8 +22,6 @@ import java.util.stream.Collectors;
 public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter extends AbstractThrottledSubmissionHandlerInterceptorAdapter
     implements InMemoryThrottledSubmissionHandlerInterceptor {
 
-    private static final double SUBMISSION_RATE_DIVIDEND = 1000.0;
-
     private final ThrottledSubmissionsStore submissionsStore;
 
     protected AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapter(
@@ -33,19 +31,6 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
         this.submissionsStore = ipMap;
     }
 
-    /**
-     * Computes the instantaneous rate in between two given dates corresponding to two submissions.
-     *
-     * @param a First date.
-     * @param b Second date.
-     * @return Instantaneous submission rate in submissions/sec, e.g. {@code a - b}.
-     */
-    private static double submissionRate(final ZonedDateTime a, final ZonedDateTime b) {
-        val rate = SUBMISSION_RATE_DIVIDEND / (a.toInstant().toEpochMilli() - b.toInstant().toEpochMilli());
-        LOGGER.debug("Submitting rate for [{}] and [{}] is [{}]", a, b, rate);
-        return rate;
-    }
-
     @Override
     public void recordSubmissionFailure(final HttpServletRequest request) {
         val key = constructKey(request);
@@ -57,9 +42,9 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     public boolean exceedsThreshold(final HttpServletRequest request) {
         val key = constructKey(request);
         LOGGER.trace("Throttling threshold key is [{}] with submission threshold [{}]", key, getThresholdRate());
-        val last = this.submissionsStore.get(key);
-        LOGGER.debug("Last throttling date time for key [{}] is [{}]", key, last);
-        return last != null && submissionRate(ZonedDateTime.now(ZoneOffset.UTC), last) > getThresholdRate();
+        val rate = this.submissionsStore.getSubmissionRate(key, ZonedDateTime.now(ZoneOffset.UTC));
+        LOGGER.debug("Submission rate for key [{}] is [{}]", key, rate);
+        return rate > 0 && rate > getThresholdRate();
     }
 
     @Override
@@ -73,7 +58,7 @@ public abstract class AbstractInMemoryThrottledSubmissionHandlerInterceptorAdapt
     public void decrement() {
         LOGGER.info("Beginning audit cleanup...");
         val now = ZonedDateTime.now(ZoneOffset.UTC);
-        submissionsStore.removeIf(entry -> submissionRate(now, entry.getValue()) < getThresholdRate());
+        submissionsStore.removeExpired(now, getThresholdRate());
         LOGGER.debug("Done decrementing count for throttler.");
     }
 }
@@ -1,16 +1,26 @@
 package org.apereo.cas.config;
 
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.jpa.JpaConfigurationContext;
+import org.apereo.cas.configuration.model.support.throttle.JdbcThrottleProperties;
+import org.apereo.cas.configuration.support.Beans;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.configuration.support.JpaBeans;
+import org.apereo.cas.jpa.JpaBeanFactory;
+import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.spring.beans.BeanCondition;
 import org.apereo.cas.util.spring.beans.BeanSupplier;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
+import org.apereo.cas.web.support.JdbcCounterThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.JdbcThrottledSubmissionHandlerInterceptorAdapter;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerConfigurationContext;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerInterceptor;
+import org.apereo.cas.web.support.entity.ThrottledSubmissionCounterEntity;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.jooq.lambda.Unchecked;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -18,8 +28,11 @@ import org.springframework.cloud.context.config.annotation.RefreshScope;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.ScopedProxyMode;
+import org.springframework.orm.jpa.JpaVendorAdapter;
 
+import javax.persistence.EntityManagerFactory;
 import javax.sql.DataSource;
 
 /**
@@ -28,12 +41,27 @@ import javax.sql.DataSource;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@Slf4j
 @Configuration(value = "CasJdbcThrottlingConfiguration", proxyBeanMethods = false)
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.Throttling, module = "jdbc")
 public class CasJdbcThrottlingConfiguration {
     private static final BeanCondition CONDITION = BeanCondition.on("cas.authn.throttle.jdbc.enabled").isTrue().evenIfMissing();
 
+    private static final BeanCondition COUNTER_CONDITION = BeanCondition.on("cas.authn.throttle.jdbc.enabled").isTrue().evenIfMissing()
+        .and("cas.authn.throttle.jdbc.strategy").havingValue(JdbcThrottleProperties.ThrottleStrategies.COUNTER.name());
+
+    private static String getCounterTableNameFrom(final JdbcThrottleProperties jdbc) {
+        var tableName = ThrottledSubmissionCounterEntity.TABLE_NAME;
+        if (StringUtils.isNotBlank(jdbc.getDefaultSchema())) {
+            tableName = jdbc.getDefaultSchema().concat(".").concat(tableName);
+        }
+        if (StringUtils.isNotBlank(jdbc.getDefaultCatalog())) {
+            tableName = jdbc.getDefaultCatalog().concat(".").concat(tableName);
+        }
+        return tableName;
+    }
+
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     @Bean
     @ConditionalOnMissingBean(name = "inspektrThrottleDataSource")
@@ -47,9 +75,47 @@ public class CasJdbcThrottlingConfiguration {
             .get();
     }
 
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @Bean
+    @ConditionalOnMissingBean(name = "throttleCounterJpaVendorAdapter")
+    public JpaVendorAdapter throttleCounterJpaVendorAdapter(
+        final CasConfigurationProperties casProperties,
+        @Qualifier(JpaBeanFactory.DEFAULT_BEAN_NAME)
+        final JpaBeanFactory jpaBeanFactory) {
+        return jpaBeanFactory.newJpaVendorAdapter(casProperties.getJdbc());
+    }
+
+    @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
+    @Bean
+    @ConditionalOnMissingBean(name = "throttleCounterEntityManagerFactory")
+    public EntityManagerFactory throttleCounterEntityManagerFactory(
+        @Qualifier("throttleCounterJpaVendorAdapter")
+        final JpaVendorAdapter throttleCounterJpaVendorAdapter,
+        final ConfigurableApplicationContext applicationContext,
+        @Qualifier("inspektrThrottleDataSource")
+        final DataSource inspektrThrottleDataSource,
+        final CasConfigurationProperties casProperties,
+        @Qualifier(JpaBeanFactory.DEFAULT_BEAN_NAME)
+        final JpaBeanFactory jpaBeanFactory) {
+        return BeanSupplier.of(EntityManagerFactory.class)
+            .when(COUNTER_CONDITION.given(applicationContext.getEnvironment()))
+            .supply(Unchecked.supplier(() -> {
+                val ctx = JpaConfigurationContext.builder()
+                    .jpaVendorAdapter(throttleCounterJpaVendorAdapter)
+                    .persistenceUnitName("jpaThrottleCounterContext")
+                    .dataSource(inspektrThrottleDataSource)
+                    .packagesToScan(CollectionUtils.wrapSet(ThrottledSubmissionCounterEntity.class.getPackage().getName()))
+                    .build();
+                return jpaBeanFactory.newEntityManagerFactoryBean(ctx, casProperties.getAuthn().getThrottle().getJdbc()).getObject();
+            }))
+            .otherwiseProxy()
+            .get();
+    }
+
     @Bean
     @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
     @ConditionalOnMissingBean(name = "jdbcAuthenticationThrottle")
+    @DependsOn("throttleCounterEntityManagerFactory")
     public ThrottledSubmissionHandlerInterceptor authenticationThrottle(
         final ConfigurableApplicationContext applicationContext,
         @Qualifier("inspektrThrottleDataSource")
@@ -61,6 +127,16 @@ public class CasJdbcThrottlingConfiguration {
             .when(CONDITION.given(applicationContext.getEnvironment()))
             .supply(() -> {
                 val throttle = casProperties.getAuthn().getThrottle();
+                if (throttle.getFailure().getRangeSeconds() <= 0 && throttle.getFailure().getThreshold() <= 0) {
+                    LOGGER.trace("Authentication throttling is disabled since no range-seconds or failure-threshold is defined");
+                    return ThrottledSubmissionHandlerInterceptor.noOp();
+                }
+                if (throttle.getJdbc().getStrategy() == JdbcThrottleProperties.ThrottleStrategies.COUNTER) {
+                    return new JdbcCounterThrottledSubmissionHandlerInterceptorAdapter(ctx, inspektrThrottleDataSource,
+                        getCounterTableNameFrom(throttle.getJdbc()),
+                        Beans.newDuration(throttle.getJdbc().getCounterBucket()),
+                        Beans.newDuration(throttle.getJdbc().getCounterCacheDuration()));
+                }
                 return new JdbcThrottledSubmissionHandlerInterceptorAdapter(
                     ctx, inspektrThrottleDataSource, throttle.getJdbc().getAuditQuery());
             })
@@ -0,0 +1,169 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.util.DigestUtils;
+import org.apereo.cas.web.support.entity.ThrottledSubmissionCounterEntity;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import lombok.val;
+import org.apache.commons.lang3.StringUtils;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles authentication attempts by IP address and username, using a dedicated table
+ * of failure counts per key and time bucket instead of the audit trail.
+ * <p>
+ * Every failure increments the count of the bucket it falls into, and an authentication attempt
+ * is throttled once the sum of counts over the buckets in the failure range exceeds the failure threshold.
+ * Buckets that fall outside the failure range are pruned when the throttling cleaner runs.
+ * Counts fetched from the database are briefly kept in memory, so that repeated checks for the same
+ * key do not reach the database. Throttling is disabled, and no failures are recorded,
+ * if the failure threshold is zero or less.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Slf4j
+public class JdbcCounterThrottledSubmissionHandlerInterceptorAdapter extends AbstractInspektrAuditHandlerInterceptorAdapter {
+    private static final String ATTRIBUTE_FAILURE_RECORDED =
+        JdbcCounterThrottledSubmissionHandlerInterceptorAdapter.class.getName() + ".failureRecorded";
+
+    private static final long MAXIMUM_CACHE_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final long bucketInMillis;
+
+    private final Cache<String, Long> failureCounts;
+
+    private final String sqlUpdateCounter;
+
+    private final String sqlInsertCounter;
+
+    private final String sqlCountFailures;
+
+    private final String sqlDeleteCounters;
+
+    private final String sqlQueryCounters;
+
+    public JdbcCounterThrottledSubmissionHandlerInterceptorAdapter(final ThrottledSubmissionHandlerConfigurationContext configurationContext,
+                                                                   final DataSource dataSource,
+                                                                   final String tableName,
+                                                                   final Duration bucket,
+                                                                   final Duration cacheDuration) {
+        super(configurationContext);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.bucketInMillis = Math.max(1, bucket.toMillis());
+        this.failureCounts = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_CACHE_SIZE)
+            .expireAfterWrite(Math.max(0, cacheDuration.toMillis()), TimeUnit.MILLISECONDS)
+            .build();
+        this.sqlUpdateCounter = "UPDATE " + tableName + " SET FAILURE_COUNT = FAILURE_COUNT + 1 WHERE THROTTLE_KEY = ? AND BUCKET_START = ?";
+        this.sqlInsertCounter = "INSERT INTO " + tableName + " (THROTTLE_KEY, BUCKET_START, FAILURE_COUNT) VALUES (?, ?, 1)";
+        this.sqlCountFailures = "SELECT SUM(FAILURE_COUNT) FROM " + tableName + " WHERE THROTTLE_KEY = ? AND BUCKET_START >= ?";
+        this.sqlDeleteCounters = "DELETE FROM " + tableName + " WHERE BUCKET_START < ?";
+        this.sqlQueryCounters = "SELECT THROTTLE_KEY, SUM(FAILURE_COUNT) FROM " + tableName
+            + " WHERE BUCKET_START >= ? GROUP BY THROTTLE_KEY";
+    }
+
+    @Override
+    public boolean exceedsThreshold(final HttpServletRequest request) {
+        if (!isThrottlingEnabled()) {
+            return false;
+        }
+        val key = getThrottleKey(request);
+        val failures = failureCounts.get(key, this::countFailures);
+        val result = failures > getConfigurationContext().getFailureThreshold();
+        if (result) {
+            LOGGER.debug("Request with key [{}] exceeds threshold with [{}] failure(s) in the last [{}] second(s)",
+                key, failures, getConfigurationContext().getFailureRangeInSeconds());
+        }
+        return result;
+    }
+
+    @Override
+    public void recordSubmissionFailure(final HttpServletRequest request) {
+        if (!isThrottlingEnabled()) {
+            LOGGER.trace("Submission failure is not recorded since no failure threshold is defined");
+            return;
+        }
+        if (request.getAttribute(ATTRIBUTE_FAILURE_RECORDED) != null) {
+            LOGGER.trace("Submission failure is already recorded for this request");
+            return;
+        }
+
+        val key = getThrottleKey(request);
+        val bucket = getBucketStart(System.currentTimeMillis());
+        LOGGER.debug("Recording submission failure for [{}] in bucket [{}]", key, bucket);
+        if (jdbcTemplate.update(sqlUpdateCounter, key, bucket) == 0) {
+            try {
+                jdbcTemplate.update(sqlInsertCounter, key, bucket);
+            } catch (final DuplicateKeyException e) {
+                LOGGER.trace("Counter for [{}] in bucket [{}] was created concurrently", key, bucket);
+                jdbcTemplate.update(sqlUpdateCounter, key, bucket);
+            }
+        }
+        request.setAttribute(ATTRIBUTE_FAILURE_RECORDED, Boolean.TRUE);
+        failureCounts.asMap().computeIfPresent(key, (k, count) -> count + 1);
+    }
+
+    @Override
+    public void decrement() {
+        val cutoff = getFailureRangeCutOffBucket();
+        val removed = jdbcTemplate.update(sqlDeleteCounters, cutoff);
+        LOGGER.debug("Removed [{}] throttling counter(s) older than [{}]", removed, cutoff);
+    }
+
+    @Override
+    public String getName() {
+        return "JdbcCounterIpAddressUsernameThrottle";
+    }
+
+    @Override
+    public Collection getRecords() {
+        return jdbcTemplate.query(sqlQueryCounters,
+            (resultSet, i) -> resultSet.getString(1) + "<->" + resultSet.getLong(2),
+            getFailureRangeCutOffBucket());
+    }
+
+    /**
+     * Construct the throttling key from the client IP address and username.
+     * Keys that exceed the length of the key column are hashed.
+     *
+     * @param request the request
+     * @return the key
+     */
+    protected String getThrottleKey(final HttpServletRequest request) {
+        val clientInfo = ClientInfoHolder.getClientInfo();
+        val key = clientInfo.getClientIpAddress() + ';' + StringUtils.defaultString(getUsernameParameterFromRequest(request));
+        return key.length() > ThrottledSubmissionCounterEntity.KEY_LENGTH ? DigestUtils.sha256(key) : key;
+    }
+
+    private boolean isThrottlingEnabled() {
+        return getConfigurationContext().getFailureThreshold() > 0;
+    }
+
+    private long countFailures(final String key) {
+        val failures = jdbcTemplate.queryForObject(sqlCountFailures, Long.class, key, getFailureRangeCutOffBucket());
+        return Optional.ofNullable(failures).orElse(0L);
+    }
+
+    private long getFailureRangeCutOffBucket() {
+        val range = TimeUnit.SECONDS.toMillis(getConfigurationContext().getFailureRangeInSeconds());
+        return getBucketStart(System.currentTimeMillis() - range);
+    }
+
+    private long getBucketStart(final long millis) {
+        return millis - Math.floorMod(millis, bucketInMillis);
+    }
+}
@@ -0,0 +1,66 @@
+package org.apereo.cas.web.support.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+import java.io.Serializable;
+
+/**
+ * This is {@link ThrottledSubmissionCounterEntity} that represents the number of
+ * failed submissions recorded for a throttling key within a time bucket.
+ * Schema is generated automatically.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Entity(name = "ThrottledSubmissionCounterEntity")
+@Table(name = ThrottledSubmissionCounterEntity.TABLE_NAME)
+@IdClass(ThrottledSubmissionCounterEntity.ThrottledSubmissionCounterId.class)
+@Getter
+@Setter
+public class ThrottledSubmissionCounterEntity {
+    /**
+     * Counter table name.
+     */
+    public static final String TABLE_NAME = "CAS_THROTTLE_COUNTERS";
+
+    /**
+     * Maximum length of the throttling key.
+     */
+    public static final int KEY_LENGTH = 255;
+
+    @Id
+    @Column(name = "THROTTLE_KEY", length = KEY_LENGTH, nullable = false)
+    private String throttleKey;
+
+    @Id
+    @Column(name = "BUCKET_START", nullable = false)
+    private long bucketStart;
+
+    @Column(name = "FAILURE_COUNT", nullable = false)
+    private int failureCount;
+
+    /**
+     * Primary key of the counter table.
+     */
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    @Getter
+    @Setter
+    public static class ThrottledSubmissionCounterId implements Serializable {
+        private static final long serialVersionUID = 4260713487095719462L;
+
+        private String throttleKey;
+
+        private long bucketStart;
+    }
+}
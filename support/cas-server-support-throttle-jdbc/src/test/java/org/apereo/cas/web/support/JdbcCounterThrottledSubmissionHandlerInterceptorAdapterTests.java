@@ -0,0 +1,71 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.audit.config.CasSupportJdbcAuditConfiguration;
+import org.apereo.cas.config.CasHibernateJpaConfiguration;
+import org.apereo.cas.config.CasJdbcThrottlingConfiguration;
+
+import lombok.Getter;
+import lombok.val;
+import org.apereo.inspektr.common.web.ClientInfo;
+import org.apereo.inspektr.common.web.ClientInfoHolder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link JdbcCounterThrottledSubmissionHandlerInterceptorAdapter}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@SpringBootTest(classes = {
+    CasJdbcThrottlingConfiguration.class,
+    CasSupportJdbcAuditConfiguration.class,
+    CasHibernateJpaConfiguration.class,
+    BaseThrottledSubmissionHandlerInterceptorAdapterTests.SharedTestConfiguration.class
+}, properties = {
+    "cas.authn.throttle.core.username-parameter=username",
+    "cas.authn.throttle.failure.code=AUTHENTICATION_FAILED",
+    "cas.audit.jdbc.asynchronous=false",
+    "cas.authn.throttle.failure.range-seconds=5",
+    "cas.authn.throttle.failure.threshold=2",
+    "cas.authn.throttle.jdbc.strategy=COUNTER",
+    "cas.authn.throttle.jdbc.counter-cache-duration=PT0S"
+})
+@Getter
+@Tag("JDBC")
+public class JdbcCounterThrottledSubmissionHandlerInterceptorAdapterTests extends BaseThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Test
+    public void verifyCounters() {
+        val request = new MockHttpServletRequest();
+        request.setRemoteAddr("5.6.7.8");
+        request.setLocalAddr("4.5.6.7");
+        request.setParameter("username", "casuser");
+        ClientInfoHolder.setClientInfo(new ClientInfo(request));
+
+        assertTrue(throttle instanceof JdbcCounterThrottledSubmissionHandlerInterceptorAdapter);
+        assertFalse(throttle.exceedsThreshold(request));
+        throttle.recordSubmissionFailure(request);
+        throttle.recordSubmissionFailure(request);
+        assertTrue(throttle.getRecords().contains("5.6.7.8;casuser<->1"));
+
+        for (var i = 0; i < 3; i++) {
+            val next = new MockHttpServletRequest();
+            next.setParameter("username", "casuser");
+            throttle.recordSubmissionFailure(next);
+        }
+        assertTrue(throttle.exceedsThreshold(request));
+        throttle.decrement();
+        assertTrue(throttle.exceedsThreshold(request));
+    }
+}
@@ -2,12 +2,14 @@ package org.apereo.cas.config;
 
 import org.apereo.cas.audit.AuditTrailExecutionPlan;
 import org.apereo.cas.configuration.CasConfigurationProperties;
+import org.apereo.cas.configuration.model.support.throttle.InMemoryThrottleProperties;
 import org.apereo.cas.configuration.support.CasFeatureModule;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.AuthenticationThrottlingExecutionPlanConfigurer;
 import org.apereo.cas.throttle.ConcurrentThrottledSubmissionsStore;
 import org.apereo.cas.throttle.DefaultAuthenticationThrottlingExecutionPlan;
 import org.apereo.cas.throttle.DefaultThrottledRequestResponseHandler;
+import org.apereo.cas.throttle.SlidingWindowThrottledSubmissionsStore;
 import org.apereo.cas.throttle.ThrottledRequestExecutor;
 import org.apereo.cas.throttle.ThrottledRequestFilter;
 import org.apereo.cas.throttle.ThrottledRequestResponseHandler;
@@ -34,6 +36,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -128,7 +131,14 @@ public class CasThrottlingConfiguration {
         @RefreshScope(proxyMode = ScopedProxyMode.DEFAULT)
         @ConditionalOnMissingBean(name = "throttleSubmissionMap")
         @Bean
-        public ThrottledSubmissionsStore throttleSubmissionMap() {
+        public ThrottledSubmissionsStore throttleSubmissionMap(final CasConfigurationProperties casProperties) {
+            val throttle = casProperties.getAuthn().getThrottle();
+            if (throttle.getInMemory().getStore() == InMemoryThrottleProperties.StoreTypes.SLIDING_WINDOW
+                && throttle.getFailure().getRangeSeconds() > 0) {
+                LOGGER.trace("Tracking throttled submissions in a sliding window of [{}] second(s)", throttle.getFailure().getRangeSeconds());
+                return new SlidingWindowThrottledSubmissionsStore(Duration.ofSeconds(throttle.getFailure().getRangeSeconds()),
+                    throttle.getInMemory().getMaximumSize());
+            }
             return new ConcurrentThrottledSubmissionsStore();
         }
 
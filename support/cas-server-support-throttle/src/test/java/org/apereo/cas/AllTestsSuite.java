@@ -2,6 +2,7 @@ package org.apereo.cas;
 
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests;
+import org.apereo.cas.web.support.InMemoryThrottledSubmissionBySlidingWindowHandlerInterceptorAdapterTests;
 import org.apereo.cas.web.support.ThrottledSubmissionHandlerEndpointTests;
 
 import org.junit.platform.suite.api.SelectClasses;
@@ -16,6 +17,7 @@ import org.junit.platform.suite.api.Suite;
 @SelectClasses({
     InMemoryThrottledSubmissionByIpAddressAndUsernameHandlerInterceptorAdapterTests.class,
     InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapterTests.class,
+    InMemoryThrottledSubmissionBySlidingWindowHandlerInterceptorAdapterTests.class,
     ThrottledSubmissionHandlerEndpointTests.class
 })
 @Suite
@@ -0,0 +1,46 @@
+package org.apereo.cas.web.support;
+
+import org.apereo.cas.throttle.SlidingWindowThrottledSubmissionsStore;
+
+import lombok.Getter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test for {@link InMemoryThrottledSubmissionByIpAddressHandlerInterceptorAdapter}
+ * backed by a {@link SlidingWindowThrottledSubmissionsStore}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@EnableScheduling
+@SpringBootTest(classes = BaseThrottledSubmissionHandlerInterceptorAdapterTests.SharedTestConfiguration.class,
+    properties = {
+        "cas.authn.throttle.failure.range-seconds=1",
+        "cas.authn.throttle.failure.threshold=2",
+        "cas.authn.throttle.in-memory.store=SLIDING_WINDOW"
+    })
+@Getter
+@Tag("AuthenticationThrottling")
+public class InMemoryThrottledSubmissionBySlidingWindowHandlerInterceptorAdapterTests
+    extends BaseThrottledSubmissionHandlerInterceptorAdapterTests {
+
+    @Autowired
+    @Qualifier("authenticationThrottle")
+    private ThrottledSubmissionHandlerInterceptor throttle;
+
+    @Autowired
+    @Qualifier("throttleSubmissionMap")
+    private ThrottledSubmissionsStore throttleSubmissionMap;
+
+    @Test
+    public void verifyStore() {
+        assertTrue(throttleSubmissionMap instanceof SlidingWindowThrottledSubmissionsStore);
+    }
+}
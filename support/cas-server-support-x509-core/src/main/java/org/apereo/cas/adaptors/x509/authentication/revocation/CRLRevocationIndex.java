@@ -0,0 +1,200 @@
+package org.apereo.cas.adaptors.x509.authentication.revocation;
+
+import org.apereo.cas.util.DateTimeUtils;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.val;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.cert.CRLReason;
+import java.security.cert.X509CRL;
+import java.security.cert.X509CRLEntry;
+import java.security.cert.X509Certificate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+
+/**
+ * This is {@link CRLRevocationIndex}. It is built once from a parsed CRL
+ * and keeps track of the serial numbers of all certificates that are revoked by the CRL issuer,
+ * along with their revocation dates and reasons, the CRL issuer and its validity window.
+ * Serial numbers are kept sorted in a primitive {@code long[]} when all of them fit,
+ * or in a {@code BigInteger[]} otherwise, and revocation lookups are binary searches.
+ * <p>
+ * The index is only used for serial number lookups. The parsed CRL itself is retained as is,
+ * so that components that operate on CRLs can verify its signature and inspect its extensions.
+ * Entries of indirect CRLs that revoke certificates of other issuers are looked up in the CRL itself.
+ * Instances are immutable and may be swapped in place once a CRL is refreshed.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Getter
+@ToString(of = {"issuer", "thisUpdate", "nextUpdate", "size", "indirect"})
+public class CRLRevocationIndex {
+    private static final byte NO_REASON = -1;
+
+    private final X509CRL crl;
+
+    private final X500Principal issuer;
+
+    private final ZonedDateTime thisUpdate;
+
+    private final ZonedDateTime nextUpdate;
+
+    private final int size;
+
+    /**
+     * Whether the CRL lists certificates of issuers other than the CRL issuer.
+     */
+    private final boolean indirect;
+
+    @Getter(AccessLevel.NONE)
+    private final boolean unsupportedCriticalExtension;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] serialNumbers;
+
+    @Getter(AccessLevel.NONE)
+    private final BigInteger[] largeSerialNumbers;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] revocationDates;
+
+    @Getter(AccessLevel.NONE)
+    private final byte[] revocationReasons;
+
+    public CRLRevocationIndex(final X509CRL crl) {
+        this.crl = crl;
+        this.issuer = crl.getIssuerX500Principal();
+        this.thisUpdate = DateTimeUtils.zonedDateTimeOf(crl.getThisUpdate());
+        this.nextUpdate = crl.getNextUpdate() != null ? DateTimeUtils.zonedDateTimeOf(crl.getNextUpdate()) : null;
+
+        val revoked = crl.getRevokedCertificates();
+        val entries = new ArrayList<X509CRLEntry>(revoked == null ? 0 : revoked.size());
+        var indirectEntries = false;
+        var unsupportedExtensions = crl.hasUnsupportedCriticalExtension();
+        if (revoked != null) {
+            for (val entry : revoked) {
+                unsupportedExtensions |= entry.hasUnsupportedCriticalExtension();
+                if (isIssuedBy(entry, issuer)) {
+                    entries.add(entry);
+                } else {
+                    indirectEntries = true;
+                }
+            }
+        }
+        this.indirect = indirectEntries;
+        this.unsupportedCriticalExtension = unsupportedExtensions;
+
+        entries.sort(Comparator.comparing(X509CRLEntry::getSerialNumber));
+        this.size = entries.size();
+        this.revocationDates = new long[size];
+        this.revocationReasons = new byte[size];
+        val fitsInLong = entries.stream().allMatch(entry -> entry.getSerialNumber().bitLength() < Long.SIZE);
+        this.serialNumbers = fitsInLong ? new long[size] : null;
+        this.largeSerialNumbers = fitsInLong ? null : new BigInteger[size];
+        for (var i = 0; i < size; i++) {
+            val entry = entries.get(i);
+            if (fitsInLong) {
+                serialNumbers[i] = entry.getSerialNumber().longValue();
+            } else {
+                largeSerialNumbers[i] = entry.getSerialNumber();
+            }
+            revocationDates[i] = entry.getRevocationDate().getTime();
+            revocationReasons[i] = toReasonCode(entry.getRevocationReason());
+        }
+    }
+
+    private static boolean isIssuedBy(final X509CRLEntry entry, final X500Principal issuer) {
+        val certificateIssuer = entry.getCertificateIssuer();
+        return certificateIssuer == null || certificateIssuer.equals(issuer);
+    }
+
+    private static byte toReasonCode(final CRLReason reason) {
+        return reason == null ? NO_REASON : (byte) reason.ordinal();
+    }
+
+    private static RevokedCertificateException.Reason toRevocationReason(final byte code) {
+        if (code == NO_REASON || code == CRLReason.UNUSED.ordinal()) {
+            return null;
+        }
+        val reasons = RevokedCertificateException.Reason.values();
+        val ordinal = code > CRLReason.UNUSED.ordinal() ? code - 1 : code;
+        return ordinal < reasons.length ? reasons[ordinal] : null;
+    }
+
+    /**
+     * Is the indexed CRL expired?
+     *
+     * @return true/false
+     */
+    public boolean isExpired() {
+        return nextUpdate != null && ZonedDateTime.now(ZoneOffset.UTC).isAfter(nextUpdate);
+    }
+
+    /**
+     * Does the CRL, or any of its entries, carry a critical extension that is not supported?
+     *
+     * @return true/false
+     */
+    public boolean hasUnsupportedCriticalExtension() {
+        return unsupportedCriticalExtension;
+    }
+
+    /**
+     * Is the serial number listed as revoked for a certificate of the CRL issuer?
+     *
+     * @param serialNumber the serial number
+     * @return true/false
+     */
+    public boolean isRevoked(final BigInteger serialNumber) {
+        return indexOf(serialNumber) >= 0;
+    }
+
+    /**
+     * Gets the revocation of the given certificate, if it is listed as revoked by this CRL.
+     * Certificates of the CRL issuer are looked up in the index. Certificates of other issuers
+     * can only be revoked by indirect CRLs, and are looked up in the CRL itself.
+     *
+     * @param certificate the certificate
+     * @return the revoked certificate exception, or null
+     */
+    public RevokedCertificateException getRevocation(final X509Certificate certificate) {
+        if (!issuer.equals(certificate.getIssuerX500Principal())) {
+            if (!indirect) {
+                return null;
+            }
+            val entry = crl.getRevokedCertificate(certificate);
+            if (entry == null) {
+                return null;
+            }
+            return new RevokedCertificateException(DateTimeUtils.zonedDateTimeOf(entry.getRevocationDate()),
+                certificate.getSerialNumber(), toRevocationReason(toReasonCode(entry.getRevocationReason())));
+        }
+        val position = indexOf(certificate.getSerialNumber());
+        if (position < 0) {
+            return null;
+        }
+        return new RevokedCertificateException(DateTimeUtils.zonedDateTimeOf(new Date(revocationDates[position])),
+            certificate.getSerialNumber(), toRevocationReason(revocationReasons[position]));
+    }
+
+    private int indexOf(final BigInteger serialNumber) {
+        if (serialNumber == null) {
+            return -1;
+        }
+        if (serialNumbers != null) {
+            return serialNumber.bitLength() < Long.SIZE
+                ? Math.max(-1, Arrays.binarySearch(serialNumbers, serialNumber.longValue()))
+                : -1;
+        }
+        return Math.max(-1, Arrays.binarySearch(largeSerialNumbers, serialNumber));
+    }
+}
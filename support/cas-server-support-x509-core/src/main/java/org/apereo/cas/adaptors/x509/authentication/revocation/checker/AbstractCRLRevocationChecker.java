@@ -1,5 +1,6 @@
 package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
+import org.apereo.cas.adaptors.x509.authentication.revocation.CRLRevocationIndex;
 import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.DenyRevocationPolicy;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
@@ -66,38 +67,64 @@ public abstract class AbstractCRLRevocationChecker implements RevocationChecker
     @Override
     public void check(@Nonnull final X509Certificate cert) throws GeneralSecurityException {
         LOGGER.debug("Evaluating certificate revocation status for [{}]", CertUtils.toString(cert));
-        val crls = getCRLs(cert);
+        val indexes = getRevocationIndexes(cert);
 
-        if (crls == null || crls.isEmpty()) {
+        if (indexes == null || indexes.isEmpty()) {
             LOGGER.warn("CRL data is not available for [{}]", CertUtils.toString(cert));
             this.unavailableCRLPolicy.apply(null);
             return;
         }
 
-        val expiredCrls = new ArrayList<X509CRL>(crls.size());
-        crls.stream().filter(CertUtils::isExpired).forEach(crl -> {
-            LOGGER.warn("CRL data expired on [{}]", crl.getNextUpdate());
-            expiredCrls.add(crl);
+        val expiredIndexes = new ArrayList<CRLRevocationIndex>(indexes.size());
+        val validIndexes = new ArrayList<CRLRevocationIndex>(indexes.size());
+        indexes.forEach(index -> {
+            if (index.isExpired()) {
+                LOGGER.warn("CRL data expired on [{}]", index.getNextUpdate());
+                expiredIndexes.add(index);
+            } else {
+                validIndexes.add(index);
+            }
         });
 
-        if (crls.size() == expiredCrls.size()) {
+        if (validIndexes.isEmpty()) {
             LOGGER.warn("All CRLs retrieved have expired. Applying CRL expiration policy...");
-            for (val crl : expiredCrls) {
-                this.expiredCRLPolicy.apply(crl);
+            for (val index : expiredIndexes) {
+                this.expiredCRLPolicy.apply(index.getCrl());
             }
         } else {
-            crls.removeAll(expiredCrls);
-            LOGGER.debug("Valid CRLs [{}] found that are not expired yet", crls);
-
-            val revokedCrls = crls.stream().map(crl -> crl.getRevokedCertificate(cert)).filter(Objects::nonNull).collect(Collectors.toList());
-            if (revokedCrls.size() == crls.size()) {
-                val entry = revokedCrls.get(0);
-                LOGGER.warn("All CRL entries have been revoked. Rejecting the first entry [{}]", entry);
-                throw new RevokedCertificateException(entry);
+            LOGGER.debug("Valid CRLs [{}] found that are not expired yet", validIndexes);
+            validIndexes.stream()
+                .filter(CRLRevocationIndex::hasUnsupportedCriticalExtension)
+                .forEach(index -> LOGGER.warn("CRL [{}] carries critical extensions that are not supported", index));
+
+            val revocations = validIndexes.stream()
+                .map(index -> index.getRevocation(cert))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+            if (revocations.size() == validIndexes.size()) {
+                val revocation = revocations.get(0);
+                LOGGER.warn("All CRL entries have been revoked. Rejecting the first entry [{}]", revocation.getMessage());
+                throw revocation;
             }
         }
     }
 
+    /**
+     * Gets the revocation indexes for the CRLs of the given certificate.
+     * By default, CRLs are indexed on every call; implementations that
+     * keep track of CRLs should cache and reuse indexes instead.
+     *
+     * @param cert Certificate for which the CRL of the issuing CA should be retrieved.
+     * @return revocation indexes for given cert.
+     */
+    protected Collection<CRLRevocationIndex> getRevocationIndexes(final X509Certificate cert) {
+        val crls = getCRLs(cert);
+        if (crls == null) {
+            return new ArrayList<>(0);
+        }
+        return crls.stream().map(CRLRevocationIndex::new).collect(Collectors.toList());
+    }
+
     /**
      * Records the addition of a new CRL entry.
      *
@@ -2,6 +2,7 @@ package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
+import org.apereo.cas.adaptors.x509.authentication.revocation.CRLRevocationIndex;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.LoggingUtils;
@@ -27,9 +28,19 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
@@ -39,7 +50,9 @@ import java.util.stream.IntStream;
  * expects the name to define an absolute URL, which is the most common
  * implementation.  This implementation caches CRL resources fetched from remote
  * URLs to improve performance by avoiding CRL fetching on every revocation
- * check.
+ * check. Cached CRLs are parsed once into a {@link CRLRevocationIndex} that is
+ * used for revocation lookups, and are refreshed in the background shortly before
+ * their next update is due, replacing the index in place once the refreshed CRL is fetched.
  *
  * @author Marvin S. Addison
  * @since 3.4.6
@@ -47,6 +60,18 @@ import java.util.stream.IntStream;
 @Slf4j
 public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocationChecker implements DisposableBean, AutoCloseable {
 
+    private static final long MIN_REFRESH_DELAY_SECONDS = 60;
+
+    private final Map<URI, CRLRevocationIndex> crlIndexes = new ConcurrentHashMap<>();
+
+    private final Map<URI, ScheduledFuture<?>> crlRefreshTasks = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        val thread = new Thread(runnable, "CRLDistributionPointRefresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final UserManagedCache<URI, byte[]> crlCache;
 
     private final CRLFetcher fetcher;
@@ -86,6 +111,9 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
     
     @Override
     public void destroy() {
+        scheduler.shutdownNow();
+        crlRefreshTasks.clear();
+        crlIndexes.clear();
         try {
             if (!Status.UNINITIALIZED.equals(this.crlCache.getStatus())) {
                 this.crlCache.close();
@@ -155,38 +183,33 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
         }
     }
 
-    private boolean addCRLbyURI(final URI uri, final X509CRL crl) {
-        return addCRL(uri, crl);
+    @Override
+    protected List<X509CRL> getCRLs(final X509Certificate cert) {
+        return getRevocationIndexes(cert).stream().map(CRLRevocationIndex::getCrl).collect(Collectors.toList());
     }
 
     @Override
-    protected List<X509CRL> getCRLs(final X509Certificate cert) {
+    protected List<CRLRevocationIndex> getRevocationIndexes(final X509Certificate cert) {
         val urls = getDistributionPoints(cert);
         LOGGER.debug("Distribution points for [{}]: [{}].", CertUtils.toString(cert), CollectionUtils.wrap(urls));
-        val listOfLocations = new ArrayList<X509CRL>(urls.length);
+        val listOfLocations = new ArrayList<CRLRevocationIndex>(urls.length);
         var stopFetching = false;
 
         for (var index = 0; !stopFetching && index < urls.length; index++) {
             val url = urls[index];
-            val item = this.crlCache.get(url);
+            val cachedIndex = getCachedRevocationIndex(url);
 
-            if (item != null) {
+            if (cachedIndex != null) {
                 LOGGER.debug("Found CRL in cache for [{}]", CertUtils.toString(cert));
-                val crlFetched = FunctionUtils.doUnchecked(() -> this.fetcher.fetch(new ByteArrayResource(item)));
-
-                if (crlFetched != null) {
-                    listOfLocations.add(crlFetched);
-                } else {
-                    LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", url);
-                }
+                listOfLocations.add(cachedIndex);
             } else {
                 LOGGER.debug("CRL for [{}] is not cached. Fetching and caching...", CertUtils.toString(cert));
                 try {
                     val crl = this.fetcher.fetch(url);
                     if (crl != null) {
                         LOGGER.info("Success. Caching fetched CRL at [{}].", url);
-                        addCRLbyURI(url, crl);
-                        listOfLocations.add(crl);
+                        addCRL(url, crl);
+                        listOfLocations.add(Objects.requireNonNullElseGet(crlIndexes.get(url), () -> new CRLRevocationIndex(crl)));
                     }
                 } catch (final Exception e) {
                     LoggingUtils.error(LOGGER, e);
@@ -214,11 +237,86 @@ public class CRLDistributionPointRevocationChecker extends AbstractCRLRevocation
             if (crl == null) {
                 LOGGER.debug("No CRL was passed. Removing [{}] from cache...", id);
                 this.crlCache.remove(uri);
+                removeRevocationIndex(uri);
                 return false;
             }
 
             this.crlCache.put(uri, crl.getEncoded());
+            val index = new CRLRevocationIndex(crl);
+            crlIndexes.put(uri, index);
+            scheduleRefresh(uri, index);
             return this.crlCache.containsKey(uri);
         });
     }
+
+    /**
+     * Gets the revocation index for a CRL that is still cached.
+     * CRLs that are cached without an index, such as those loaded from
+     * disk overflow, are parsed and indexed once.
+     *
+     * @param uri the uri
+     * @return the cached revocation index, or null
+     */
+    private CRLRevocationIndex getCachedRevocationIndex(final URI uri) {
+        val index = crlIndexes.get(uri);
+        if (index != null && this.crlCache.containsKey(uri)) {
+            return index;
+        }
+        val item = this.crlCache.get(uri);
+        if (item == null) {
+            removeRevocationIndex(uri);
+            return null;
+        }
+        val crlFetched = FunctionUtils.doUnchecked(() -> this.fetcher.fetch(new ByteArrayResource(item)));
+        if (crlFetched == null) {
+            LOGGER.warn("Could fetch X509 CRL for [{}]. Returned value is null", uri);
+            return null;
+        }
+        val fetchedIndex = new CRLRevocationIndex(crlFetched);
+        crlIndexes.put(uri, fetchedIndex);
+        scheduleRefresh(uri, fetchedIndex);
+        return fetchedIndex;
+    }
+
+    private void removeRevocationIndex(final URI uri) {
+        crlIndexes.remove(uri);
+        val task = crlRefreshTasks.remove(uri);
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private void scheduleRefresh(final URI uri, final CRLRevocationIndex index) {
+        if (index.getNextUpdate() == null || scheduler.isShutdown()) {
+            return;
+        }
+        val remaining = Duration.between(ZonedDateTime.now(ZoneOffset.UTC), index.getNextUpdate()).getSeconds();
+        val delay = Math.max(MIN_REFRESH_DELAY_SECONDS, remaining - remaining / 10);
+        LOGGER.trace("Scheduling refresh of CRL at [{}] in [{}] seconds", uri, delay);
+        crlRefreshTasks.compute(uri, (key, task) -> {
+            if (task != null) {
+                task.cancel(false);
+            }
+            return scheduler.schedule(() -> refreshCRL(uri, index), delay, TimeUnit.SECONDS);
+        });
+    }
+
+    private void refreshCRL(final URI uri, final CRLRevocationIndex index) {
+        if (crlIndexes.get(uri) != index || !this.crlCache.containsKey(uri)) {
+            LOGGER.debug("CRL at [{}] is no longer cached or has been replaced; skipping refresh", uri);
+            return;
+        }
+        try {
+            LOGGER.debug("Refreshing CRL at [{}] ahead of its next update [{}]", uri, index.getNextUpdate());
+            val crl = this.fetcher.fetch(uri);
+            if (crl != null) {
+                addCRL(uri, crl);
+                return;
+            }
+            LOGGER.warn("Unable to refresh CRL at [{}]; fetched CRL is null", uri);
+        } catch (final Exception e) {
+            LoggingUtils.warn(LOGGER, e);
+        }
+        scheduleRefresh(uri, index);
+    }
 }
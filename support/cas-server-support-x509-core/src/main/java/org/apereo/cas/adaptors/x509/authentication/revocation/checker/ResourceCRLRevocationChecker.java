@@ -3,6 +3,7 @@ package org.apereo.cas.adaptors.x509.authentication.revocation.checker;
 import org.apereo.cas.adaptors.x509.authentication.CRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcher;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.X509CredentialsAuthenticationHandler;
+import org.apereo.cas.adaptors.x509.authentication.revocation.CRLRevocationIndex;
 import org.apereo.cas.adaptors.x509.authentication.revocation.policy.RevocationPolicy;
 import org.apereo.cas.util.CollectionUtils;
 import org.apereo.cas.util.function.FunctionUtils;
@@ -19,9 +20,8 @@ import java.security.cert.X509CRL;
 import java.security.cert.X509Certificate;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -55,9 +55,10 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     private final CRLFetcher fetcher;
 
     /**
-     * Map of CRL issuer to CRL.
+     * Map of CRL issuer to the CRL revocation index.
+     * Refreshed CRLs replace the index for the issuer in place.
      */
-    private final Map<X500Principal, X509CRL> crlIssuerMap = Collections.synchronizedMap(new HashMap<>(0));
+    private final Map<X500Principal, CRLRevocationIndex> crlIssuerMap = new ConcurrentHashMap<>(0);
 
     /**
      * Resource CRLs.
@@ -167,16 +168,23 @@ public class ResourceCRLRevocationChecker extends AbstractCRLRevocationChecker i
     @Override
     protected boolean addCRL(final Object issuer, final X509CRL crl) {
         LOGGER.debug("Adding CRL for issuer [{}]", issuer);
-        this.crlIssuerMap.put((X500Principal) issuer, crl);
+        this.crlIssuerMap.put((X500Principal) issuer, new CRLRevocationIndex(crl));
         return this.crlIssuerMap.containsKey(issuer);
     }
 
     @Override
     protected Collection<X509CRL> getCRLs(final X509Certificate cert) {
-        val principal = cert.getIssuerX500Principal();
+        val crls = new ArrayList<X509CRL>(1);
+        getRevocationIndexes(cert).forEach(index -> crls.add(index.getCrl()));
+        return crls;
+    }
 
-        if (this.crlIssuerMap.containsKey(principal)) {
-            return CollectionUtils.wrap(this.crlIssuerMap.get(principal));
+    @Override
+    protected Collection<CRLRevocationIndex> getRevocationIndexes(final X509Certificate cert) {
+        val principal = cert.getIssuerX500Principal();
+        val index = this.crlIssuerMap.get(principal);
+        if (index != null) {
+            return CollectionUtils.wrap(index);
         }
         LOGGER.warn("Could not locate CRL for issuer principal [{}]", principal);
         return new ArrayList<>(0);
@@ -1,5 +1,6 @@
 package org.apereo.cas;
 
+import org.apereo.cas.adaptors.x509.authentication.CRLRevocationIndexTests;
 import org.apereo.cas.adaptors.x509.authentication.ResourceCRLFetcherTests;
 import org.apereo.cas.adaptors.x509.authentication.RevokedCertificateExceptionTests;
 import org.apereo.cas.adaptors.x509.authentication.handler.support.CRLDistributionPointRevocationCheckerTests;
@@ -49,7 +50,8 @@ import org.junit.platform.suite.api.Suite;
     X509CertificateCredentialJsonSerializerTests.class,
     ThresholdExpiredCRLRevocationPolicyTests.class,
     X509CredentialsAuthenticationHandlerTests.class,
-    CRLDistributionPointRevocationCheckerTests.class
+    CRLDistributionPointRevocationCheckerTests.class,
+    CRLRevocationIndexTests.class
 })
 @Suite
 public class AllTestsSuite {
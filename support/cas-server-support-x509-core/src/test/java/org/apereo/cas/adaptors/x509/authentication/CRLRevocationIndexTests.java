@@ -0,0 +1,216 @@
+package org.apereo.cas.adaptors.x509.authentication;
+
+import org.apereo.cas.adaptors.x509.authentication.revocation.CRLRevocationIndex;
+import org.apereo.cas.adaptors.x509.authentication.revocation.RevokedCertificateException;
+import org.apereo.cas.adaptors.x509.authentication.revocation.checker.ResourceCRLRevocationChecker;
+import org.apereo.cas.util.crypto.CertUtils;
+
+import lombok.val;
+import org.bouncycastle.asn1.ASN1ObjectIdentifier;
+import org.bouncycastle.asn1.DERNull;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.asn1.x509.CRLReason;
+import org.bouncycastle.asn1.x509.Extension;
+import org.bouncycastle.asn1.x509.ExtensionsGenerator;
+import org.bouncycastle.asn1.x509.GeneralName;
+import org.bouncycastle.asn1.x509.GeneralNames;
+import org.bouncycastle.cert.X509v2CRLBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.security.auth.x500.X500Principal;
+import java.math.BigInteger;
+import java.security.KeyPairGenerator;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This is {@link CRLRevocationIndexTests}.
+ *
+ * @author Misagh Moayyed
+ * @since 6.6.0
+ */
+@Tag("X509")
+@SuppressWarnings("JavaUtilDate")
+public class CRLRevocationIndexTests {
+    private static final String ISSUER = "CN=CAS Revocation Index CA";
+
+    private static final String OTHER_ISSUER = "CN=Other CA";
+
+    private static final int REVOKED_ENTRIES = 1_000;
+
+    private static final BigInteger LARGE_SERIAL_NUMBER = BigInteger.ONE.shiftLeft(80).add(BigInteger.TEN);
+
+    private static X509v2CRLBuilder getCertificateRevocationListBuilder() {
+        val now = new Date();
+        val builder = new X509v2CRLBuilder(new X500Name(ISSUER), now);
+        builder.setNextUpdate(new Date(now.getTime() + TimeUnit.DAYS.toMillis(1)));
+        return builder;
+    }
+
+    private static byte[] buildCertificateRevocationList(final X509v2CRLBuilder builder) throws Exception {
+        val keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        val keyPair = keyPairGenerator.generateKeyPair();
+        val signer = new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate());
+        return builder.build(signer).getEncoded();
+    }
+
+    private static byte[] buildCertificateRevocationList(final int count, final BigInteger... additionalSerials) throws Exception {
+        val builder = getCertificateRevocationListBuilder();
+        val now = new Date();
+        for (var i = count; i >= 1; i--) {
+            builder.addCRLEntry(BigInteger.valueOf(2L * i), now, CRLReason.keyCompromise);
+        }
+        for (val serial : additionalSerials) {
+            builder.addCRLEntry(serial, now, CRLReason.aACompromise);
+        }
+        return buildCertificateRevocationList(builder);
+    }
+
+    private static X509Certificate getCertificate(final BigInteger serialNumber) {
+        val cert = mock(X509Certificate.class);
+        when(cert.getSerialNumber()).thenReturn(serialNumber);
+        when(cert.getIssuerX500Principal()).thenReturn(new X500Principal(ISSUER));
+        return cert;
+    }
+
+    private static X509Certificate getCertificate(final long serialNumber) {
+        return getCertificate(BigInteger.valueOf(serialNumber));
+    }
+
+    @Test
+    public void verifyIndex() throws Exception {
+        val crl = new ResourceCRLFetcher().fetch(new ClassPathResource("userCA-valid.crl"));
+        val index = new CRLRevocationIndex(crl);
+        assertEquals(crl.getIssuerX500Principal(), index.getIssuer());
+        assertEquals(crl.getRevokedCertificates().size(), index.getSize());
+        assertNotNull(index.getThisUpdate());
+        assertNotNull(index.getNextUpdate());
+        assertFalse(index.isExpired());
+        assertNotNull(index.toString());
+
+        val revoked = CertUtils.readCertificate(new ClassPathResource("user-revoked-distcrl.crt"));
+        assertTrue(index.isRevoked(revoked.getSerialNumber()));
+        assertNotNull(index.getRevocation(revoked));
+
+        val valid = CertUtils.readCertificate(new ClassPathResource("user-valid-distcrl.crt"));
+        assertNull(index.getRevocation(valid));
+
+        assertSame(crl, index.getCrl());
+        assertFalse(index.isIndirect());
+        assertFalse(index.hasUnsupportedCriticalExtension());
+    }
+
+    @Test
+    public void verifyLongSerialNumbers() throws Exception {
+        val crl = new ResourceCRLFetcher().fetch(new ByteArrayResource(buildCertificateRevocationList(REVOKED_ENTRIES)));
+        val index = new CRLRevocationIndex(crl);
+        assertEquals(REVOKED_ENTRIES, index.getSize());
+
+        assertTrue(index.isRevoked(BigInteger.TWO));
+        assertTrue(index.isRevoked(BigInteger.valueOf(2L * REVOKED_ENTRIES)));
+        assertTrue(index.isRevoked(BigInteger.valueOf(REVOKED_ENTRIES)));
+        assertFalse(index.isRevoked(BigInteger.ZERO));
+        assertFalse(index.isRevoked(BigInteger.ONE));
+        assertFalse(index.isRevoked(BigInteger.valueOf(REVOKED_ENTRIES + 1)));
+        assertFalse(index.isRevoked(BigInteger.valueOf(2L * REVOKED_ENTRIES + 2)));
+        assertFalse(index.isRevoked(LARGE_SERIAL_NUMBER));
+        assertFalse(index.isRevoked(BigInteger.valueOf(2).negate()));
+
+        val serial = BigInteger.valueOf(REVOKED_ENTRIES);
+        val revocation = index.getRevocation(getCertificate(serial));
+        assertNotNull(revocation);
+        assertEquals(serial, revocation.getSerial());
+        assertEquals(RevokedCertificateException.Reason.KeyCompromise, revocation.getReason());
+        assertEquals(crl.getRevokedCertificate(serial).getRevocationDate().toInstant(),
+            revocation.getRevocationDate().toInstant());
+        assertNull(index.getRevocation(getCertificate(REVOKED_ENTRIES + 1)));
+
+        val otherIssuer = getCertificate(serial);
+        when(otherIssuer.getIssuerX500Principal()).thenReturn(new X500Principal(OTHER_ISSUER));
+        assertNull(index.getRevocation(otherIssuer));
+    }
+
+    @Test
+    public void verifyLargeSerialNumbers() throws Exception {
+        val crl = new ResourceCRLFetcher().fetch(new ByteArrayResource(
+            buildCertificateRevocationList(REVOKED_ENTRIES, LARGE_SERIAL_NUMBER)));
+        val index = new CRLRevocationIndex(crl);
+        assertEquals(REVOKED_ENTRIES + 1, index.getSize());
+
+        assertTrue(index.isRevoked(LARGE_SERIAL_NUMBER));
+        assertTrue(index.isRevoked(BigInteger.TWO));
+        assertFalse(index.isRevoked(LARGE_SERIAL_NUMBER.add(BigInteger.ONE)));
+        assertFalse(index.isRevoked(BigInteger.ONE));
+
+        val revocation = index.getRevocation(getCertificate(LARGE_SERIAL_NUMBER));
+        assertNotNull(revocation);
+        assertEquals(RevokedCertificateException.Reason.AACompromise, revocation.getReason());
+
+    }
+
+    @Test
+    public void verifyIndirectEntries() throws Exception {
+        val builder = getCertificateRevocationListBuilder();
+        val now = new Date();
+        builder.addCRLEntry(BigInteger.TWO, now, CRLReason.keyCompromise);
+        val extensions = new ExtensionsGenerator();
+        extensions.addExtension(Extension.certificateIssuer, true,
+            new GeneralNames(new GeneralName(new X500Name(OTHER_ISSUER))));
+        extensions.addExtension(Extension.reasonCode, false, CRLReason.lookup(CRLReason.superseded));
+        builder.addCRLEntry(BigInteger.valueOf(3), now, extensions.generate());
+        val crl = new ResourceCRLFetcher().fetch(new ByteArrayResource(buildCertificateRevocationList(builder)));
+        val index = new CRLRevocationIndex(crl);
+        assertTrue(index.isIndirect());
+        assertEquals(1, index.getSize());
+        assertSame(crl, index.getCrl());
+
+        assertNotNull(index.getRevocation(getCertificate(2)));
+        assertNull(index.getRevocation(getCertificate(3)));
+
+        val otherIssuer = getCertificate(3);
+        when(otherIssuer.getIssuerX500Principal()).thenReturn(new X500Principal(OTHER_ISSUER));
+        val revocation = index.getRevocation(otherIssuer);
+        assertNotNull(revocation);
+        assertEquals(BigInteger.valueOf(3), revocation.getSerial());
+        assertEquals(RevokedCertificateException.Reason.Superseded, revocation.getReason());
+
+        val directSerial = getCertificate(2);
+        when(directSerial.getIssuerX500Principal()).thenReturn(new X500Principal(OTHER_ISSUER));
+        assertNull(index.getRevocation(directSerial));
+    }
+
+    @Test
+    public void verifyUnsupportedCriticalExtension() throws Exception {
+        val builder = getCertificateRevocationListBuilder();
+        builder.addCRLEntry(BigInteger.TWO, new Date(), CRLReason.keyCompromise);
+        builder.addExtension(new ASN1ObjectIdentifier("1.2.3.4.5"), true, DERNull.INSTANCE);
+        val crl = new ResourceCRLFetcher().fetch(new ByteArrayResource(buildCertificateRevocationList(builder)));
+        val index = new CRLRevocationIndex(crl);
+        assertTrue(crl.hasUnsupportedCriticalExtension());
+        assertTrue(index.hasUnsupportedCriticalExtension());
+        assertTrue(index.getCrl().getCriticalExtensionOIDs().contains("1.2.3.4.5"));
+    }
+
+    @Test
+    public void verifyChecker() throws Exception {
+        val checker = new ResourceCRLRevocationChecker(new ByteArrayResource(buildCertificateRevocationList(REVOKED_ENTRIES)));
+        try {
+            checker.init();
+            val revokedCertificate = getCertificate(4);
+            val exception = assertThrows(RevokedCertificateException.class, () -> checker.check(revokedCertificate));
+            assertEquals(RevokedCertificateException.Reason.KeyCompromise, exception.getReason());
+            assertDoesNotThrow(() -> checker.check(getCertificate(3)));
+        } finally {
+            checker.shutdown();
+        }
+    }
+}
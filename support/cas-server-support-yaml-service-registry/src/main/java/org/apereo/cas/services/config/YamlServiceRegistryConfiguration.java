@@ -8,11 +8,14 @@ import org.apereo.cas.services.ServiceRegistryListener;
 import org.apereo.cas.services.YamlServiceRegistry;
 import org.apereo.cas.services.replication.RegisteredServiceReplicationStrategy;
 import org.apereo.cas.services.resource.RegisteredServiceResourceNamingStrategy;
+import org.apereo.cas.services.resource.ResourceBasedServiceRegistrySnapshot;
 import org.apereo.cas.util.function.FunctionUtils;
 import org.apereo.cas.util.io.WatcherService;
 import org.apereo.cas.util.spring.boot.ConditionalOnFeature;
 
+import lombok.extern.slf4j.Slf4j;
 import lombok.val;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -23,6 +26,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.ScopedProxyMode;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -33,6 +37,7 @@ import java.util.Optional;
  * @author Misagh Moayyed
  * @since 5.0.0
  */
+@Slf4j
 @Configuration(value = "YamlServiceRegistryConfiguration", proxyBeanMethods = false)
 @EnableConfigurationProperties(CasConfigurationProperties.class)
 @ConditionalOnFeature(feature = CasFeatureModule.FeatureCatalog.ServiceRegistry, module = "yaml")
@@ -61,6 +66,17 @@ public class YamlServiceRegistryConfiguration {
             if (registry.getYaml().isWatcherEnabled()) {
                 yaml.enableDefaultWatcherService();
             }
+            if (registry.getYaml().getParallelism() > 0) {
+                yaml.setParallelism(registry.getYaml().getParallelism());
+            }
+            if (StringUtils.isNotBlank(registry.getYaml().getSnapshotLocation())) {
+                if (StringUtils.isBlank(registry.getYaml().getSnapshotSigningKey())) {
+                    LOGGER.warn("Service registry snapshot [{}] is not used since no signing key is defined", registry.getYaml().getSnapshotLocation());
+                } else {
+                    yaml.setServiceRegistrySnapshot(new ResourceBasedServiceRegistrySnapshot(
+                        new File(registry.getYaml().getSnapshotLocation()), registry.getYaml().getSnapshotSigningKey()));
+                }
+            }
             return yaml;
         }
 